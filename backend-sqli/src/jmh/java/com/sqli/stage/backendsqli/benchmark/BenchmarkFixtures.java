@@ -0,0 +1,138 @@
+package com.sqli.stage.backendsqli.benchmark;
+
+import com.sqli.stage.backendsqli.entity.Enums.Priorite;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Enums.TypeProjet;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.User;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graphes d'entités synthétiques (projets, équipes, tâches) construits en mémoire, sans base de données,
+ * et doublures des dépôts pour les benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private static final StatutTache[] STATUTS = StatutTache.values();
+    private static final Priorite[] PRIORITES = Priorite.values();
+    private static final TypeProjet[] TYPES = TypeProjet.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Projets complets : client, chef de projet, développeurs et tâches réparties entre eux.
+     */
+    static List<Project> projects(int projects, int developersPerProject, int tasksPerProject) {
+        User chef = user(1, "chef", Role.CHEF_DE_PROJET);
+        User client = user(2, "client", Role.CLIENT);
+        List<Project> result = new ArrayList<>(projects);
+        int userId = 100;
+        int taskId = 1;
+        for (int p = 0; p < projects; p++) {
+            Project project = new Project();
+            project.setId(p + 1);
+            project.setUuidPublic(String.format("%08x", p + 1));
+            project.setTitre("Projet " + (p + 1));
+            project.setDescription("Projet synthétique " + (p + 1) + " : refonte, migration et maintenance.");
+            project.setType(TYPES[p % TYPES.length]);
+            project.setStatut(StatutProjet.EN_COURS);
+            project.setProgression(BigDecimal.valueOf(p % 100));
+            project.setDateDebut(LocalDate.of(2025, 1, 6));
+            project.setDateFin(LocalDate.of(2025, 12, 19));
+            project.setClient(client);
+            project.setCreatedBy(chef);
+
+            List<User> team = new ArrayList<>(developersPerProject);
+            for (int d = 0; d < developersPerProject; d++) {
+                team.add(user(userId++, "dev" + userId, Role.DEVELOPPEUR));
+            }
+            project.setDeveloppeurs(team);
+
+            List<Task> tasks = new ArrayList<>(tasksPerProject);
+            for (int t = 0; t < tasksPerProject; t++) {
+                tasks.add(task(taskId++, project, team.isEmpty() ? null : team.get(t % team.size())));
+            }
+            project.setTasks(tasks);
+            result.add(project);
+        }
+        return result;
+    }
+
+    static List<Task> tasks(List<Project> projects) {
+        List<Task> tasks = new ArrayList<>();
+        for (Project project : projects) {
+            tasks.addAll(project.getTasks());
+        }
+        return tasks;
+    }
+
+    /**
+     * Statistiques par projet calculées à partir des tâches, comme les tient TaskStatsService.
+     */
+    static Map<Integer, ProjectTaskStats> stats(List<Project> projects) {
+        Map<Integer, ProjectTaskStats> stats = new HashMap<>();
+        for (Project project : projects) {
+            ProjectTaskStats projectStats = new ProjectTaskStats(project.getId());
+            for (Task task : project.getTasks()) {
+                switch (task.getStatut()) {
+                    case NON_COMMENCE -> projectStats.setNonCommence(projectStats.getNonCommence() + 1);
+                    case EN_COURS -> projectStats.setEnCours(projectStats.getEnCours() + 1);
+                    case BLOQUE -> projectStats.setBloque(projectStats.getBloque() + 1);
+                    case TERMINE -> projectStats.setTermine(projectStats.getTermine() + 1);
+                }
+                projectStats.setPlannedHours(projectStats.getPlannedHours() + task.getPlannedHours());
+            }
+            stats.put(project.getId(), projectStats);
+        }
+        return stats;
+    }
+
+    static User user(int id, String username, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setNom("Utilisateur " + id);
+        user.setEmail(username + "@sqli.com");
+        user.setMotDePasse("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4QZ8Qd5Q6l8Qx1bQ0l8Qx1e");
+        user.setJobTitle(role == Role.DEVELOPPEUR ? "Développeur" : "Chef de projet");
+        user.setRole(role);
+        return user;
+    }
+
+    /**
+     * Doublure sans enregistrement des appels : aucune mémoire accumulée au fil des itérations.
+     */
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    private static Task task(int id, Project project, User developer) {
+        LocalDate start = LocalDate.of(2025, 1, 6).plusDays(id % 200);
+        return Task.builder()
+                .id(id)
+                .titre("Tâche " + id)
+                .description("Développement de la fonctionnalité " + id)
+                .dateDebut(start)
+                .dateFin(start.plusDays(5))
+                .statut(STATUTS[id % STATUTS.length])
+                .priorite(PRIORITES[id % PRIORITES.length])
+                .plannedHours(8)
+                .effectiveHours(id % 9)
+                .remainingHours(8 - id % 9 > 0 ? 8 - id % 9 : 0)
+                .project(project)
+                .developpeur(developer)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.sqli.stage.backendsqli.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Lance les benchmarks avec le profileur d'allocation (gc) et écrit les résultats en JSON,
+ * à conserver d'une version à l'autre pour suivre les régressions :
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="JwtBenchmark -p revoked=0 -rff target/jmh/jwt.json"
+ * </pre>
+ * Les arguments sont ceux de la ligne de commande JMH (filtre, -p pour la taille des graphes synthétiques,
+ * -f, -wi, -i...). Sans filtre, tous les benchmarks du paquet sont lancés ; sans -rff, les résultats
+ * sont écrits dans target/jmh/results.json.
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT = "target/jmh/results.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON);
+
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + "\\..*Benchmark\\.");
+        }
+        String result = commandLine.getResult().orElse(DEFAULT_RESULT);
+        File parent = new File(result).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IllegalStateException("Répertoire de résultats impossible à créer : " + parent);
+        }
+        options.result(result);
+
+        new Runner(options.build()).run();
+    }
+}
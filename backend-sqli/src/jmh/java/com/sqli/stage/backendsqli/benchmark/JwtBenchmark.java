@@ -0,0 +1,121 @@
+package com.sqli.stage.backendsqli.benchmark;
+
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.repository.RevokedTokenRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.JwtAuthenticationFilter;
+import com.sqli.stage.backendsqli.security.JwtClaims;
+import com.sqli.stage.backendsqli.security.JwtUtil;
+import com.sqli.stage.backendsqli.security.PrincipalCache;
+import com.sqli.stage.backendsqli.security.TokenRevocationStore;
+import com.sqli.stage.backendsqli.utils.CustomUserDetailsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * JWT : génération, vérification (avec et sans le cache des tokens vérifiés) et passage complet
+ * dans JwtAuthenticationFilter (vérification, révocation, chargement du principal, contexte de sécurité).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jmh-only-1234567890123456789012345";
+
+    // Tokens révoqués déjà présents dans le magasin
+    @Param({"0", "10000"})
+    public int revoked;
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    private final FilterChain chain = (request, response) -> {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException("Requête non authentifiée");
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000, 1024);
+        uncachedJwtUtil = new JwtUtil(SECRET, 3_600_000, 0);
+        token = jwtUtil.generateToken("dev1", Role.DEVELOPPEUR.name(), 101);
+
+        TokenRevocationStore revocationStore = new TokenRevocationStore(jwtUtil,
+                BenchmarkFixtures.stub(RevokedTokenRepository.class), revoked + 1, false);
+        for (int i = 0; i < revoked; i++) {
+            revocationStore.revoke(uncachedJwtUtil.generateToken("dev" + i, Role.DEVELOPPEUR.name(), i));
+        }
+
+        UserRepository userRepository = BenchmarkFixtures.stub(UserRepository.class);
+        when(userRepository.findByUsername(anyString())).thenAnswer(invocation ->
+                Optional.of(BenchmarkFixtures.user(101, invocation.getArgument(0), Role.DEVELOPPEUR)));
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository,
+                new PrincipalCache(10_000, 300));
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationStore);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("dev1", Role.DEVELOPPEUR.name(), 101);
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseVerified() {
+        return jwtUtil.parseVerified(token);
+    }
+
+    // Vérification de la signature à chaque appel (cache des tokens vérifiés désactivé)
+    @Benchmark
+    public Optional<JwtClaims> parseVerifiedUncached() {
+        return uncachedJwtUtil.parseVerified(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public int filter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
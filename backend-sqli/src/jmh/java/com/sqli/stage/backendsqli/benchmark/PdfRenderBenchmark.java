@@ -0,0 +1,109 @@
+package com.sqli.stage.backendsqli.benchmark;
+
+import com.sqli.stage.backendsqli.dto.ProjectDTO.DeveloperResponse;
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectResponse;
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Enums.TypeProjet;
+import com.sqli.stage.backendsqli.service.PDFService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendu PDF d'un projet : implémentation d'origine (legacy) contre gabarit précompilé + pool de renderers.
+ * Débit et allocation par opération avec le profileur gc :
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PdfRenderBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfRenderBenchmark {
+
+    @Param({"3", "30"})
+    public int developers;
+
+    private ProjectResponse project;
+    private LegacyPdfRenderer legacy;
+    private PDFService pdfService;
+
+    @Setup
+    public void setUp() {
+        project = project(developers);
+        legacy = new LegacyPdfRenderer();
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        pdfService = new PDFService(templateEngine, Runtime.getRuntime().availableProcessors(), 10_000);
+        pdfService.warmUp();
+    }
+
+    @Benchmark
+    public byte[] legacy() throws IOException {
+        return legacy.generateProjectPDF(project);
+    }
+
+    @Benchmark
+    public byte[] pooled() throws IOException {
+        return pdfService.generateProjectPDF(project);
+    }
+
+    // Écriture directe dans le flux de réponse, sans tableau intermédiaire
+    @Benchmark
+    public void pooledStreaming() throws IOException {
+        pdfService.writeProjectPDF(project, OutputStream.nullOutputStream());
+    }
+
+    static ProjectResponse project(int developers) {
+        ProjectResponse project = new ProjectResponse();
+        project.setId(1);
+        project.setTitre("Refonte portail client");
+        project.setDescription("Refonte complète du portail client : authentification, tableau de bord et exports.");
+        project.setType(TypeProjet.Delivery);
+        project.setTypeLabel("Delivery");
+        project.setStatut(StatutProjet.EN_COURS);
+        project.setDateDebut(LocalDate.of(2025, 1, 6));
+        project.setDateFin(LocalDate.of(2025, 6, 30));
+        project.setProgression(BigDecimal.valueOf(42.5));
+        project.setClient(new ProjectResponse.ClientInfo(2, "client", "Client SA", "client@sqli.com"));
+        project.setCreatedBy(new ProjectResponse.ClientInfo(3, "chef", "Chef Projet", "chef@sqli.com"));
+        List<DeveloperResponse> team = new ArrayList<>();
+        for (int i = 0; i < developers; i++) {
+            team.add(new DeveloperResponse(10 + i, "Développeur " + i, "dev" + i + "@sqli.com", "dev" + i, "Développeur"));
+        }
+        project.setDeveloppeurs(team);
+        project.setTotalTasks(40);
+        project.setCompletedTasks(17);
+        project.setInProgressTasks(12);
+        return project;
+    }
+}
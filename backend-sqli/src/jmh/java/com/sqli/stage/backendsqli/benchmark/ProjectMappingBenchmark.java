@@ -0,0 +1,102 @@
+package com.sqli.stage.backendsqli.benchmark;
+
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectResponse;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
+import com.sqli.stage.backendsqli.repository.ProjectStatsRepository;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import com.sqli.stage.backendsqli.service.ImplementationService.ProjetServiceImpl;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.SearchService;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import com.sqli.stage.backendsqli.service.TimesheetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProjetServiceImpl.mapToResponse sur des graphes synthétiques : projet seul (statistiques lues par projet)
+ * et liste complète (getAllProjects, statistiques lues en une fois). Les dépôts sont des doublures en mémoire :
+ * seul le coût de mapping est mesuré.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectMappingBenchmark {
+
+    @Param({"10", "100"})
+    public int projects;
+
+    @Param({"5", "30"})
+    public int developers;
+
+    @Param({"20", "200"})
+    public int tasks;
+
+    private List<Project> graph;
+    private ProjetServiceImpl projetService;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkFixtures.projects(projects, developers, tasks);
+        Map<Integer, ProjectTaskStats> stats = BenchmarkFixtures.stats(graph);
+
+        ProjetRepository projetRepository = BenchmarkFixtures.stub(ProjetRepository.class);
+        when(projetRepository.findAllWithTeam()).thenReturn(graph);
+        TaskStatsService taskStatsService = BenchmarkFixtures.stub(TaskStatsService.class);
+        when(taskStatsService.getProjectStats(anyInt())).thenAnswer(invocation -> stats.get(invocation.<Integer>getArgument(0)));
+        when(taskStatsService.getProjectStats(anyCollection())).thenReturn(stats);
+        CurrentUserHolder currentUserHolder = BenchmarkFixtures.stub(CurrentUserHolder.class);
+        when(currentUserHolder.find()).thenReturn(Optional.of(BenchmarkFixtures.user(1, "admin", Role.ADMIN)));
+
+        projetService = new ProjetServiceImpl(
+                BenchmarkFixtures.stub(UserRepository.class),
+                projetRepository,
+                BenchmarkFixtures.stub(ProjectStatsRepository.class),
+                BenchmarkFixtures.stub(TaskRepository.class),
+                taskStatsService,
+                currentUserHolder,
+                new PdfRenderCache(0, 0, 0),
+                BenchmarkFixtures.stub(SearchService.class),
+                BenchmarkFixtures.stub(TimesheetService.class),
+                BenchmarkFixtures.stub(ApplicationEventPublisher.class));
+    }
+
+    @Benchmark
+    public void mapToResponse(Blackhole blackhole) {
+        for (Project project : graph) {
+            blackhole.consume(projetService.mapToResponse(project));
+        }
+    }
+
+    @Benchmark
+    public List<ProjectResponse> getAllProjects() {
+        return projetService.getAllProjects();
+    }
+}
@@ -0,0 +1,67 @@
+package com.sqli.stage.backendsqli.benchmark;
+
+import com.google.zxing.WriterException;
+import com.sqli.stage.backendsqli.service.QRCodeService;
+import com.sqli.stage.backendsqli.utils.QRCodeGenerator;
+import com.sqli.stage.backendsqli.utils.QRCodeGenerator.Format;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QR codes : encodage complet (matrice + PNG ou SVG) contre lecture dans le cache de QRCodeService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QRCodeBenchmark {
+
+    @Param({"200", "400"})
+    public int size;
+
+    // Nombre de projets distincts demandés, tous présents dans le cache
+    @Param({"1000"})
+    public int projects;
+
+    private QRCodeService qrCodeService;
+    private String content;
+    private long next;
+
+    @Setup
+    public void setUp() throws WriterException, IOException {
+        qrCodeService = new QRCodeService("https://tracker.sqli.com", 64, 1000, 1024, 256L * 1024 * 1024);
+        content = qrCodeService.getPublicBaseUrl() + "/project/42";
+        for (long id = 0; id < projects; id++) {
+            qrCodeService.getProjectQRCode(id, size, Format.PNG);
+        }
+    }
+
+    @Benchmark
+    public byte[] encodePng() throws WriterException, IOException {
+        return QRCodeGenerator.generateQRCodeImage(content, size, size);
+    }
+
+    @Benchmark
+    public byte[] encodeSvg() throws WriterException {
+        return QRCodeGenerator.generateQRCodeSvg(content, size);
+    }
+
+    @Benchmark
+    public QRCodeService.QrImage cachedPng() throws WriterException, IOException {
+        return qrCodeService.getProjectQRCode(next++ % projects, size, Format.PNG);
+    }
+}
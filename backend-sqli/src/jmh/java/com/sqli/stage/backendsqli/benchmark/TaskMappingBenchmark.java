@@ -0,0 +1,110 @@
+package com.sqli.stage.backendsqli.benchmark;
+
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskFilterRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import com.sqli.stage.backendsqli.service.HistoriqueService;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskserviceImpl;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.ProjectProgressRecomputer;
+import com.sqli.stage.backendsqli.service.SearchService;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import com.sqli.stage.backendsqli.service.TaskTimerRegistry;
+import com.sqli.stage.backendsqli.service.TimesheetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * TaskserviceImpl.mapToReponse (via getTasksByProject) et filterTasks : construction de la spécification,
+ * de la pagination et mapping d'une page. Le dépôt est une doublure qui renvoie des tâches synthétiques.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"100", "10000"})
+    public int tasks;
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private TaskserviceImpl taskService;
+    private TaskFilterRequest filter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<Task> graph = BenchmarkFixtures.tasks(BenchmarkFixtures.projects(1, 10, tasks));
+
+        TaskRepository taskRepository = BenchmarkFixtures.stub(TaskRepository.class);
+        when(taskRepository.findByProjectId(anyInt())).thenReturn(graph);
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(1);
+            int from = (int) Math.min(pageable.getOffset(), graph.size());
+            int to = Math.min(from + pageable.getPageSize(), graph.size());
+            Page<Task> page = new PageImpl<>(graph.subList(from, to), pageable, graph.size());
+            return page;
+        });
+
+        taskService = new TaskserviceImpl(
+                BenchmarkFixtures.stub(UserRepository.class),
+                taskRepository,
+                BenchmarkFixtures.stub(ProjetRepository.class),
+                BenchmarkFixtures.stub(HistoriqueService.class),
+                BenchmarkFixtures.stub(TaskStatsService.class),
+                BenchmarkFixtures.stub(CurrentUserHolder.class),
+                new PdfRenderCache(0, 0, 0),
+                BenchmarkFixtures.stub(SearchService.class),
+                BenchmarkFixtures.stub(ProjectProgressRecomputer.class),
+                BenchmarkFixtures.stub(TaskTimerRegistry.class),
+                BenchmarkFixtures.stub(TimesheetService.class),
+                BenchmarkFixtures.stub(ApplicationEventPublisher.class));
+
+        filter = new TaskFilterRequest();
+        filter.setProjectId(1);
+        filter.setStatut(StatutTache.EN_COURS);
+        filter.setKeyword("fonctionnalité");
+        filter.setSize(pageSize);
+        filter.setSortBy("dateFin");
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapToReponse() {
+        return taskService.getTasksByProject(1);
+    }
+
+    @Benchmark
+    public Page<TaskResponse> filterTasks() {
+        return taskService.filterTasks(filter);
+    }
+}
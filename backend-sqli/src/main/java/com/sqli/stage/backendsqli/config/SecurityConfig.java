@@ -1,6 +1,7 @@
 package com.sqli.stage.backendsqli.config;
 
 import com.sqli.stage.backendsqli.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,8 +42,13 @@ public class SecurityConfig {
                         .requestMatchers("/api/projects/public/**").permitAll()
                         .requestMatchers("/api/admin/users/by-role/**").hasAnyRole("ADMIN", "CHEF_DE_PROJET")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN") // nécessite ROLE_ADMIN côté user
+                        // Actuator, servi sur le port de gestion (management.server.port) non exposé publiquement
+                        .requestMatchers("/actuator/health", "/actuator/info", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // préflight
+                        // Fin d'une réponse asynchrone (flux SSE) : la requête initiale a déjà été autorisée
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                         .anyRequest().authenticated()
                 )
@@ -69,10 +75,12 @@ public class SecurityConfig {
         config.setAllowedMethods(List.of("GET","POST","PUT","PATCH","DELETE","OPTIONS"));
 
         // Tu peux élargir si besoin: "X-Requested-With", "Origin"
-        config.setAllowedHeaders(List.of("Authorization","Content-Type","Accept"));
+        config.setAllowedHeaders(List.of("Authorization","Content-Type","Accept","Last-Event-ID",
+                "If-Match","If-None-Match","If-Modified-Since","If-Unmodified-Since"));
 
         // Si tu veux que le front lise certains headers de réponse:
-        config.setExposedHeaders(List.of("Authorization"));
+        // (X-SQL-Count / X-SQL-Time-Ms sont un diagnostic lu par les outils, pas par le front)
+        config.setExposedHeaders(List.of("Authorization", "ETag", "Last-Modified"));
 
         // Si tu n'utilises pas de cookies, tu peux laisser false. (true n’est utile que pour cookie/sessions)
         config.setAllowCredentials(true);
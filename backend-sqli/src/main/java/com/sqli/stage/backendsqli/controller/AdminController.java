@@ -1,8 +1,10 @@
 package com.sqli.stage.backendsqli.controller;
 
 import com.sqli.stage.backendsqli.dto.*;
+import com.sqli.stage.backendsqli.dto.AnalyticDTO.StatsReconciliationReport;
 import com.sqli.stage.backendsqli.entity.Enums.Role;
 import com.sqli.stage.backendsqli.service.AdminService;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,7 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final TaskStatsService taskStatsService;
 
     // Créer un utilisateur
     @PostMapping("/users")
@@ -93,4 +96,11 @@ public class AdminController {
     public ResponseEntity<UserResponse> createAdmin(@Valid @RequestBody CreateAdminDTO request){
         return ResponseEntity.ok(adminService.createNewAdmin(request));
     }
+
+    // Recalculer les statistiques de tâches depuis la table tasks et rapporter les écarts
+    @PostMapping("/stats/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StatsReconciliationReport> reconcileTaskStats() {
+        return ResponseEntity.ok(taskStatsService.reconcile());
+    }
 }
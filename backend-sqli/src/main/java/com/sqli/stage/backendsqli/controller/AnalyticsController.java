@@ -3,6 +3,7 @@ package com.sqli.stage.backendsqli.controller;
 import com.sqli.stage.backendsqli.dto.AnalyticDTO.ChartData;
 import com.sqli.stage.backendsqli.dto.AnalyticDTO.ProgressResponse;
 import com.sqli.stage.backendsqli.dto.AnalyticDTO.WorkloadResponse;
+import com.sqli.stage.backendsqli.dto.ProjectDTO.DashboardStatsResponse;
 import com.sqli.stage.backendsqli.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -43,6 +44,13 @@ public class AnalyticsController {
         return ResponseEntity.ok(analyticsService.getChefDashboardStats());
     }
 
+    // Endpoint pour les indicateurs du dashboard administrateur (une seule requête SQL)
+    @GetMapping("/admin/dashboard-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashboardStatsResponse> getAdminDashboardStats() {
+        return ResponseEntity.ok(analyticsService.getDashboardStats());
+    }
+
     // Endpoint pour l'activité récente
     @GetMapping("/chef/recent-activity")
     @PreAuthorize("hasRole('CHEF_DE_PROJET')")
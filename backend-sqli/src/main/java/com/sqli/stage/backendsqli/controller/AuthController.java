@@ -9,7 +9,7 @@ import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
 import com.sqli.stage.backendsqli.entity.User;
 import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
 import com.sqli.stage.backendsqli.repository.UserRepository;
-import com.sqli.stage.backendsqli.security.TokenBlacklist;
+import com.sqli.stage.backendsqli.security.TokenRevocationStore;
 import com.sqli.stage.backendsqli.service.AuthService;
 import com.sqli.stage.backendsqli.service.HistoriqueService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,7 +25,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
-    private final TokenBlacklist tokenBlacklist;
+    private final TokenRevocationStore tokenRevocationStore;
     private final HistoriqueService  logService;
 
     @PostMapping("/login")
@@ -36,7 +36,7 @@ public class AuthController {
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(HttpServletRequest request) {
         String token = authService.extractTokenFromHeader(request);
-        tokenBlacklist.blacklistToken(token);
+        tokenRevocationStore.revoke(token);
 
         String username = authService.extractUsernameFromToken(token); // Crée cette méthode dans ton AuthService
         Integer UserId = authService.extractIdUserFromToken(token);
@@ -0,0 +1,55 @@
+package com.sqli.stage.backendsqli.controller;
+
+import com.sqli.stage.backendsqli.dto.ResourceStamp;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Requêtes conditionnelles sur les tâches et projets. La version est lue par une requête légère avant tout
+ * chargement : une lecture dont l'ETag (If-None-Match) ou la date (If-Modified-Since) n'a pas changé répond 304
+ * sans construire la réponse ; une modification dont If-Match (ou If-Unmodified-Since) ne correspond plus répond 412.
+ * Cette vérification précède la transaction du service : la version validée lui est transmise, il la compare à
+ * celle de l'entité chargée (409 si elle a changé entre-temps), puis le @Version de l'entité couvre l'intervalle
+ * entre ce chargement et le flush (409).
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static <T> ResponseEntity<T> read(WebRequest request, Optional<ResourceStamp> stamp, Supplier<T> body) {
+        if (stamp.isPresent() && request.checkNotModified(stamp.get().etag(), stamp.get().lastModifiedMillis())) {
+            // ETag et Last-Modified déjà posés par checkNotModified
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(body.get());
+    }
+
+    static <T> ResponseEntity<T> write(WebRequest request, Supplier<Optional<ResourceStamp>> stamp, Supplier<T> update) {
+        return write(request, stamp, expectedVersion -> update.get());
+    }
+
+    // update reçoit la version validée par la précondition, null sans If-Match ni If-Unmodified-Since
+    static <T> ResponseEntity<T> write(WebRequest request, Supplier<Optional<ResourceStamp>> stamp,
+                                       Function<Long, T> update) {
+        Long expectedVersion = null;
+        if (request.getHeader(HttpHeaders.IF_MATCH) != null || request.getHeader(HttpHeaders.IF_UNMODIFIED_SINCE) != null) {
+            Optional<ResourceStamp> current = stamp.get();
+            if (current.isPresent() && request.checkNotModified(current.get().etag(), current.get().lastModifiedMillis())) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            expectedVersion = current.map(ResourceStamp::version).orElse(null);
+        }
+        T body = update.apply(expectedVersion);
+        // Nouvel ETag : le client enchaîne la modification suivante sans relire la ressource
+        return stamp.get()
+                .map(updated -> ResponseEntity.ok().eTag(updated.etag()).body(body))
+                .orElseGet(() -> ResponseEntity.ok(body));
+    }
+}
@@ -0,0 +1,43 @@
+package com.sqli.stage.backendsqli.controller;
+
+import com.sqli.stage.backendsqli.security.UserPrincipal;
+import com.sqli.stage.backendsqli.service.DashboardEventHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Flux d'événements des tableaux de bord (Server-Sent Events) : remplace l'interrogation périodique
+ * des endpoints d'analytique et de statistiques.
+ */
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventController {
+
+    private final DashboardEventHub eventHub;
+
+    // Endpoint du flux de l'utilisateur connecté ; Last-Event-ID (envoyé par EventSource au reconnect) rejoue les manqués
+    @GetMapping("/stream")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CHEF_DE_PROJET', 'DEVELOPPEUR', 'CLIENT')")
+    public ResponseEntity<SseEmitter> stream(@AuthenticationPrincipal UserPrincipal principal,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    // Pas de mise en tampon par un proxy nginx
+                    .header("X-Accel-Buffering", "no")
+                    .body(eventHub.open(principal.getId(), lastEventId));
+        } catch (IllegalStateException e) {
+            // Trop de flux ouverts sur ce nœud : EventSource réessaiera
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.sqli.stage.backendsqli.controller;
 
 
+import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogFilterRequest;
+import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogPageResponse;
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogResponse;
 import com.sqli.stage.backendsqli.entity.Enums.EntityName;
 import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
@@ -47,6 +49,18 @@ public class HistoriqueController {
 
     }
 
+    @GetMapping("/user/{id}/entity/{entity}")
+    public ResponseEntity<List<LogResponse>> getByUserAndEntity(@PathVariable int id, @PathVariable EntityName entity) {
+        List<LogResponse> logs = historiqueService.getLogsByUserAndEntity(id, entity);
+        return logs.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(logs);
+    }
+
+    // Recherche paginée par curseur : renvoyer nextCursorTimestamp/nextCursorId pour la page suivante
+    @PostMapping("/filter")
+    public ResponseEntity<LogPageResponse> getFiltered(@RequestBody LogFilterRequest filter) {
+        return ResponseEntity.ok(historiqueService.getLogsFiltered(filter));
+    }
+
     @GetMapping("/date")
     public ResponseEntity<List<LogResponse>> getByDateRange(
             @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
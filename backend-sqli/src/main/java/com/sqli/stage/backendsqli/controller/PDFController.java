@@ -2,12 +2,15 @@ package com.sqli.stage.backendsqli.controller;
 
 import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectResponse;
 import com.sqli.stage.backendsqli.service.PDFService;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
 import com.sqli.stage.backendsqli.service.ProjetService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 
@@ -19,40 +22,58 @@ public class PDFController {
 
     private final PDFService pdfService;
     private final ProjetService projetService;
+    private final PdfRenderCache pdfRenderCache;
 
     /**
-     * Télécharger le PDF d'un projet public
+     * Télécharger le PDF d'un projet public.
+     * Le document rendu est mis en cache par version du projet ; If-None-Match sur l'ETag (lu en base,
+     * le même sur toutes les instances) renvoie 304.
      */
     @GetMapping("/projects/{id}/pdf")
-    public ResponseEntity<byte[]> downloadProjectPDF(@PathVariable Integer id) {
+    public ResponseEntity<byte[]> downloadProjectPDF(@PathVariable Integer id, WebRequest request) {
         try {
-            // Récupérer les détails du projet
-            ProjectResponse project = projetService.getProjectById(id);
-            if (project == null) {
+            // Versions lues avant les données : une modification concurrente invalide ce rendu
+            String etag = projetService.getProjectDocumentStamp(id).map(stamp -> stamp.etag()).orElse(null);
+            if (etag == null) {
                 return ResponseEntity.notFound().build();
             }
+            if (request.checkNotModified(etag)) {
+                // Réponse 304 déjà préparée par checkNotModified
+                return null;
+            }
+            PdfRenderCache.RenderKey key = pdfRenderCache.currentKey(id, etag);
 
-            // Générer le PDF
-            byte[] pdfContent = pdfService.generateProjectPDF(project);
+            PdfRenderCache.RenderedPdf pdf = pdfRenderCache.getOrRender(key, () -> {
+                // Récupérer les détails du projet
+                ProjectResponse project = projetService.getProjectById(id);
+                if (project == null) {
+                    return null;
+                }
+                // Générer le PDF
+                return new PdfRenderCache.RenderedPdf(pdfService.generateProjectPDF(project),
+                        "projet-" + project.getTitre().replaceAll("[^a-zA-Z0-9]", "-") + ".pdf");
+            });
+            if (pdf == null) {
+                return ResponseEntity.notFound().build();
+            }
 
             // Configurer les headers pour le téléchargement
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", 
-                "projet-" + project.getTitre().replaceAll("[^a-zA-Z0-9]", "-") + ".pdf");
-            headers.setContentLength(pdfContent.length);
-            
+            headers.setContentDispositionFormData("attachment", pdf.filename());
+            headers.setContentLength(pdf.content().length);
+            headers.setETag(etag);
+
             // Headers pour éviter les problèmes ngrok
             headers.set("X-Content-Type-Options", "nosniff");
             headers.set("X-Frame-Options", "DENY");
             headers.set("X-XSS-Protection", "1; mode=block");
-            headers.set("Cache-Control", "no-cache, no-store, must-revalidate");
-            headers.set("Pragma", "no-cache");
-            headers.set("Expires", "0");
+            // Conservé par le client mais revalidé à chaque fois avec l'ETag
+            headers.setCacheControl(CacheControl.noCache());
 
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(pdfContent);
+                    .body(pdf.content());
 
         } catch (IOException e) {
             return ResponseEntity.internalServerError().build();
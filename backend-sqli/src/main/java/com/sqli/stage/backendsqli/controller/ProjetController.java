@@ -12,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -98,8 +99,8 @@ public class ProjetController {
 
     // Endpoint pour obtenir un projet par ID
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable int id) {
-        return ResponseEntity.ok(projetService.getProjectById(id));
+    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable int id, WebRequest webRequest) {
+        return ConditionalRequests.read(webRequest, projetService.getProjectStamp(id), () -> projetService.getProjectById(id));
     }
 
     // Endpoint pour obtenir les détails complets d'un projet
@@ -108,11 +109,13 @@ public class ProjetController {
         return ResponseEntity.ok(projetService.getDetailedProject(id));
     }
 
-    // Endpoint pour mettre à jour un projet
+    // Endpoint pour mettre à jour un projet (If-Match : 412 s'il a changé depuis la lecture)
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('CHEF_DE_PROJET')")
-    public ResponseEntity<ProjectResponse> updateProject(@PathVariable int id, @Valid @RequestBody ProjectRequest request) {
-        return ResponseEntity.ok(projetService.updateProject(id, request));
+    public ResponseEntity<ProjectResponse> updateProject(@PathVariable int id, @Valid @RequestBody ProjectRequest request,
+                                                         WebRequest webRequest) {
+        return ConditionalRequests.write(webRequest, () -> projetService.getProjectStamp(id),
+                expectedVersion -> projetService.updateProject(id, request, expectedVersion));
     }
 
     // Endpoint pour supprimer un projet
@@ -148,8 +151,8 @@ public class ProjetController {
     // Endpoint pour obtenir tous les projets (admin)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<ProjectResponse>> getAllProjects() {
-        return ResponseEntity.ok(projetService.getAllProjects());
+    public ResponseEntity<List<ProjectResponse>> getAllProjects(WebRequest webRequest) {
+        return ConditionalRequests.read(webRequest, projetService.getProjectsStamp(), projetService::getAllProjects);
     }
 
     // Endpoint pour obtenir les projets par statut (simulation)
@@ -1,10 +1,17 @@
 package com.sqli.stage.backendsqli.controller;
 
 import com.sqli.stage.backendsqli.service.QRCodeService;
+import com.sqli.stage.backendsqli.utils.QRCodeGenerator.Format;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Locale;
 
 
 @RestController
@@ -15,22 +22,32 @@ public class QRCodeController {
     @Autowired
     private QRCodeService qrCodeService;
 
+    // Un QR personnalisé ne dépend que des paramètres de l'URL : le client le conserve sans revalider
+    @Value("${qrcode.http.max-age-seconds:31536000}")
+    private long maxAgeSeconds;
+
     /**
      * Génère un QR code pour un projet spécifique
      * @param projectId L'ID du projet
-     * @param projectName Le nom du projet
-     * @return Le QR code en format PNG
+     * @param projectName Le nom du projet (non encodé, conservé pour compatibilité)
+     * @param size Taille en pixels
+     * @param format png ou svg
+     * @return Le QR code en format PNG ou SVG
      */
     @GetMapping("/project/{projectId}")
     public ResponseEntity<byte[]> generateProjectQRCode(
             @PathVariable Long projectId,
-            @RequestParam String projectName) {
-        
+            @RequestParam(required = false) String projectName,
+            @RequestParam(defaultValue = "" + QRCodeService.PROJECT_QR_SIZE) int size,
+            @RequestParam(defaultValue = "png") String format,
+            WebRequest request) {
+
         try {
-            byte[] qrCode = qrCodeService.generateProjectQRCode(projectId, projectName);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_PNG)
-                    .body(qrCode);
+            // L'image encode qrcode.public-base-url, absente de l'URL : revalidée à chaque fois avec l'ETag
+            return toResponse(qrCodeService.getProjectQRCode(projectId, size, parseFormat(format)),
+                    CacheControl.noCache(), request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -40,20 +57,42 @@ public class QRCodeController {
      * Génère un QR code personnalisé
      * @param url L'URL à encoder
      * @param title Le titre à afficher
-     * @return Le QR code en format PNG
+     * @param size Taille en pixels
+     * @param format png ou svg
+     * @return Le QR code en format PNG ou SVG
      */
     @GetMapping("/custom")
     public ResponseEntity<byte[]> generateCustomQRCode(
             @RequestParam String url,
-            @RequestParam String title) {
-        
+            @RequestParam String title,
+            @RequestParam(defaultValue = "" + QRCodeService.CUSTOM_QR_SIZE) int size,
+            @RequestParam(defaultValue = "png") String format,
+            WebRequest request) {
+
         try {
-            byte[] qrCode = qrCodeService.generateCustomQRCode(url, title);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_PNG)
-                    .body(qrCode);
+            return toResponse(qrCodeService.getCustomQRCode(url, title, size, parseFormat(format)),
+                    CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().immutable(), request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    private ResponseEntity<byte[]> toResponse(QRCodeService.QrImage image, CacheControl cacheControl, WebRequest request) {
+        if (request.checkNotModified(image.etag())) {
+            // Réponse 304 déjà préparée par checkNotModified
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(image.format().getMediaType()))
+                .contentLength(image.content().length)
+                .eTag(image.etag())
+                .cacheControl(cacheControl)
+                .body(image.content());
+    }
+
+    private static Format parseFormat(String format) {
+        return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+    }
 }
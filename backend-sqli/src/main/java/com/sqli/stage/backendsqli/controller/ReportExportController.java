@@ -0,0 +1,105 @@
+package com.sqli.stage.backendsqli.controller;
+
+import com.sqli.stage.backendsqli.dto.RapportDTO.ReportExportRequest;
+import com.sqli.stage.backendsqli.dto.RapportDTO.ReportJobResponse;
+import com.sqli.stage.backendsqli.service.ReportExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/reports/exports")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'CHEF_DE_PROJET')")
+public class ReportExportController {
+
+    // Attributs de requête de Tomcat pour l'envoi d'un fichier par sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ReportExportService reportExportService;
+
+    /**
+     * Lance l'export des PDF des projets visibles (filtrés par type ou par ids) dans une archive ZIP.
+     */
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestBody(required = false) ReportExportRequest request) {
+        try {
+            ReportJobResponse job = reportExportService.submit(request != null ? request : new ReportExportRequest());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/reports/exports/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .body(Map.of("message", "Trop d'exports en cours, réessayez plus tard"));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReportJobResponse>> getMyJobs() {
+        return ResponseEntity.ok(reportExportService.getMyJobs());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(reportExportService.getJob(id));
+    }
+
+    /**
+     * Téléchargement de l'archive : envoyée par sendfile quand le connecteur le permet,
+     * sinon copiée par canal sans passer par un tableau en mémoire.
+     */
+    @GetMapping("/{id}/download")
+    public void download(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path archive;
+        try {
+            archive = reportExportService.getArchive(id);
+        } catch (IllegalStateException e) {
+            response.sendError(HttpStatus.CONFLICT.value(), e.getMessage());
+            return;
+        }
+        long size = Files.size(archive);
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(archive.getFileName().toString()).build().toString());
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, archive.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sqli.stage.backendsqli.controller;
+
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchType;
+import com.sqli.stage.backendsqli.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Recherche classée sur les tâches, projets et utilisateurs : /api/search?q=migration&types=task,project&page=0&size=20.
+     * Les utilisateurs ne sont renvoyés qu'aux administrateurs et chefs de projet.
+     */
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam(defaultValue = "") String q,
+                                    @RequestParam(required = false) List<String> types,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "20") int size,
+                                    Authentication authentication) {
+        try {
+            Set<SearchType> requested = EnumSet.noneOf(SearchType.class);
+            if (types == null || types.isEmpty()) {
+                requested.addAll(EnumSet.allOf(SearchType.class));
+            } else {
+                types.forEach(type -> requested.add(SearchType.fromValue(type)));
+            }
+            if (!canSearchUsers(authentication)) {
+                requested.remove(SearchType.USER);
+            }
+            return ResponseEntity.ok(searchService.search(q, requested, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    private static boolean canSearchUsers(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN")
+                        || authority.getAuthority().equals("ROLE_CHEF_DE_PROJET"));
+    }
+}
@@ -2,15 +2,22 @@ package com.sqli.stage.backendsqli.controller;
 
 import com.sqli.stage.backendsqli.dto.TaskDTO.*;
 import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.exception.AccessdeniedException;
+import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
 import com.sqli.stage.backendsqli.service.Taskservice;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -36,8 +43,8 @@ public class TaskController {
     // Endpoint pour obtenir toutes les tâches
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'CHEF_DE_PROJET', 'DEVELOPPEUR')")
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<List<TaskResponse>> getAllTasks(WebRequest webRequest) {
+        return ConditionalRequests.read(webRequest, taskService.getTasksStamp(), taskService::getAllTasks);
     }
 
     // Endpoint pour obtenir les tâches de l'utilisateur connecté
@@ -49,8 +56,8 @@ public class TaskController {
 
     // Endpoint pour obtenir une tâche par ID
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable int id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable int id, WebRequest webRequest) {
+        return ConditionalRequests.read(webRequest, taskService.getTaskStamp(id), () -> taskService.getTaskById(id));
     }
 
     // Endpoint pour créer une tâche
@@ -60,11 +67,42 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(request));
     }
 
-    // Endpoint pour mettre à jour une tâche
+    // Endpoint pour mettre à jour une tâche (If-Match : 412 si elle a changé depuis la lecture)
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('CHEF_DE_PROJET')")
-    public ResponseEntity<TaskResponse> updateTask(@PathVariable int id, @Valid @RequestBody TaskRequest request) {
-        return ResponseEntity.ok(taskService.updateTask(id, request));
+    public ResponseEntity<TaskResponse> updateTask(@PathVariable int id, @Valid @RequestBody TaskRequest request,
+                                                   WebRequest webRequest) {
+        return ConditionalRequests.write(webRequest, () -> taskService.getTaskStamp(id),
+                expectedVersion -> taskService.updateTask(id, request, expectedVersion));
+    }
+
+    // Création groupée (tout ou rien) : validation du lot en quelques requêtes, INSERT par lots JDBC
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('CHEF_DE_PROJET')")
+    public ResponseEntity<?> createTasks(@Valid @RequestBody BulkTaskCreateRequest request) {
+        return respond(() -> ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTasks(request.getTasks())));
+    }
+
+    // Modification partielle groupée (tout ou rien) ; version attendue par tâche facultative (409 si elle a changé)
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasRole('CHEF_DE_PROJET')")
+    public ResponseEntity<?> updateTasks(@Valid @RequestBody BulkTaskUpdateRequest request) {
+        return respond(() -> ResponseEntity.ok(taskService.updateTasks(request.getTasks())));
+    }
+
+    // Erreurs métier renvoyées avec leur message (pour un lot : "Tâche n°3 : ...")
+    private ResponseEntity<?> respond(Supplier<ResponseEntity<?>> action) {
+        try {
+            return action.get();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (AccessdeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
     }
 
     // Endpoint pour supprimer une tâche
@@ -77,8 +115,9 @@ public class TaskController {
 
     // Endpoint pour obtenir les tâches par projet
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<TaskResponse>> getTasksByProject(@PathVariable int projectId) {
-        return ResponseEntity.ok(taskService.getTasksByProject(projectId));
+    public ResponseEntity<List<TaskResponse>> getTasksByProject(@PathVariable int projectId, WebRequest webRequest) {
+        return ConditionalRequests.read(webRequest, taskService.getProjectTasksStamp(projectId),
+                () -> taskService.getTasksByProject(projectId));
     }
 
     // Endpoint pour obtenir les tâches par développeur
@@ -95,7 +134,7 @@ public class TaskController {
 
     // Endpoint pour filtrer les tâches
     @PostMapping("/filter")
-    public ResponseEntity<List<TaskResponse>> filterTasks(@RequestBody TaskFilterRequest request) {
+    public ResponseEntity<Page<TaskResponse>> filterTasks(@RequestBody TaskFilterRequest request) {
         return ResponseEntity.ok(taskService.filterTasks(request));
     }
 
@@ -114,8 +153,9 @@ public class TaskController {
 
     // Endpoint pour obtenir les tâches par projet avec réponse détaillée
     @GetMapping("/project/{projectId}/detailed")
-    public ResponseEntity<List<TaskResponse>> getTasksByProjectDetailed(@PathVariable int projectId) {
-        return ResponseEntity.ok(taskService.getTasksByProject(projectId));
+    public ResponseEntity<List<TaskResponse>> getTasksByProjectDetailed(@PathVariable int projectId, WebRequest webRequest) {
+        return ConditionalRequests.read(webRequest, taskService.getProjectTasksStamp(projectId),
+                () -> taskService.getTasksByProject(projectId));
     }
 
     // Endpoint pour assigner une tâche à un développeur
@@ -126,57 +166,56 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getTaskById(id));
     }
 
-    // Endpoint pour changer le statut d'une tâche
+    // Endpoint pour changer le statut d'une tâche (If-Match accepté)
     @PutMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('CHEF_DE_PROJET', 'DEVELOPPEUR')")
-    public ResponseEntity<TaskResponse> updateTaskStatus(@PathVariable int id, @RequestParam StatutTache status) {
-        TaskResponse task;
-        switch (status) {
-            case TERMINE:
-                task = taskService.markTaskAsFinished(id);
-                break;
-            case EN_COURS:
-                task = taskService.markTaskAsInProgress(id);
-                break;
-            case BLOQUE:
-                task = taskService.markTaskAsBlocked(id);
-                break;
-            default:
-                task = taskService.getTaskById(id);
-        }
-        return ResponseEntity.ok(task);
+    public ResponseEntity<TaskResponse> updateTaskStatus(@PathVariable int id, @RequestParam StatutTache status,
+                                                         WebRequest webRequest) {
+        return ConditionalRequests.write(webRequest, () -> taskService.getTaskStamp(id), () -> {
+            TaskResponse task;
+            switch (status) {
+                case TERMINE:
+                    task = taskService.markTaskAsFinished(id);
+                    break;
+                case EN_COURS:
+                    task = taskService.markTaskAsInProgress(id);
+                    break;
+                case BLOQUE:
+                    task = taskService.markTaskAsBlocked(id);
+                    break;
+                default:
+                    task = taskService.getTaskById(id);
+            }
+            return task;
+        });
     }
 
     // Endpoint pour mettre à jour les heures effectives
     @PutMapping("/{id}/hours")
     @PreAuthorize("hasRole('DEVELOPPEUR')")
-    public ResponseEntity<TaskResponse> updateTaskHours(@PathVariable int id, @RequestParam double hours) {
-        TaskResponse task = taskService.updateTaskHours(id, hours);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<?> updateTaskHours(@PathVariable int id, @RequestParam double hours) {
+        return respond(() -> ResponseEntity.ok(taskService.updateTaskHours(id, hours)));
     }
 
     // Endpoint pour démarrer le timer d'une tâche
     @PostMapping("/{id}/timer/start")
     @PreAuthorize("hasRole('DEVELOPPEUR')")
-    public ResponseEntity<Map<String, Object>> startTaskTimer(@PathVariable int id) {
-        Map<String, Object> response = taskService.startTaskTimer(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> startTaskTimer(@PathVariable int id) {
+        return respond(() -> ResponseEntity.ok(taskService.startTaskTimer(id)));
     }
 
     // Endpoint pour arrêter le timer d'une tâche
     @PostMapping("/{id}/timer/stop")
     @PreAuthorize("hasRole('DEVELOPPEUR')")
-    public ResponseEntity<Map<String, Object>> stopTaskTimer(@PathVariable int id) {
-        Map<String, Object> response = taskService.stopTaskTimer(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> stopTaskTimer(@PathVariable int id) {
+        return respond(() -> ResponseEntity.ok(taskService.stopTaskTimer(id)));
     }
 
     // Endpoint pour obtenir le statut du timer d'une tâche
     @GetMapping("/{id}/timer/status")
     @PreAuthorize("hasRole('DEVELOPPEUR')")
-    public ResponseEntity<Map<String, Object>> getTaskTimerStatus(@PathVariable int id) {
-        Map<String, Object> response = taskService.getTaskTimerStatus(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> getTaskTimerStatus(@PathVariable int id) {
+        return respond(() -> ResponseEntity.ok(taskService.getTaskTimerStatus(id)));
     }
 
     // Endpoint pour obtenir le planning de l'utilisateur actuel
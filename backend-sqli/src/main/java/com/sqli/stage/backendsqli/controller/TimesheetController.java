@@ -0,0 +1,97 @@
+package com.sqli.stage.backendsqli.controller;
+
+import com.sqli.stage.backendsqli.dto.TimesheetDTO.TimeEntryRequest;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetPeriod;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetScope;
+import com.sqli.stage.backendsqli.exception.AccessdeniedException;
+import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
+import com.sqli.stage.backendsqli.service.TimesheetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Pointages et cumuls de temps (jour, semaine, mois) par développeur, tâche ou projet.
+ */
+@RestController
+@RequestMapping("/api/timesheets")
+@RequiredArgsConstructor
+public class TimesheetController {
+
+    private final TimesheetService timesheetService;
+
+    // Endpoint pour pointer des heures sur une tâche assignée
+    @PostMapping("/entries")
+    @PreAuthorize("hasAnyRole('CHEF_DE_PROJET', 'DEVELOPPEUR')")
+    public ResponseEntity<?> createEntry(@Valid @RequestBody TimeEntryRequest request) {
+        return respond(() -> ResponseEntity.status(HttpStatus.CREATED).body(timesheetService.createEntry(request)));
+    }
+
+    // Endpoint pour corriger la date ou la durée d'un pointage
+    @PutMapping("/entries/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CHEF_DE_PROJET', 'DEVELOPPEUR')")
+    public ResponseEntity<?> updateEntry(@PathVariable int id, @Valid @RequestBody TimeEntryRequest request) {
+        return respond(() -> ResponseEntity.ok(timesheetService.updateEntry(id, request)));
+    }
+
+    // Endpoint pour supprimer un pointage
+    @DeleteMapping("/entries/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CHEF_DE_PROJET', 'DEVELOPPEUR')")
+    public ResponseEntity<?> deleteEntry(@PathVariable int id) {
+        return respond(() -> {
+            timesheetService.deleteEntry(id);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    // Endpoint pour lister les pointages d'un développeur (le sien par défaut)
+    @GetMapping("/entries")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CHEF_DE_PROJET', 'DEVELOPPEUR')")
+    public ResponseEntity<?> getEntries(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        @RequestParam(required = false) Integer employeeId) {
+        return respond(() -> ResponseEntity.ok(timesheetService.getEntries(employeeId, from, to)));
+    }
+
+    // Endpoint pour les cumuls : /rollups?scope=project&period=week&ids=1,2&from=...&to=...
+    @GetMapping("/rollups")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CHEF_DE_PROJET', 'DEVELOPPEUR')")
+    public ResponseEntity<?> getRollups(@RequestParam String scope,
+                                        @RequestParam(defaultValue = "DAY") String period,
+                                        @RequestParam(required = false) List<Integer> ids,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return respond(() -> ResponseEntity.ok(timesheetService.getRollups(
+                parse(TimesheetScope.class, scope), parse(TimesheetPeriod.class, period), ids, from, to)));
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valeur invalide : " + value);
+        }
+    }
+
+    private ResponseEntity<?> respond(Supplier<ResponseEntity<?>> action) {
+        try {
+            return action.get();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (AccessdeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sqli.stage.backendsqli.dto.AnalyticDTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class StatsReconciliationReport {
+    private int projectsChecked;
+    private int projectsDrifted;
+    private List<Integer> driftedProjectIds;
+    private int developersChecked;
+    private int developersDrifted;
+    private List<Integer> driftedDeveloperIds;
+    private long durationMs;
+    private LocalDateTime reconciledAt;
+}
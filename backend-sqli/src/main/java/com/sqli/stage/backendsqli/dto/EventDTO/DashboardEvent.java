@@ -0,0 +1,32 @@
+package com.sqli.stage.backendsqli.dto.EventDTO;
+
+import com.sqli.stage.backendsqli.entity.Enums.DashboardEventType;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Changement poussé aux tableaux de bord (flux SSE /api/events/stream), publié par les services
+ * au moment de la mutation et envoyé après le commit.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardEvent {
+    private DashboardEventType type;
+    private Integer projectId;
+    private Integer taskId;
+    private String taskTitre;
+    private Integer developpeurId;
+    private Integer previousDeveloppeurId;
+    private StatutTache statut;
+    private StatutTache previousStatut;
+    private BigDecimal progression;
+    private LocalDateTime occurredAt;
+}
@@ -1,4 +1,26 @@
 package com.sqli.stage.backendsqli.dto.HistoriqueDTO;
 
+import com.sqli.stage.backendsqli.entity.Enums.EntityName;
+import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class LogFilterRequest {
+    private TypeOperation action;
+    private EntityName entityName;
+    private Integer entityId;
+    private Integer userId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    // Curseur (keyset) : dernier élément de la page précédente, null pour la première page
+    private LocalDateTime cursorTimestamp;
+    private Integer cursorId;
+    private Integer size = 50;
 }
@@ -0,0 +1,21 @@
+package com.sqli.stage.backendsqli.dto.HistoriqueDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogPageResponse {
+
+    private List<LogResponse> content;
+
+    // Curseur à renvoyer pour obtenir la page suivante (null si dernière page)
+    private LocalDateTime nextCursorTimestamp;
+    private Integer nextCursorId;
+    private boolean hasNext;
+}
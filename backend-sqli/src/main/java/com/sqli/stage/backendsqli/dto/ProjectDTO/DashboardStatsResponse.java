@@ -14,5 +14,7 @@ public class DashboardStatsResponse {
     private long activeProjects;
     private long completedProjects;
     private long lateProjects;
+    private long totalTasks;
+    private long todayTasks;
 }
 
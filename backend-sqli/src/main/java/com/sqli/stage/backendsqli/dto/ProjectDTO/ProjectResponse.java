@@ -70,6 +70,9 @@ public class ProjectResponse {
     private int totalTasks;
     private int completedTasks;
     private int inProgressTasks;
+
+    // Version courante, pour les modifications avec If-Match
+    private Long version;
     
     // Classe interne pour les informations du client
     @Data
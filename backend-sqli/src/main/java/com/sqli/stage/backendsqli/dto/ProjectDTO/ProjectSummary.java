@@ -0,0 +1,22 @@
+package com.sqli.stage.backendsqli.dto.ProjectDTO;
+
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Enums.TypeProjet;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Projection des colonnes scalaires d'un projet, pour les listes qui n'ont besoin ni des tâches ni de l'équipe
+@Getter
+@AllArgsConstructor
+public class ProjectSummary {
+    private Integer id;
+    private String titre;
+    private TypeProjet type;
+    private StatutProjet statut;
+    private BigDecimal progression;
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+}
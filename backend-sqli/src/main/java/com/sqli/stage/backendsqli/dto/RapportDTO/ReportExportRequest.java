@@ -0,0 +1,17 @@
+package com.sqli.stage.backendsqli.dto.RapportDTO;
+
+import com.sqli.stage.backendsqli.entity.Enums.TypeProjet;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Périmètre d'un export groupé, parmi les projets visibles par l'utilisateur (tous si aucun filtre)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportExportRequest {
+    private TypeProjet type;
+    private List<Integer> projectIds;
+}
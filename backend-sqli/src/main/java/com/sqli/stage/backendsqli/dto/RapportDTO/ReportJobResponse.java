@@ -0,0 +1,26 @@
+package com.sqli.stage.backendsqli.dto.RapportDTO;
+
+import com.sqli.stage.backendsqli.entity.Enums.StatutRapport;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    private Long id;
+    private StatutRapport statut;
+    private String perimetre;
+    private int nombreProjets;
+    private int projetsTraites;
+    private Long tailleOctets;
+    private LocalDateTime dateDemande;
+    private LocalDateTime dateFin;
+    private String erreur;
+    private String downloadUrl;
+}
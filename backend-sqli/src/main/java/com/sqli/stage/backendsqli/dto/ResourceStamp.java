@@ -0,0 +1,45 @@
+package com.sqli.stage.backendsqli.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Validateurs HTTP d'une ressource ou d'une liste : ETag fort (entre guillemets) et date de dernière modification.
+ * Calculés à partir des versions en base, sans charger ni mapper la ressource.
+ * lastModified est null pour une liste : un retrait n'y laisse pas de trace, seul l'ETag la valide.
+ * version est le @Version de l'entité (null pour une liste ou un document) : après un If-Match validé,
+ * le service la compare à celle de l'entité qu'il charge.
+ */
+public record ResourceStamp(String etag, LocalDateTime lastModified, Long version) {
+
+    public ResourceStamp(String etag, LocalDateTime lastModified) {
+        this(etag, lastModified, null);
+    }
+
+    // Parties séparées par des points ; une date devient des millisecondes (0 si absente)
+    public static String etag(Object... parts) {
+        return Arrays.stream(parts)
+                .map(part -> part instanceof LocalDateTime dateTime ? String.valueOf(toMillis(dateTime))
+                        : String.valueOf(Objects.requireNonNullElse(part, 0)))
+                .collect(Collectors.joining(".", "\"", "\""));
+    }
+
+    public static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null || second == null) {
+            return first != null ? first : second;
+        }
+        return first.isAfter(second) ? first : second;
+    }
+
+    // -1 : pas de Last-Modified (convention de WebRequest.checkNotModified)
+    public long lastModifiedMillis() {
+        return lastModified != null ? toMillis(lastModified) : -1;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
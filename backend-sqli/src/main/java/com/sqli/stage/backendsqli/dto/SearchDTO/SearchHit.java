@@ -0,0 +1,20 @@
+package com.sqli.stage.backendsqli.dto.SearchDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHit {
+    private SearchType type;
+    private Integer id;
+    private String titre;
+
+    // Début de la description (ou de l'intitulé de poste pour un utilisateur)
+    private String extrait;
+
+    // Pertinence : ts_rank_cd normalisé dans [0, 1[ en plein texte, nombre de correspondances sinon
+    private double score;
+}
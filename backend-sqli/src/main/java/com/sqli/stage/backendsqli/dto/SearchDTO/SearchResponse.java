@@ -0,0 +1,29 @@
+package com.sqli.stage.backendsqli.dto.SearchDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponse {
+    private String query;
+    private int page;
+    private int size;
+    private long totalElements;
+
+    // Nombre de résultats par type, sur toutes les pages
+    private Map<SearchType, Long> totalsByType;
+
+    // Résultats de tous les types, triés par pertinence décroissante
+    private List<SearchHit> content;
+
+    // false : recherche de repli par LIKE (base sans index plein texte, ex. H2 en test)
+    private boolean fullText;
+}
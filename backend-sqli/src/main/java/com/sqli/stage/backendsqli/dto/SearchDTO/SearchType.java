@@ -0,0 +1,18 @@
+package com.sqli.stage.backendsqli.dto.SearchDTO;
+
+import java.util.Locale;
+
+// Entités couvertes par /api/search
+public enum SearchType {
+    TASK,
+    PROJECT,
+    USER;
+
+    public static SearchType fromValue(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Type de recherche inconnu : " + value.trim());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.sqli.stage.backendsqli.dto.TaskDTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTaskUpdateRequest {
+
+    // Modifiées toutes ou aucune (une seule transaction)
+    @NotEmpty
+    private List<@Valid TaskPatchRequest> tasks;
+}
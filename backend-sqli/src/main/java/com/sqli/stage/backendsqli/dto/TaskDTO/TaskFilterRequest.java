@@ -21,4 +21,6 @@ public class TaskFilterRequest {
     private String keyword;
     private Integer page = 0;         // pour pagination
     private Integer size = 10;        // pour pagination
+    private String sortBy = "dateFin"; // champ de tri (titre, statut, priorite, dateDebut, dateFin)
+    private String sortDirection = "ASC";
 }
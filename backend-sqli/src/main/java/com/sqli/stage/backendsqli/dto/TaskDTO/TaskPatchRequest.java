@@ -0,0 +1,48 @@
+package com.sqli.stage.backendsqli.dto.TaskDTO;
+
+import com.sqli.stage.backendsqli.entity.Enums.Priorite;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Modification partielle d'une tâche dans un lot : seuls les champs renseignés sont appliqués
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPatchRequest {
+
+    @NotNull
+    private Integer id;
+
+    @Size(min = 3, max = 100)
+    private String titre;
+
+    @Size(max = 500)
+    private String description;
+
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+    private StatutTache statut;
+    private Priorite priorite;
+    private Integer developpeurId;
+
+    @Min(0)
+    private Integer plannedHours;
+
+    @Min(0)
+    private Integer effectiveHours;
+
+    @Min(0)
+    private Integer remainingHours;
+
+    // Version lue par le client (TaskResponse.version) : si renseignée, le lot est refusé quand la tâche a changé depuis
+    private Long version;
+}
@@ -28,6 +28,9 @@ public class TaskResponse {
     // Nouveaux champs pour les objets complets
     private ProjectInfo project;
     private DeveloperInfo developpeur;
+
+    // Version courante : If-Match des modifications, version attendue d'une modification groupée
+    private Long version;
     
     // Classes internes pour les informations des objets
     @Data
@@ -0,0 +1,29 @@
+package com.sqli.stage.backendsqli.dto.TimesheetDTO;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Saisie ou correction d'un pointage ; la tâche ne peut pas être changée après la création
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeEntryRequest {
+
+    @NotNull
+    private Integer taskId;
+
+    @NotNull
+    private LocalDate date;
+
+    @NotNull
+    @Positive
+    private BigDecimal hours;
+}
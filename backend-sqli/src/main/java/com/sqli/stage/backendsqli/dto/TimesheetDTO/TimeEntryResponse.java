@@ -0,0 +1,29 @@
+package com.sqli.stage.backendsqli.dto.TimesheetDTO;
+
+import com.sqli.stage.backendsqli.entity.Enums.SourcePointage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeEntryResponse {
+    private Integer id;
+    private Integer taskId;
+    private String taskTitre;
+    private Integer projectId;
+    private Integer employeeId;
+    private LocalDate date;
+    private BigDecimal hours;
+    private Long durationSeconds;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+    private SourcePointage source;
+}
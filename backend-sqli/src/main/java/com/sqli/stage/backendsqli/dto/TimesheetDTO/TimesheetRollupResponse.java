@@ -0,0 +1,27 @@
+package com.sqli.stage.backendsqli.dto.TimesheetDTO;
+
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetPeriod;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetScope;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Temps pointé d'un développeur, d'une tâche ou d'un projet sur une période (jour, semaine ISO ou mois)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimesheetRollupResponse {
+    private TimesheetScope scope;
+    private Integer ownerId;
+    private TimesheetPeriod period;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private long seconds;
+    private BigDecimal hours;
+    private long entries;
+}
@@ -1,12 +1,29 @@
 package com.sqli.stage.backendsqli.entity;
 
+import com.sqli.stage.backendsqli.entity.Enums.SourcePointage;
 import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+/**
+ * Pointage : temps passé par un développeur sur une tâche (timer arrêté ou saisie manuelle).
+ * durationSeconds est la durée exacte ; hours l'arrondit au centième d'heure.
+ * Sur PostgreSQL la table est partitionnée par mois sur date (migration V12).
+ */
 @Entity
-@Table(name = "account_analytic_line")
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "account_analytic_line", indexes = {
+        @Index(name = "idx_analytic_line_task", columnList = "task_id"),
+        @Index(name = "idx_analytic_line_employee_date", columnList = "employee_id, date"),
+        @Index(name = "idx_analytic_line_project_date", columnList = "project_id, date")
+})
 public class AccountAnalyticLine {
 
     @Id
@@ -21,8 +38,25 @@ public class AccountAnalyticLine {
     @JoinColumn(name = "employee_id")
     private User employee; // ou `Employee` selon ta structure
 
+    // Projet de la tâche, recopié pour les cumuls par projet sans jointure
+    @Column(name = "project_id")
+    private Integer projectId;
+
     private BigDecimal hours;
 
+    @Column(nullable = false)
     private LocalDate date;
-}
 
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+
+    @Column(name = "duration_seconds")
+    private Long durationSeconds;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private SourcePointage source;
+}
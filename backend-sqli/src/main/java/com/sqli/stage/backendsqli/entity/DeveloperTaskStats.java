@@ -0,0 +1,26 @@
+package com.sqli.stage.backendsqli.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Statistiques de tâches d'un développeur, tenues à jour à chaque mutation de tâche
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "developer_task_stats")
+public class DeveloperTaskStats extends TaskStatsCounters {
+
+    @Id
+    @Column(name = "developpeur_id")
+    private Integer developpeurId;
+
+    public DeveloperTaskStats(Integer developpeurId) {
+        this.developpeurId = developpeurId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.sqli.stage.backendsqli.entity.Enums;
+
+public enum DashboardEventType {
+    TASK_CREATED,
+    TASK_ASSIGNED,
+    TASK_STATUS_CHANGED,
+    TASK_DELETED,
+    PROJECT_PROGRESS_UPDATED
+}
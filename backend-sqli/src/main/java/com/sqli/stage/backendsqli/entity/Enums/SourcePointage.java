@@ -0,0 +1,6 @@
+package com.sqli.stage.backendsqli.entity.Enums;
+
+public enum SourcePointage {
+    TIMER,
+    MANUEL
+}
@@ -0,0 +1,9 @@
+package com.sqli.stage.backendsqli.entity.Enums;
+
+public enum StatutRapport {
+    EN_ATTENTE,
+    EN_COURS,
+    TERMINE,
+    ECHEC,
+    EXPIRE
+}
@@ -0,0 +1,7 @@
+package com.sqli.stage.backendsqli.entity.Enums;
+
+public enum TimesheetPeriod {
+    DAY,
+    WEEK,
+    MONTH
+}
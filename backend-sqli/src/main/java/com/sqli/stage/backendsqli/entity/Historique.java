@@ -10,11 +10,18 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "history")
+@Table(name = "history", indexes = {
+        @Index(name = "idx_history_timestamp_id", columnList = "timestamp, id"),
+        @Index(name = "idx_history_entity", columnList = "entity_name, entity_id"),
+        @Index(name = "idx_history_user_timestamp", columnList = "user_id, timestamp"),
+        @Index(name = "idx_history_action_timestamp", columnList = "action, timestamp")
+})
 public class Historique {
 
+    // Séquence (et non IDENTITY) pour permettre les insertions JDBC par lots
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "history_seq")
+    @SequenceGenerator(name = "history_seq", sequenceName = "history_seq", allocationSize = 50)
     private Integer id;
 
     // Type d'action réalisée : CREATE, UPDATE, DELETE, LOGIN, etc.
@@ -0,0 +1,25 @@
+package com.sqli.stage.backendsqli.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Ligne unique portant la version de l'état de maintenance.
+ * Chaque bascule l'incrémente ; les instances comparent cette version à celle de leur copie en mémoire.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "maintenance_state")
+public class MaintenanceState {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -5,9 +5,11 @@ import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
 import com.sqli.stage.backendsqli.entity.Enums.TypeProjet;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -16,8 +18,35 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "projects") // ou "project_project" si tu veux mapper la table PostgreSQL existante
+// Plans de chargement choisis explicitement par méthode de service (les collections sont LAZY).
+// tasks et developpeurs sont deux bags : un seul des deux peut être joint dans une même requête,
+// "full" joint les tâches avec leur développeur, l'équipe est chargée par lots (hibernate.default_batch_fetch_size).
+@NamedEntityGraph(name = Project.GRAPH_SUMMARY, attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode("createdBy")
+})
+@NamedEntityGraph(name = Project.GRAPH_WITH_TEAM, attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("developpeurs")
+})
+@NamedEntityGraph(name = Project.GRAPH_WITH_TASKS, attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("tasks")
+})
+@NamedEntityGraph(name = Project.GRAPH_FULL, attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode(value = "tasks", subgraph = "tasks")
+}, subgraphs = @NamedSubgraph(name = "tasks", attributeNodes = @NamedAttributeNode("developpeur")))
 public class Project {
 
+    public static final String GRAPH_SUMMARY = "Project.summary";
+    public static final String GRAPH_WITH_TEAM = "Project.withTeam";
+    public static final String GRAPH_WITH_TASKS = "Project.withTasks";
+    public static final String GRAPH_FULL = "Project.full";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -58,11 +87,13 @@ public class Project {
     @ManyToOne
     private User createdBy;
 
-    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // Les tâches ont leur propre version ; leurs compteurs sont dans project_task_stats
+    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnoreProperties("project")
+    @OptimisticLock(excluded = true)
     private List<Task> tasks;
 
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "project_developpeurs",
             joinColumns = @JoinColumn(name = "project_id"),
@@ -71,4 +102,17 @@ public class Project {
     @JsonIgnoreProperties({"tasks", "role", "motDePasse", "projects"})
     private List<User> developpeurs;
 
+    // Verrouillage optimiste (If-Match, écritures concurrentes) et ETag des réponses ; l'équipe en fait partie
+    @Version
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
 }
\ No newline at end of file
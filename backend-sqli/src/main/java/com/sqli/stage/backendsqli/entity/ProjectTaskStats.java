@@ -0,0 +1,26 @@
+package com.sqli.stage.backendsqli.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Statistiques de tâches d'un projet, tenues à jour à chaque mutation de tâche
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "project_task_stats")
+public class ProjectTaskStats extends TaskStatsCounters {
+
+    @Id
+    @Column(name = "project_id")
+    private Integer projectId;
+
+    public ProjectTaskStats(Integer projectId) {
+        this.projectId = projectId;
+    }
+}
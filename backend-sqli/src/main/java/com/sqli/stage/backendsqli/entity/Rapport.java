@@ -1,10 +1,23 @@
 package com.sqli.stage.backendsqli.entity;
 
+import com.sqli.stage.backendsqli.entity.Enums.StatutRapport;
 import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+/**
+ * Rapport généré. Un export groupé (archive ZIP de PDF de projets) n'a pas de projet associé :
+ * contenu décrit alors le périmètre exporté et fichier désigne l'archive dans le répertoire de spool.
+ */
 @Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_rapport_demande_par", columnList = "demande_par, date_demande"))
 public class Rapport {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,5 +30,29 @@ public class Rapport {
     @ManyToOne
     @JoinColumn(name = "project_id")
     private Project project;
-}
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private StatutRapport statut;
+
+    @Column(name = "demande_par", length = 100)
+    private String demandePar;
+
+    @Column(name = "date_demande")
+    private LocalDateTime dateDemande;
+
+    @Column(name = "date_fin")
+    private LocalDateTime dateFin;
+
+    @Column(name = "nombre_projets")
+    private Integer nombreProjets;
+
+    @Column(length = 255)
+    private String fichier;
+
+    @Column(name = "taille_octets")
+    private Long tailleOctets;
+
+    @Column(length = 500)
+    private String erreur;
+}
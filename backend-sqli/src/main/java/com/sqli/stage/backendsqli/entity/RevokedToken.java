@@ -0,0 +1,40 @@
+package com.sqli.stage.backendsqli.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token révoqué (déconnexion), partagé entre les instances du backend.
+ * La clé est l'empreinte 128 bits (hex) du jti du token, ou du token lui-même s'il n'a pas de jti.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_seq", columnList = "seq", unique = true),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_key", length = 32)
+    private String tokenKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    // Numéro d'ordre attribué par la base à l'insertion : curseur de synchronisation entre les instances
+    @Column(name = "seq", insertable = false, updatable = false,
+            columnDefinition = "BIGINT GENERATED BY DEFAULT AS IDENTITY")
+    private Long seq;
+}
@@ -6,10 +6,12 @@ import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.OptimisticLock;
 import com.sqli.stage.backendsqli.entity.User;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -17,11 +19,18 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_statut", columnList = "project_id, statut"),
+        @Index(name = "idx_tasks_developpeur_statut", columnList = "developpeur_id, statut"),
+        @Index(name = "idx_tasks_date_debut", columnList = "date_debut"),
+        @Index(name = "idx_tasks_date_fin", columnList = "date_fin")
+})
 public class Task {
 
+    // Séquence (et non IDENTITY) pour permettre les insertions JDBC par lots (création groupée)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Integer id;
 
     @NotBlank
@@ -56,6 +65,10 @@ public class Task {
     @Column(name = "remaining_hours")
     private Integer remainingHours;
 
+    // Temps pointé exact ; null tant que seules des heures entières ont été saisies (effectiveHours * 3600)
+    @Column(name = "effective_seconds")
+    private Long effectiveSeconds;
+
     @ManyToOne
     @JoinColumn(name = "project_id")
     @JsonIgnoreProperties({"tasks", "client", "createdBy"})
@@ -66,6 +79,20 @@ public class Task {
     private User developpeur;
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL)
+    @OptimisticLock(excluded = true)
     private List<AccountAnalyticLine> pointages;
+
+    // Verrouillage optimiste (If-Match, écritures concurrentes) et ETag des réponses
+    @Version
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
 }
 
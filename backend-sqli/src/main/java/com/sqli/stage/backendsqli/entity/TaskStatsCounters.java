@@ -0,0 +1,76 @@
+package com.sqli.stage.backendsqli.entity;
+
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compteurs de tâches par statut et cumul des heures, partagés par les tables de statistiques
+ * maintenues de façon incrémentale (project_task_stats, developer_task_stats).
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class TaskStatsCounters {
+
+    @Column(name = "non_commence", nullable = false)
+    private long nonCommence;
+
+    @Column(name = "en_cours", nullable = false)
+    private long enCours;
+
+    @Column(name = "bloque", nullable = false)
+    private long bloque;
+
+    @Column(name = "termine", nullable = false)
+    private long termine;
+
+    @Column(name = "planned_hours", nullable = false)
+    private long plannedHours;
+
+    @Column(name = "effective_hours", nullable = false)
+    private long effectiveHours;
+
+    @Column(name = "remaining_hours", nullable = false)
+    private long remainingHours;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public long getTotal() {
+        return nonCommence + enCours + bloque + termine;
+    }
+
+    public long count(StatutTache statut) {
+        return switch (statut) {
+            case NON_COMMENCE -> nonCommence;
+            case EN_COURS -> enCours;
+            case BLOQUE -> bloque;
+            case TERMINE -> termine;
+        };
+    }
+
+    public boolean sameCountersAs(TaskStatsCounters other) {
+        return nonCommence == other.nonCommence
+                && enCours == other.enCours
+                && bloque == other.bloque
+                && termine == other.termine
+                && plannedHours == other.plannedHours
+                && effectiveHours == other.effectiveHours
+                && remainingHours == other.remainingHours;
+    }
+
+    public void copyCountersFrom(TaskStatsCounters other) {
+        nonCommence = other.nonCommence;
+        enCours = other.enCours;
+        bloque = other.bloque;
+        termine = other.termine;
+        plannedHours = other.plannedHours;
+        effectiveHours = other.effectiveHours;
+        remainingHours = other.remainingHours;
+    }
+}
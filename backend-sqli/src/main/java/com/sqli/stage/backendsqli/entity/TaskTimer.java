@@ -0,0 +1,40 @@
+package com.sqli.stage.backendsqli.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dernier point de sauvegarde d'un timer en cours (un seul par développeur).
+ * Les timers vivent en mémoire ; ces lignes ne servent qu'à les retrouver après un redémarrage.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "task_timers", indexes = {
+        @Index(name = "idx_task_timers_task", columnList = "task_id"),
+        @Index(name = "idx_task_timers_owner", columnList = "owner_node")
+})
+public class TaskTimer {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "task_id", nullable = false)
+    private Integer taskId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    // Rafraîchi à chaque sauvegarde par l'instance propriétaire : une ligne trop ancienne est orpheline
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+
+    // Instance qui tient le timer en mémoire (null : sauvegarde antérieure à V17)
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+}
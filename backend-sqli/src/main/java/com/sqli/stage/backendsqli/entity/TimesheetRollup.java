@@ -0,0 +1,58 @@
+package com.sqli.stage.backendsqli.entity;
+
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetPeriod;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetScope;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Temps pointé cumulé par développeur, tâche ou projet sur un jour, une semaine (ISO, du lundi) ou un mois,
+ * tenu à jour à chaque création, modification ou suppression de pointage.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "timesheet_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_timesheet_rollups_key",
+        columnNames = {"scope", "granularity", "owner_id", "period_start"}))
+public class TimesheetRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TimesheetScope scope;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TimesheetPeriod granularity;
+
+    @Column(name = "owner_id", nullable = false)
+    private Integer ownerId;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private long seconds;
+
+    @Column(nullable = false)
+    private long entries;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public TimesheetRollup(TimesheetScope scope, TimesheetPeriod granularity, Integer ownerId, LocalDate periodStart) {
+        this.scope = scope;
+        this.granularity = granularity;
+        this.ownerId = ownerId;
+        this.periodStart = periodStart;
+    }
+}
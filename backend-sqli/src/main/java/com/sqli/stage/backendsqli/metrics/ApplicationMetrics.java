@@ -0,0 +1,140 @@
+package com.sqli.stage.backendsqli.metrics;
+
+import com.sqli.stage.backendsqli.security.JwtUtil;
+import com.sqli.stage.backendsqli.security.PrincipalCache;
+import com.sqli.stage.backendsqli.security.TokenRevocationStore;
+import com.sqli.stage.backendsqli.service.AuditLogWriter;
+import com.sqli.stage.backendsqli.service.DashboardEventHub;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.ProjectProgressRecomputer;
+import com.sqli.stage.backendsqli.service.QRCodeService;
+import com.sqli.stage.backendsqli.service.ReportExportService;
+import com.sqli.stage.backendsqli.service.TaskTimerRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Jauges et compteurs des files et caches en mémoire de l'application :
+ * historique asynchrone, exports de rapports, progression des projets, timers de tâches, flux SSE des tableaux de bord, principals, tokens vérifiés et révoqués, PDF et QR codes.
+ * Les valeurs sont lues au moment de la collecte, sans coût sur le chemin des requêtes.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationMetrics implements MeterBinder {
+
+    private final AuditLogWriter auditLogWriter;
+    private final ReportExportService reportExportService;
+    private final PrincipalCache principalCache;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final PdfRenderCache pdfRenderCache;
+    private final QRCodeService qrCodeService;
+    private final ProjectProgressRecomputer progressRecomputer;
+    private final TaskTimerRegistry timerRegistry;
+    private final DashboardEventHub eventHub;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Historique
+        gauge(registry, "app.audit.queue.size", "Entrées d'historique en attente d'écriture",
+                auditLogWriter, AuditLogWriter::getQueueSize);
+        counter(registry, "app.audit.entries", "written", auditLogWriter, AuditLogWriter::getWrittenCount);
+        counter(registry, "app.audit.entries", "spilled", auditLogWriter, AuditLogWriter::getSpilledCount);
+        counter(registry, "app.audit.entries", "rejected", auditLogWriter, AuditLogWriter::getRejectedCount);
+        counter(registry, "app.audit.entries", "dropped", auditLogWriter, AuditLogWriter::getDroppedCount);
+
+        // Exports de rapports
+        gauge(registry, "app.report.export.queued", "Exports en attente d'un worker",
+                reportExportService, ReportExportService::getQueuedJobCount);
+        gauge(registry, "app.report.export.active", "Exports en cours",
+                reportExportService, ReportExportService::getActiveJobCount);
+
+        // Progression des projets (recalcul différé et regroupé)
+        gauge(registry, "app.project.progress.pending", "Projets en attente de recalcul de progression",
+                progressRecomputer, ProjectProgressRecomputer::getPendingCount);
+        counter(registry, "app.project.progress.recomputations", "requested", progressRecomputer, ProjectProgressRecomputer::getRequestedCount);
+        counter(registry, "app.project.progress.recomputations", "executed", progressRecomputer, ProjectProgressRecomputer::getRecomputedCount);
+        counter(registry, "app.project.progress.recomputations", "failed", progressRecomputer, ProjectProgressRecomputer::getFailedCount);
+        gauge(registry, "app.project.progress.coalescing.ratio", "Demandes de recalcul couvertes par un recalcul effectué",
+                progressRecomputer, ProjectProgressRecomputer::getCoalescingRatio);
+
+        // Timers de tâches
+        gauge(registry, "app.task.timers.running", "Timers de tâches en cours",
+                timerRegistry, TaskTimerRegistry::getRunningCount);
+        counter(registry, "app.task.timers.checkpoints", "written", timerRegistry, TaskTimerRegistry::getCheckpointCount);
+        counter(registry, "app.task.timers.checkpoints", "recovered", timerRegistry, TaskTimerRegistry::getRecoveredCount);
+
+        // Flux SSE des tableaux de bord
+        gauge(registry, "app.sse.streams.open", "Flux d'événements ouverts sur ce nœud",
+                eventHub, DashboardEventHub::getOpenStreamCount);
+        counter(registry, "app.sse.events", "published", eventHub, DashboardEventHub::getPublishedCount);
+        counter(registry, "app.sse.events", "sent", eventHub, DashboardEventHub::getSentCount);
+        counter(registry, "app.sse.streams", "overflowed", eventHub, DashboardEventHub::getOverflowCount);
+        counter(registry, "app.sse.streams", "rejected", eventHub, DashboardEventHub::getRejectedCount);
+        counter(registry, "app.sse.streams", "resynced", eventHub, DashboardEventHub::getResyncCount);
+
+        // Caches
+        cacheSize(registry, "principal", principalCache, PrincipalCache::size);
+        cacheRequests(registry, "principal", "hit", principalCache, PrincipalCache::getHitCount);
+        cacheRequests(registry, "principal", "miss", principalCache, PrincipalCache::getMissCount);
+
+        cacheSize(registry, "jwt.verified", jwtUtil, JwtUtil::getVerifiedCacheSize);
+
+        cacheSize(registry, "pdf", pdfRenderCache, PdfRenderCache::size);
+        cacheBytes(registry, "pdf", pdfRenderCache, PdfRenderCache::getBytes);
+        cacheRequests(registry, "pdf", "hit", pdfRenderCache, PdfRenderCache::getHitCount);
+        cacheRequests(registry, "pdf", "miss", pdfRenderCache, PdfRenderCache::getMissCount);
+
+        cacheSize(registry, "qrcode", qrCodeService, QRCodeService::size);
+        cacheBytes(registry, "qrcode", qrCodeService, QRCodeService::getBytes);
+        cacheRequests(registry, "qrcode", "hit", qrCodeService, QRCodeService::getHitCount);
+        cacheRequests(registry, "qrcode", "miss", qrCodeService, QRCodeService::getMissCount);
+
+        // Révocation des tokens
+        gauge(registry, "app.token.revocation.size", "Tokens révoqués non expirés conservés",
+                tokenRevocationStore, TokenRevocationStore::size);
+        counter(registry, "app.token.revocation.events", "revoked", tokenRevocationStore, TokenRevocationStore::getRevokedCount);
+        counter(registry, "app.token.revocation.events", "expired", tokenRevocationStore, TokenRevocationStore::getExpiredCount);
+        counter(registry, "app.token.revocation.events", "overflow", tokenRevocationStore, TokenRevocationStore::getOverflowCount);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, String description, T source, ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value)
+                .description(description)
+                .register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, String outcome, T source, ToDoubleFunction<T> value) {
+        FunctionCounter.builder(name, source, value)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static <T> void cacheSize(MeterRegistry registry, String cache, T source, ToDoubleFunction<T> value) {
+        Gauge.builder("app.cache.size", source, value)
+                .description("Entrées en cache")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private static <T> void cacheBytes(MeterRegistry registry, String cache, T source, ToDoubleFunction<T> value) {
+        Gauge.builder("app.cache.bytes", source, value)
+                .description("Taille du contenu en cache")
+                .baseUnit("bytes")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private static <T> void cacheRequests(MeterRegistry registry, String cache, String result, T source, ToDoubleFunction<T> value) {
+        FunctionCounter.builder("app.cache.requests", source, value)
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sqli.stage.backendsqli.metrics;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Statistiques Hibernate (requêtes, chargements d'entités, cache de second niveau) exportées par Micrometer.
+ * Exportées par hibernate-micrometer sous hibernate.* (voir /actuator/prometheus sur le port de gestion).
+ */
+@Configuration
+public class HibernateStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer() {
+        return properties -> properties.put("hibernate.generate_statistics", true);
+    }
+}
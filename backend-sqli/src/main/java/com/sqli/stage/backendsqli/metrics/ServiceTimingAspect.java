@@ -0,0 +1,64 @@
+package com.sqli.stage.backendsqli.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durée de chaque méthode publique des beans du paquet service (app.service), étiquetée par classe,
+ * méthode et exception levée ; histogramme de percentiles activé par
+ * management.metrics.distribution.percentiles-histogram.app.service. Les requêtes HTTP sont déjà mesurées par
+ * http.server.requests : avec ces deux séries, la latence d'un endpoint se répartit entre ses services.
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    static final String METRIC = "app.service";
+
+    private record TimerKey(Class<?> type, String method, String exception) {
+    }
+
+    private final MeterRegistry registry;
+    // Un Timer par combinaison d'étiquettes : pas de recherche dans le registre à chaque appel
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Les accesseurs sans argument (tailles de caches, compteurs lus par les jauges) ne sont pas mesurés
+    @Around("within(com.sqli.stage.backendsqli.service..*) && execution(public * *(..))"
+            + " && !execution(public (int || long) *())")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Class<?> type = AopUtils.getTargetClass(joinPoint.getTarget());
+            timer(new TimerKey(type, joinPoint.getSignature().getName(), exception))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(TimerKey key) {
+        return timers.computeIfAbsent(key, k -> Timer.builder(METRIC)
+                .description("Durée des méthodes de service")
+                .tag("class", k.type().getSimpleName())
+                .tag("method", k.method())
+                .tag("exception", k.exception())
+                .register(registry));
+    }
+}
@@ -0,0 +1,46 @@
+package com.sqli.stage.backendsqli.metrics;
+
+import com.sqli.stage.backendsqli.monitoring.SqlUsageAlertEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compteurs des alertes SqlBudgetFilter : dépassements de budget SQL et N+1 probables, par endpoint.
+ * Étiquettes bornées : uri est le motif de la route (UNKNOWN sans handler), jamais l'URI brute ;
+ * l'appelant de la requête répétée reste dans le log d'alerte du filtre.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlUsageMetrics {
+
+    static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    @EventListener
+    public void onSqlUsageAlert(SqlUsageAlertEvent event) {
+        if (event.isOverBudget()) {
+            Counter.builder("app.sql.budget.exceeded")
+                    .description("Requêtes HTTP au-delà de leur budget de requêtes SQL")
+                    .tag("method", event.method())
+                    .tag("uri", uri(event))
+                    .register(registry)
+                    .increment();
+        }
+        if (!event.repeated().isEmpty()) {
+            Counter.builder("app.sql.n_plus_one")
+                    .description("Requêtes SQL répétées dans une même requête HTTP (N+1 probable)")
+                    .tag("method", event.method())
+                    .tag("uri", uri(event))
+                    .register(registry)
+                    .increment(event.repeated().size());
+        }
+    }
+
+    private static String uri(SqlUsageAlertEvent event) {
+        return event.route() != null ? event.route() : UNKNOWN_URI;
+    }
+}
@@ -0,0 +1,211 @@
+package com.sqli.stage.backendsqli.monitoring;
+
+import com.sqli.stage.backendsqli.monitoring.SqlStatementTracker.RepeatedStatement;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Budget de requêtes SQL par requête HTTP. Compte les requêtes préparées et le temps JDBC de toute la requête
+ * (filtres de sécurité compris), les renvoie dans les en-têtes X-SQL-Count et X-SQL-Time-Ms, puis journalise et
+ * publie un SqlUsageAlertEvent si le budget de l'endpoint est dépassé ou si une même requête est répétée (N+1).
+ * Les en-têtes sont écrits juste avant le corps de la réponse : une requête exécutée pendant la sérialisation
+ * n'y figure pas, mais elle est comptée dans le budget et le journal.
+ * Seules les requêtes passées par Hibernate sur le thread de la requête sont comptées (JPQL, SQL natif et
+ * mises à jour {@code @Modifying} comprises) : l'historique écrit en différé par AuditLogWriter, le recalcul différé
+ * de la progression, les exports de rapports et les envois SSE s'exécutent sur leurs propres threads et n'entrent
+ * pas dans le budget.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "sql.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final int MAX_LOGGED_SHAPE_LENGTH = 300;
+
+    private record Budget(String pattern, int limit) {
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultBudget;
+    private final List<Budget> budgets;
+    private final int nPlusOneThreshold;
+    private final boolean headersEnabled;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * @param endpointBudgets budgets par motif d'URI, dans l'ordre de priorité : "/api/analytics/**=60,/api/projects/*=10".
+     *                        Une limite de 0 désactive le budget de l'endpoint.
+     */
+    public SqlBudgetFilter(ApplicationEventPublisher eventPublisher,
+                           @Value("${sql.budget.default:30}") int defaultBudget,
+                           @Value("${sql.budget.endpoints:}") String endpointBudgets,
+                           @Value("${sql.n-plus-one.threshold:" + SqlStatementTracker.DEFAULT_N_PLUS_ONE_THRESHOLD + "}") int nPlusOneThreshold,
+                           @Value("${sql.monitoring.headers:true}") boolean headersEnabled) {
+        this.eventPublisher = eventPublisher;
+        this.defaultBudget = defaultBudget;
+        this.budgets = parseBudgets(endpointBudgets);
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.headersEnabled = headersEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.start(nPlusOneThreshold)) {
+            SqlHeadersResponse wrapped = headersEnabled ? new SqlHeadersResponse(response, scope) : null;
+            try {
+                filterChain.doFilter(request, wrapped != null ? wrapped : response);
+            } finally {
+                if (wrapped != null) {
+                    wrapped.writeHeaders();
+                }
+                report(request, scope);
+            }
+        }
+    }
+
+    int budgetFor(String path) {
+        for (Budget budget : budgets) {
+            if (pathMatcher.match(budget.pattern(), path)) {
+                return budget.limit();
+            }
+        }
+        return defaultBudget;
+    }
+
+    private void report(HttpServletRequest request, SqlStatementTracker.Scope scope) {
+        int budget = budgetFor(request.getRequestURI());
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : null;
+        String endpoint = route != null ? route : request.getRequestURI();
+        List<RepeatedStatement> repeated = scope.getRepeatedStatements();
+        SqlUsageAlertEvent event = new SqlUsageAlertEvent(request.getMethod(), endpoint, route, scope.getStatementCount(),
+                budget, scope.getJdbcTimeNanos(), repeated);
+
+        if (event.isOverBudget()) {
+            log.warn("SQL budget exceeded on {} {}: {} statements (budget {}), {} ms in JDBC",
+                    event.method(), endpoint, event.statements(), budget, formatMillis(scope.getJdbcTimeMillis()));
+        }
+        for (RepeatedStatement statement : repeated) {
+            log.warn("Probable N+1 on {} {}: {} x [{}] from {}", event.method(), endpoint, statement.count(),
+                    abbreviate(statement.shape()), statement.callSite());
+        }
+        if (event.isOverBudget() || !repeated.isEmpty()) {
+            eventPublisher.publishEvent(event);
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {}: {} SQL statements, {} ms in JDBC", event.method(), endpoint, event.statements(),
+                    formatMillis(scope.getJdbcTimeMillis()));
+        }
+    }
+
+    private static List<Budget> parseBudgets(String value) {
+        List<Budget> budgets = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return budgets;
+        }
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Budget SQL invalide (motif=limite attendu) : " + entry.trim());
+            }
+            budgets.add(new Budget(entry.substring(0, separator).trim(),
+                    Integer.parseInt(entry.substring(separator + 1).trim())));
+        }
+        return budgets;
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+    private static String abbreviate(String shape) {
+        return shape.length() <= MAX_LOGGED_SHAPE_LENGTH ? shape : shape.substring(0, MAX_LOGGED_SHAPE_LENGTH) + "...";
+    }
+
+    /**
+     * Ajoute les en-têtes SQL au moment où le corps de la réponse commence (ou à la fin, si aucun corps),
+     * tant que la réponse n'est pas encore envoyée.
+     */
+    private static final class SqlHeadersResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementTracker.Scope scope;
+        private boolean written;
+
+        SqlHeadersResponse(HttpServletResponse response, SqlStatementTracker.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(COUNT_HEADER, Integer.toString(scope.getStatementCount()));
+            setHeader(TIME_HEADER, formatMillis(scope.getJdbcTimeMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.sqli.stage.backendsqli.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Appelé par Hibernate pour chaque requête préparée : la compte dans le scope SqlStatementTracker du thread,
+ * sans modifier le SQL.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementTracker.onStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,157 @@
+package com.sqli.stage.backendsqli.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compteur de requêtes SQL du thread courant, alimenté par SqlStatementInspector (requêtes préparées)
+ * et SqlTimingListener (temps passé dans JDBC). Un scope est ouvert par requête HTTP (SqlBudgetFilter),
+ * ou autour d'un bloc de code dans un test :
+ * <pre>
+ * try (SqlStatementTracker.Scope sql = SqlStatementTracker.start()) {
+ *     service.getAllProjects();
+ *     assertEquals(3, sql.getStatementCount());
+ * }
+ * </pre>
+ * Une même forme de requête (valeurs et listes IN normalisées) répétée nPlusOneThreshold fois dans le scope
+ * est signalée comme N+1 probable, avec le premier appelant de l'application trouvé dans la pile.
+ */
+public final class SqlStatementTracker {
+
+    public static final int DEFAULT_N_PLUS_ONE_THRESHOLD = 5;
+
+    private static final String APPLICATION_PACKAGE = "com.sqli.stage.backendsqli.";
+    private static final String MONITORING_PACKAGE = SqlStatementTracker.class.getPackageName() + ".";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Requête répétée dans un même scope, avec l'appelant qui a atteint le seuil.
+     */
+    public record RepeatedStatement(String shape, int count, String callSite) {
+    }
+
+    private SqlStatementTracker() {
+    }
+
+    public static Scope start() {
+        return start(DEFAULT_N_PLUS_ONE_THRESHOLD);
+    }
+
+    public static Scope start(int nPlusOneThreshold) {
+        Scope scope = new Scope(CURRENT.get(), nPlusOneThreshold);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void onStatement(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statement(sql);
+        }
+    }
+
+    static void onJdbcTime(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.jdbcNanos += nanos;
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(MONITORING_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + "(" + frame.getFileName() + ":" + frame.getLineNumber() + ")")
+                .orElse("inconnu"));
+    }
+
+    /**
+     * Requêtes exécutées par le thread courant depuis start(). Les scopes s'imbriquent :
+     * une requête est comptée dans le scope courant et dans tous ses parents.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final int nPlusOneThreshold;
+        private int statements;
+        private long jdbcNanos;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private final Map<String, String> callSites = new HashMap<>();
+        private boolean closed;
+
+        private Scope(Scope parent, int nPlusOneThreshold) {
+            this.parent = parent;
+            this.nPlusOneThreshold = nPlusOneThreshold;
+        }
+
+        private void statement(String sql) {
+            statements++;
+            String shape = shapeOf(sql);
+            int count = shapes.merge(shape, 1, Integer::sum);
+            // Pile parcourue une seule fois par forme répétée
+            if (count == nPlusOneThreshold) {
+                callSites.put(shape, callSite());
+            }
+        }
+
+        public int getStatementCount() {
+            return statements;
+        }
+
+        public long getJdbcTimeNanos() {
+            return jdbcNanos;
+        }
+
+        public double getJdbcTimeMillis() {
+            return jdbcNanos / 1_000_000.0;
+        }
+
+        /**
+         * Formes de requêtes exécutées au moins nPlusOneThreshold fois, des plus fréquentes aux moins fréquentes.
+         */
+        public List<RepeatedStatement> getRepeatedStatements() {
+            List<RepeatedStatement> repeated = new ArrayList<>();
+            callSites.forEach((shape, site) -> repeated.add(new RepeatedStatement(shape, shapes.get(shape), site)));
+            repeated.sort((a, b) -> Integer.compare(b.count(), a.count()));
+            return repeated;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sqli.stage.backendsqli.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Temps passé dans l'exécution JDBC (requêtes et lots), ajouté au scope SqlStatementTracker du thread.
+ * Hibernate crée une instance par session (hibernate.session.events.auto).
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementTracker.onJdbcTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementTracker.onJdbcTime(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,20 @@
+package com.sqli.stage.backendsqli.monitoring;
+
+import com.sqli.stage.backendsqli.monitoring.SqlStatementTracker.RepeatedStatement;
+
+import java.util.List;
+
+/**
+ * Publié par SqlBudgetFilter à la fin d'une requête HTTP qui a dépassé son budget de requêtes SQL
+ * ou répété une même requête (N+1 probable).
+ *
+ * @param endpoint motif de l'endpoint (ex. /api/analytics/chef/{id}) ou URI si aucun handler n'a été trouvé
+ * @param route    motif de l'endpoint, null si aucun handler n'a été trouvé (jamais l'URI brute)
+ */
+public record SqlUsageAlertEvent(String method, String endpoint, String route, int statements, int budget,
+                                 long jdbcTimeNanos, List<RepeatedStatement> repeated) {
+
+    public boolean isOverBudget() {
+        return budget > 0 && statements > budget;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sqli.stage.backendsqli.repository;
+
+import com.sqli.stage.backendsqli.entity.AccountAnalyticLine;
+import com.sqli.stage.backendsqli.repository.Projection.TimeEntrySnapshot;
+import com.sqli.stage.backendsqli.repository.Projection.TimeTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountAnalyticLineRepository extends JpaRepository<AccountAnalyticLine, Integer> {
+
+    List<AccountAnalyticLine> findByTaskIdOrderByStartedAt(Integer taskId);
+
+    // Timer déjà pointé : sa sauvegarde ne doit pas être reprise au redémarrage
+    boolean existsByEmployeeIdAndTaskIdAndStartedAt(Integer employeeId, Integer taskId, LocalDateTime startedAt);
+
+    // Pointages d'un développeur sur une période (index employee_id, date ; partitions du mois sur PostgreSQL)
+    @Query("SELECT l FROM AccountAnalyticLine l JOIN FETCH l.task " +
+           "WHERE l.employee.id = :employeeId AND l.date BETWEEN :from AND :to ORDER BY l.date, l.id")
+    List<AccountAnalyticLine> findByEmployeeInRange(@Param("employeeId") Integer employeeId,
+                                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT l FROM AccountAnalyticLine l JOIN FETCH l.task JOIN FETCH l.employee WHERE l.id = :id")
+    Optional<AccountAnalyticLine> findWithTaskById(@Param("id") Integer id);
+
+    @Query("SELECT l.employee.id AS employeeId, l.task.id AS taskId, l.projectId AS projectId, l.date AS date, " +
+           "l.durationSeconds AS seconds FROM AccountAnalyticLine l WHERE l.task.id IN :taskIds")
+    List<TimeEntrySnapshot> findSnapshotsByTaskIdIn(@Param("taskIds") Collection<Integer> taskIds);
+
+    // Totaux recalculés depuis les pointages, pour la première ligne d'un cumul
+    @Query("SELECT COALESCE(SUM(l.durationSeconds), 0) AS seconds, COUNT(l) AS entries FROM AccountAnalyticLine l " +
+           "WHERE l.employee.id = :ownerId AND l.date BETWEEN :from AND :to")
+    TimeTotal totalByEmployee(@Param("ownerId") Integer ownerId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(l.durationSeconds), 0) AS seconds, COUNT(l) AS entries FROM AccountAnalyticLine l " +
+           "WHERE l.task.id = :ownerId AND l.date BETWEEN :from AND :to")
+    TimeTotal totalByTask(@Param("ownerId") Integer ownerId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(l.durationSeconds), 0) AS seconds, COUNT(l) AS entries FROM AccountAnalyticLine l " +
+           "WHERE l.projectId = :ownerId AND l.date BETWEEN :from AND :to")
+    TimeTotal totalByProject(@Param("ownerId") Integer ownerId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
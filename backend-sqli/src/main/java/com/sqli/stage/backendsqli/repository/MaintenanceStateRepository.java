@@ -0,0 +1,20 @@
+package com.sqli.stage.backendsqli.repository;
+
+import com.sqli.stage.backendsqli.entity.MaintenanceState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MaintenanceStateRepository extends JpaRepository<MaintenanceState, Integer> {
+
+    @Query("SELECT s.version FROM MaintenanceState s WHERE s.id = " + MaintenanceState.SINGLETON_ID)
+    Optional<Long> findCurrentVersion();
+
+    @Modifying
+    @Query("UPDATE MaintenanceState s SET s.version = s.version + 1 WHERE s.id = " + MaintenanceState.SINGLETON_ID)
+    int incrementVersion();
+}
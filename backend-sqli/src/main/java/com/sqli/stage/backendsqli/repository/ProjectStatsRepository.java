@@ -0,0 +1,38 @@
+package com.sqli.stage.backendsqli.repository;
+
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.repository.Projection.DashboardCounts;
+import com.sqli.stage.backendsqli.repository.Projection.ProjectStatusCount;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Requêtes d'agrégat sur les projets : les statistiques sont calculées par la base
+ * au lieu de charger les entités pour les compter.
+ */
+public interface ProjectStatsRepository extends Repository<Project, Integer> {
+
+    @Query("SELECT p.statut AS statut, COUNT(p) AS total FROM Project p GROUP BY p.statut")
+    List<ProjectStatusCount> countGroupByStatut();
+
+    // Un projet sans statut n'est pas terminé
+    @Query("SELECT COUNT(p) FROM Project p WHERE p.dateFin < :today AND (p.statut IS NULL OR p.statut <> :termine)")
+    long countLateProjects(@Param("today") LocalDate today, @Param("termine") StatutProjet termine);
+
+    // Tous les indicateurs du tableau de bord en un aller-retour (les tâches via des sous-requêtes scalaires)
+    @Query("SELECT COUNT(p) AS totalProjects, " +
+           "COALESCE(SUM(CASE WHEN p.statut = :enCours THEN 1 ELSE 0 END), 0) AS activeProjects, " +
+           "COALESCE(SUM(CASE WHEN p.statut = :termine THEN 1 ELSE 0 END), 0) AS completedProjects, " +
+           "COALESCE(SUM(CASE WHEN p.dateFin < :today AND (p.statut IS NULL OR p.statut <> :termine) THEN 1 ELSE 0 END), 0) AS lateProjects, " +
+           "(SELECT COUNT(t) FROM Task t) AS totalTasks, " +
+           "(SELECT COUNT(t2) FROM Task t2 WHERE t2.dateDebut = :today) AS todayTasks " +
+           "FROM Project p")
+    DashboardCounts loadDashboardCounts(@Param("today") LocalDate today,
+                                        @Param("enCours") StatutProjet enCours,
+                                        @Param("termine") StatutProjet termine);
+}
@@ -0,0 +1,18 @@
+package com.sqli.stage.backendsqli.repository;
+
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ProjectTaskStatsRepository extends JpaRepository<ProjectTaskStats, Integer> {
+
+    // Verrou de ligne : les mutations concurrentes de tâches s'appliquent l'une après l'autre
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProjectTaskStats s WHERE s.projectId = :id")
+    Optional<ProjectTaskStats> findByIdForUpdate(@Param("id") Integer id);
+}
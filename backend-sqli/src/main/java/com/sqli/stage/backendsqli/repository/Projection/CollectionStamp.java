@@ -0,0 +1,18 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Empreinte d'une liste de ressources : nombre, somme des identifiants (ajout, retrait), somme des versions
+ * (modification) et dernière modification, calculés par une seule requête d'agrégat.
+ */
+public interface CollectionStamp {
+
+    Long getTotal();
+
+    Long getIdSum();
+
+    Long getVersionSum();
+
+    LocalDateTime getUpdatedAt();
+}
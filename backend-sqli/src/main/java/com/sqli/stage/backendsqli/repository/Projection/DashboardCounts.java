@@ -0,0 +1,19 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+/**
+ * Indicateurs du tableau de bord administrateur, calculés en une seule requête.
+ */
+public interface DashboardCounts {
+
+    long getTotalProjects();
+
+    long getActiveProjects();
+
+    long getCompletedProjects();
+
+    long getLateProjects();
+
+    long getTotalTasks();
+
+    long getTodayTasks();
+}
@@ -0,0 +1,15 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+
+/**
+ * Nombre de tâches d'un développeur pour un statut donné (résultat d'un GROUP BY developpeur, statut).
+ */
+public interface DeveloperStatusCount {
+
+    Integer getDeveloppeurId();
+
+    StatutTache getStatut();
+
+    long getTotal();
+}
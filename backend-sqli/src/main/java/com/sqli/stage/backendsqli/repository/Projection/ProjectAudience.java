@@ -0,0 +1,11 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+/**
+ * Destinataires des événements d'un projet : son chef de projet (créateur) et son client.
+ */
+public interface ProjectAudience {
+
+    Integer getChefId();
+
+    Integer getClientId();
+}
@@ -0,0 +1,11 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Empreinte d'une liste de projets, avec la dernière mise à jour de leurs compteurs de tâches.
+ */
+public interface ProjectCollectionStamp extends CollectionStamp {
+
+    LocalDateTime getStatsUpdatedAt();
+}
@@ -0,0 +1,13 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+
+/**
+ * Nombre de projets pour un statut donné (résultat d'un GROUP BY statut).
+ */
+public interface ProjectStatusCount {
+
+    StatutProjet getStatut();
+
+    long getTotal();
+}
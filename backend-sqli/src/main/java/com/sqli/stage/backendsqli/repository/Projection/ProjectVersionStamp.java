@@ -0,0 +1,11 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version d'un projet et date de mise à jour de ses compteurs de tâches (repris dans ProjectResponse).
+ */
+public interface ProjectVersionStamp extends VersionStamp {
+
+    LocalDateTime getStatsUpdatedAt();
+}
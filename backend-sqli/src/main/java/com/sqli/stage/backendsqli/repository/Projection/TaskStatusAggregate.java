@@ -0,0 +1,21 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+
+/**
+ * Agrégat de tâches (nombre et cumul des heures) pour un propriétaire (projet ou développeur) et un statut.
+ */
+public interface TaskStatusAggregate {
+
+    Integer getOwnerId();
+
+    StatutTache getStatut();
+
+    long getTotal();
+
+    Long getPlannedHours();
+
+    Long getEffectiveHours();
+
+    Long getRemainingHours();
+}
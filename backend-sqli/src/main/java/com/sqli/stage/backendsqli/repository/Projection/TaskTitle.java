@@ -0,0 +1,13 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+/**
+ * Titre (en minuscules) d'une tâche existante, pour vérifier l'unicité des titres d'un lot de tâches.
+ */
+public interface TaskTitle {
+
+    Integer getId();
+
+    Integer getProjectId();
+
+    String getTitre();
+}
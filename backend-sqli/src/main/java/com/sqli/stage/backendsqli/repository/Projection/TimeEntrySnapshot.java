@@ -0,0 +1,19 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+import java.time.LocalDate;
+
+/**
+ * Colonnes d'un pointage qui alimentent les cumuls de temps (timesheet_rollups).
+ */
+public interface TimeEntrySnapshot {
+
+    Integer getEmployeeId();
+
+    Integer getTaskId();
+
+    Integer getProjectId();
+
+    LocalDate getDate();
+
+    Long getSeconds();
+}
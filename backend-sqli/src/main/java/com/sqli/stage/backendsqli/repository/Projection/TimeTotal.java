@@ -0,0 +1,11 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+/**
+ * Temps pointé total et nombre de pointages sur une période.
+ */
+public interface TimeTotal {
+
+    Long getSeconds();
+
+    Long getEntries();
+}
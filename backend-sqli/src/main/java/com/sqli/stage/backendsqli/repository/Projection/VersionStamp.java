@@ -0,0 +1,13 @@
+package com.sqli.stage.backendsqli.repository.Projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version (verrouillage optimiste) et date de dernière modification d'une ressource, lues sans la charger.
+ */
+public interface VersionStamp {
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
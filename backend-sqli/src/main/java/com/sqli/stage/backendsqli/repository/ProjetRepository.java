@@ -1,12 +1,18 @@
 package com.sqli.stage.backendsqli.repository;
 
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectSummary;
 import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
 import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.repository.Projection.ProjectAudience;
+import com.sqli.stage.backendsqli.repository.Projection.ProjectCollectionStamp;
+import com.sqli.stage.backendsqli.repository.Projection.ProjectVersionStamp;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,8 +36,86 @@ public interface ProjetRepository extends JpaRepository<Project, Integer> {
     @Query("SELECT p FROM Project p WHERE p.type = 'Delivery'")
     List<Project> findBuildProjects();
 
+    @EntityGraph(Project.GRAPH_SUMMARY)
     @Query("SELECT p FROM Project p WHERE p.type = 'TMA'")
     List<Project> findTmaProjects();
 
+    @Query("SELECT c.id AS chefId, cl.id AS clientId FROM Project p LEFT JOIN p.createdBy c LEFT JOIN p.client cl WHERE p.id = :id")
+    Optional<ProjectAudience> findAudienceById(@Param("id") Integer id);
 
+    String COLLECTION_STAMP = "SELECT COUNT(p) AS total, COALESCE(SUM(p.id), 0) AS idSum, " +
+            "COALESCE(SUM(p.version), 0) AS versionSum, MAX(p.updatedAt) AS updatedAt, MAX(s.updatedAt) AS statsUpdatedAt " +
+            "FROM Project p LEFT JOIN ProjectTaskStats s ON s.projectId = p.id ";
+
+    // Versions pour les requêtes conditionnelles (ETag, If-Match) : les compteurs de tâches font partie de la réponse
+    @Query("SELECT p.version AS version, p.updatedAt AS updatedAt, s.updatedAt AS statsUpdatedAt " +
+           "FROM Project p LEFT JOIN ProjectTaskStats s ON s.projectId = p.id WHERE p.id = :id")
+    Optional<ProjectVersionStamp> findVersionById(@Param("id") Integer id);
+
+    // Coordonnées imprimées dans le PDF du projet (client, chef, équipe) : les utilisateurs n'ont pas de version
+    @Query("SELECT CONCAT(u.id, ':', COALESCE(u.nom, ''), ':', u.email) FROM User u " +
+           "WHERE u.id IN (SELECT d.id FROM Project p JOIN p.developpeurs d WHERE p.id = :id) " +
+           "OR u.id IN (SELECT p.client.id FROM Project p WHERE p.id = :id) " +
+           "OR u.id IN (SELECT p.createdBy.id FROM Project p WHERE p.id = :id) ORDER BY u.id")
+    List<String> findTeamContactsById(@Param("id") Integer id);
+
+    @Query(COLLECTION_STAMP)
+    ProjectCollectionStamp findCollectionStamp();
+
+    @Query(COLLECTION_STAMP + "WHERE p.createdBy.id = :chefId")
+    ProjectCollectionStamp findCollectionStampByChefId(@Param("chefId") Integer chefId);
+
+    @Query(COLLECTION_STAMP + "WHERE p.id IN (SELECT p2.id FROM Project p2 JOIN p2.developpeurs d WHERE d.id = :developpeurId)")
+    ProjectCollectionStamp findCollectionStampByDeveloppeurId(@Param("developpeurId") Integer developpeurId);
+
+    // Plans de chargement explicites (voir les @NamedEntityGraph de Project)
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    Optional<Project> findWithTeamById(Integer id);
+
+    @EntityGraph(Project.GRAPH_WITH_TASKS)
+    Optional<Project> findWithTasksById(Integer id);
+
+    @EntityGraph(Project.GRAPH_FULL)
+    Optional<Project> findFullById(Integer id);
+
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    Optional<Project> findWithTeamByUuidPublic(String uuid);
+
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    @Query("SELECT p FROM Project p")
+    List<Project> findAllWithTeam();
+
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    @Query("SELECT p FROM Project p WHERE p.createdBy.username = :username")
+    List<Project> findWithTeamByCreatedByUsername(@Param("username") String username);
+
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    List<Project> findWithTeamByCreatedById(int id);
+
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    @Query("SELECT p FROM Project p WHERE p.client.id = :clientId")
+    List<Project> findWithTeamByClientId(@Param("clientId") Integer clientId);
+
+    // Sous-requête : le filtre ne doit pas restreindre l'équipe chargée par le plan
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    @Query("SELECT p FROM Project p WHERE p.id IN (SELECT p2.id FROM Project p2 JOIN p2.developpeurs d WHERE d.id = :developpeurId)")
+    List<Project> findWithTeamByDeveloppeurId(@Param("developpeurId") Integer developpeurId);
+
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    List<Project> findWithTeamByIdIn(Collection<Integer> ids);
+
+    @EntityGraph(Project.GRAPH_WITH_TEAM)
+    List<Project> findWithTeamByIsPublicLinkEnabledTrue();
+
+    @EntityGraph(Project.GRAPH_FULL)
+    @Query("SELECT p FROM Project p WHERE p.client.id = :clientId")
+    List<Project> findFullByClientId(@Param("clientId") Integer clientId);
+
+    // Projections pour les listes sans collections
+    @Query("SELECT new com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectSummary(p.id, p.titre, p.type, p.statut, p.progression, p.dateDebut, p.dateFin) " +
+           "FROM Project p WHERE p.createdBy.username = :username")
+    List<ProjectSummary> findSummariesByCreatedByUsername(@Param("username") String username);
+
+    @Query("SELECT COUNT(DISTINCT d.id) FROM Project p JOIN p.developpeurs d WHERE p.createdBy.username = :username")
+    long countDistinctDeveloppeursByCreatedByUsername(@Param("username") String username);
 }
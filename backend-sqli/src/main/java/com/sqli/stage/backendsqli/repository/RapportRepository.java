@@ -0,0 +1,31 @@
+package com.sqli.stage.backendsqli.repository;
+
+import com.sqli.stage.backendsqli.entity.Enums.StatutRapport;
+import com.sqli.stage.backendsqli.entity.Rapport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface RapportRepository extends JpaRepository<Rapport, Long> {
+
+    List<Rapport> findTop50ByDemandeParOrderByDateDemandeDesc(String demandePar);
+
+    List<Rapport> findByStatutAndDateFinBefore(StatutRapport statut, LocalDateTime before);
+
+    // Exports restés en attente ou en cours (instance arrêtée pendant le travail)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Rapport r SET r.statut = :echec, r.erreur = :erreur, r.dateFin = :now " +
+           "WHERE r.statut IN :statuts AND r.dateDemande < :before")
+    int failStale(@Param("statuts") Collection<StatutRapport> statuts,
+                  @Param("before") LocalDateTime before,
+                  @Param("echec") StatutRapport echec,
+                  @Param("erreur") String erreur,
+                  @Param("now") LocalDateTime now);
+}
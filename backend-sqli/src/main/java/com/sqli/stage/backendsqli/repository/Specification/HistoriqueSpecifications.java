@@ -0,0 +1,83 @@
+package com.sqli.stage.backendsqli.repository.Specification;
+
+import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogFilterRequest;
+import com.sqli.stage.backendsqli.entity.Enums.EntityName;
+import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
+import com.sqli.stage.backendsqli.entity.Historique;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// Prédicats composables pour l'historique, avec pagination par curseur sur (timestamp, id)
+public final class HistoriqueSpecifications {
+
+    // Ordre du curseur : doit rester aligné avec seekAfter()
+    public static final Sort SEEK_ORDER = Sort.by(Sort.Order.desc("dateHeure"), Sort.Order.desc("id"));
+
+    private HistoriqueSpecifications() {
+    }
+
+    public static Specification<Historique> fromFilter(LogFilterRequest filter) {
+        return Specification.allOf(
+                fetchUser(),
+                hasAction(filter.getAction()),
+                hasEntity(filter.getEntityName(), filter.getEntityId()),
+                hasUser(filter.getUserId()),
+                from(filter.getStart()),
+                to(filter.getEnd()),
+                seekAfter(filter.getCursorTimestamp(), filter.getCursorId()));
+    }
+
+    public static Specification<Historique> hasAction(TypeOperation action) {
+        return (root, query, cb) -> action == null ? null : cb.equal(root.get("action"), action);
+    }
+
+    public static Specification<Historique> hasEntity(EntityName entityName, Integer entityId) {
+        return (root, query, cb) -> {
+            if (entityName == null) {
+                return null;
+            }
+            if (entityId == null) {
+                return cb.equal(root.get("entityName"), entityName);
+            }
+            return cb.and(cb.equal(root.get("entityName"), entityName), cb.equal(root.get("entityId"), entityId));
+        };
+    }
+
+    public static Specification<Historique> hasUser(Integer userId) {
+        return (root, query, cb) -> userId == null ? null : cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Historique> from(LocalDateTime start) {
+        return (root, query, cb) -> start == null ? null : cb.greaterThanOrEqualTo(root.get("dateHeure"), start);
+    }
+
+    public static Specification<Historique> to(LocalDateTime end) {
+        return (root, query, cb) -> end == null ? null : cb.lessThanOrEqualTo(root.get("dateHeure"), end);
+    }
+
+    // Lignes strictement "après" le curseur dans l'ordre (timestamp DESC, id DESC)
+    public static Specification<Historique> seekAfter(LocalDateTime cursorTimestamp, Integer cursorId) {
+        return (root, query, cb) -> {
+            if (cursorTimestamp == null || cursorId == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.lessThan(root.get("dateHeure"), cursorTimestamp),
+                    cb.and(cb.equal(root.get("dateHeure"), cursorTimestamp), cb.lessThan(root.get("id"), cursorId))
+            );
+        };
+    }
+
+    public static Specification<Historique> fetchUser() {
+        return (root, query, cb) -> {
+            Class<?> resultType = query.getResultType();
+            if (resultType != Long.class && resultType != long.class) {
+                root.fetch("user", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
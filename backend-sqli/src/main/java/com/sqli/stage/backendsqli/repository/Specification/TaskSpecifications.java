@@ -0,0 +1,90 @@
+package com.sqli.stage.backendsqli.repository.Specification;
+
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskFilterRequest;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Task;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+// Prédicats composables pour filtrer les tâches directement en SQL
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // Traduit un TaskFilterRequest en une seule Specification (les critères null sont ignorés)
+    public static Specification<Task> fromFilter(TaskFilterRequest filter) {
+        return Specification.allOf(
+                fetchProjectAndDeveloppeur(),
+                hasProject(filter.getProjectId()),
+                hasDeveloppeur(filter.getDeveloppeurId()),
+                hasStatut(filter.getStatut()),
+                matchesKeyword(filter.getKeyword()),
+                dateDebutFrom(filter.getDateDebutMin()),
+                dateDebutTo(filter.getDateDebutMax()),
+                dateFinFrom(filter.getDateFinMin()),
+                dateFinTo(filter.getDateFinMax()));
+    }
+
+    public static Specification<Task> hasProject(Integer projectId) {
+        return (root, query, cb) -> projectId == null ? null
+                : cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<Task> hasDeveloppeur(Integer developpeurId) {
+        return (root, query, cb) -> developpeurId == null ? null
+                : cb.equal(root.get("developpeur").get("id"), developpeurId);
+    }
+
+    public static Specification<Task> hasStatut(StatutTache statut) {
+        return (root, query, cb) -> statut == null ? null
+                : cb.equal(root.get("statut"), statut);
+    }
+
+    public static Specification<Task> matchesKeyword(String keyword) {
+        return (root, query, cb) -> {
+            if (keyword == null || keyword.isBlank()) {
+                return null;
+            }
+            String pattern = "%" + keyword.trim().toLowerCase() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("titre")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern)
+            );
+        };
+    }
+
+    public static Specification<Task> dateDebutFrom(LocalDate min) {
+        return (root, query, cb) -> min == null ? null
+                : cb.greaterThanOrEqualTo(root.get("dateDebut"), min);
+    }
+
+    public static Specification<Task> dateDebutTo(LocalDate max) {
+        return (root, query, cb) -> max == null ? null
+                : cb.lessThanOrEqualTo(root.get("dateDebut"), max);
+    }
+
+    public static Specification<Task> dateFinFrom(LocalDate min) {
+        return (root, query, cb) -> min == null ? null
+                : cb.greaterThanOrEqualTo(root.get("dateFin"), min);
+    }
+
+    public static Specification<Task> dateFinTo(LocalDate max) {
+        return (root, query, cb) -> max == null ? null
+                : cb.lessThanOrEqualTo(root.get("dateFin"), max);
+    }
+
+    // Charge projet et développeur dans la même requête (pas sur la requête COUNT de pagination)
+    public static Specification<Task> fetchProjectAndDeveloppeur() {
+        return (root, query, cb) -> {
+            Class<?> resultType = query.getResultType();
+            if (resultType != Long.class && resultType != long.class) {
+                root.fetch("project", JoinType.LEFT);
+                root.fetch("developpeur", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
@@ -3,14 +3,30 @@ package com.sqli.stage.backendsqli.repository;
 import com.sqli.stage.backendsqli.entity.Enums.Priorite;
 import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
 import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.repository.Projection.CollectionStamp;
+import com.sqli.stage.backendsqli.repository.Projection.DeveloperStatusCount;
+import com.sqli.stage.backendsqli.repository.Projection.TaskStatusAggregate;
+import com.sqli.stage.backendsqli.repository.Projection.TaskTitle;
+import com.sqli.stage.backendsqli.repository.Projection.VersionStamp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task> {
+
+    String TRACKED_SECONDS = "(coalesce(t.effectiveSeconds, coalesce(t.effectiveHours, 0) * 3600) + :seconds)";
+    String TRACKED_HOURS = "cast((" + TRACKED_SECONDS + " + 1800) / 3600 as Integer)";
+
+    String COLLECTION_STAMP = "SELECT COUNT(t) AS total, COALESCE(SUM(t.id), 0) AS idSum, " +
+            "COALESCE(SUM(t.version), 0) AS versionSum, MAX(t.updatedAt) AS updatedAt FROM Task t ";
 
-public interface TaskRepository extends JpaRepository<Task, Integer> {
     List<Task> findByDeveloppeurId(int developpeurId);
     List<Task> findByProjectCreatedById(Integer chefProjetId);
     List<Task> findByProjectId(int projectId);
@@ -36,6 +52,44 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
 
     boolean existsByProjectIdAndTitreIgnoreCase(Integer id, String trim);
 
+    // Opérations groupées : tâches avec leur projet et son chef, titres déjà pris en une requête
+    @Query("SELECT t FROM Task t JOIN FETCH t.project p LEFT JOIN FETCH p.createdBy WHERE t.id IN :ids")
+    List<Task> findWithProjectByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT t.id AS id, t.project.id AS projectId, LOWER(t.titre) AS titre FROM Task t " +
+           "WHERE t.project.id IN :projectIds AND LOWER(t.titre) IN :titres")
+    List<TaskTitle> findTitlesByProjectIdInAndTitreIn(@Param("projectIds") Collection<Integer> projectIds,
+                                                      @Param("titres") Collection<String> titres);
+
+    // Ajout atomique de temps pointé : heures effectives arrondies à l'heure la plus proche, heures restantes recalculées,
+    // nouvelle version (les ETag et If-Match en tiennent compte). Contexte de persistance conservé :
+    // l'appelant relit la tâche modifiée (refresh)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET " +
+           "t.effectiveSeconds = " + TRACKED_SECONDS + ", " +
+           "t.effectiveHours = " + TRACKED_HOURS + ", " +
+           "t.remainingHours = CASE WHEN coalesce(t.plannedHours, 0) > " + TRACKED_HOURS +
+           " THEN coalesce(t.plannedHours, 0) - " + TRACKED_HOURS + " ELSE 0 END, " +
+           "t.version = t.version + 1, t.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE t.id = :id")
+    int addTrackedSeconds(@Param("id") Integer id, @Param("seconds") long seconds);
+
+    // Versions pour les requêtes conditionnelles (ETag, If-Match) : aucune entité chargée
+    @Query("SELECT t.version AS version, t.updatedAt AS updatedAt FROM Task t WHERE t.id = :id")
+    Optional<VersionStamp> findVersionById(@Param("id") Integer id);
+
+    @Query(COLLECTION_STAMP)
+    CollectionStamp findCollectionStamp();
+
+    @Query(COLLECTION_STAMP + "WHERE t.project.id = :projectId")
+    CollectionStamp findCollectionStampByProjectId(@Param("projectId") Integer projectId);
+
+    @Query(COLLECTION_STAMP + "WHERE t.project.createdBy.id = :chefId")
+    CollectionStamp findCollectionStampByChefId(@Param("chefId") Integer chefId);
+
+    @Query(COLLECTION_STAMP + "WHERE t.developpeur.id = :developpeurId")
+    CollectionStamp findCollectionStampByDeveloppeurId(@Param("developpeurId") Integer developpeurId);
+
     // Nouvelles méthodes pour les analytics du chef de projet
     @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id IN :projectIds")
     Long countByProjectIdIn(@Param("projectIds") List<Integer> projectIds);
@@ -43,7 +97,7 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id IN :projectIds AND t.statut = :statut")
     Long countByProjectIdInAndStatut(@Param("projectIds") List<Integer> projectIds, @Param("statut") StatutTache statut);
 
-    @Query("SELECT t FROM Task t WHERE t.project.id IN :projectIds")
+    @Query("SELECT t FROM Task t JOIN FETCH t.project WHERE t.project.id IN :projectIds")
     List<Task> findByProjectIdIn(@Param("projectIds") List<Integer> projectIds);
     
     // Nouvelles méthodes pour compter les tâches par développeur ET par projet
@@ -52,4 +106,33 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     
     @Query("SELECT COUNT(t) FROM Task t WHERE t.developpeur.id = :developpeurId AND t.project.id IN :projectIds AND t.statut = :statut")
     int countByDeveloppeurIdAndProjectIdInAndStatut(@Param("developpeurId") int developpeurId, @Param("projectIds") List<Integer> projectIds, @Param("statut") StatutTache statut);
+
+    // Agrégats par développeur et statut (une seule requête pour tout un tableau de bord d'équipe),
+    // limités aux projets dont le développeur fait partie de l'équipe
+    @Query("SELECT t.developpeur.id AS developpeurId, t.statut AS statut, COUNT(t) AS total FROM Task t " +
+           "WHERE t.developpeur.id IN :developpeurIds AND t.project.id IN :projectIds " +
+           "AND t.developpeur MEMBER OF t.project.developpeurs GROUP BY t.developpeur.id, t.statut")
+    List<DeveloperStatusCount> countByDeveloppeurIdInAndProjectIdInGroupByStatut(@Param("developpeurIds") Collection<Integer> developpeurIds,
+                                                                                  @Param("projectIds") Collection<Integer> projectIds);
+
+    // Agrégats complets (nombre + heures) utilisés pour (re)construire les tables de statistiques
+    @Query("SELECT t.project.id AS ownerId, t.statut AS statut, COUNT(t) AS total, SUM(t.plannedHours) AS plannedHours, " +
+           "SUM(t.effectiveHours) AS effectiveHours, SUM(t.remainingHours) AS remainingHours " +
+           "FROM Task t WHERE t.project.id IN :projectIds GROUP BY t.project.id, t.statut")
+    List<TaskStatusAggregate> aggregateByProjectIdIn(@Param("projectIds") Collection<Integer> projectIds);
+
+    @Query("SELECT t.project.id AS ownerId, t.statut AS statut, COUNT(t) AS total, SUM(t.plannedHours) AS plannedHours, " +
+           "SUM(t.effectiveHours) AS effectiveHours, SUM(t.remainingHours) AS remainingHours " +
+           "FROM Task t WHERE t.project IS NOT NULL GROUP BY t.project.id, t.statut")
+    List<TaskStatusAggregate> aggregateByProject();
+
+    @Query("SELECT t.developpeur.id AS ownerId, t.statut AS statut, COUNT(t) AS total, SUM(t.plannedHours) AS plannedHours, " +
+           "SUM(t.effectiveHours) AS effectiveHours, SUM(t.remainingHours) AS remainingHours " +
+           "FROM Task t WHERE t.developpeur.id IN :developpeurIds GROUP BY t.developpeur.id, t.statut")
+    List<TaskStatusAggregate> aggregateByDeveloppeurIdIn(@Param("developpeurIds") Collection<Integer> developpeurIds);
+
+    @Query("SELECT t.developpeur.id AS ownerId, t.statut AS statut, COUNT(t) AS total, SUM(t.plannedHours) AS plannedHours, " +
+           "SUM(t.effectiveHours) AS effectiveHours, SUM(t.remainingHours) AS remainingHours " +
+           "FROM Task t WHERE t.developpeur IS NOT NULL GROUP BY t.developpeur.id, t.statut")
+    List<TaskStatusAggregate> aggregateByDeveloppeur();
 }
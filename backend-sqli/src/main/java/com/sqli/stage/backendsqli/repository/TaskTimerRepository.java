@@ -0,0 +1,50 @@
+package com.sqli.stage.backendsqli.repository;
+
+import com.sqli.stage.backendsqli.entity.TaskTimer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskTimerRepository extends JpaRepository<TaskTimer, Integer> {
+
+    // Sans erreur si le timer n'a pas encore été sauvegardé
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskTimer t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Integer userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskTimer t WHERE t.userId = :userId AND t.startedAt = :startedAt")
+    int deleteRunning(@Param("userId") Integer userId, @Param("startedAt") LocalDateTime startedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskTimer t WHERE t.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Integer taskId);
+
+    // Sauvegardes de cette instance, sans propriétaire, ou dont le propriétaire ne s'est plus manifesté
+    @Query("SELECT t FROM TaskTimer t WHERE t.ownerNode = :node OR t.ownerNode IS NULL OR t.checkpointedAt < :staleBefore")
+    List<TaskTimer> findRecoverable(@Param("node") String node, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("SELECT t FROM TaskTimer t WHERE t.ownerNode IS NULL OR t.checkpointedAt < :staleBefore")
+    List<TaskTimer> findOrphaned(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Prise de possession conditionnelle : 0 si le propriétaire a sauvegardé entre-temps ou si une autre instance l'a prise
+    @Transactional
+    @Modifying
+    @Query("UPDATE TaskTimer t SET t.ownerNode = :node, t.checkpointedAt = :now "
+            + "WHERE t.userId = :userId AND t.startedAt = :startedAt AND t.checkpointedAt = :seenAt")
+    int claim(@Param("userId") Integer userId, @Param("startedAt") LocalDateTime startedAt,
+              @Param("seenAt") LocalDateTime seenAt, @Param("node") String node, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TaskTimer t SET t.checkpointedAt = :now WHERE t.ownerNode = :node")
+    int heartbeat(@Param("node") String node, @Param("now") LocalDateTime now);
+}
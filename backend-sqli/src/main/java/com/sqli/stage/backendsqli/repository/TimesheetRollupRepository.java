@@ -0,0 +1,46 @@
+package com.sqli.stage.backendsqli.repository;
+
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetPeriod;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetScope;
+import com.sqli.stage.backendsqli.entity.TimesheetRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TimesheetRollupRepository extends JpaRepository<TimesheetRollup, Long> {
+
+    // Verrou de ligne : les pointages concurrents s'appliquent l'un après l'autre
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM TimesheetRollup r WHERE r.scope = :scope AND r.granularity = :granularity " +
+           "AND r.ownerId = :ownerId AND r.periodStart = :periodStart")
+    Optional<TimesheetRollup> findForUpdate(@Param("scope") TimesheetScope scope,
+                                            @Param("granularity") TimesheetPeriod granularity,
+                                            @Param("ownerId") Integer ownerId,
+                                            @Param("periodStart") LocalDate periodStart);
+
+    @Query("SELECT r FROM TimesheetRollup r WHERE r.scope = :scope AND r.granularity = :granularity " +
+           "AND r.ownerId IN :ownerIds AND r.periodStart BETWEEN :from AND :to AND r.entries > 0 " +
+           "ORDER BY r.ownerId, r.periodStart")
+    List<TimesheetRollup> findRange(@Param("scope") TimesheetScope scope,
+                                    @Param("granularity") TimesheetPeriod granularity,
+                                    @Param("ownerIds") Collection<Integer> ownerIds,
+                                    @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT r FROM TimesheetRollup r WHERE r.scope = :scope AND r.granularity = :granularity " +
+           "AND r.periodStart BETWEEN :from AND :to AND r.entries > 0 ORDER BY r.ownerId, r.periodStart")
+    List<TimesheetRollup> findRangeForAllOwners(@Param("scope") TimesheetScope scope,
+                                                @Param("granularity") TimesheetPeriod granularity,
+                                                @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM TimesheetRollup r WHERE r.scope = :scope AND r.ownerId IN :ownerIds")
+    int deleteByScopeAndOwnerIdIn(@Param("scope") TimesheetScope scope, @Param("ownerIds") Collection<Integer> ownerIds);
+}
@@ -0,0 +1,49 @@
+package com.sqli.stage.backendsqli.security;
+
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Optional;
+
+/**
+ * Utilisateur connecté, résolu au plus une fois par requête HTTP.
+ * Le filtre JWT place un UserPrincipal (avec l'id) dans le contexte de sécurité :
+ * l'entité est lue par clé primaire plutôt que par username.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserHolder {
+
+    private final UserRepository userRepository;
+
+    private Optional<User> user;
+
+    public String getUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    public Optional<User> find() {
+        if (user == null) {
+            user = resolve();
+        }
+        return user;
+    }
+
+    private Optional<User> resolve() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.getId() != null) {
+            return userRepository.findById(principal.getId());
+        }
+        return userRepository.findByUsername(authentication.getName());
+    }
+}
@@ -9,7 +9,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -23,7 +22,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
-    private final TokenBlacklist tokenBlacklist;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -36,8 +35,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            //  Vérifie si le token est blacklisté
-            if (tokenBlacklist.isBlacklisted(token)) {
+            // Vérifie le token (signature + expiration) une seule fois
+            JwtClaims claims = jwtUtil.parseVerified(token).orElse(null);
+
+            //  Vérifie si le token a été révoqué (déconnexion)
+            if (claims != null && tokenRevocationStore.isRevoked(claims)) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setCharacterEncoding("UTF-8");
                 response.setContentType("text/plain;charset=UTF-8");
@@ -45,17 +47,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // 2 Vérifie si le token est valide
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
-
-                if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                    var authToken = new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserPrincipal userDetails = userDetailsService.loadUserByUsername(claims.username());
+                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + claims.role()));
+                var authToken = new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
 
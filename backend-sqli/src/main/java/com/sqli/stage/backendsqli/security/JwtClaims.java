@@ -0,0 +1,17 @@
+package com.sqli.stage.backendsqli.security;
+
+import java.time.Instant;
+
+/**
+ * Contenu d'un JWT dont la signature a été vérifiée (immuable, partageable entre threads).
+ *
+ * @param tokenId identifiant unique du token (jti), null pour les tokens émis avant son ajout
+ * @param digest  empreinte SHA-256 (hex) du token, utilisée comme clé de cache
+ */
+public record JwtClaims(String tokenId, String username, String role, Integer id,
+                        Instant issuedAt, Instant expiresAt, String digest) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
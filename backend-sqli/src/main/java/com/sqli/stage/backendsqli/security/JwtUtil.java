@@ -7,65 +7,132 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final long expirationMs;
+    private final int verifiedCacheSize;
 
-    private final long EXPIRATION = 86400000; // 24h en ms
+    // ✅ Clé et parseur construits une seule fois à partir du secret
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    // ✅ Méthode privée pour centraliser la clé
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    // Tokens déjà vérifiés (empreinte -> claims) : la signature n'est vérifiée qu'une fois par token
+    private final LinkedHashMap<String, JwtClaims> verified;
+
+    public JwtUtil(@Value("${jwt.secret}") String jwtSecret,
+                   @Value("${jwt.expiration-ms:86400000}") long expirationMs, // 24h en ms
+                   @Value("${jwt.verified-cache.max-size:1024}") int verifiedCacheSize) {
+        this.expirationMs = expirationMs;
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtClaims> eldest) {
+                return size() > JwtUtil.this.verifiedCacheSize;
+            }
+        };
     }
 
     public String generateToken(String username, String role, Integer id) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .claim("role", role)
                 .claim("id", id) // 🔥 On ajoute l'ID ici
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Vérifie la signature et l'expiration du token et renvoie son contenu,
+     * ou Optional.empty() si le token est invalide ou expiré.
+     */
+    public Optional<JwtClaims> parseVerified(String token) {
+        try {
+            return Optional.of(parseOrThrow(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseOrThrow(token).username();
     }
 
     public String extractRole(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role", String.class);
+        return parseOrThrow(token).role();
     }
 
     public Integer extractId(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody()
-                .get("id", Integer.class);
+        return parseOrThrow(token).id();
     }
 
     public boolean validateToken(String token) {
+        return parseVerified(token).isPresent();
+    }
+
+    public int getVerifiedCacheSize() {
+        synchronized (verified) {
+            return verified.size();
+        }
+    }
+
+    private JwtClaims parseOrThrow(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Token vide");
+        }
+        String digest = digest(token);
+        Instant now = Instant.now();
+        JwtClaims cached;
+        synchronized (verified) {
+            cached = verified.get(digest);
+            if (cached != null && cached.isExpired(now)) {
+                verified.remove(digest);
+                cached = null;
+            }
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims body = parser.parseClaimsJws(token).getBody();
+        JwtClaims claims = new JwtClaims(
+                body.getId(),
+                body.getSubject(),
+                body.get("role", String.class),
+                body.get("id", Integer.class),
+                body.getIssuedAt() != null ? body.getIssuedAt().toInstant() : null,
+                body.getExpiration() != null ? body.getExpiration().toInstant() : null,
+                digest);
+        // Un token sans expiration n'est pas mis en cache
+        if (verifiedCacheSize > 0 && claims.expiresAt() != null) {
+            synchronized (verified) {
+                verified.put(digest, claims);
+            }
+        }
+        return claims;
+    }
+
+    public static String digest(String token) {
         try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
         }
     }
 }
@@ -1,7 +1,5 @@
 package com.sqli.stage.backendsqli.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sqli.stage.backendsqli.dto.MaintenanceStatusDto;
 import com.sqli.stage.backendsqli.service.MaintenanceService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -19,10 +17,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
 
 @Component
 @Order(1)
@@ -31,7 +25,6 @@ import java.util.Map;
 public class MaintenanceFilter extends OncePerRequestFilter {
 
     private final MaintenanceService maintenanceService;
-    private final ObjectMapper objectMapper;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -65,6 +58,7 @@ public class MaintenanceFilter extends OncePerRequestFilter {
 
     private boolean isAlwaysAllowed(String requestURI) {
         return requestURI.startsWith("/api/auth/") ||
+               requestURI.startsWith("/actuator/") ||
                requestURI.startsWith("/api/maintenance/status") ||
                requestURI.equals("/api/maintenance/disable") ||
                requestURI.equals("/api/contact/send") ||
@@ -91,20 +85,13 @@ public class MaintenanceFilter extends OncePerRequestFilter {
         return false;
     }
 
+    // Corps pré-sérialisé par MaintenanceService à chaque changement d'état
     private void sendMaintenanceResponse(HttpServletResponse response) throws IOException {
+        byte[] body = maintenanceService.getBlockedResponseBody();
         response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setHeader("Retry-After", "300"); // 5 minutes
-
-        MaintenanceStatusDto status = maintenanceService.getMaintenanceStatus();
-        
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("error", "Service Temporarily Unavailable");
-        errorResponse.put("message", "The service is currently under maintenance");
-        errorResponse.put("maintenance", status);
-        errorResponse.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        errorResponse.put("retryAfter", 300);
-
-        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+        response.setHeader("Retry-After", String.valueOf(MaintenanceService.RETRY_AFTER_SECONDS));
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 }
@@ -0,0 +1,131 @@
+package com.sqli.stage.backendsqli.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache borné (LRU + durée de vie) des utilisateurs authentifiés, indexé par username et par id.
+ * Évite une lecture de la table users à chaque requête portant un JWT ; les modifications
+ * d'un utilisateur (rôle, statut, mot de passe, suppression) doivent appeler invalidate().
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private record Entry(UserPrincipal principal, long expiresAt) {
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // Ordre d'accès : l'entrée la moins récemment utilisée est évincée en premier
+    private final LinkedHashMap<String, Entry> byUsername;
+    private final Map<Integer, String> usernameById = new HashMap<>();
+    // Incrémenté à chaque invalidation : un chargement commencé avant n'est pas mis en cache
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.byUsername = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > PrincipalCache.this.maxSize) {
+                    usernameById.remove(eldest.getValue().principal().getId());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Renvoie l'utilisateur en cache ou le charge avec loader (hors verrou) puis le met en cache.
+     */
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = byUsername.get(username);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.incrementAndGet();
+                return entry.principal();
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+        UserPrincipal principal = loader.apply(username);
+        if (principal != null && maxSize > 0 && ttlMillis > 0) {
+            put(principal, now + ttlMillis, loadGeneration);
+        }
+        return principal;
+    }
+
+    public void invalidate(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        evict(userId);
+        // Une requête concurrente a pu relire l'ancienne version avant le commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        byUsername.clear();
+        usernameById.clear();
+    }
+
+    public synchronized int size() {
+        return byUsername.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private synchronized void put(UserPrincipal principal, long expiresAt, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        // Le username a pu changer : on retire l'ancienne clé de cet id
+        String previous = usernameById.put(principal.getId(), principal.getUsername());
+        if (previous != null && !previous.equals(principal.getUsername())) {
+            byUsername.remove(previous);
+        }
+        byUsername.put(principal.getUsername(), new Entry(principal, expiresAt));
+    }
+
+    private synchronized void evict(Integer userId) {
+        generation++;
+        String username = usernameById.remove(userId);
+        if (username != null) {
+            byUsername.remove(username);
+            log.debug("Principal cache entry evicted for user {}", userId);
+        }
+    }
+}
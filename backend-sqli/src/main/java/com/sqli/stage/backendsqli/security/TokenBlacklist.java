@@ -1,20 +0,0 @@
-package com.sqli.stage.backendsqli.security;
-
-import org.springframework.stereotype.Component;
-
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-
-@Component
-public class TokenBlacklist {
-
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
-
-    public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
-    }
-
-    public boolean isBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
-    }
-}
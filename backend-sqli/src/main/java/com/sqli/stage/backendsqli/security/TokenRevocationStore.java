@@ -0,0 +1,278 @@
+package com.sqli.stage.backendsqli.security;
+
+import com.sqli.stage.backendsqli.entity.RevokedToken;
+import com.sqli.stage.backendsqli.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tokens révoqués (déconnexion), conservés jusqu'à leur expiration puis purgés.
+ * En mémoire chaque révocation tient dans une clé de 128 bits (empreinte du jti) et une date d'expiration ;
+ * avec security.revocation.persistence.enabled=true elles sont aussi écrites en base, rechargées
+ * au démarrage et synchronisées périodiquement (par numéro d'ordre attribué par la base) pour être
+ * partagées entre les instances.
+ * Une révocation non expirée n'est jamais évincée : capacité atteinte, elle n'est gardée qu'en base
+ * (relue en base quand la mémoire ne la connaît pas) ou, sans persistance, refusée.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore {
+
+    // Empreinte 128 bits : deux long au lieu de la chaîne du token
+    record RevocationKey(long high, long low) {
+
+        static RevocationKey of(JwtClaims claims) {
+            String hex = claims.tokenId() != null ? JwtUtil.digest("jti:" + claims.tokenId()) : claims.digest();
+            return fromHex(hex);
+        }
+
+        static RevocationKey fromHex(String hex) {
+            return new RevocationKey(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                    Long.parseUnsignedLong(hex.substring(16, 32), 16));
+        }
+
+        String toHex() {
+            return String.format("%016x%016x", high, low);
+        }
+    }
+
+    // Numéros relus au démarrage : une révocation validée pendant le chargement n'est pas manquée
+    private static final long LOAD_OVERLAP = 100;
+    // Numéro manquant attendu au plus ce délai (transaction en cours), puis considéré comme jamais validé
+    private static final long GAP_GRACE_MS = 60_000;
+
+    private final JwtUtil jwtUtil;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int maxEntries;
+    private final boolean persistenceEnabled;
+
+    // Clé -> expiration du token (epoch millis)
+    private final Map<RevocationKey, Long> revoked = new ConcurrentHashMap<>();
+    // Dernier numéro d'ordre lu sans trou (-1 : pas encore chargé)
+    private volatile long lastSeq = -1;
+    private long pendingGap;
+    private long pendingGapSince;
+    // Jusqu'à cette date (epoch millis) des révocations ne sont qu'en base : la mémoire ne suffit plus
+    private final AtomicLong overflowUntil = new AtomicLong();
+
+    private final AtomicLong revokedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    public TokenRevocationStore(JwtUtil jwtUtil,
+                                RevokedTokenRepository revokedTokenRepository,
+                                @Value("${security.revocation.max-entries:100000}") int maxEntries,
+                                @Value("${security.revocation.persistence.enabled:false}") boolean persistenceEnabled) {
+        this.jwtUtil = jwtUtil;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.maxEntries = maxEntries;
+        this.persistenceEnabled = persistenceEnabled;
+    }
+
+    /**
+     * Révoque le token jusqu'à son expiration. Un token déjà invalide ou expiré n'a pas besoin d'être conservé.
+     *
+     * @throws IllegalStateException capacité atteinte sans persistance : la révocation ne peut pas être conservée
+     */
+    public void revoke(String token) {
+        jwtUtil.parseVerified(token).ifPresent(this::revoke);
+    }
+
+    public void revoke(JwtClaims claims) {
+        if (claims.expiresAt() == null) {
+            log.warn("Token without expiration cannot be revoked (user {})", claims.username());
+            return;
+        }
+        RevocationKey key = RevocationKey.of(claims);
+        long expiresAt = claims.expiresAt().toEpochMilli();
+        if (!remember(key, expiresAt)) {
+            overflow(expiresAt);
+            if (!persistenceEnabled) {
+                throw new IllegalStateException("Trop de tokens révoqués en mémoire, déconnexion impossible pour le moment.");
+            }
+        }
+        revokedCount.incrementAndGet();
+
+        if (persistenceEnabled) {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.save(new RevokedToken(key.toHex(), toLocal(expiresAt), now, claims.id(), null));
+        }
+    }
+
+    public boolean isRevoked(JwtClaims claims) {
+        RevocationKey key = RevocationKey.of(claims);
+        Long expiresAt = revoked.get(key);
+        long now = System.currentTimeMillis();
+        if (expiresAt != null) {
+            return expiresAt > now;
+        }
+        // Capacité dépassée : les révocations qui n'ont pas trouvé de place ne sont connues que de la base
+        return persistenceEnabled && overflowUntil.get() > now && isRevokedInDatabase(key);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public long getRevokedCount() {
+        return revokedCount.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        if (persistenceEnabled) {
+            synchronized (this) {
+                long maxSeq = 0;
+                for (RevokedToken row : revokedTokenRepository.findBySeqGreaterThanOrderBySeqAsc(0L)) {
+                    load(row);
+                    maxSeq = row.getSeq();
+                }
+                lastSeq = Math.max(0, maxSeq - LOAD_OVERLAP);
+            }
+            log.info("Token revocation store loaded ({} active revocation(s))", revoked.size());
+        }
+    }
+
+    /**
+     * Révocations faites par les autres instances depuis la dernière synchronisation, lues par numéro d'ordre
+     * (attribué par la base, indépendant des horloges des instances). Un numéro peut être validé après un numéro
+     * plus grand : la lecture reprend au premier trou tant qu'il n'est pas comblé, au plus GAP_GRACE_MS
+     * (numéro jamais validé : transaction annulée, ligne purgée).
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval-ms:10000}",
+               initialDelayString = "${security.revocation.sync-interval-ms:10000}")
+    public synchronized void synchronize() {
+        if (!persistenceEnabled || lastSeq < 0) {
+            return;
+        }
+        try {
+            long contiguous = lastSeq;
+            long maxSeq = lastSeq;
+            for (RevokedToken row : revokedTokenRepository.findBySeqGreaterThanOrderBySeqAsc(lastSeq)) {
+                load(row);
+                if (contiguous == maxSeq && row.getSeq() == contiguous + 1) {
+                    contiguous = row.getSeq();
+                }
+                maxSeq = row.getSeq();
+            }
+            lastSeq = nextSeq(contiguous, maxSeq, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    private long nextSeq(long contiguous, long maxSeq, long now) {
+        if (contiguous == maxSeq) {
+            pendingGap = 0;
+            return maxSeq;
+        }
+        if (pendingGap != contiguous + 1) {
+            pendingGap = contiguous + 1;
+            pendingGapSince = now;
+        }
+        if (now - pendingGapSince < GAP_GRACE_MS) {
+            return contiguous;
+        }
+        log.debug("Token revocation sync skipped missing sequence number {}", pendingGap);
+        pendingGap = 0;
+        return maxSeq;
+    }
+
+    private void load(RevokedToken row) {
+        long expiresAt = toEpochMillis(row.getExpiresAt());
+        if (!remember(RevocationKey.fromHex(row.getTokenKey()), expiresAt)) {
+            overflow(expiresAt);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int removed = removeExpired(System.currentTimeMillis());
+        if (removed > 0) {
+            log.debug("Token revocation store purged {} expired entrie(s)", removed);
+        }
+        if (persistenceEnabled) {
+            try {
+                revokedTokenRepository.deleteExpired(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                log.warn("Token revocation purge failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // false : capacité atteinte, la révocation n'a pas pu être gardée en mémoire
+    private boolean remember(RevocationKey key, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return true;
+        }
+        if (revoked.size() >= maxEntries && !revoked.containsKey(key) && !makeRoom()) {
+            return false;
+        }
+        revoked.merge(key, expiresAt, Math::max);
+        return true;
+    }
+
+    // Capacité atteinte : seules les entrées expirées peuvent faire de la place
+    private synchronized boolean makeRoom() {
+        return revoked.size() < maxEntries || removeExpired(System.currentTimeMillis()) > 0;
+    }
+
+    private void overflow(long expiresAt) {
+        overflowCount.incrementAndGet();
+        long previous = overflowUntil.getAndAccumulate(expiresAt, Math::max);
+        if (previous <= System.currentTimeMillis()) {
+            log.error("Token revocation store full ({} entries): revocations {} until {}", maxEntries,
+                    persistenceEnabled ? "checked in database" : "refused", Instant.ofEpochMilli(expiresAt));
+        }
+    }
+
+    // En cas d'erreur de lecture, le token est refusé plutôt qu'accepté alors qu'il est peut-être révoqué
+    private boolean isRevokedInDatabase(RevocationKey key) {
+        try {
+            return revokedTokenRepository.existsByTokenKeyAndExpiresAtAfter(key.toHex(), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Token revocation lookup failed: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private int removeExpired(long now) {
+        int[] removed = {0};
+        revoked.values().removeIf(expiresAt -> {
+            if (expiresAt <= now) {
+                removed[0]++;
+                return true;
+            }
+            return false;
+        });
+        expiredCount.addAndGet(removed[0]);
+        return removed[0];
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,49 @@
+package com.sqli.stage.backendsqli.security;
+
+import com.sqli.stage.backendsqli.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Copie immuable des informations d'authentification d'un utilisateur.
+ * Partagée entre les requêtes par le PrincipalCache : ne contient aucune entité JPA.
+ */
+@Getter
+public final class UserPrincipal implements UserDetails {
+
+    private final Integer id;
+    private final String username;
+    private final String password;
+    private final String role;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    private UserPrincipal(Integer id, String username, String password, String role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.enabled = enabled;
+        this.authorities = role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role)) : List.of();
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getMotDePasse(),
+                user.getRole() != null ? user.getRole().name() : null, user.isEnabled());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=" + id + ", username=" + username + ", role=" + role + "]";
+    }
+}
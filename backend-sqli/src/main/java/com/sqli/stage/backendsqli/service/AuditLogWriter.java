@@ -0,0 +1,388 @@
+package com.sqli.stage.backendsqli.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqli.stage.backendsqli.entity.Enums.EntityName;
+import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
+import com.sqli.stage.backendsqli.entity.Historique;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.HistoriqueRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Écriture asynchrone de l'historique : les lignes sont mises en file après le commit de la
+ * transaction métier puis insérées par lots (JDBC batch) par un thread dédié.
+ * Si la base est indisponible ou la file pleine, les lignes sont ajoutées à un fichier local
+ * (JSON lines) rejoué dès que la base répond à nouveau. Les lignes refusées par la base (contrainte
+ * d'intégrité) sont conservées dans un second fichier, à reprendre manuellement.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogWriter {
+
+    public enum OverflowPolicy {
+        BLOCK,       // attendre au plus audit.offer-timeout-ms puis déborder sur disque
+        SPILL,       // déborder immédiatement sur disque
+        CALLER_RUNS  // écrire de façon synchrone dans le thread appelant
+    }
+
+    // Ligne d'audit en attente (également le format du fichier de débordement)
+    public record PendingLog(TypeOperation action, String description, Integer entityId,
+                             EntityName entityName, Integer userId, LocalDateTime dateHeure) {
+    }
+
+    private final HistoriqueRepository historiqueRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${audit.async.enabled:true}")
+    private boolean asyncEnabled;
+
+    @Value("${audit.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.flush.size:100}")
+    private int flushSize;
+
+    @Value("${audit.flush.interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${audit.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${audit.spill.file:data/audit-spill.jsonl}")
+    private String spillFile;
+
+    @Value("${audit.spill.rejected-file:data/audit-rejected.jsonl}")
+    private String rejectedFile;
+
+    @Value("${audit.spill.retry-interval-ms:30000}")
+    private long spillRetryIntervalMs;
+
+    @Value("${audit.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<PendingLog> queue;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate syncTransaction;
+    private Path spillPath;
+    private Path rejectedPath;
+    private Thread worker;
+    private volatile boolean running;
+    private volatile long lastFailureAt;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        // REQUIRES_NEW : les écritures peuvent être déclenchées depuis afterCommit()
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        syncTransaction = new TransactionTemplate(transactionManager);
+        spillPath = Paths.get(spillFile).toAbsolutePath();
+        rejectedPath = Paths.get(rejectedFile).toAbsolutePath();
+
+        if (asyncEnabled) {
+            running = true;
+            worker = new Thread(this::runLoop, "audit-writer");
+            worker.setDaemon(true);
+            worker.start();
+            log.info("Audit writer started (capacity={}, flushSize={}, interval={}ms, policy={}, spill={})",
+                    queueCapacity, flushSize, flushIntervalMs, overflowPolicy, spillPath);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Ce qui reste en file est écrit (ou débordé) avant l'arrêt du contexte
+        List<PendingLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Audit writer flushing {} pending log(s) on shutdown", remaining.size());
+            writeOrSpill(remaining);
+        }
+        log.info("Audit writer stopped (written={}, spilled={}, rejected={}, dropped={})",
+                written.get(), spilled.get(), rejected.get(), dropped.get());
+    }
+
+    public void submit(PendingLog entry) {
+        if (!asyncEnabled) {
+            // Mode synchrone (tests) : écriture dans la transaction de l'appelant
+            syncTransaction.executeWithoutResult(status -> historiqueRepository.save(toEntity(entry)));
+            written.incrementAndGet();
+            return;
+        }
+        // Pas de ligne d'audit pour une transaction annulée
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    public int getQueueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void enqueue(PendingLog entry) {
+        if (!running) {
+            writeOrSpill(List.of(entry));
+            return;
+        }
+        boolean accepted;
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    accepted = queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    accepted = false;
+                }
+                if (!accepted) {
+                    spill(List.of(entry));
+                }
+            }
+            case SPILL -> {
+                if (!queue.offer(entry)) {
+                    spill(List.of(entry));
+                }
+            }
+            case CALLER_RUNS -> {
+                if (!queue.offer(entry)) {
+                    writeOrSpill(List.of(entry));
+                }
+            }
+        }
+    }
+
+    private void runLoop() {
+        List<PendingLog> batch = new ArrayList<>(flushSize);
+        while (running) {
+            try {
+                PendingLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpillFileIfDue();
+                    continue;
+                }
+                // Regroupe jusqu'à flushSize lignes ou jusqu'à la fin de l'intervalle
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remainingNanos <= 0 || !running) {
+                        break;
+                    }
+                    PendingLog next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeOrSpill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Audit writer loop error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeOrSpill(List<PendingLog> batch) {
+        try {
+            persist(batch);
+            return;
+        } catch (RuntimeException e) {
+            lastFailureAt = System.currentTimeMillis();
+            log.warn("Audit batch of {} failed ({}), retrying row by row", batch.size(), e.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                persist(List.of(batch.get(i)));
+            } catch (DataIntegrityViolationException e) {
+                // Ligne invalide (ex. utilisateur supprimé entre-temps) : la rejouer telle quelle échouerait encore
+                log.warn("Audit log rejected by the database, kept in {}: {} ({})",
+                        rejectedPath, batch.get(i), e.getMostSpecificCause().getMessage());
+                if (append(rejectedPath, List.of(batch.get(i)))) {
+                    rejected.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                lastFailureAt = System.currentTimeMillis();
+                spill(batch.subList(i, batch.size()));
+                return;
+            }
+        }
+    }
+
+    private void persist(List<PendingLog> batch) {
+        writeTransaction.executeWithoutResult(status ->
+                historiqueRepository.saveAll(batch.stream().map(this::toEntity).toList()));
+        written.addAndGet(batch.size());
+    }
+
+    private Historique toEntity(PendingLog entry) {
+        Historique historique = new Historique();
+        historique.setAction(entry.action());
+        historique.setDescription(entry.description());
+        historique.setEntityId(entry.entityId());
+        historique.setEntityName(entry.entityName());
+        historique.setDateHeure(entry.dateHeure());
+        historique.setUser(entry.userId() != null ? entityManager.getReference(User.class, entry.userId()) : null);
+        return historique;
+    }
+
+    private void spill(List<PendingLog> entries) {
+        if (append(spillPath, entries)) {
+            spilled.addAndGet(entries.size());
+        }
+    }
+
+    // Ajoute les lignes au fichier (JSON lines) ; en cas d'échec elles sont comptées comme perdues
+    private synchronized boolean append(Path file, List<PendingLog> entries) {
+        try {
+            Files.createDirectories(file.getParent());
+            StringBuilder lines = new StringBuilder();
+            for (PendingLog entry : entries) {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            }
+            Files.writeString(file, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            return true;
+        } catch (IOException e) {
+            dropped.addAndGet(entries.size());
+            log.error("Unable to write {} audit log(s) to {}: {}", entries.size(), file, e.getMessage());
+            return false;
+        }
+    }
+
+    // Rejoue le fichier de débordement quand la file est vide et que la base n'a pas échoué récemment
+    private void replaySpillFileIfDue() {
+        if (System.currentTimeMillis() - lastFailureAt < spillRetryIntervalMs) {
+            return;
+        }
+        Path replaying = spillPath.resolveSibling(spillPath.getFileName() + ".replaying");
+        // Nombre de lignes du fichier .replaying déjà traitées, enregistré après chaque lot :
+        // après un arrêt brutal, seul le lot en cours d'écriture peut être réinséré
+        Path offsetPath = spillPath.resolveSibling(spillPath.getFileName() + ".replaying.offset");
+        try {
+            synchronized (this) {
+                // Un fichier .replaying restant vient d'un arrêt pendant un rejeu précédent : reprise à l'offset
+                if (!Files.exists(replaying)) {
+                    if (!Files.exists(spillPath) || Files.size(spillPath) == 0) {
+                        return;
+                    }
+                    Files.deleteIfExists(offsetPath);
+                    Files.move(spillPath, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            long done = Files.exists(offsetPath) ? Long.parseLong(Files.readString(offsetPath).trim()) : 0;
+            long lineNumber = 0;
+            int replayed = 0;
+            List<PendingLog> batch = new ArrayList<>(flushSize);
+            try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (lineNumber <= done || line.isBlank()) {
+                        continue;
+                    }
+                    batch.add(objectMapper.readValue(line, PendingLog.class));
+                    if (batch.size() >= flushSize) {
+                        writeOrSpill(batch);
+                        saveReplayOffset(offsetPath, lineNumber);
+                        replayed += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeOrSpill(batch);
+                saveReplayOffset(offsetPath, lineNumber);
+                replayed += batch.size();
+            }
+            Files.delete(replaying);
+            Files.deleteIfExists(offsetPath);
+            log.info("Audit spill file replayed ({} log(s), {} already replayed before a restart)", replayed, done);
+        } catch (IOException e) {
+            lastFailureAt = System.currentTimeMillis();
+            log.error("Unable to replay audit spill file {}: {}", replaying, e.getMessage());
+        }
+    }
+
+    // Remplacement atomique : un arrêt pendant l'écriture laisse l'offset précédent intact
+    private void saveReplayOffset(Path offsetPath, long lineNumber) throws IOException {
+        Path tmp = offsetPath.resolveSibling(offsetPath.getFileName() + ".tmp");
+        Files.writeString(tmp, Long.toString(lineNumber), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
+        Files.move(tmp, offsetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,332 @@
+package com.sqli.stage.backendsqli.service;
+
+import com.sqli.stage.backendsqli.dto.EventDTO.DashboardEvent;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flux SSE des tableaux de bord, un par connexion. Les services publient un DashboardEvent à chaque mutation ;
+ * après le commit, l'événement est numéroté, gardé dans un tampon circulaire (sse.replay-size derniers événements)
+ * puis ajouté à la file bornée (sse.buffer-size) de chaque flux destinataire : développeurs concernés, chef de projet
+ * et client du projet. Les envois sont faits hors du thread de la requête ; un flux dont la file déborde (client trop
+ * lent) est fermé, et le client rattrape les événements manqués en se reconnectant avec Last-Event-ID.
+ * Si ces événements ne sont plus dans le tampon (ou après un redémarrage), ou s'ils sont trop nombreux pour la file
+ * du flux, un événement "resync" lui demande de tout recharger. Un commentaire part toutes les sse.heartbeat-ms
+ * pour garder la connexion ouverte derrière les proxys, et le nombre de flux ouverts sur le nœud est limité
+ * à sse.max-streams.
+ */
+@Service
+@Slf4j
+public class DashboardEventHub {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    // Chef et client d'un projet, relus au plus toutes les minutes
+    private static final long AUDIENCE_TTL_MS = 60_000;
+    private static final int MAX_CACHED_AUDIENCES = 1000;
+
+    private record Delivered(long id, DashboardEvent event, Set<Integer> recipients) {
+    }
+
+    private record Audience(Integer chefId, Integer clientId, long loadedAt) {
+    }
+
+    private final ProjetRepository projetRepository;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxStreams;
+    private final long timeoutMs;
+    private final long reconnectMs;
+
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+    // Places réservées, y compris par les flux en cours d'ouverture
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final Map<Integer, Audience> audiences = new ConcurrentHashMap<>();
+
+    // Tampon de rejeu et numérotation, protégés par le verrou du tampon
+    private final Deque<Delivered> ring = new ArrayDeque<>();
+    // Numéros partant de l'heure de démarrage : un Last-Event-ID d'avant le redémarrage est reconnu
+    private final long firstId = System.currentTimeMillis() * 1000;
+    private long lastId = firstId - 1;
+
+    // Un seul thread numérote et répartit : l'ordre des événements est celui des commits
+    private final ExecutorService router;
+    private final ExecutorService senders;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    public DashboardEventHub(ProjetRepository projetRepository,
+                             @Value("${sse.buffer-size:100}") int bufferSize,
+                             @Value("${sse.replay-size:1000}") int replaySize,
+                             @Value("${sse.max-streams:500}") int maxStreams,
+                             @Value("${sse.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${sse.reconnect-ms:3000}") long reconnectMs,
+                             @Value("${sse.sender-threads:4}") int senderThreads) {
+        this.projetRepository = projetRepository;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxStreams = maxStreams;
+        this.timeoutMs = timeoutMs;
+        this.reconnectMs = reconnectMs;
+        this.router = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "sse-router"));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads,
+                runnable -> daemon(runnable, "sse-sender-" + threadCount.incrementAndGet()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        router.shutdownNow();
+        senders.shutdownNow();
+        streams.forEach(stream -> stream.emitter.complete());
+    }
+
+    /**
+     * Publié par un service pendant une mutation : envoyé seulement si sa transaction est validée
+     * (immédiatement hors transaction).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(DashboardEvent event) {
+        published.incrementAndGet();
+        router.execute(() -> route(event));
+    }
+
+    /**
+     * Ouvre le flux d'un utilisateur, en rejouant les événements qui lui étaient destinés après lastEventId.
+     * @throws IllegalStateException si le nombre maximal de flux est atteint sur ce nœud
+     */
+    public SseEmitter open(int userId, String lastEventId) {
+        if (reserved.incrementAndGet() > maxStreams) {
+            reserved.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Trop de flux d'événements ouverts, réessayez plus tard.");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Stream stream = new Stream(userId, emitter);
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+
+        stream.offer(SseEmitter.event().reconnectTime(reconnectMs).comment("connected"));
+        // Sous le verrou du tampon : aucun événement entre le rejeu et l'inscription n'est perdu ni doublé
+        synchronized (ring) {
+            Long resumeAfter = parseId(lastEventId);
+            if (resumeAfter != null) {
+                long oldest = ring.isEmpty() ? lastId + 1 : ring.getFirst().id();
+                if (resumeAfter < oldest - 1 || resumeAfter > lastId) {
+                    resync(stream);
+                } else {
+                    List<Delivered> missed = ring.stream()
+                            .filter(delivered -> delivered.id() > resumeAfter && delivered.recipients().contains(userId))
+                            .toList();
+                    // Rejeu plus long que la file (après "connected") : le flux déborderait à chaque reconnexion
+                    if (missed.size() >= bufferSize) {
+                        resync(stream);
+                    } else {
+                        missed.forEach(delivered -> stream.offer(toSse(delivered)));
+                    }
+                }
+            }
+            streams.add(stream);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:15000}", initialDelayString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        streams.forEach(stream -> stream.offer(SseEmitter.event().comment("heartbeat")));
+    }
+
+    public int getOpenStreamCount() {
+        return streams.size();
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowed.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getResyncCount() {
+        return resyncs.get();
+    }
+
+    private void route(DashboardEvent event) {
+        try {
+            Set<Integer> recipients = recipients(event);
+            synchronized (ring) {
+                Delivered delivered = new Delivered(++lastId, event, recipients);
+                ring.addLast(delivered);
+                if (ring.size() > replaySize) {
+                    ring.removeFirst();
+                }
+                for (Stream stream : streams) {
+                    if (recipients.contains(stream.userId)) {
+                        stream.offer(toSse(delivered));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not route dashboard event {}: {}", event.getType(), e.getMessage());
+        }
+    }
+
+    private void resync(Stream stream) {
+        resyncs.incrementAndGet();
+        stream.offer(SseEmitter.event().name(RESYNC_EVENT).data(Map.of("lastEventId", lastId)));
+    }
+
+    private Set<Integer> recipients(DashboardEvent event) {
+        Set<Integer> recipients = new HashSet<>();
+        addIfPresent(recipients, event.getDeveloppeurId());
+        addIfPresent(recipients, event.getPreviousDeveloppeurId());
+        if (event.getProjectId() != null) {
+            Audience audience = audience(event.getProjectId());
+            addIfPresent(recipients, audience.chefId());
+            addIfPresent(recipients, audience.clientId());
+        }
+        return recipients;
+    }
+
+    private Audience audience(int projectId) {
+        long now = System.currentTimeMillis();
+        Audience cached = audiences.get(projectId);
+        if (cached != null && now - cached.loadedAt() < AUDIENCE_TTL_MS) {
+            return cached;
+        }
+        if (audiences.size() >= MAX_CACHED_AUDIENCES) {
+            audiences.clear();
+        }
+        // Projet supprimé : seuls les développeurs de l'événement le reçoivent
+        Audience audience = projetRepository.findAudienceById(projectId)
+                .map(found -> new Audience(found.getChefId(), found.getClientId(), now))
+                .orElse(new Audience(null, null, now));
+        audiences.put(projectId, audience);
+        return audience;
+    }
+
+    // Un constructeur par flux : un SseEventBuilder ne peut être construit qu'une fois
+    private static SseEventBuilder toSse(Delivered delivered) {
+        return SseEmitter.event()
+                .id(String.valueOf(delivered.id()))
+                .name(delivered.event().getType().name())
+                .data(delivered.event(), MediaType.APPLICATION_JSON);
+    }
+
+    private static Long parseId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static void addIfPresent(Set<Integer> recipients, Integer userId) {
+        if (userId != null) {
+            recipients.add(userId);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // Connexion d'un utilisateur et sa file d'envoi bornée, vidée par un seul thread à la fois
+    private final class Stream {
+
+        private final int userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Stream(int userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                // Client trop lent : fermé, il rattrape au reconnect avec Last-Event-ID
+                overflowed.incrementAndGet();
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEventBuilder event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                        sent.incrementAndGet();
+                    } catch (IOException | IllegalStateException e) {
+                        // Connexion coupée ou déjà terminée
+                        close();
+                    }
+                }
+                draining.set(false);
+            } while (!closed.get() && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                streams.remove(this);
+                reserved.decrementAndGet();
+                pending.clear();
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.sqli.stage.backendsqli.service;
 
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogFilterRequest;
+import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogPageResponse;
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogRequest;
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogResponse;
 import com.sqli.stage.backendsqli.entity.Enums.EntityName;
@@ -13,7 +14,7 @@ import java.util.List;
 public interface HistoriqueService  {
     LogResponse logAction(LogRequest request);
     LogResponse logAction(LogRequest request, User user);
-    List<LogResponse> getAllLogs(); // Tous les logs triés par date desc
+    List<LogResponse> getAllLogs(); // 500 logs les plus récents, triés par date desc (au-delà : getLogsFiltered)
     List<LogResponse> getLogsByAction(TypeOperation action);
     List<LogResponse> getLogsByEntity(EntityName entity);
     List<LogResponse> getLogsByUser(int userId);
@@ -22,5 +23,5 @@ public interface HistoriqueService  {
 
     // new fonctionnaliter
     List<LogResponse> getLogsByUserAndEntity(int userId, EntityName entity);
-    List<LogResponse> getLogsFiltered(LogFilterRequest filter);
+    LogPageResponse getLogsFiltered(LogFilterRequest filter); // pagination par curseur (timestamp, id)
 }
@@ -10,6 +10,7 @@ import com.sqli.stage.backendsqli.repository.UserRepository;
 import com.sqli.stage.backendsqli.repository.ProjetRepository;
 import com.sqli.stage.backendsqli.repository.TaskRepository;
 import com.sqli.stage.backendsqli.repository.HistoriqueRepository;
+import com.sqli.stage.backendsqli.security.PrincipalCache;
 import com.sqli.stage.backendsqli.entity.Historique;
 import com.sqli.stage.backendsqli.entity.Task;
 import com.sqli.stage.backendsqli.service.AdminService;
@@ -24,6 +25,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import com.sqli.stage.backendsqli.entity.Project;
 import com.sqli.stage.backendsqli.service.HistoriqueService;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogRequest;
 import com.sqli.stage.backendsqli.entity.Enums.EntityName;
 import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
@@ -39,6 +41,8 @@ public class AdminServiceImpl implements AdminService {
     private final TaskRepository taskRepository;
     private final HistoriqueRepository historiqueRepository;
     private final HistoriqueService historiqueService;
+    private final PrincipalCache principalCache;
+    private final PdfRenderCache pdfRenderCache;
 
     private String generateUsername(String nom, Role role) {
         String username = "";
@@ -149,6 +153,9 @@ public class AdminServiceImpl implements AdminService {
         }
 
         User updatedUser = userRepository.save(user);
+        principalCache.invalidate(id);
+        // Nom et email imprimés dans les PDF de projets
+        pdfRenderCache.invalidateAll();
 
         return UserResponse.from(updatedUser);
     }
@@ -255,6 +262,9 @@ public class AdminServiceImpl implements AdminService {
             user.setPhone("N/A");
             
             User deletedUser = userRepository.save(user);
+            principalCache.invalidate(id);
+            // Nom et email imprimés dans les PDF de projets
+            pdfRenderCache.invalidateAll();
             
             // 7. Logger l'action de suppression
             historiqueService.logAction(new LogRequest(
@@ -333,6 +343,8 @@ public class AdminServiceImpl implements AdminService {
             
             // 5. Maintenant supprimer l'utilisateur
             userRepository.deleteById(id);
+            principalCache.invalidate(id);
+            pdfRenderCache.invalidateAll();
             System.out.println("=== FORCE DELETE: Utilisateur " + user.getUsername() + " supprimé avec succès ===");
             
         } catch (Exception e) {
@@ -348,6 +360,7 @@ public class AdminServiceImpl implements AdminService {
 
         user.setRole(role);
         User updatedUser = userRepository.save(user);
+        principalCache.invalidate(id);
 
         return UserResponse.from(updatedUser);
     }
@@ -359,6 +372,7 @@ public class AdminServiceImpl implements AdminService {
 
         user.setEnabled(true);
         User enabledUser = userRepository.save(user);
+        principalCache.invalidate(id);
 
         // Log de l'action
         historiqueService.logAction(new LogRequest(
@@ -378,6 +392,7 @@ public class AdminServiceImpl implements AdminService {
 
         user.setEnabled(false);
         User disabledUser = userRepository.save(user);
+        principalCache.invalidate(id);
 
         // Log de l'action
         historiqueService.logAction(new LogRequest(
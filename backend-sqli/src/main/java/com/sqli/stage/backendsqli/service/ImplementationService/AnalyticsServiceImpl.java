@@ -4,19 +4,27 @@ import com.sqli.stage.backendsqli.dto.AnalyticDTO.ChartData;
 import com.sqli.stage.backendsqli.dto.AnalyticDTO.ProgressResponse;
 import com.sqli.stage.backendsqli.dto.AnalyticDTO.WorkloadResponse;
 import com.sqli.stage.backendsqli.dto.ProjectDTO.DashboardStatsResponse;
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectSummary;
 import com.sqli.stage.backendsqli.dto.ProjectDTO.TeamDashboardResponse;
 import com.sqli.stage.backendsqli.dto.ProjectDTO.TmaProjectDashboardResponse;
 import com.sqli.stage.backendsqli.entity.Enums.Role;
 import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
 import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.DeveloperTaskStats;
 import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
 import com.sqli.stage.backendsqli.entity.Task;
 import com.sqli.stage.backendsqli.entity.User;
 import java.util.Random;
+import com.sqli.stage.backendsqli.repository.ProjectStatsRepository;
 import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.Projection.DashboardCounts;
+import com.sqli.stage.backendsqli.repository.Projection.DeveloperStatusCount;
 import com.sqli.stage.backendsqli.repository.TaskRepository;
 import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
 import com.sqli.stage.backendsqli.service.AnalyticsService;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -30,40 +38,34 @@ import java.util.stream.Collectors;
 public class AnalyticsServiceImpl implements AnalyticsService {
 
     private final ProjetRepository projectRepository;
+    private final ProjectStatsRepository projectStatsRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskStatsService taskStatsService;
+    private final CurrentUserHolder currentUserHolder;
 
     @Override
     public DashboardStatsResponse getDashboardStats() {
-        long totalProjects = projectRepository.count();
-
-        long activeProjects = projectRepository.findByStatut(StatutProjet.EN_COURS).size();
-        long completedProjects = projectRepository.findByStatut(StatutProjet.TERMINE).size();
-
-        LocalDate today = LocalDate.now();
-        long lateProjects = projectRepository.findAll().stream()
-                .filter(p -> p.getDateFin() != null)
-                .filter(p -> p.getDateFin().isBefore(today))
-                .filter(p -> !StatutProjet.TERMINE.equals(p.getStatut()))
-                .count();
-
-        long totalTasks = taskRepository.count();
-        long todayTasks = taskRepository.countByDateDebut(today);
+        DashboardCounts counts = projectStatsRepository.loadDashboardCounts(
+                LocalDate.now(), StatutProjet.EN_COURS, StatutProjet.TERMINE);
 
         return DashboardStatsResponse.builder()
-                .totalProjects(totalProjects)
-                .activeProjects(activeProjects)
-                .completedProjects(completedProjects)
-                .lateProjects(lateProjects)
+                .totalProjects(counts.getTotalProjects())
+                .activeProjects(counts.getActiveProjects())
+                .completedProjects(counts.getCompletedProjects())
+                .lateProjects(counts.getLateProjects())
+                .totalTasks(counts.getTotalTasks())
+                .todayTasks(counts.getTodayTasks())
                 .build();
     }
 
     @Override
     public WorkloadResponse getWorkloadForUser(int userId) {
-        int assigned = taskRepository.countByDeveloppeurId(userId);
-        int completed = taskRepository.countByDeveloppeurIdAndStatut(userId, StatutTache.TERMINE);
-        int inProgress = taskRepository.countByDeveloppeurIdAndStatut(userId, StatutTache.EN_COURS);
-        int blocked = taskRepository.countByDeveloppeurIdAndStatut(userId, StatutTache.BLOQUE);
+        DeveloperTaskStats stats = taskStatsService.getDeveloperStats(userId);
+        int assigned = Math.toIntExact(stats.getTotal());
+        int completed = Math.toIntExact(stats.getTermine());
+        int inProgress = Math.toIntExact(stats.getEnCours());
+        int blocked = Math.toIntExact(stats.getBloque());
 
         return WorkloadResponse.builder()
                 .userId(userId)
@@ -76,8 +78,9 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public ProgressResponse getProjectProgress(int projectId) {
-        int total = Math.toIntExact(taskRepository.countByProjectId(projectId));
-        int done = taskRepository.countByProjectIdAndStatut(projectId, StatutTache.TERMINE);
+        ProjectTaskStats stats = taskStatsService.getProjectStats(projectId);
+        int total = Math.toIntExact(stats.getTotal());
+        int done = Math.toIntExact(stats.getTermine());
         double percent = total > 0 ? (done * 100.0) / total : 0;
 
         return ProgressResponse.builder()
@@ -108,13 +111,16 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public List<TeamDashboardResponse> getTeamDashboard() {
         List<User> devs = userRepository.findByRole(Role.DEVELOPPEUR);
         List<TeamDashboardResponse> result = new ArrayList<>();
+        Map<Integer, DeveloperTaskStats> stats = taskStatsService.getDeveloperStats(
+                devs.stream().map(User::getId).toList());
 
         for (User user : devs) {
             int userId = user.getId();
-            int total = taskRepository.countByDeveloppeurId(userId);
-            int completed = taskRepository.countByDeveloppeurIdAndStatut(userId, StatutTache.TERMINE);
-            int inProgress = taskRepository.countByDeveloppeurIdAndStatut(userId, StatutTache.EN_COURS);
-            int blocked = taskRepository.countByDeveloppeurIdAndStatut(userId, StatutTache.BLOQUE);
+            DeveloperTaskStats devStats = stats.get(userId);
+            int total = Math.toIntExact(devStats.getTotal());
+            int completed = Math.toIntExact(devStats.getTermine());
+            int inProgress = Math.toIntExact(devStats.getEnCours());
+            int blocked = Math.toIntExact(devStats.getBloque());
 
             double rate = total > 0 ? (completed * 100.0) / total : 0;
 
@@ -136,10 +142,12 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public List<TmaProjectDashboardResponse> getTmaDashboard() {
         List<Project> projects = projectRepository.findTmaProjects();
         List<TmaProjectDashboardResponse> result = new ArrayList<>();
+        Map<Integer, ProjectTaskStats> stats = taskStatsService.getProjectStats(
+                projects.stream().map(Project::getId).toList());
 
         for (Project p : projects) {
-            int total = Math.toIntExact(taskRepository.countByProjectId(p.getId()));
-            int done = taskRepository.countByProjectIdAndStatut(p.getId(), StatutTache.TERMINE);
+            int total = Math.toIntExact(stats.get(p.getId()).getTotal());
+            int done = Math.toIntExact(stats.get(p.getId()).getTermine());
             double rate = total > 0 ? (done * 100.0) / total : 0;
 
             result.add(TmaProjectDashboardResponse.builder()
@@ -163,13 +171,13 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public Map<String, Object> getChefDashboardStats() {
         // Récupérer le chef de projet connecté
         String currentUsername = getCurrentUsername();
-        User currentChef = userRepository.findByUsername(currentUsername)
+        User currentChef = currentUserHolder.find()
                 .orElseThrow(() -> new RuntimeException("Chef de projet non trouvé"));
         
         LocalDate today = LocalDate.now();
         
         // Filtrer les projets créés par ce chef de projet
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
+        List<ProjectSummary> chefProjects = projectRepository.findSummariesByCreatedByUsername(currentUsername);
         
         long totalProjects = chefProjects.size();
         long activeProjects = chefProjects.stream()
@@ -183,25 +191,19 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 .count();
 
         // Filtrer les tâches des projets de ce chef
-        List<Integer> projectIds = chefProjects.stream().map(Project::getId).toList();
+        List<Integer> projectIds = chefProjects.stream().map(ProjectSummary::getId).toList();
         long totalTasks = 0;
         long completedTasks = 0;
         long pendingTasks = 0;
         
-        if (!projectIds.isEmpty()) {
-            totalTasks = taskRepository.countByProjectIdIn(projectIds);
-            completedTasks = taskRepository.countByProjectIdInAndStatut(projectIds, StatutTache.TERMINE);
-            pendingTasks = taskRepository.countByProjectIdInAndStatut(projectIds, StatutTache.EN_COURS);
+        for (ProjectTaskStats stats : taskStatsService.getProjectStats(projectIds).values()) {
+            totalTasks += stats.getTotal();
+            completedTasks += stats.getTermine();
+            pendingTasks += stats.getEnCours();
         }
         
         // Compter les développeurs assignés aux projets de ce chef
-        Set<User> assignedDevelopers = new HashSet<>();
-        for (Project project : chefProjects) {
-            if (project.getDeveloppeurs() != null) {
-                assignedDevelopers.addAll(project.getDeveloppeurs());
-            }
-        }
-        long teamMembers = assignedDevelopers.size();
+        long teamMembers = projectRepository.countDistinctDeveloppeursByCreatedByUsername(currentUsername);
         
         // Calcul du taux de réussite moyen des projets de ce chef
         double averageCompletionRate = chefProjects.stream()
@@ -244,12 +246,12 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<Map<String, Object>> getRecentActivity() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
+        List<ProjectSummary> chefProjects = projectRepository.findSummariesByCreatedByUsername(currentUsername);
         
         List<Map<String, Object>> activities = new ArrayList<>();
         
         // Ajouter des activités basées sur les projets récents
-        for (Project project : chefProjects) {
+        for (ProjectSummary project : chefProjects) {
             Map<String, Object> activity = new HashMap<>();
             activity.put("id", project.getId());
             activity.put("type", "PROJECT");
@@ -261,7 +263,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         }
         
         // Ajouter des activités basées sur les tâches récentes
-        List<Integer> projectIds = chefProjects.stream().map(Project::getId).toList();
+        List<Integer> projectIds = chefProjects.stream().map(ProjectSummary::getId).toList();
         if (!projectIds.isEmpty()) {
             List<Task> recentTasks = taskRepository.findByProjectIdIn(projectIds);
             for (Task task : recentTasks) {
@@ -286,7 +288,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<ProgressResponse> getProjectProgress() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
+        List<ProjectSummary> chefProjects = projectRepository.findSummariesByCreatedByUsername(currentUsername);
         
         return chefProjects.stream()
                 .map(p -> {
@@ -309,17 +311,23 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<ChartData> getTaskStatusDistribution() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
-        List<Integer> projectIds = chefProjects.stream().map(Project::getId).toList();
+        List<ProjectSummary> chefProjects = projectRepository.findSummariesByCreatedByUsername(currentUsername);
+        List<Integer> projectIds = chefProjects.stream().map(ProjectSummary::getId).toList();
         
         if (projectIds.isEmpty()) {
             return new ArrayList<>();
         }
         
-        long nonCommence = taskRepository.countByProjectIdInAndStatut(projectIds, StatutTache.NON_COMMENCE);
-        long enCours = taskRepository.countByProjectIdInAndStatut(projectIds, StatutTache.EN_COURS);
-        long bloque = taskRepository.countByProjectIdInAndStatut(projectIds, StatutTache.BLOQUE);
-        long termine = taskRepository.countByProjectIdInAndStatut(projectIds, StatutTache.TERMINE);
+        long nonCommence = 0;
+        long enCours = 0;
+        long bloque = 0;
+        long termine = 0;
+        for (ProjectTaskStats stats : taskStatsService.getProjectStats(projectIds).values()) {
+            nonCommence += stats.getNonCommence();
+            enCours += stats.getEnCours();
+            bloque += stats.getBloque();
+            termine += stats.getTermine();
+        }
         
         List<ChartData> data = new ArrayList<>();
         if (nonCommence > 0) data.add(ChartData.builder().label("Non commencé").value((int)nonCommence).color("#6B7280").build());
@@ -333,7 +341,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<WorkloadResponse> getWorkloadAnalysis() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
+        List<Project> chefProjects = projectRepository.findWithTeamByCreatedByUsername(currentUsername);
         
         // Récupérer tous les développeurs assignés aux projets de ce chef
         Set<User> assignedDevelopers = new HashSet<>();
@@ -343,12 +351,16 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             }
         }
         
+        Map<Integer, DeveloperTaskStats> stats = taskStatsService.getDeveloperStats(
+                assignedDevelopers.stream().map(User::getId).toList());
+
         return assignedDevelopers.stream()
                 .map(dev -> {
-                    int assigned = taskRepository.countByDeveloppeurId(dev.getId());
-                    int completed = taskRepository.countByDeveloppeurIdAndStatut(dev.getId(), StatutTache.TERMINE);
-                    int inProgress = taskRepository.countByDeveloppeurIdAndStatut(dev.getId(), StatutTache.EN_COURS);
-                    int blocked = taskRepository.countByDeveloppeurIdAndStatut(dev.getId(), StatutTache.BLOQUE);
+                    DeveloperTaskStats devStats = stats.get(dev.getId());
+                    int assigned = Math.toIntExact(devStats.getTotal());
+                    int completed = Math.toIntExact(devStats.getTermine());
+                    int inProgress = Math.toIntExact(devStats.getEnCours());
+                    int blocked = Math.toIntExact(devStats.getBloque());
                     
                     return WorkloadResponse.builder()
                             .userId(dev.getId())
@@ -364,7 +376,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<Map<String, Object>> getTeamOverview() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
+        List<Project> chefProjects = projectRepository.findWithTeamByCreatedByUsername(currentUsername);
         
         // Récupérer tous les développeurs assignés aux projets de ce chef
         Set<User> assignedDevelopers = new HashSet<>();
@@ -374,6 +386,9 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             }
         }
         
+        Map<Integer, DeveloperTaskStats> stats = taskStatsService.getDeveloperStats(
+                assignedDevelopers.stream().map(User::getId).toList());
+
         return assignedDevelopers.stream()
                 .map(dev -> {
                     Map<String, Object> member = new HashMap<>();
@@ -391,8 +406,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     member.put("assignedProjects", assignedProjects);
                     
                     // Compter les tâches
-                    int completedTasks = taskRepository.countByDeveloppeurIdAndStatut(dev.getId(), StatutTache.TERMINE);
-                    int pendingTasks = taskRepository.countByDeveloppeurIdAndStatut(dev.getId(), StatutTache.EN_COURS);
+                    int completedTasks = Math.toIntExact(stats.get(dev.getId()).getTermine());
+                    int pendingTasks = Math.toIntExact(stats.get(dev.getId()).getEnCours());
                     member.put("completedTasks", completedTasks);
                     member.put("pendingTasks", pendingTasks);
                     
@@ -404,35 +419,25 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<Map<String, Object>> getDetailedTeamOverview() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
-        
-        System.out.println("=== DEBUG: getDetailedTeamOverview ===");
-        System.out.println("Chef connecté: " + currentUsername);
-        System.out.println("Projets du chef: " + chefProjects.size());
-        
-        // Récupérer tous les développeurs assignés aux projets de ce chef
-        Set<User> assignedDevelopers = new HashSet<>();
+        List<Project> chefProjects = projectRepository.findWithTeamByCreatedByUsername(currentUsername);
+
+        // Récupérer tous les développeurs ENABLED assignés aux projets de ce chef
+        Set<User> enabledDevelopers = new HashSet<>();
         for (Project project : chefProjects) {
             if (project.getDeveloppeurs() != null) {
-                System.out.println("Projet '" + project.getTitre() + "' (ID: " + project.getId() + ") - Développeurs: " + 
-                                 project.getDeveloppeurs().stream().map(User::getUsername).collect(Collectors.joining(", ")));
-                assignedDevelopers.addAll(project.getDeveloppeurs());
+                project.getDeveloppeurs().stream()
+                        .filter(User::isEnabled)
+                        .forEach(enabledDevelopers::add);
             }
         }
-        
-        System.out.println("Développeurs uniques trouvés: " + assignedDevelopers.size());
-        
-        // FILTRE CRITIQUE: Ne garder que les développeurs ENABLED
-        Set<User> enabledDevelopers = assignedDevelopers.stream()
-                .filter(dev -> dev.isEnabled())
-                .collect(Collectors.toSet());
-        
-        System.out.println("Développeurs ENABLED après filtrage: " + enabledDevelopers.size());
-        
+
+        // Compter les tâches des projets du chef dont le développeur est membre, en une seule requête
+        List<Integer> chefProjectIds = chefProjects.stream().map(Project::getId).toList();
+        Map<Integer, Map<StatutTache, Integer>> counts = countTasksByDeveloperAndStatut(
+                enabledDevelopers.stream().map(User::getId).toList(), chefProjectIds);
+
         return enabledDevelopers.stream()
                 .map(dev -> {
-                    System.out.println("--- Traitement développeur: " + dev.getUsername() + " (ID: " + dev.getId() + ") ---");
-                    
                     Map<String, Object> member = new HashMap<>();
                     member.put("id", dev.getId());
                     member.put("username", dev.getUsername());
@@ -443,17 +448,13 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     member.put("phone", dev.getPhone());
                     member.put("enabled", dev.isEnabled());
                     member.put("actifDansProjet", dev.isActifDansProjet());
-                    
-                    // Compter les projets assignés à ce développeur
+
+                    // Projets du chef assignés à ce développeur
                     List<Project> userProjects = chefProjects.stream()
                             .filter(p -> p.getDeveloppeurs() != null && p.getDeveloppeurs().contains(dev))
                             .toList();
-                    
-                    System.out.println("Projets assignés à " + dev.getUsername() + ": " + userProjects.size());
-                    userProjects.forEach(p -> System.out.println("  - " + p.getTitre() + " (ID: " + p.getId() + ")"));
-                    
                     member.put("assignedProjects", userProjects.size());
-                    
+
                     // Détails des projets assignés
                     List<Map<String, Object>> projectDetails = userProjects.stream()
                             .map(p -> {
@@ -468,65 +469,31 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                             })
                             .toList();
                     member.put("projects", projectDetails);
-                    
-                    // Compter les tâches UNIQUEMENT des projets du chef connecté
-                    List<Integer> projectIds = userProjects.stream().map(Project::getId).toList();
-                    int totalTasks = 0;
-                    int completedTasks = 0;
-                    int inProgressTasks = 0;
-                    int blockedTasks = 0;
-                    int nonCommenceTasks = 0;
-                    
-                    System.out.println("Project IDs pour " + dev.getUsername() + ": " + projectIds);
-                    
-                    if (!projectIds.isEmpty()) {
-                        try {
-                            // Compter les tâches par statut pour les projets assignés à ce développeur
-                            totalTasks = taskRepository.countByDeveloppeurIdAndProjectIdIn(dev.getId(), projectIds);
-                            completedTasks = taskRepository.countByDeveloppeurIdAndProjectIdInAndStatut(dev.getId(), projectIds, StatutTache.TERMINE);
-                            inProgressTasks = taskRepository.countByDeveloppeurIdAndProjectIdInAndStatut(dev.getId(), projectIds, StatutTache.EN_COURS);
-                            blockedTasks = taskRepository.countByDeveloppeurIdAndProjectIdInAndStatut(dev.getId(), projectIds, StatutTache.BLOQUE);
-                            nonCommenceTasks = taskRepository.countByDeveloppeurIdAndProjectIdInAndStatut(dev.getId(), projectIds, StatutTache.NON_COMMENCE);
-                            
-                            System.out.println("Méthodes repository appelées avec succès");
-                        } catch (Exception e) {
-                            System.out.println("Erreur avec les nouvelles méthodes repository: " + e.getMessage());
-                            // Fallback: utiliser les anciennes méthodes
-                            System.out.println("Utilisation du fallback...");
-                            totalTasks = taskRepository.countByDeveloppeurId(dev.getId());
-                            completedTasks = taskRepository.countByDeveloppeurIdAndStatut(dev.getId(), StatutTache.TERMINE);
-                            inProgressTasks = taskRepository.countByDeveloppeurIdAndStatut(dev.getId(), StatutTache.EN_COURS);
-                            blockedTasks = taskRepository.countByDeveloppeurIdAndStatut(dev.getId(), StatutTache.BLOQUE);
-                            nonCommenceTasks = totalTasks - completedTasks - inProgressTasks - blockedTasks;
-                            if (nonCommenceTasks < 0) nonCommenceTasks = 0;
-                            
-                            System.out.println("Fallback utilisé - Tâches globales pour " + dev.getUsername() + ": Total=" + totalTasks);
-                        }
-                    } else {
-                        System.out.println("Aucun projet assigné à " + dev.getUsername());
-                    }
-                    
-                    System.out.println("Tâches pour " + dev.getUsername() + " dans les projets du chef: Total=" + totalTasks + 
-                                     ", Terminées=" + completedTasks + ", En cours=" + inProgressTasks + 
-                                     ", Bloquées=" + blockedTasks + ", Non commencées=" + nonCommenceTasks);
-                    
+
+                    Map<StatutTache, Integer> byStatut = counts.getOrDefault(dev.getId(), Map.of());
+                    int totalTasks = sum(byStatut);
+                    int completedTasks = byStatut.getOrDefault(StatutTache.TERMINE, 0);
+                    int inProgressTasks = byStatut.getOrDefault(StatutTache.EN_COURS, 0);
+                    int blockedTasks = byStatut.getOrDefault(StatutTache.BLOQUE, 0);
+                    int nonCommenceTasks = byStatut.getOrDefault(StatutTache.NON_COMMENCE, 0);
+
                     member.put("totalTasks", totalTasks);
                     member.put("completedTasks", completedTasks);
                     member.put("inProgressTasks", inProgressTasks);
                     member.put("blockedTasks", blockedTasks);
                     member.put("nonCommenceTasks", nonCommenceTasks);
-                    
+
                     // Calculer le taux de completion
                     double completionRate = totalTasks > 0 ? (completedTasks * 100.0) / totalTasks : 0;
                     member.put("completionRate", Math.round(completionRate));
-                    
+
                     // Calculer la charge de travail (basée sur les tâches en cours et bloquées)
                     // Charge = (tâches en cours + bloquées) / total * 100
                     double workload = 0.0;
                     if (totalTasks > 0) {
                         // Calcul basé sur les tâches actives (en cours + bloquées)
                         workload = ((inProgressTasks + blockedTasks) * 100.0) / totalTasks;
-                        
+
                         // Si toutes les tâches sont terminées, charge = 0
                         if (completedTasks == totalTasks) {
                             workload = 0.0;
@@ -538,19 +505,17 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                         // Limiter à 100%
                         workload = Math.min(workload, 100.0);
                     }
-                    
-                    System.out.println("Charge calculée pour " + dev.getUsername() + " (basée sur tâches non commencées): " + Math.round(workload) + "%");
-                    
+
                     member.put("workload", Math.round(workload));
-                    
+
                     // Calculer la disponibilité (inverse de la charge)
                     double availability = 100 - workload;
                     member.put("availability", Math.round(availability));
-                    
+
                     // Dernière activité (basée sur la dernière tâche modifiée)
                     // Pour l'instant, on utilise la date de création de l'utilisateur
                     member.put("lastActivity", dev.getUsername()); // Placeholder
-                    
+
                     return member;
                 })
                 .collect(Collectors.toList());
@@ -559,7 +524,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<Map<String, Object>> getUpcomingDeadlines(int days) {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
+        List<ProjectSummary> chefProjects = projectRepository.findSummariesByCreatedByUsername(currentUsername);
         LocalDate today = LocalDate.now();
         LocalDate futureDate = today.plusDays(days);
         
@@ -592,7 +557,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<Map<String, Object>> getOverdueProjects() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
+        List<ProjectSummary> chefProjects = projectRepository.findSummariesByCreatedByUsername(currentUsername);
         LocalDate today = LocalDate.now();
         
         return chefProjects.stream()
@@ -613,8 +578,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<Map<String, Object>> getOverdueTasks() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
-        List<Integer> projectIds = chefProjects.stream().map(Project::getId).toList();
+        List<ProjectSummary> chefProjects = projectRepository.findSummariesByCreatedByUsername(currentUsername);
+        List<Integer> projectIds = chefProjects.stream().map(ProjectSummary::getId).toList();
         LocalDate today = LocalDate.now();
         
         if (projectIds.isEmpty()) {
@@ -634,7 +599,9 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public List<Map<String, Object>> getBuildProjects() {
         String currentUsername = getCurrentUsername();
-        List<Project> chefProjects = projectRepository.findByCreatedByUsername(currentUsername);
+        List<ProjectSummary> chefProjects = projectRepository.findSummariesByCreatedByUsername(currentUsername);
+        Map<Integer, ProjectTaskStats> stats = taskStatsService.getProjectStats(
+                chefProjects.stream().map(ProjectSummary::getId).toList());
         
         return chefProjects.stream()
                 .filter(p -> p.getType() == com.sqli.stage.backendsqli.entity.Enums.TypeProjet.Delivery)
@@ -643,8 +610,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     build.put("projectId", p.getId());
                     build.put("titre", p.getTitre());
                     build.put("completionRate", p.getProgression() != null ? p.getProgression().doubleValue() : 0.0);
-                    build.put("totalTasks", taskRepository.countByProjectId(p.getId()));
-                    build.put("completedTasks", taskRepository.countByProjectIdAndStatut(p.getId(), StatutTache.TERMINE));
+                    build.put("totalTasks", stats.get(p.getId()).getTotal());
+                    build.put("completedTasks", Math.toIntExact(stats.get(p.getId()).getTermine()));
                     return build;
                 })
                 .collect(Collectors.toList());
@@ -655,6 +622,26 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         return getTeamOverview();
     }
 
+    // Nombre de tâches par développeur et par statut sur les projets donnés, en une seule requête GROUP BY
+    private Map<Integer, Map<StatutTache, Integer>> countTasksByDeveloperAndStatut(List<Integer> developerIds,
+                                                                                 List<Integer> projectIds) {
+        if (developerIds.isEmpty() || projectIds.isEmpty()) {
+            return Map.of();
+        }
+        List<DeveloperStatusCount> rows = taskRepository.countByDeveloppeurIdInAndProjectIdInGroupByStatut(developerIds, projectIds);
+
+        Map<Integer, Map<StatutTache, Integer>> counts = new HashMap<>();
+        for (DeveloperStatusCount row : rows) {
+            counts.computeIfAbsent(row.getDeveloppeurId(), id -> new EnumMap<>(StatutTache.class))
+                    .put(row.getStatut(), Math.toIntExact(row.getTotal()));
+        }
+        return counts;
+    }
+
+    private static int sum(Map<StatutTache, Integer> byStatut) {
+        return byStatut.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
     private String getCurrentUsername() {
         return org.springframework.security.core.context.SecurityContextHolder.getContext()
                 .getAuthentication().getName();
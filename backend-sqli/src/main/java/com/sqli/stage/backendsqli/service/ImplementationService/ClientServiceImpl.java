@@ -8,10 +8,9 @@ import com.sqli.stage.backendsqli.entity.User;
 import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
 import com.sqli.stage.backendsqli.repository.ProjetRepository;
 import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
 import com.sqli.stage.backendsqli.service.ClientService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -25,11 +24,12 @@ public class ClientServiceImpl implements ClientService {
 
     private final ProjetRepository projetRepository;
     private final UserRepository userRepository;
+    private final CurrentUserHolder currentUserHolder;
 
     @Override
     public List<ProjectResponse> getClientProjects() {
         User currentClient = getCurrentClient();
-        List<Project> projects = projetRepository.findByClientId(currentClient.getId());
+        List<Project> projects = projetRepository.findFullByClientId(currentClient.getId());
         return projects.stream()
                 .map(this::mapToProjectResponse)
                 .collect(Collectors.toList());
@@ -38,7 +38,7 @@ public class ClientServiceImpl implements ClientService {
     @Override
     public ProjectResponse getClientProject(Integer id) {
         User currentClient = getCurrentClient();
-        Project project = projetRepository.findById(id)
+        Project project = projetRepository.findFullById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Projet non trouvé avec ID : " + id));
         
         // Vérifier que le projet appartient bien au client connecté
@@ -52,7 +52,7 @@ public class ClientServiceImpl implements ClientService {
     @Override
     public Map<String, Object> getClientDashboardStats() {
         User currentClient = getCurrentClient();
-        List<Project> projects = projetRepository.findByClientId(currentClient.getId());
+        List<Project> projects = projetRepository.findFullByClientId(currentClient.getId());
         
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalProjects", projects.size());
@@ -133,7 +133,7 @@ public class ClientServiceImpl implements ClientService {
     @Override
     public List<Map<String, Object>> getOverdueTasks() {
         User currentClient = getCurrentClient();
-        List<Project> projects = projetRepository.findByClientId(currentClient.getId());
+        List<Project> projects = projetRepository.findFullByClientId(currentClient.getId());
         
         List<Map<String, Object>> overdueTasks = new ArrayList<>();
         
@@ -162,7 +162,7 @@ public class ClientServiceImpl implements ClientService {
     @Override
     public List<Map<String, Object>> getRecentActivity() {
         User currentClient = getCurrentClient();
-        List<Project> projects = projetRepository.findByClientId(currentClient.getId());
+        List<Project> projects = projetRepository.findFullByClientId(currentClient.getId());
         
         List<Map<String, Object>> activities = new ArrayList<>();
         
@@ -215,10 +215,8 @@ public class ClientServiceImpl implements ClientService {
     }
 
     private User getCurrentClient() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Client non trouvé avec username : " + username));
+        return currentUserHolder.find()
+                .orElseThrow(() -> new ResourceNotFoundException("Client non trouvé avec username : " + currentUserHolder.getUsername()));
     }
 
     private ProjectResponse mapToProjectResponse(Project project) {
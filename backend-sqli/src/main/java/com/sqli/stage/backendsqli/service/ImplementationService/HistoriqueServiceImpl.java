@@ -1,6 +1,7 @@
 package com.sqli.stage.backendsqli.service.ImplementationService;
 
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogFilterRequest;
+import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogPageResponse;
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogRequest;
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogResponse;
 import com.sqli.stage.backendsqli.entity.Enums.EntityName;
@@ -9,11 +10,13 @@ import com.sqli.stage.backendsqli.entity.Historique;
 import com.sqli.stage.backendsqli.entity.User;
 import com.sqli.stage.backendsqli.exception.AccessdeniedException;
 import com.sqli.stage.backendsqli.repository.HistoriqueRepository;
+import com.sqli.stage.backendsqli.repository.Specification.HistoriqueSpecifications;
 import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import com.sqli.stage.backendsqli.service.AuditLogWriter;
 import com.sqli.stage.backendsqli.service.HistoriqueService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -26,6 +29,11 @@ public class HistoriqueServiceImpl implements HistoriqueService {
 
     private final UserRepository userRepo;
     private final HistoriqueRepository historiqueRepo;
+    private final AuditLogWriter auditLogWriter;
+    private final CurrentUserHolder currentUserHolder;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
 
     @Override
     public LogResponse logAction(LogRequest request) {
@@ -34,76 +42,103 @@ public class HistoriqueServiceImpl implements HistoriqueService {
 
     @Override
     public LogResponse logAction(LogRequest request, User user) {
-        Historique log = new Historique();
-        log.setAction(request.getAction());
-        log.setDescription(request.getDescription());
-        log.setEntityId(request.getEntityId());
-        log.setEntityName(request.getEntityName());
-        log.setDateHeure(LocalDateTime.now());
-        log.setUser(user);
-
-        Historique logsave = historiqueRepo.save(log);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Écriture différée et groupée (voir AuditLogWriter)
+        auditLogWriter.submit(new AuditLogWriter.PendingLog(
+                request.getAction(),
+                request.getDescription(),
+                request.getEntityId(),
+                request.getEntityName(),
+                user != null ? user.getId() : null,
+                now
+        ));
 
-        return mapToReponse(logsave);
+        return new LogResponse(
+                request.getAction(),
+                now,
+                request.getDescription(),
+                request.getEntityId(),
+                request.getEntityName(),
+                user != null ? user.getNom() : null,
+                user != null ? user.getUsername() : null
+        );
     }
 
     @Override
     public List<LogResponse> getAllLogs() {
-        return historiqueRepo.findAll().stream()
-                .sorted((h1, h2) -> h2.getDateHeure().compareTo(h1.getDateHeure())) // tri DESC
-                .map(this::mapToReponse)
-                .collect(Collectors.toList());
+        return latest(new LogFilterRequest());
     }
 
-
     @Override
     public List<LogResponse> getLogsByAction(TypeOperation action) {
-        return historiqueRepo.findAll().stream()
-                .filter(h -> h.getAction() == action)
-                .map(this::mapToReponse)
-                .collect(Collectors.toList());
+        LogFilterRequest filter = new LogFilterRequest();
+        filter.setAction(action);
+        return latest(filter);
     }
 
     @Override
     public List<LogResponse> getLogsByEntity(EntityName entity) {
-        return historiqueRepo.findAll()
-                .stream()
-                .filter(h -> h.getEntityName() == entity)
-                .map(this::mapToReponse)
-                .collect(Collectors.toList());
+        LogFilterRequest filter = new LogFilterRequest();
+        filter.setEntityName(entity);
+        return latest(filter);
     }
 
     @Override
     public List<LogResponse> getLogsByUser(int userId) {
-        return historiqueRepo.findAll()
-                .stream()
-                .filter(h -> h.getUser().getId() == userId)
-                .map(this::mapToReponse)
-                .collect(Collectors.toList());
+        LogFilterRequest filter = new LogFilterRequest();
+        filter.setUserId(userId);
+        return latest(filter);
     }
 
     @Override
     public List<LogResponse> getLogsBetweenDates(LocalDateTime start, LocalDateTime end) {
-        return historiqueRepo.findAll().stream()
-                .filter(h -> !h.getDateHeure().isBefore(start) && !h.getDateHeure().isAfter(end))
-                .map(this::mapToReponse)
-                .collect(Collectors.toList());
+        LogFilterRequest filter = new LogFilterRequest();
+        filter.setStart(start);
+        filter.setEnd(end);
+        return latest(filter);
     }
 
     @Override
     public List<LogResponse> getLogsByUserAndEntity(int userId, EntityName entity) {
-        return List.of();
+        LogFilterRequest filter = new LogFilterRequest();
+        filter.setUserId(userId);
+        filter.setEntityName(entity);
+        return latest(filter);
     }
 
     @Override
-    public List<LogResponse> getLogsFiltered(LogFilterRequest filter) {
-        return List.of();
+    public LogPageResponse getLogsFiltered(LogFilterRequest filter) {
+        int size = filter.getSize() != null ? Math.min(Math.max(1, filter.getSize()), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+
+        // On lit une ligne de plus pour savoir s'il existe une page suivante
+        List<Historique> rows = historiqueRepo.findBy(HistoriqueSpecifications.fromFilter(filter),
+                query -> query.sortBy(HistoriqueSpecifications.SEEK_ORDER).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<Historique> page = hasNext ? rows.subList(0, size) : rows;
+        Historique last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return new LogPageResponse(
+                page.stream().map(this::mapToReponse).collect(Collectors.toList()),
+                hasNext ? last.getDateHeure() : null,
+                hasNext ? last.getId() : null,
+                hasNext
+        );
     }
 
 
+    // Listes sans curseur : bornées aux MAX_PAGE_SIZE entrées les plus récentes, la suite passe par getLogsFiltered
+    private List<LogResponse> latest(LogFilterRequest filter) {
+        return historiqueRepo.findBy(HistoriqueSpecifications.fromFilter(filter),
+                        query -> query.sortBy(HistoriqueSpecifications.SEEK_ORDER).limit(MAX_PAGE_SIZE).all())
+                .stream()
+                .map(this::mapToReponse)
+                .collect(Collectors.toList());
+    }
+
     private User getConnectedUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepo.findByUsername(username)
+        return currentUserHolder.find()
                 .orElseThrow(() -> new AccessdeniedException("Utilisateur introuvable"));
     }
 
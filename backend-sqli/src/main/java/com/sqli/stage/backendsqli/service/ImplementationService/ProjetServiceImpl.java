@@ -1,30 +1,48 @@
 package com.sqli.stage.backendsqli.service.ImplementationService;
 
+import com.sqli.stage.backendsqli.dto.EventDTO.DashboardEvent;
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogRequest;
 import com.sqli.stage.backendsqli.dto.ProjectDTO.*;
+import com.sqli.stage.backendsqli.dto.ResourceStamp;
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchType;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskresponseByProject;
 import com.sqli.stage.backendsqli.entity.Enums.*;
 import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
 import com.sqli.stage.backendsqli.entity.User;
 import com.sqli.stage.backendsqli.exception.AccessdeniedException;
 import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
+import com.sqli.stage.backendsqli.repository.ProjectStatsRepository;
 import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.Projection.DashboardCounts;
+import com.sqli.stage.backendsqli.repository.Projection.ProjectCollectionStamp;
 import com.sqli.stage.backendsqli.repository.TaskRepository;
 import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
 import com.sqli.stage.backendsqli.service.HistoriqueService;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
 import com.sqli.stage.backendsqli.service.ProjetService;
+import com.sqli.stage.backendsqli.service.SearchService;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import com.sqli.stage.backendsqli.service.TimesheetService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
 
@@ -32,9 +50,19 @@ import java.util.stream.Collectors;
 @Service
 public class ProjetServiceImpl implements ProjetService {
 
+    // Nombre maximal de résultats de /api/projects/search
+    private static final int SEARCH_LIMIT = 100;
+
     private final UserRepository userRepository;
     private final ProjetRepository projetRepository;
+    private final ProjectStatsRepository projectStatsRepository;
     private final TaskRepository taskRepository;
+    private final TaskStatsService taskStatsService;
+    private final CurrentUserHolder currentUserHolder;
+    private final PdfRenderCache pdfRenderCache;
+    private final SearchService searchService;
+    private final TimesheetService timesheetService;
+    private final ApplicationEventPublisher eventPublisher;
     @Autowired
     private HistoriqueService historiqueService;
 
@@ -44,10 +72,7 @@ public class ProjetServiceImpl implements ProjetService {
 
     @Override
     public ProjectResponse createProject(ProjectRequest request) {
-        String username = getCurrentUser().getUsername();
-
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+        User currentUser = getCurrentUser();
 
         User client = userRepository.findById(request.getClientId())
                 .orElseThrow(() -> new ResourceNotFoundException("Client non trouvé avec ID " + request.getClientId()));
@@ -97,7 +122,7 @@ public class ProjetServiceImpl implements ProjetService {
 
         LogRequest logRequest = new LogRequest();
         logRequest.setAction(TypeOperation.CREATION);
-        logRequest.setDescription("Création du projet '" + savedProject.getTitre() + "' (ID: " + savedProject.getId() + ") par " + username);
+        logRequest.setDescription("Création du projet '" + savedProject.getTitre() + "' (ID: " + savedProject.getId() + ") par " + currentUser.getUsername());
         logRequest.setEntityId(project.getId());
         logRequest.setEntityName(EntityName.PROJECT);
         historiqueService.logAction(logRequest);
@@ -106,12 +131,17 @@ public class ProjetServiceImpl implements ProjetService {
     }
 
 
-    public ProjectResponse updateProject(int id, ProjectRequest request) {
+    public ProjectResponse updateProject(int id, ProjectRequest request, Long expectedVersion) {
         System.out.println("=== DEBUG: updateProject(" + id + ") ===");
         System.out.println("Request developpeurIds: " + request.getDeveloppeurIds());
         
-        Project project = projetRepository.findById(id)
+        Project project = projetRepository.findWithTeamById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Projet Introuvable avec ID :" + id));
+        // Modifié entre la vérification de If-Match et ce chargement
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new OptimisticLockingFailureException("Le projet a été modifié depuis la version " + expectedVersion
+                    + " (version actuelle : " + project.getVersion() + ").");
+        }
 
         System.out.println("Projet trouvé: " + project.getTitre());
         System.out.println("Developpeurs actuels: " + (project.getDeveloppeurs() != null ? project.getDeveloppeurs().size() : "null"));
@@ -159,6 +189,7 @@ public class ProjetServiceImpl implements ProjetService {
         System.out.println("Développeurs avant sauvegarde: " + (project.getDeveloppeurs() != null ? project.getDeveloppeurs().size() : "null"));
         
         Project updatedProject = projetRepository.save(project);
+        pdfRenderCache.invalidate(id);
         
         System.out.println("Projet sauvegardé avec succès");
         System.out.println("Développeurs après sauvegarde: " + (updatedProject.getDeveloppeurs() != null ? updatedProject.getDeveloppeurs().size() : "null"));
@@ -175,8 +206,9 @@ public class ProjetServiceImpl implements ProjetService {
 
 
     @Override
+    @Transactional
     public void deleteProject(int id) {
-        Project project = projetRepository.findById(id)
+        Project project = projetRepository.findWithTasksById(id)
                 .orElseThrow(() ->  new ResourceNotFoundException("Projet Introuvable avec ID :" + id));
 
         String username = getCurrentUser().getUsername();
@@ -184,7 +216,19 @@ public class ProjetServiceImpl implements ProjetService {
         if(!project.getCreatedBy().getUsername().equals(getCurrentUser().getUsername())) {
             throw new AccessdeniedException("Vous n'avez pas les droits pour modifier ce projet");
         }
+        List<Integer> developerIds = project.getTasks() == null ? List.of() : project.getTasks().stream()
+                .filter(t -> t.getDeveloppeur() != null)
+                .map(t -> t.getDeveloppeur().getId())
+                .distinct()
+                .toList();
+        // Pointages supprimés avec les tâches : retirés des cumuls dans la même transaction
+        List<Integer> taskIds = project.getTasks() == null ? List.of() : project.getTasks().stream()
+                .map(t -> t.getId())
+                .toList();
+        timesheetService.onProjectDeleted(id, taskIds);
         projetRepository.deleteById(id);
+        taskStatsService.onProjectDeleted(id, developerIds);
+        pdfRenderCache.invalidate(id);
         LogRequest logRequest = new LogRequest();
         logRequest.setAction(TypeOperation.SUPPRESSION);
         logRequest.setDescription("Suppresion du projet '" + project.getTitre() + "' (ID: " + project.getId() + ") par " + username);
@@ -197,12 +241,11 @@ public class ProjetServiceImpl implements ProjetService {
     @Override
     public ProjectResponse getProjectById(int id) {
         System.out.println("=== DEBUG: getProjectById(" + id + ") ===");
-        Project project = projetRepository.findById(id)
+        Project project = projetRepository.findWithTeamById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Projet Introuvable avec ID :" + id));
         
         System.out.println("Projet trouvé: " + project.getTitre());
         System.out.println("Developpeurs dans le projet: " + (project.getDeveloppeurs() != null ? project.getDeveloppeurs().size() : "null"));
-        System.out.println("Tasks dans le projet: " + (project.getTasks() != null ? project.getTasks().size() : "null"));
         
         return mapToResponse(project);
     }
@@ -214,21 +257,51 @@ public class ProjetServiceImpl implements ProjetService {
         List<Project> projects;
 
         switch (role) {
-            case ADMIN -> projects = projetRepository.findAll();
-            case CHEF_DE_PROJET -> projects = projetRepository.findByCreatedById(currentUser.getId());
-            case DEVELOPPEUR -> projects = projetRepository.findByDeveloppeurId(currentUser.getId());
+            case ADMIN -> projects = projetRepository.findAllWithTeam();
+            case CHEF_DE_PROJET -> projects = projetRepository.findWithTeamByCreatedById(currentUser.getId());
+            case DEVELOPPEUR -> projects = projetRepository.findWithTeamByDeveloppeurId(currentUser.getId());
             default -> throw new AccessdeniedException("Vous n'avez pas l'autorisation de consulter les projets.");
         }
 
-        return projects.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return mapToResponses(projects);
+    }
+
+    @Override
+    public Optional<ResourceStamp> getProjectStamp(int id) {
+        // Les compteurs de tâches (project_task_stats) font partie de la réponse : leur date de mise à jour entre dans
+        // l'ETag (absente tant qu'aucune mutation n'a créé la ligne, les lectures n'en créent pas)
+        return projetRepository.findVersionById(id).map(stamp -> new ResourceStamp(
+                ResourceStamp.etag("project", id, stamp.getVersion(), stamp.getStatsUpdatedAt()),
+                ResourceStamp.latest(stamp.getUpdatedAt(), stamp.getStatsUpdatedAt()), stamp.getVersion()));
+    }
+
+    @Override
+    public Optional<ResourceStamp> getProjectDocumentStamp(int id) {
+        // Le document reprend le projet, ses compteurs, les coordonnées de l'équipe et la date d'édition
+        return projetRepository.findVersionById(id).map(stamp -> new ResourceStamp(ResourceStamp.etag(
+                "project-pdf", id, stamp.getVersion(), stamp.getStatsUpdatedAt(),
+                Integer.toHexString(projetRepository.findTeamContactsById(id).hashCode()), LocalDate.now()), null));
+    }
+
+    @Override
+    public Optional<ResourceStamp> getProjectsStamp() {
+        // Même périmètre que getAllProjects : la liste dépend du rôle et de l'utilisateur
+        User currentUser = getCurrentUser();
+        ProjectCollectionStamp stamp = switch (currentUser.getRole()) {
+            case ADMIN -> projetRepository.findCollectionStamp();
+            case CHEF_DE_PROJET -> projetRepository.findCollectionStampByChefId(currentUser.getId());
+            case DEVELOPPEUR -> projetRepository.findCollectionStampByDeveloppeurId(currentUser.getId());
+            default -> null;
+        };
+        return Optional.ofNullable(stamp).map(found -> new ResourceStamp(ResourceStamp.etag(
+                "projects-" + currentUser.getRole() + "-" + currentUser.getId(), found.getTotal(), found.getIdSum(),
+                found.getVersionSum(), found.getUpdatedAt(), found.getStatsUpdatedAt()), null));
     }
 
 
     @Override
     public List<ProjectResponse> getProjectsByChef(String username) {
-        return projetRepository.findByCreatedByUsername(username).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(projetRepository.findWithTeamByCreatedByUsername(username));
     }
 
 
@@ -237,22 +310,20 @@ public class ProjetServiceImpl implements ProjetService {
         User client = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("Client non trouvé avec username : " + username));
 
-        List<Project> projects = projetRepository.findByClientId(client.getId());
-        return projects.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<Project> projects = projetRepository.findWithTeamByClientId(client.getId());
+        return mapToResponses(projects);
     }
 
     @Override
     public ProjectResponse getProjectByUuid(String uuid) {
-        Project project = projetRepository.findByUuidPublic(uuid)
+        Project project = projetRepository.findWithTeamByUuidPublic(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException("Projet introuvable avec UUID : " + uuid));
         return mapToResponse(project);
     }
 
     @Override
     public ProjectResponse togglePublicLink(int id) {
-        Project project = projetRepository.findById(id)
+        Project project = projetRepository.findWithTeamById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Projet introuvable avec ID : " + id));
         project.setPublicLinkEnabled(!project.isPublicLinkEnabled());
         projetRepository.save(project);
@@ -262,7 +333,7 @@ public class ProjetServiceImpl implements ProjetService {
 
     @Override
     public ProjectDetailsResponse getDetailedProject(int id) {
-        Project project = projetRepository.findById(id)
+        Project project = projetRepository.findFullById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Projet introuvable avec ID : " + id));
 
         List<TaskresponseByProject> taskResponses = project.getTasks().stream()
@@ -296,33 +367,31 @@ public class ProjetServiceImpl implements ProjetService {
 
     @Override
     public DashboardStatsResponse getProjectStats() {
-        long totalProjects = projetRepository.count();
-        long activeProjects = projetRepository.findByStatut(StatutProjet.EN_COURS).size();
-        long completedProjects = projetRepository.findByStatut(StatutProjet.TERMINE).size();
-        long lateProjects = projetRepository.findAll().stream()
-                .filter(p -> p.getDateFin().isBefore(LocalDate.now()) && !StatutProjet.TERMINE.equals(p.getStatut()))
-                .count();
-
-        return new DashboardStatsResponse(
-                totalProjects,
-                activeProjects,
-                completedProjects,
-                lateProjects
-        );
+        DashboardCounts counts = projectStatsRepository.loadDashboardCounts(
+                LocalDate.now(), StatutProjet.EN_COURS, StatutProjet.TERMINE);
+
+        return DashboardStatsResponse.builder()
+                .totalProjects(counts.getTotalProjects())
+                .activeProjects(counts.getActiveProjects())
+                .completedProjects(counts.getCompletedProjects())
+                .lateProjects(counts.getLateProjects())
+                .totalTasks(counts.getTotalTasks())
+                .todayTasks(counts.getTodayTasks())
+                .build();
     }
 
     @Override
     public List<ProjectResponse> searchProjectsByKeyword(String keyword) {
-        return projetRepository.findByTitreContainingIgnoreCase(keyword).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Ids classés par l'index de recherche, puis chargement en une requête dans le même ordre
+        List<Integer> ids = searchService.searchIds(SearchType.PROJECT, keyword, SEARCH_LIMIT);
+        Map<Integer, Project> projects = projetRepository.findWithTeamByIdIn(ids).stream()
+                .collect(Collectors.toMap(Project::getId, project -> project));
+        return mapToResponses(ids.stream().map(projects::get).filter(Objects::nonNull).toList());
     }
 
     @Override
     public List<ProjectResponse> getAllPublicProjects() {
-        return projetRepository.findByIsPublicLinkEnabledTrue().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(projetRepository.findWithTeamByIsPublicLinkEnabledTrue());
     }
 
     private boolean isEligibleAsDeveloper(User user) {
@@ -332,7 +401,7 @@ public class ProjetServiceImpl implements ProjetService {
 
     @Override
     public void assignUsersToProject(int projectId, List<Integer> developerIds) {
-        Project project = projetRepository.findById(projectId)
+        Project project = projetRepository.findWithTeamById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Projet introuvable avec ID : " + projectId));
 
         if (developerIds == null || developerIds.isEmpty()) {
@@ -362,6 +431,7 @@ public class ProjetServiceImpl implements ProjetService {
         project.setDeveloppeurs(currentDevelopers);
 
         projetRepository.save(project);
+        pdfRenderCache.invalidate(projectId);
 
         // Log de l'action d'assignation
         String username = getCurrentUser().getUsername();
@@ -376,17 +446,19 @@ public class ProjetServiceImpl implements ProjetService {
 
     @Override
     public BigDecimal updateProjectProgress(Integer projectId) {
-        long total = taskRepository.countByProjectId(projectId);
+        ProjectTaskStats stats = taskStatsService.getProjectStats(projectId);
+        long total = stats.getTotal();
         BigDecimal progress = BigDecimal.ZERO;
 
         if (total > 0) {
-            long done = taskRepository.countByProjectIdAndStatut(projectId, StatutTache.TERMINE);
+            long done = stats.getTermine();
             progress = BigDecimal
                     .valueOf(done * 100.0 / total)
                     .setScale(2, RoundingMode.HALF_UP);
             Project p = projetRepository.findById(projectId)
                     .orElseThrow(() -> new ResourceNotFoundException("Projet introuvable"));
 
+            boolean changed = p.getProgression() == null || p.getProgression().compareTo(progress) != 0;
             p.setProgression(progress);
 
             if (done == total) {
@@ -395,6 +467,16 @@ public class ProjetServiceImpl implements ProjetService {
                 p.setStatut(StatutProjet.EN_COURS);
             }
             projetRepository.save(p);
+            pdfRenderCache.invalidate(projectId);
+            if (changed) {
+                // Tableaux de bord du chef et du client (flux SSE), après le commit
+                eventPublisher.publishEvent(DashboardEvent.builder()
+                        .type(DashboardEventType.PROJECT_PROGRESS_UPDATED)
+                        .projectId(projectId)
+                        .progression(progress)
+                        .occurredAt(LocalDateTime.now())
+                        .build());
+            }
 
         }
         return progress;
@@ -422,39 +504,31 @@ public class ProjetServiceImpl implements ProjetService {
             case CHEF_DE_PROJET:
                 // Retourner les projets créés par le chef de projet
                 System.out.println("Mode CHEF_DE_PROJET - Recherche des projets créés par l'utilisateur");
-                List<Project> chefProjects = projetRepository.findByCreatedByUsername(currentUser.getUsername());
+                List<Project> chefProjects = projetRepository.findWithTeamByCreatedByUsername(currentUser.getUsername());
                 System.out.println("Projets trouvés pour le chef: " + chefProjects.size());
-                return chefProjects.stream()
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList());
+                return mapToResponses(chefProjects);
                         
             case CLIENT:
                 // Retourner les projets où l'utilisateur est le client
                 System.out.println("Mode CLIENT - Recherche des projets où l'utilisateur est client");
-                List<Project> clientProjects = projetRepository.findByClientId(currentUser.getId());
+                List<Project> clientProjects = projetRepository.findWithTeamByClientId(currentUser.getId());
                 System.out.println("Projets trouvés pour le client: " + clientProjects.size());
-                return clientProjects.stream()
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList());
+                return mapToResponses(clientProjects);
                         
             case DEVELOPPEUR:
                 // Retourner les projets où l'utilisateur est assigné comme développeur
                 System.out.println("Mode DEVELOPPEUR - Recherche des projets assignés à l'utilisateur");
-                List<Project> devProjects = projetRepository.findByDeveloppeurId(currentUser.getId());
+                List<Project> devProjects = projetRepository.findWithTeamByDeveloppeurId(currentUser.getId());
                 System.out.println("Projets trouvés pour le développeur: " + devProjects.size());
                 devProjects.forEach(p -> System.out.println("  - " + p.getTitre() + " (ID: " + p.getId() + ")"));
-                return devProjects.stream()
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList());
+                return mapToResponses(devProjects);
                         
             case ADMIN:
                 // L'admin voit tous les projets
                 System.out.println("Mode ADMIN - Retour de tous les projets");
-                List<Project> allProjects = projetRepository.findAll();
+                List<Project> allProjects = projetRepository.findAllWithTeam();
                 System.out.println("Total des projets: " + allProjects.size());
-                return allProjects.stream()
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList());
+                return mapToResponses(allProjects);
                         
             default:
                 System.out.println("Rôle non reconnu: " + currentUser.getRole());
@@ -464,13 +538,25 @@ public class ProjetServiceImpl implements ProjetService {
 
 
     private User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
+        return currentUserHolder.find()
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
     }
 
 
     public ProjectResponse mapToResponse(Project project) {
+        return mapToResponse(project, taskStatsService.getProjectStats(project.getId()));
+    }
+
+    // Statistiques de toutes les pages lues en une requête, plutôt qu'un parcours des tâches par projet
+    private List<ProjectResponse> mapToResponses(List<Project> projects) {
+        Map<Integer, ProjectTaskStats> stats = taskStatsService.getProjectStats(
+                projects.stream().map(Project::getId).toList());
+        return projects.stream()
+                .map(project -> mapToResponse(project, stats.get(project.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private ProjectResponse mapToResponse(Project project, ProjectTaskStats stats) {
         System.out.println("=== DEBUG: mapToResponse pour projet " + project.getId() + " ===");
         System.out.println("Developpeurs dans le projet: " + (project.getDeveloppeurs() != null ? project.getDeveloppeurs().size() : "null"));
         if (project.getDeveloppeurs() != null) {
@@ -552,34 +638,16 @@ public class ProjetServiceImpl implements ProjetService {
         // UUID : attention si tu ne renvoies que 8 chars, ajuste la validation du DTO
         String uuid = project.getUuidPublic();
 
-        // Calculer les statistiques des tâches
-        int totalTasks = 0;
-        int completedTasks = 0;
-        int inProgressTasks = 0;
-        
-        if (project.getTasks() != null && !project.getTasks().isEmpty()) {
-            totalTasks = project.getTasks().size();
-            completedTasks = (int) project.getTasks().stream()
-                    .filter(task -> StatutTache.TERMINE.equals(task.getStatut()))
-                    .count();
-            inProgressTasks = (int) project.getTasks().stream()
-                    .filter(task -> StatutTache.EN_COURS.equals(task.getStatut()))
-                    .count();
-        }
+        // Statistiques des tâches lues dans project_task_stats (tenue à jour à chaque mutation)
+        int totalTasks = stats != null ? Math.toIntExact(stats.getTotal()) : 0;
+        int completedTasks = stats != null ? Math.toIntExact(stats.getTermine()) : 0;
+        int inProgressTasks = stats != null ? Math.toIntExact(stats.getEnCours()) : 0;
 
         // Calculer la progression basée sur les tâches terminées
         BigDecimal calculatedProgression = BigDecimal.ZERO;
         if (totalTasks > 0) {
             calculatedProgression = BigDecimal.valueOf((completedTasks * 100.0) / totalTasks);
         }
-        
-        // Si la progression stockée est différente de celle calculée, utiliser la calculée
-        if (project.getProgression() == null || project.getProgression().compareTo(calculatedProgression) != 0) {
-            System.out.println("=== Mise à jour de la progression ===");
-            System.out.println("Progression stockée: " + project.getProgression());
-            System.out.println("Progression calculée: " + calculatedProgression);
-            System.out.println("Tâches totales: " + totalTasks + ", Terminées: " + completedTasks);
-        }
 
         ProjectResponse resp = new ProjectResponse();
         resp.setId(project.getId());
@@ -602,6 +670,7 @@ public class ProjetServiceImpl implements ProjetService {
         resp.setTotalTasks(totalTasks);
         resp.setCompletedTasks(completedTasks);
         resp.setInProgressTasks(inProgressTasks);
+        resp.setVersion(project.getVersion());
         
         System.out.println("Response finale - Developpeurs: " + (resp.getDeveloppeurs() != null ? resp.getDeveloppeurs().size() : "null"));
         
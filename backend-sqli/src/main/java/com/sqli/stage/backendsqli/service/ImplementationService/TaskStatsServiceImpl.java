@@ -0,0 +1,352 @@
+package com.sqli.stage.backendsqli.service.ImplementationService;
+
+import com.sqli.stage.backendsqli.dto.AnalyticDTO.StatsReconciliationReport;
+import com.sqli.stage.backendsqli.entity.DeveloperTaskStats;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
+import com.sqli.stage.backendsqli.entity.TaskStatsCounters;
+import com.sqli.stage.backendsqli.repository.DeveloperTaskStatsRepository;
+import com.sqli.stage.backendsqli.repository.ProjectTaskStatsRepository;
+import com.sqli.stage.backendsqli.repository.Projection.TaskStatusAggregate;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Tables de statistiques (project_task_stats, developer_task_stats) maintenues par différence
+ * à chaque mutation de tâche, dans la transaction de la mutation.
+ * Une réconciliation périodique les recalcule depuis la table tasks et signale les écarts.
+ * Les lignes sont créées par la première mutation ou par la réconciliation, jamais par une lecture.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    private static final int MAX_REPORTED_IDS = 100;
+
+    private final ProjectTaskStatsRepository projectStatsRepository;
+    private final DeveloperTaskStatsRepository developerStatsRepository;
+    private final TaskRepository taskRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private StatsTable<ProjectTaskStats> projectTable;
+    private StatsTable<DeveloperTaskStats> developerTable;
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    void init() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        projectTable = new StatsTable<>(projectStatsRepository, ProjectTaskStats::new, ProjectTaskStats::getProjectId,
+                id -> projectStatsRepository.findByIdForUpdate(id),
+                taskRepository::aggregateByProjectIdIn, taskRepository::aggregateByProject);
+        developerTable = new StatsTable<>(developerStatsRepository, DeveloperTaskStats::new, DeveloperTaskStats::getDeveloppeurId,
+                id -> developerStatsRepository.findByIdForUpdate(id),
+                taskRepository::aggregateByDeveloppeurIdIn, taskRepository::aggregateByDeveloppeur);
+    }
+
+    @Override
+    @Transactional
+    public void recordChange(TaskSnapshot before, TaskSnapshot after) {
+        recordChanges(before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of());
+    }
+
+    @Override
+    @Transactional
+    public void recordChanges(Collection<TaskSnapshot> before, Collection<TaskSnapshot> after) {
+        // TreeMap : les lignes sont toujours verrouillées dans le même ordre (pas d'interblocage)
+        Map<Integer, Delta> projectDeltas = new TreeMap<>();
+        Map<Integer, Delta> developerDeltas = new TreeMap<>();
+        for (TaskSnapshot snapshot : before) {
+            accumulate(projectDeltas, snapshot.projectId(), snapshot, -1);
+            accumulate(developerDeltas, snapshot.developpeurId(), snapshot, -1);
+        }
+        for (TaskSnapshot snapshot : after) {
+            accumulate(projectDeltas, snapshot.projectId(), snapshot, 1);
+            accumulate(developerDeltas, snapshot.developpeurId(), snapshot, 1);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        projectDeltas.forEach((id, delta) -> {
+            if (!delta.isZero()) {
+                delta.applyTo(projectTable.lock(id), now);
+            }
+        });
+        developerDeltas.forEach((id, delta) -> {
+            if (!delta.isZero()) {
+                delta.applyTo(developerTable.lock(id), now);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public void onProjectDeleted(int projectId, Collection<Integer> developerIds) {
+        projectStatsRepository.deleteById(projectId);
+        projectStatsRepository.flush();
+        // Les tâches du projet ont été supprimées en cascade : on recalcule les développeurs concernés
+        for (Integer developerId : new TreeSet<>(developerIds)) {
+            developerTable.rebuildLocked(developerId, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectTaskStats getProjectStats(int projectId) {
+        return projectTable.get(List.of(projectId)).get(projectId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, ProjectTaskStats> getProjectStats(Collection<Integer> projectIds) {
+        return projectTable.get(projectIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DeveloperTaskStats getDeveloperStats(int developerId) {
+        return developerTable.get(List.of(developerId)).get(developerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, DeveloperTaskStats> getDeveloperStats(Collection<Integer> developerIds) {
+        return developerTable.get(developerIds);
+    }
+
+    @Override
+    @Scheduled(cron = "${stats.reconcile.cron:0 30 3 * * *}")
+    public StatsReconciliationReport reconcile() {
+        long start = System.currentTimeMillis();
+        ReconcileOutcome projects = projectTable.reconcile();
+        ReconcileOutcome developers = developerTable.reconcile();
+        List<Integer> driftedProjects = projects.drifted();
+        List<Integer> driftedDevelopers = developers.drifted();
+
+        StatsReconciliationReport report = StatsReconciliationReport.builder()
+                .projectsChecked(projects.checked())
+                .projectsDrifted(driftedProjects.size())
+                .driftedProjectIds(driftedProjects.stream().limit(MAX_REPORTED_IDS).toList())
+                .developersChecked(developers.checked())
+                .developersDrifted(driftedDevelopers.size())
+                .driftedDeveloperIds(driftedDevelopers.stream().limit(MAX_REPORTED_IDS).toList())
+                .durationMs(System.currentTimeMillis() - start)
+                .reconciledAt(LocalDateTime.now())
+                .build();
+
+        if (driftedProjects.isEmpty() && driftedDevelopers.isEmpty()) {
+            log.info("Task stats reconciled: no drift ({} projects, {} developers, {} ms)",
+                    projects.checked(), developers.checked(), report.getDurationMs());
+        } else {
+            log.warn("Task stats drift corrected: projects={} {}, developers={} {}",
+                    driftedProjects.size(), report.getDriftedProjectIds(),
+                    driftedDevelopers.size(), report.getDriftedDeveloperIds());
+        }
+        return report;
+    }
+
+    private static void accumulate(Map<Integer, Delta> deltas, Integer ownerId, TaskSnapshot snapshot, int sign) {
+        if (ownerId != null) {
+            deltas.computeIfAbsent(ownerId, id -> new Delta()).add(snapshot, sign);
+        }
+    }
+
+    // Cumule des lignes GROUP BY (propriétaire, statut) en compteurs par propriétaire
+    private static <T extends TaskStatsCounters> Map<Integer, T> fold(List<TaskStatusAggregate> rows,
+                                                                       Function<Integer, T> factory) {
+        Map<Integer, T> result = new HashMap<>();
+        for (TaskStatusAggregate row : rows) {
+            T stats = result.computeIfAbsent(row.getOwnerId(), factory);
+            StatutTache statut = row.getStatut() != null ? row.getStatut() : StatutTache.NON_COMMENCE;
+            switch (statut) {
+                case NON_COMMENCE -> stats.setNonCommence(stats.getNonCommence() + row.getTotal());
+                case EN_COURS -> stats.setEnCours(stats.getEnCours() + row.getTotal());
+                case BLOQUE -> stats.setBloque(stats.getBloque() + row.getTotal());
+                case TERMINE -> stats.setTermine(stats.getTermine() + row.getTotal());
+            }
+            stats.setPlannedHours(stats.getPlannedHours() + nullToZero(row.getPlannedHours()));
+            stats.setEffectiveHours(stats.getEffectiveHours() + nullToZero(row.getEffectiveHours()));
+            stats.setRemainingHours(stats.getRemainingHours() + nullToZero(row.getRemainingHours()));
+        }
+        return result;
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private record ReconcileOutcome(int checked, List<Integer> drifted) {
+    }
+
+    // Différence à appliquer à une ligne de statistiques
+    private static final class Delta {
+        private final long[] counts = new long[StatutTache.values().length];
+        private long plannedHours;
+        private long effectiveHours;
+        private long remainingHours;
+
+        void add(TaskSnapshot snapshot, int sign) {
+            counts[snapshot.statut().ordinal()] += sign;
+            plannedHours += (long) sign * snapshot.plannedHours();
+            effectiveHours += (long) sign * snapshot.effectiveHours();
+            remainingHours += (long) sign * snapshot.remainingHours();
+        }
+
+        boolean isZero() {
+            return Arrays.stream(counts).allMatch(c -> c == 0)
+                    && plannedHours == 0 && effectiveHours == 0 && remainingHours == 0;
+        }
+
+        void applyTo(TaskStatsCounters stats, LocalDateTime now) {
+            stats.setNonCommence(stats.getNonCommence() + counts[StatutTache.NON_COMMENCE.ordinal()]);
+            stats.setEnCours(stats.getEnCours() + counts[StatutTache.EN_COURS.ordinal()]);
+            stats.setBloque(stats.getBloque() + counts[StatutTache.BLOQUE.ordinal()]);
+            stats.setTermine(stats.getTermine() + counts[StatutTache.TERMINE.ordinal()]);
+            stats.setPlannedHours(stats.getPlannedHours() + plannedHours);
+            stats.setEffectiveHours(stats.getEffectiveHours() + effectiveHours);
+            stats.setRemainingHours(stats.getRemainingHours() + remainingHours);
+            stats.setUpdatedAt(now);
+        }
+    }
+
+    /**
+     * Accès à une table de statistiques (projet ou développeur) : lecture, verrouillage,
+     * création des lignes manquantes à l'écriture et réconciliation.
+     */
+    private final class StatsTable<T extends TaskStatsCounters> {
+        private final JpaRepository<T, Integer> repository;
+        private final Function<Integer, T> factory;
+        private final Function<T, Integer> idOf;
+        private final Function<Integer, Optional<T>> lockById;
+        private final Function<Collection<Integer>, List<TaskStatusAggregate>> aggregateByIds;
+        private final Supplier<List<TaskStatusAggregate>> aggregateAll;
+
+        StatsTable(JpaRepository<T, Integer> repository, Function<Integer, T> factory, Function<T, Integer> idOf,
+                   Function<Integer, Optional<T>> lockById,
+                   Function<Collection<Integer>, List<TaskStatusAggregate>> aggregateByIds,
+                   Supplier<List<TaskStatusAggregate>> aggregateAll) {
+            this.repository = repository;
+            this.factory = factory;
+            this.idOf = idOf;
+            this.lockById = lockById;
+            this.aggregateByIds = aggregateByIds;
+            this.aggregateAll = aggregateAll;
+        }
+
+        // Ligne manquante : compteurs calculés depuis la table tasks, sans l'enregistrer (updatedAt null)
+        Map<Integer, T> get(Collection<Integer> ids) {
+            Set<Integer> wanted = new HashSet<>(ids);
+            wanted.remove(null);
+            if (wanted.isEmpty()) {
+                return Map.of();
+            }
+            Map<Integer, T> found = index(repository.findAllById(wanted));
+            if (found.size() < wanted.size()) {
+                Set<Integer> missing = new HashSet<>(wanted);
+                missing.removeAll(found.keySet());
+                Map<Integer, T> computed = fold(aggregateByIds.apply(missing), factory);
+                missing.forEach(id -> found.put(id, computed.getOrDefault(id, factory.apply(id))));
+            }
+            return found;
+        }
+
+        T lock(Integer id) {
+            return lockById.apply(id).orElseGet(() -> {
+                createMissing(Set.of(id));
+                return lockById.apply(id).orElseThrow();
+            });
+        }
+
+        // Recalcule une ligne depuis la table tasks, sous verrou
+        T rebuildLocked(Integer id, LocalDateTime now) {
+            T stats = lock(id);
+            T expected = fold(aggregateByIds.apply(List.of(id)), factory).getOrDefault(id, factory.apply(id));
+            if (!stats.sameCountersAs(expected)) {
+                stats.copyCountersFrom(expected);
+                stats.setUpdatedAt(now);
+            }
+            return stats;
+        }
+
+        /**
+         * Première ligne pour un propriétaire : calculée dans une transaction séparée à partir des
+         * tâches déjà validées, la transaction appelante y appliquant ensuite sa propre différence.
+         */
+        private void createMissing(Set<Integer> ids) {
+            try {
+                newTransaction.executeWithoutResult(status -> {
+                    Set<Integer> missing = new HashSet<>(ids);
+                    repository.findAllById(ids).forEach(existing -> missing.remove(idOf.apply(existing)));
+                    if (missing.isEmpty()) {
+                        return;
+                    }
+                    Map<Integer, T> computed = fold(aggregateByIds.apply(missing), factory);
+                    LocalDateTime now = LocalDateTime.now();
+                    List<T> rows = missing.stream()
+                            .map(id -> computed.getOrDefault(id, factory.apply(id)))
+                            .peek(row -> row.setUpdatedAt(now))
+                            .toList();
+                    repository.saveAllAndFlush(rows);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Créée en parallèle par une autre transaction : la ligne existe, c'est suffisant
+                log.debug("Task stats row created concurrently: {}", ids);
+            }
+        }
+
+        // Détection en masse, puis correction ligne par ligne sous verrou (les mutations concurrentes restent justes)
+        ReconcileOutcome reconcile() {
+            Map<Integer, T> expected = fold(aggregateAll.get(), factory);
+            List<T> stored = repository.findAll();
+
+            List<Integer> candidates = new ArrayList<>();
+            for (T row : stored) {
+                T exp = expected.remove(idOf.apply(row));
+                if (!row.sameCountersAs(exp != null ? exp : factory.apply(idOf.apply(row)))) {
+                    candidates.add(idOf.apply(row));
+                }
+            }
+            // Propriétaires sans ligne (aucune mutation depuis la mise en place) : créés ici, ce n'est pas un écart
+            if (!expected.isEmpty()) {
+                createMissing(expected.keySet());
+            }
+
+            List<Integer> drifted = new ArrayList<>();
+            for (Integer id : candidates) {
+                Boolean corrected = newTransaction.execute(status -> {
+                    T row = lock(id);
+                    T before = factory.apply(id);
+                    before.copyCountersFrom(row);
+                    return !rebuildLocked(id, LocalDateTime.now()).sameCountersAs(before);
+                });
+                if (Boolean.TRUE.equals(corrected)) {
+                    drifted.add(id);
+                }
+            }
+            return new ReconcileOutcome(stored.size(), drifted);
+        }
+
+        private Map<Integer, T> index(List<T> rows) {
+            Map<Integer, T> result = new HashMap<>();
+            rows.forEach(row -> result.put(idOf.apply(row), row));
+            return result;
+        }
+    }
+}
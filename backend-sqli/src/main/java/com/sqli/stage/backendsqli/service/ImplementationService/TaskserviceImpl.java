@@ -1,31 +1,54 @@
 package com.sqli.stage.backendsqli.service.ImplementationService;
 
+import com.sqli.stage.backendsqli.dto.EventDTO.DashboardEvent;
 import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogRequest;
+import com.sqli.stage.backendsqli.dto.ResourceStamp;
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchType;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskFilterRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskPatchRequest;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskProgressResponse;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskRequest;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
 import com.sqli.stage.backendsqli.entity.Enums.*;
 import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.DeveloperTaskStats;
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
 import com.sqli.stage.backendsqli.entity.Task;
 import com.sqli.stage.backendsqli.entity.User;
 import com.sqli.stage.backendsqli.exception.AccessdeniedException;
 import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
 import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.Projection.CollectionStamp;
 import com.sqli.stage.backendsqli.repository.TaskRepository;
 import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import com.sqli.stage.backendsqli.repository.Specification.TaskSpecifications;
 import com.sqli.stage.backendsqli.service.HistoriqueService;
-import com.sqli.stage.backendsqli.service.ProjetService;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.ProjectProgressRecomputer;
+import com.sqli.stage.backendsqli.service.SearchService;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import com.sqli.stage.backendsqli.service.TaskTimerRegistry;
+import com.sqli.stage.backendsqli.service.TaskTimerRegistry.RunningTimer;
+import com.sqli.stage.backendsqli.service.TimesheetService;
+import com.sqli.stage.backendsqli.service.TimesheetService.TrackedTime;
+import com.sqli.stage.backendsqli.service.TaskStatsService.TaskSnapshot;
 import com.sqli.stage.backendsqli.service.Taskservice;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -37,7 +60,20 @@ public class TaskserviceImpl implements Taskservice {
     private final TaskRepository taskRepoistory;
     private final ProjetRepository projetRepository;
     private final HistoriqueService historiqueService;
-    private final ProjetService projetService;
+    private final TaskStatsService taskStatsService;
+    private final CurrentUserHolder currentUserHolder;
+    private final PdfRenderCache pdfRenderCache;
+    private final SearchService searchService;
+    private final ProjectProgressRecomputer progressRecomputer;
+    private final TaskTimerRegistry timerRegistry;
+    private final TimesheetService timesheetService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 200;
+    private static final int MAX_MANUAL_HOURS = 24;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("titre", "statut", "priorite", "dateDebut", "dateFin");
 
     @Override
     @Transactional
@@ -63,7 +99,7 @@ public class TaskserviceImpl implements Taskservice {
         // Récup entités
         User developpeur = userRepository.findById(request.getDeveloppeurId())
                 .orElseThrow(() -> new ResourceNotFoundException("Développeur non trouvé"));
-        Project projet = projetRepository.findById(request.getProjectId())
+        Project projet = projetRepository.findWithTeamById(request.getProjectId())
                 .orElseThrow(() -> new ResourceNotFoundException("Projet introuvable"));
 
         // Vérifier ownership / responsabilité
@@ -98,29 +134,10 @@ public class TaskserviceImpl implements Taskservice {
             projetRepository.save(projet);
         }
 
-        // Heures
-        Integer planned = request.getPlannedHours() != null ? Math.max(0, request.getPlannedHours()) : 0;
-        Integer effective = 0; // à la création
-        Integer remaining = Math.max(0, planned - effective);
-
-        // Valeurs par défaut
-        StatutTache statut = request.getStatut() != null ? request.getStatut() : StatutTache.NON_COMMENCE;
-
         // Création
-        Task task = new Task();
-        task.setTitre(request.getTitre().trim());
-        task.setDescription(request.getDescription());
-        task.setDateDebut(request.getDateDebut());
-        task.setDateFin(request.getDateFin());
-        task.setStatut(statut);
-        task.setPriorite(request.getPriorite());
-        task.setPlannedHours(planned);
-        task.setEffectiveHours(effective);
-        task.setRemainingHours(remaining);
-        task.setDeveloppeur(developpeur);
-        task.setProject(projet);
-
-        Task saved = taskRepoistory.save(task);
+        Task saved = taskRepoistory.save(newTask(request, projet, developpeur));
+        recordChange(null, TaskSnapshot.of(saved));
+        publishChange(saved, null);
 
         // Log après succès
         historiqueService.logAction(new LogRequest(
@@ -144,9 +161,16 @@ public class TaskserviceImpl implements Taskservice {
 
 
     @Override
-    public TaskResponse updateTask(int id, TaskRequest request) {
+    @Transactional
+    public TaskResponse updateTask(int id, TaskRequest request, Long expectedVersion) {
         Task task = taskRepoistory.findById(id)
                 .orElseThrow(()-> new ResourceNotFoundException("task introuvable avec l'id : " + id));
+        // Modifiée entre la vérification de If-Match et ce chargement
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new OptimisticLockingFailureException("La tâche a été modifiée depuis la version " + expectedVersion
+                    + " (version actuelle : " + task.getVersion() + ").");
+        }
+        TaskSnapshot before = TaskSnapshot.of(task);
         if(!Objects.equals(task.getProject().getCreatedBy().getId(), getCurrentUser().getId())){
             throw new AccessdeniedException("Vous n'avez pas les droits de mise a jour pour cette task");
         }
@@ -166,7 +190,10 @@ public class TaskserviceImpl implements Taskservice {
 
             task.setDeveloppeur(dev);
         }
-        Task updatedTask = taskRepoistory.save(task);
+        // Flush : la réponse porte la nouvelle version (If-Match suivant)
+        Task updatedTask = taskRepoistory.saveAndFlush(task);
+        recordChange(before, TaskSnapshot.of(updatedTask));
+        publishChange(updatedTask, before);
 
         LogRequest logRequest = new LogRequest();
         logRequest.setAction(TypeOperation.MODIFICATION);
@@ -175,12 +202,204 @@ public class TaskserviceImpl implements Taskservice {
         logRequest.setEntityName(EntityName.TASK);
         historiqueService.logAction(logRequest);
 
-        // ⬇️ Mise à jour immédiate de la progression projet
-        projetService.updateProjectProgress(updatedTask.getProject().getId());
+        // ⬇️ Progression projet recalculée en différé (regroupée par projet)
+        progressRecomputer.markDirty(updatedTask.getProject().getId());
 
         return mapToReponse(updatedTask);
     }
 
+    @Override
+    @Transactional
+    public List<TaskResponse> createTasks(List<TaskRequest> requests) {
+        User current = getCurrentUser();
+        if (!Role.CHEF_DE_PROJET.equals(current.getRole()) && !Role.ADMIN.equals(current.getRole())) {
+            throw new AccessdeniedException("Seuls les chefs de projet ou admin peuvent créer des tâches.");
+        }
+        checkBulkSize(requests);
+
+        // Entrées requises, dates et titres en double dans le lot (sans requête)
+        Set<String> batchTitles = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            if (request.getProjectId() == null || request.getDeveloppeurId() == null) {
+                throw bulkError(i, "Projet et développeur sont requis.");
+            }
+            if (request.getTitre() == null || request.getTitre().isBlank()) {
+                throw bulkError(i, "Le titre est requis.");
+            }
+            checkDates(i, request.getDateDebut(), request.getDateFin());
+            if (!batchTitles.add(titleKey(request.getProjectId(), request.getTitre()))) {
+                throw bulkError(i, "Une autre tâche du lot porte ce titre sur le même projet.");
+            }
+        }
+
+        // Une requête pour les projets (avec l'équipe), une pour les développeurs, une pour les titres déjà pris
+        Map<Integer, Project> projects = projetRepository.findWithTeamByIdIn(
+                        requests.stream().map(TaskRequest::getProjectId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Project::getId, project -> project));
+        Map<Integer, User> developers = userRepository.findAllById(
+                        requests.stream().map(TaskRequest::getDeveloppeurId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        Set<String> takenTitles = findTakenTitles(projects.keySet(),
+                requests.stream().map(TaskRequest::getTitre).toList(), Set.of());
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            Project projet = projects.get(request.getProjectId());
+            if (projet == null) {
+                throw new ResourceNotFoundException(bulkPrefix(i) + "Projet introuvable");
+            }
+            checkProjectOwner(i, projet, current);
+            if (StatutProjet.TERMINE.equals(projet.getStatut())) {
+                throw new IllegalStateException(bulkPrefix(i) + "Impossible de créer une tâche sur un projet terminé.");
+            }
+            User developpeur = developers.get(request.getDeveloppeurId());
+            if (developpeur == null) {
+                throw new ResourceNotFoundException(bulkPrefix(i) + "Développeur non trouvé");
+            }
+            checkAssignable(i, developpeur);
+            if (takenTitles.contains(titleKey(projet.getId(), request.getTitre()))) {
+                throw bulkError(i, "Une tâche avec ce titre existe déjà sur ce projet.");
+            }
+
+            // Projets gérés par la session : l'association est écrite au flush
+            if (!projet.getDeveloppeurs().contains(developpeur)) {
+                projet.getDeveloppeurs().add(developpeur);
+            }
+            tasks.add(newTask(request, projet, developpeur));
+        }
+
+        // Identifiants par séquence : les INSERT partent par lots JDBC au flush
+        List<Task> saved = taskRepoistory.saveAll(tasks);
+        recordChanges(List.of(), saved.stream().map(TaskSnapshot::of).toList());
+        saved.forEach(task -> publishChange(task, null));
+
+        for (Task task : saved) {
+            historiqueService.logAction(new LogRequest(
+                    TypeOperation.CREATION,
+                    "Création tâche '" + task.getTitre() + "' (ID " + task.getId() + ") par lot",
+                    task.getId(),
+                    EntityName.TASK
+            ), current);
+            historiqueService.logAction(new LogRequest(
+                    TypeOperation.ASSIGN_TASK,
+                    "Tâche '" + task.getTitre() + "' assignée à " + task.getDeveloppeur().getUsername() + " lors de la création",
+                    task.getId(),
+                    EntityName.TASK
+            ), current);
+        }
+
+        // Progression recalculée une fois par projet concerné
+        saved.stream().map(task -> task.getProject().getId()).distinct().forEach(progressRecomputer::markDirty);
+
+        return saved.stream().map(this::mapToReponse).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public List<TaskResponse> updateTasks(List<TaskPatchRequest> requests) {
+        User current = getCurrentUser();
+        checkBulkSize(requests);
+
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Integer id = requests.get(i).getId();
+            if (id == null) {
+                throw bulkError(i, "L'identifiant de la tâche est requis.");
+            }
+            if (!ids.add(id)) {
+                throw bulkError(i, "La tâche " + id + " apparaît plusieurs fois dans le lot.");
+            }
+        }
+
+        // Une requête pour les tâches (avec projet et chef), une pour les nouveaux développeurs
+        Map<Integer, Task> tasks = taskRepoistory.findWithProjectByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        Set<Integer> developerIds = requests.stream().map(TaskPatchRequest::getDeveloppeurId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Integer, User> developers = developerIds.isEmpty() ? Map.of()
+                : userRepository.findAllById(developerIds).stream().collect(Collectors.toMap(User::getId, user -> user));
+
+        // Validation complète avant toute modification
+        Set<String> batchTitles = new HashSet<>();
+        List<String> renamedTitles = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskPatchRequest request = requests.get(i);
+            Task task = tasks.get(request.getId());
+            if (task == null) {
+                throw new ResourceNotFoundException(bulkPrefix(i) + "task introuvable avec l'id : " + request.getId());
+            }
+            if (request.getVersion() != null && !request.getVersion().equals(task.getVersion())) {
+                throw new OptimisticLockingFailureException(bulkPrefix(i) + "la tâche a été modifiée depuis la version "
+                        + request.getVersion() + " (version actuelle : " + task.getVersion() + ").");
+            }
+            checkProjectOwner(i, task.getProject(), current);
+            checkDates(i,
+                    request.getDateDebut() != null ? request.getDateDebut() : task.getDateDebut(),
+                    request.getDateFin() != null ? request.getDateFin() : task.getDateFin());
+            if (request.getDeveloppeurId() != null) {
+                User developpeur = developers.get(request.getDeveloppeurId());
+                if (developpeur == null) {
+                    throw new ResourceNotFoundException(bulkPrefix(i) + "Utilisateur introuvable avec ID " + request.getDeveloppeurId());
+                }
+                checkAssignable(i, developpeur);
+            }
+            if (request.getTitre() != null && request.getTitre().isBlank()) {
+                throw bulkError(i, "Le titre est requis.");
+            }
+            String titre = request.getTitre() != null ? request.getTitre() : task.getTitre();
+            if (!batchTitles.add(titleKey(task.getProject().getId(), titre))) {
+                throw bulkError(i, "Une autre tâche du lot porte ce titre sur le même projet.");
+            }
+            if (request.getTitre() != null && !request.getTitre().trim().equalsIgnoreCase(task.getTitre())) {
+                renamedTitles.add(request.getTitre());
+            }
+        }
+        // Les tâches du lot ont déjà été comparées entre elles avec leur titre final
+        Set<String> takenTitles = findTakenTitles(
+                tasks.values().stream().map(task -> task.getProject().getId()).collect(Collectors.toSet()),
+                renamedTitles, ids);
+        for (int i = 0; i < requests.size(); i++) {
+            TaskPatchRequest request = requests.get(i);
+            if (request.getTitre() != null
+                    && takenTitles.contains(titleKey(tasks.get(request.getId()).getProject().getId(), request.getTitre()))) {
+                throw bulkError(i, "Une tâche avec ce titre existe déjà sur ce projet.");
+            }
+        }
+
+        List<TaskSnapshot> before = new ArrayList<>();
+        List<TaskSnapshot> after = new ArrayList<>();
+        List<Task> updated = new ArrayList<>();
+        for (TaskPatchRequest request : requests) {
+            Task task = tasks.get(request.getId());
+            before.add(TaskSnapshot.of(task));
+            applyPatch(task, request, developers);
+            after.add(TaskSnapshot.of(task));
+            updated.add(task);
+        }
+        // Entités gérées : UPDATE groupés par lots JDBC au flush, fait ici pour renvoyer les nouvelles versions
+        taskRepoistory.saveAll(updated);
+        taskRepoistory.flush();
+        recordChanges(before, after);
+        for (int i = 0; i < updated.size(); i++) {
+            publishChange(updated.get(i), before.get(i));
+        }
+
+        for (Task task : updated) {
+            historiqueService.logAction(new LogRequest(
+                    TypeOperation.MODIFICATION,
+                    "Modification de la tâche '" + task.getTitre() + "' (ID: " + task.getId() + ") par lot par " + current.getUsername(),
+                    task.getId(),
+                    EntityName.TASK
+            ), current);
+        }
+
+        updated.stream().map(task -> task.getProject().getId()).distinct().forEach(progressRecomputer::markDirty);
+
+        return updated.stream().map(this::mapToReponse).collect(Collectors.toList());
+    }
+
 
 
     @Override
@@ -222,14 +441,21 @@ public class TaskserviceImpl implements Taskservice {
                 // Les pointages seront supprimés automatiquement grâce au cascade = CascadeType.ALL
             }
             
-            // 4. Maintenant supprimer la tâche
+            // 4. Arrêter sans pointage les timers en cours sur la tâche, retirer ses pointages des cumuls
+            timerRegistry.discardTask(id);
+            timesheetService.onTasksDeleted(List.of(id));
+
+            // 5. Maintenant supprimer la tâche
+            TaskSnapshot before = TaskSnapshot.of(task);
             taskRepoistory.deleteById(id);
+            recordChange(before, null);
+            eventPublisher.publishEvent(taskEvent(DashboardEventType.TASK_DELETED, task).build());
             System.out.println("=== SUPPRESSION TÂCHE: Tâche " + task.getTitre() + " supprimée avec succès ===");
 
-            // 5. Mettre à jour la progression du projet
-            projetService.updateProjectProgress(project.getId());
+            // 6. Mettre à jour la progression du projet (en différé)
+            progressRecomputer.markDirty(project.getId());
 
-            // 6. Log de l'action
+            // 7. Log de l'action
             LogRequest logRequest = new LogRequest();
             logRequest.setAction(TypeOperation.SUPPRESSION);
             logRequest.setDescription("Suppression de la tâche '" + task.getTitre() + "' (ID: " + task.getId() + ") par " + getCurrentUser().getUsername());
@@ -250,10 +476,45 @@ public class TaskserviceImpl implements Taskservice {
         return mapToReponse(task);
     }
 
+    @Override
+    public Optional<ResourceStamp> getTaskStamp(int id) {
+        return taskRepoistory.findVersionById(id)
+                .map(stamp -> new ResourceStamp(ResourceStamp.etag("task", id, stamp.getVersion()), stamp.getUpdatedAt(),
+                        stamp.getVersion()));
+    }
+
+    @Override
+    public Optional<ResourceStamp> getTasksStamp() {
+        // Même périmètre que getAllTasks : la liste dépend du rôle et de l'utilisateur
+        User currentUser = getCurrentUser();
+        CollectionStamp stamp = switch (currentUser.getRole()) {
+            case ADMIN -> taskRepoistory.findCollectionStamp();
+            case CHEF_DE_PROJET -> taskRepoistory.findCollectionStampByChefId(currentUser.getId());
+            case DEVELOPPEUR -> taskRepoistory.findCollectionStampByDeveloppeurId(currentUser.getId());
+            default -> null;
+        };
+        return Optional.ofNullable(stamp)
+                .map(found -> collectionStamp("tasks-" + currentUser.getRole() + "-" + currentUser.getId(), found));
+    }
+
+    @Override
+    public Optional<ResourceStamp> getProjectTasksStamp(int projectId) {
+        return Optional.of(collectionStamp("project-" + projectId + "-tasks",
+                taskRepoistory.findCollectionStampByProjectId(projectId)));
+    }
+
+    private static ResourceStamp collectionStamp(String scope, CollectionStamp stamp) {
+        return new ResourceStamp(ResourceStamp.etag(scope, stamp.getTotal(), stamp.getIdSum(), stamp.getVersionSum(),
+                stamp.getUpdatedAt()), null);
+    }
+
     @Override
     public List<TaskResponse> searchTasksByKeyword(String keyword) {
-        List<Task> tasks = taskRepoistory.findByTitreContainingIgnoreCaseOrDescriptionContainingIgnoreCase(keyword, keyword);
-        return tasks.stream().map(this::mapToReponse).collect(Collectors.toList());
+        // Ids classés par l'index de recherche, puis chargement en une requête dans le même ordre
+        List<Integer> ids = searchService.searchIds(SearchType.TASK, keyword, MAX_PAGE_SIZE);
+        Map<Integer, Task> tasks = taskRepoistory.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        return ids.stream().map(tasks::get).filter(Objects::nonNull).map(this::mapToReponse).collect(Collectors.toList());
     }
 
     @Override
@@ -368,8 +629,14 @@ public class TaskserviceImpl implements Taskservice {
     public Map<StatutTache, Long> getWorkloadForCurrentUser() {
         User currentUser = getCurrentUser();
 
-        return taskRepoistory.findByDeveloppeurId(currentUser.getId()).stream()
-                .collect(Collectors.groupingBy(Task::getStatut, Collectors.counting()));
+        DeveloperTaskStats stats = taskStatsService.getDeveloperStats(currentUser.getId());
+        Map<StatutTache, Long> workload = new EnumMap<>(StatutTache.class);
+        for (StatutTache statut : StatutTache.values()) {
+            if (stats.count(statut) > 0) {
+                workload.put(statut, stats.count(statut));
+            }
+        }
+        return workload;
     }
 
     @Override
@@ -379,39 +646,13 @@ public class TaskserviceImpl implements Taskservice {
     }
 
     @Override
-    public List<TaskResponse> filterTasks(TaskFilterRequest filter) {
-        return taskRepoistory.findAll().stream()
-
-                .filter(task -> filter.getProjectId() == null ||
-                        task.getProject().getId().equals(filter.getProjectId()))
-
-                .filter(task -> filter.getDeveloppeurId() == null ||
-                        task.getDeveloppeur().getId() == filter.getDeveloppeurId())
-
-                .filter(task -> filter.getStatut() == null ||
-                        task.getStatut() == filter.getStatut())
-
-                .filter(task -> filter.getKeyword() == null ||
-                        task.getTitre().toLowerCase().contains(filter.getKeyword().toLowerCase()) ||
-                        task.getDescription().toLowerCase().contains(filter.getKeyword().toLowerCase()))
-
-                .filter(task -> filter.getDateDebutMin() == null ||
-                        !task.getDateDebut().isBefore(filter.getDateDebutMin()))
-                .filter(task -> filter.getDateDebutMax() == null ||
-                        !task.getDateDebut().isAfter(filter.getDateDebutMax()))
-
-                .filter(task -> filter.getDateFinMin() == null ||
-                        !task.getDateFin().isBefore(filter.getDateFinMin()))
-
-                .filter(task -> filter.getDateFinMax() == null ||
-                        !task.getDateFin().isAfter(filter.getDateFinMax()))
-
-                .map(this::mapToReponse)
-
-                .collect(Collectors.toList());
+    public Page<TaskResponse> filterTasks(TaskFilterRequest filter) {
+        return taskRepoistory.findAll(TaskSpecifications.fromFilter(filter), toPageRequest(filter))
+                .map(this::mapToReponse);
     }
 
     @Override
+    @Transactional
     public TaskResponse markTaskAsFinished(int taskId) {
         User current = getCurrentUser();
 
@@ -428,11 +669,14 @@ public class TaskserviceImpl implements Taskservice {
             return mapToReponse(task);
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setStatut(StatutTache.TERMINE);
-        taskRepoistory.save(task);
+        taskRepoistory.saveAndFlush(task);
+        recordChange(before, TaskSnapshot.of(task));
+        publishChange(task, before);
 
-        // ⬇️ Mise à jour immédiate de la progression projet
-        projetService.updateProjectProgress(task.getProject().getId());
+        // ⬇️ Progression projet recalculée en différé (regroupée par projet)
+        progressRecomputer.markDirty(task.getProject().getId());
 
         // Log de l'action
         historiqueService.logAction(new LogRequest(
@@ -445,6 +689,7 @@ public class TaskserviceImpl implements Taskservice {
         return mapToReponse(task);
     }
         @Override
+    @Transactional
     public TaskResponse markTaskAsInProgress(int taskId) {
             User current = getCurrentUser();
 
@@ -461,11 +706,14 @@ public class TaskserviceImpl implements Taskservice {
                 return mapToReponse(task);
             }
 
+            TaskSnapshot before = TaskSnapshot.of(task);
             task.setStatut(StatutTache.EN_COURS);
-            taskRepoistory.save(task);
+            taskRepoistory.saveAndFlush(task);
+            recordChange(before, TaskSnapshot.of(task));
+            publishChange(task, before);
 
-            // ⬇️ Mise à jour immédiate de la progression projet
-            projetService.updateProjectProgress(task.getProject().getId());
+            // ⬇️ Progression projet recalculée en différé (regroupée par projet)
+            progressRecomputer.markDirty(task.getProject().getId());
 
             // Log de l'action
             historiqueService.logAction(new LogRequest(
@@ -487,10 +735,11 @@ public class TaskserviceImpl implements Taskservice {
         Project project = projetRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Projet introuvable"));
         
-        long totalTasks = taskRepoistory.countByProjectId(projectId);
-        long completedTasks = taskRepoistory.countByProjectIdAndStatut(projectId, StatutTache.TERMINE);
-        long inProgressTasks = taskRepoistory.countByProjectIdAndStatut(projectId, StatutTache.EN_COURS);
-        long blockedTasks = taskRepoistory.countByProjectIdAndStatut(projectId, StatutTache.BLOQUE);
+        ProjectTaskStats stats = taskStatsService.getProjectStats(projectId);
+        long totalTasks = stats.getTotal();
+        long completedTasks = stats.getTermine();
+        long inProgressTasks = stats.getEnCours();
+        long blockedTasks = stats.getBloque();
         
         double completionPercentage = totalTasks > 0 ? (completedTasks * 100.0) / totalTasks : 0.0;
         
@@ -506,6 +755,7 @@ public class TaskserviceImpl implements Taskservice {
     }
 
     @Override
+    @Transactional
     public TaskResponse markTaskAsBlocked(int taskId) {
         User current = getCurrentUser();
 
@@ -522,11 +772,14 @@ public class TaskserviceImpl implements Taskservice {
             return mapToReponse(task);
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setStatut(StatutTache.BLOQUE);
-        taskRepoistory.save(task);
+        taskRepoistory.saveAndFlush(task);
+        recordChange(before, TaskSnapshot.of(task));
+        publishChange(task, before);
 
-        // ⬇️ Mise à jour immédiate de la progression projet
-        projetService.updateProjectProgress(task.getProject().getId());
+        // ⬇️ Progression projet recalculée en différé (regroupée par projet)
+        progressRecomputer.markDirty(task.getProject().getId());
 
         // Log de l'action
         historiqueService.logAction(new LogRequest(
@@ -541,27 +794,19 @@ public class TaskserviceImpl implements Taskservice {
 
     // Timer functionality
     @Override
+    @Transactional
     public TaskResponse updateTaskHours(int taskId, double hours) {
         User current = getCurrentUser();
-        Task task = taskRepoistory.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tâche introuvable"));
-
-        // Vérifier que l'utilisateur est le développeur assigné
-        if (!task.getDeveloppeur().getId().equals(current.getId())) {
-            throw new AccessdeniedException("Non autorisé à modifier cette tâche.");
+        Task task = findAssignedTask(taskId, current, "Non autorisé à modifier cette tâche.");
+        if (!(hours > 0) || hours > MAX_MANUAL_HOURS) {
+            throw new IllegalArgumentException("Le nombre d'heures doit être compris entre 0 et " + MAX_MANUAL_HOURS + ".");
         }
 
-        // Mettre à jour les heures effectives
-        int currentEffectiveHours = task.getEffectiveHours() != null ? task.getEffectiveHours() : 0;
-        int newEffectiveHours = currentEffectiveHours + (int) Math.round(hours);
-        task.setEffectiveHours(newEffectiveHours);
-
-        // Mettre à jour les heures restantes
-        int plannedHours = task.getPlannedHours() != null ? task.getPlannedHours() : 0;
-        int remainingHours = Math.max(0, plannedHours - newEffectiveHours);
-        task.setRemainingHours(remainingHours);
-
-        Task savedTask = taskRepoistory.save(task);
+        // Saisie manuelle : pointage se terminant maintenant, à la seconde près
+        long seconds = Math.round(hours * 3600);
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Task savedTask = timesheetService.record(task, current, end.toLocalDate(), end.minusSeconds(seconds), seconds,
+                SourcePointage.MANUEL).task();
 
         // Log de l'action
         historiqueService.logAction(new LogRequest(
@@ -575,74 +820,273 @@ public class TaskserviceImpl implements Taskservice {
     }
 
     @Override
+    @Transactional
     public Map<String, Object> startTaskTimer(int taskId) {
         User current = getCurrentUser();
-        Task task = taskRepoistory.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tâche introuvable"));
-
-        // Vérifier que l'utilisateur est le développeur assigné
-        if (!task.getDeveloppeur().getId().equals(current.getId())) {
-            throw new AccessdeniedException("Non autorisé à démarrer le timer pour cette tâche.");
+        Task task = findAssignedTask(taskId, current, "Non autorisé à démarrer le timer pour cette tâche.");
+        if (StatutTache.TERMINE.equals(task.getStatut())) {
+            throw new IllegalStateException("Impossible de démarrer le timer d'une tâche terminée.");
         }
 
-        // Pour l'instant, on simule le timer côté backend
-        // Dans une vraie implémentation, on stockerait le timestamp de début en base
-        Map<String, Object> response = new HashMap<>();
-        response.put("taskId", taskId);
-        response.put("status", "started");
-        response.put("startTime", System.currentTimeMillis());
-        response.put("message", "Timer démarré pour la tâche: " + task.getTitre());
+        Optional<RunningTimer> running = timerRegistry.find(current.getId());
+        if (running.isPresent() && running.get().taskId() == taskId) {
+            return timerResponse(running.get(), "started", "Timer déjà démarré pour la tâche: " + task.getTitre());
+        }
+        // Un seul timer par développeur : le précédent est arrêté et pointé
+        running.ifPresent(previous -> taskRepoistory.findById(previous.taskId())
+                .ifPresentOrElse(previousTask -> stopTimer(previous, previousTask, current),
+                        () -> timerRegistry.release(previous)));
 
-        return response;
+        RunningTimer timer = timerRegistry.start(current.getId(), taskId);
+        return timerResponse(timer, "started", "Timer démarré pour la tâche: " + task.getTitre());
     }
 
     @Override
+    @Transactional
     public Map<String, Object> stopTaskTimer(int taskId) {
         User current = getCurrentUser();
-        Task task = taskRepoistory.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tâche introuvable"));
+        Task task = findAssignedTask(taskId, current, "Non autorisé à arrêter le timer pour cette tâche.");
+        RunningTimer timer = timerRegistry.find(current.getId())
+                .filter(running -> running.taskId() == taskId)
+                .orElseThrow(() -> new IllegalStateException("Aucun timer en cours pour cette tâche."));
 
-        // Vérifier que l'utilisateur est le développeur assigné
-        if (!task.getDeveloppeur().getId().equals(current.getId())) {
-            throw new AccessdeniedException("Non autorisé à arrêter le timer pour cette tâche.");
-        }
+        TrackedTime tracked = stopTimer(timer, task, current);
 
-        // Pour l'instant, on simule l'arrêt du timer
-        // Dans une vraie implémentation, on calculerait le temps écoulé
         Map<String, Object> response = new HashMap<>();
         response.put("taskId", taskId);
         response.put("status", "stopped");
-        response.put("stopTime", System.currentTimeMillis());
-        response.put("message", "Timer arrêté pour la tâche: " + task.getTitre());
-
+        response.put("isRunning", false);
+        response.put("startTime", toEpochMillis(tracked.line().getStartedAt()));
+        response.put("stopTime", toEpochMillis(tracked.line().getEndedAt()));
+        response.put("elapsedTime", tracked.line().getDurationSeconds());
+        response.put("hours", tracked.line().getHours());
+        response.put("effectiveHours", tracked.task().getEffectiveHours());
+        response.put("remainingHours", tracked.task().getRemainingHours());
+        response.put("message", "Timer arrêté pour la tâche: " + tracked.task().getTitre());
         return response;
     }
 
     @Override
     public Map<String, Object> getTaskTimerStatus(int taskId) {
         User current = getCurrentUser();
-        Task task = taskRepoistory.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tâche introuvable"));
+        Task task = findAssignedTask(taskId, current, "Non autorisé à consulter le timer de cette tâche.");
 
-        // Vérifier que l'utilisateur est le développeur assigné
-        if (!task.getDeveloppeur().getId().equals(current.getId())) {
-            throw new AccessdeniedException("Non autorisé à consulter le timer de cette tâche.");
+        Optional<RunningTimer> timer = timerRegistry.find(current.getId()).filter(running -> running.taskId() == taskId);
+        if (timer.isPresent()) {
+            return timerResponse(timer.get(), "started", "Statut du timer pour la tâche: " + task.getTitre());
         }
-
-        // Pour l'instant, on retourne un statut par défaut
         Map<String, Object> response = new HashMap<>();
         response.put("taskId", taskId);
         response.put("isRunning", false);
         response.put("elapsedTime", 0);
         response.put("message", "Statut du timer pour la tâche: " + task.getTitre());
+        return response;
+    }
 
+    private Task findAssignedTask(int taskId, User current, String deniedMessage) {
+        Task task = taskRepoistory.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tâche introuvable"));
+
+        // Vérifier que l'utilisateur est le développeur assigné
+        if (!task.getDeveloppeur().getId().equals(current.getId())) {
+            throw new AccessdeniedException(deniedMessage);
+        }
+        return task;
+    }
+
+    private TrackedTime stopTimer(RunningTimer timer, Task task, User developer) {
+        if (!timerRegistry.release(timer)) {
+            throw new IllegalStateException("Le timer de cette tâche est déjà arrêté.");
+        }
+        LocalDateTime end = LocalDateTime.now();
+        long seconds = timerRegistry.elapsedSeconds(timer, end);
+        return timesheetService.record(task, developer, timer.startedAt().plusSeconds(seconds).toLocalDate(),
+                timer.startedAt(), seconds, SourcePointage.TIMER);
+    }
+
+    private static Map<String, Object> timerResponse(RunningTimer timer, String status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("taskId", timer.taskId());
+        response.put("status", status);
+        response.put("isRunning", true);
+        response.put("startTime", toEpochMillis(timer.startedAt()));
+        response.put("elapsedTime", Duration.between(timer.startedAt(), LocalDateTime.now()).getSeconds());
+        response.put("message", message);
         return response;
     }
 
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private Task newTask(TaskRequest request, Project projet, User developpeur) {
+        // Heures
+        Integer planned = request.getPlannedHours() != null ? Math.max(0, request.getPlannedHours()) : 0;
+        Integer effective = 0; // à la création
+        Integer remaining = Math.max(0, planned - effective);
+
+        // Valeurs par défaut
+        StatutTache statut = request.getStatut() != null ? request.getStatut() : StatutTache.NON_COMMENCE;
+
+        Task task = new Task();
+        task.setTitre(request.getTitre().trim());
+        task.setDescription(request.getDescription());
+        task.setDateDebut(request.getDateDebut());
+        task.setDateFin(request.getDateFin());
+        task.setStatut(statut);
+        task.setPriorite(request.getPriorite());
+        task.setPlannedHours(planned);
+        task.setEffectiveHours(effective);
+        task.setRemainingHours(remaining);
+        task.setDeveloppeur(developpeur);
+        task.setProject(projet);
+        return task;
+    }
+
+    private void applyPatch(Task task, TaskPatchRequest request, Map<Integer, User> developers) {
+        if (request.getTitre() != null) task.setTitre(request.getTitre().trim());
+        if (request.getDescription() != null) task.setDescription(request.getDescription());
+        if (request.getDateDebut() != null) task.setDateDebut(request.getDateDebut());
+        if (request.getDateFin() != null) task.setDateFin(request.getDateFin());
+        if (request.getStatut() != null) task.setStatut(request.getStatut());
+        if (request.getPriorite() != null) task.setPriorite(request.getPriorite());
+        if (request.getDeveloppeurId() != null) task.setDeveloppeur(developers.get(request.getDeveloppeurId()));
+        if (request.getPlannedHours() != null) task.setPlannedHours(request.getPlannedHours());
+        if (request.getEffectiveHours() != null) {
+            task.setEffectiveHours(request.getEffectiveHours());
+            task.setEffectiveSeconds(null);
+        }
+        if (request.getRemainingHours() != null) {
+            task.setRemainingHours(request.getRemainingHours());
+        } else if (request.getPlannedHours() != null || request.getEffectiveHours() != null) {
+            int planned = task.getPlannedHours() != null ? task.getPlannedHours() : 0;
+            int effective = task.getEffectiveHours() != null ? task.getEffectiveHours() : 0;
+            task.setRemainingHours(Math.max(0, planned - effective));
+        }
+    }
+
+    private static void checkBulkSize(List<?> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Le lot de tâches est vide.");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Un lot ne peut pas dépasser " + MAX_BULK_SIZE + " tâches.");
+        }
+    }
+
+    private static void checkDates(int index, LocalDate dateDebut, LocalDate dateFin) {
+        if (dateDebut == null || dateFin == null) {
+            throw bulkError(index, "Les dates de début et fin sont requises.");
+        }
+        if (dateFin.isBefore(dateDebut)) {
+            throw bulkError(index, "La date de fin doit être postérieure ou égale à la date de début.");
+        }
+    }
+
+    private static void checkProjectOwner(int index, Project projet, User current) {
+        if (Role.ADMIN.equals(current.getRole())) {
+            return;
+        }
+        if (projet.getCreatedBy() == null || !projet.getCreatedBy().getId().equals(current.getId())) {
+            throw new AccessdeniedException(bulkPrefix(index) + "Vous n'êtes pas le chef du projet.");
+        }
+    }
+
+    private static void checkAssignable(int index, User developpeur) {
+        if (!Role.DEVELOPPEUR.equals(developpeur.getRole())) {
+            throw bulkError(index, "Seuls les développeurs peuvent recevoir des tâches.");
+        }
+        if (!developpeur.isEnabled()) {
+            throw new IllegalStateException(bulkPrefix(index) + "Le développeur n'est pas actif.");
+        }
+    }
+
+    // Clés "projet:titre" des titres déjà utilisés en base par d'autres tâches que celles exclues
+    private Set<String> findTakenTitles(Collection<Integer> projectIds, Collection<String> titres, Set<Integer> excludedIds) {
+        if (projectIds.isEmpty() || titres.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> lowerTitles = titres.stream().map(titre -> titre.trim().toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        return taskRepoistory.findTitlesByProjectIdInAndTitreIn(projectIds, lowerTitles).stream()
+                .filter(taken -> !excludedIds.contains(taken.getId()))
+                .map(taken -> titleKey(taken.getProjectId(), taken.getTitre()))
+                .collect(Collectors.toSet());
+    }
+
+    private static String titleKey(Integer projectId, String titre) {
+        return projectId + ":" + titre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String bulkPrefix(int index) {
+        return "Tâche n°" + (index + 1) + " : ";
+    }
+
+    private static IllegalArgumentException bulkError(int index, String message) {
+        return new IllegalArgumentException(bulkPrefix(index) + message);
+    }
+
+    private void recordChanges(List<TaskSnapshot> before, List<TaskSnapshot> after) {
+        taskStatsService.recordChanges(before, after);
+        Set<Integer> projectIds = new HashSet<>();
+        before.forEach(snapshot -> projectIds.add(snapshot.projectId()));
+        after.forEach(snapshot -> projectIds.add(snapshot.projectId()));
+        projectIds.stream().filter(Objects::nonNull).forEach(pdfRenderCache::invalidate);
+    }
+
+    // Événements des tableaux de bord (flux SSE), envoyés après le commit
+    private void publishChange(Task task, TaskSnapshot before) {
+        if (before == null) {
+            eventPublisher.publishEvent(taskEvent(DashboardEventType.TASK_CREATED, task).build());
+            return;
+        }
+        TaskSnapshot after = TaskSnapshot.of(task);
+        if (after.developpeurId() != null && !after.developpeurId().equals(before.developpeurId())) {
+            eventPublisher.publishEvent(taskEvent(DashboardEventType.TASK_ASSIGNED, task)
+                    .previousDeveloppeurId(before.developpeurId())
+                    .build());
+        }
+        if (before.statut() != after.statut()) {
+            eventPublisher.publishEvent(taskEvent(DashboardEventType.TASK_STATUS_CHANGED, task)
+                    .previousStatut(before.statut())
+                    .build());
+        }
+    }
+
+    private static DashboardEvent.DashboardEventBuilder taskEvent(DashboardEventType type, Task task) {
+        return DashboardEvent.builder()
+                .type(type)
+                .projectId(task.getProject() != null ? task.getProject().getId() : null)
+                .taskId(task.getId())
+                .taskTitre(task.getTitre())
+                .developpeurId(task.getDeveloppeur() != null ? task.getDeveloppeur().getId() : null)
+                .statut(task.getStatut())
+                .occurredAt(LocalDateTime.now());
+    }
+
+    // Compteurs de tâches (et caches qui en dépendent) mis à jour dans la même transaction
+    private void recordChange(TaskSnapshot before, TaskSnapshot after) {
+        taskStatsService.recordChange(before, after);
+        if (before != null) {
+            pdfRenderCache.invalidate(before.projectId());
+        }
+        if (after != null) {
+            pdfRenderCache.invalidate(after.projectId());
+        }
+    }
+
+    // Pagination bornée et tri limité aux colonnes indexées/exposées
+    private PageRequest toPageRequest(TaskFilterRequest filter) {
+        int page = filter.getPage() != null ? Math.max(0, filter.getPage()) : 0;
+        int size = filter.getSize() != null ? Math.min(Math.max(1, filter.getSize()), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        String sortBy = filter.getSortBy() != null && SORTABLE_FIELDS.contains(filter.getSortBy())
+                ? filter.getSortBy() : "dateFin";
+        Sort.Direction direction = "DESC".equalsIgnoreCase(filter.getSortDirection())
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return PageRequest.of(page, size, Sort.by(direction, sortBy).and(Sort.by("id")));
+    }
 
     public User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
+        return currentUserHolder.find().orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
     }
 
     private TaskResponse mapToReponse(Task task){
@@ -682,7 +1126,8 @@ public class TaskserviceImpl implements Taskservice {
                 devUsername,
                 projectTitre,
                 projectInfo,
-                developerInfo
+                developerInfo,
+                task.getVersion()
         );
     }
 
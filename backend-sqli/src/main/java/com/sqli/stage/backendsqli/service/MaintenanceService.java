@@ -1,45 +1,73 @@
 package com.sqli.stage.backendsqli.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sqli.stage.backendsqli.dto.MaintenanceStatusDto;
 import com.sqli.stage.backendsqli.dto.MaintenanceToggleDto;
 import com.sqli.stage.backendsqli.entity.Maintenance;
+import com.sqli.stage.backendsqli.entity.MaintenanceState;
 import com.sqli.stage.backendsqli.repository.MaintenanceRepository;
+import com.sqli.stage.backendsqli.repository.MaintenanceStateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * État de maintenance lu depuis une copie en mémoire (aucune requête SQL par appel du filtre).
+ * La copie est rechargée après chaque bascule locale et, pour les bascules faites sur une autre
+ * instance, dès que la version de maintenance_state change (interrogée toutes les maintenance.poll-interval-ms).
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MaintenanceService {
 
+    public static final int RETRY_AFTER_SECONDS = 300; // 5 minutes
+
+    // Copie immuable de l'état ; blockedBody est la réponse 503 déjà sérialisée
+    private record Snapshot(long version, boolean enabled, String message,
+                            LocalDateTime startedAt, LocalDateTime updatedAt, byte[] blockedBody) {
+    }
+
     private final MaintenanceRepository maintenanceRepository;
+    private final MaintenanceStateRepository maintenanceStateRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
 
     public MaintenanceStatusDto getMaintenanceStatus() {
-        Maintenance activeMaintenance = maintenanceRepository.findActiveMaintenance().orElse(null);
-        
-        if (activeMaintenance == null) {
+        Snapshot current = currentSnapshot();
+        if (!current.enabled()) {
             return MaintenanceStatusDto.builder()
                     .enabled(false)
                     .build();
         }
 
         return MaintenanceStatusDto.builder()
-                .enabled(activeMaintenance.isEnabled())
-                .message(activeMaintenance.getMessage())
-                .startedAt(activeMaintenance.getStartedAt())
-                .updatedAt(activeMaintenance.getUpdatedAt())
+                .enabled(true)
+                .message(current.message())
+                .startedAt(current.startedAt())
+                .updatedAt(current.updatedAt())
                 .build();
     }
 
     @Transactional
     public MaintenanceStatusDto toggleMaintenance(MaintenanceToggleDto toggleDto, String username) {
-        log.info("Maintenance toggle requested by {}: enabled={}, message={}", 
+        log.info("Maintenance toggle requested by {}: enabled={}, message={}",
                 username, toggleDto.isEnabled(), toggleDto.getMessage());
 
+        bumpVersion();
+
         if (toggleDto.isEnabled()) {
             // Désactiver toutes les maintenances actives
             maintenanceRepository.findAll().stream()
@@ -59,7 +87,7 @@ public class MaintenanceService {
                     .build();
 
             Maintenance saved = maintenanceRepository.save(newMaintenance);
-            
+
             return MaintenanceStatusDto.builder()
                     .enabled(saved.isEnabled())
                     .message(saved.getMessage())
@@ -81,7 +109,86 @@ public class MaintenanceService {
     }
 
     public boolean isMaintenanceEnabled() {
-        return maintenanceRepository.isMaintenanceEnabled();
+        return currentSnapshot().enabled();
     }
-}
 
+    /**
+     * Corps JSON de la réponse 503, sérialisé une fois par changement d'état.
+     */
+    public byte[] getBlockedResponseBody() {
+        return currentSnapshot().blockedBody();
+    }
+
+    // Bascule faite par une autre instance : une lecture de la version par intervalle, pas par requête
+    @Scheduled(fixedDelayString = "${maintenance.poll-interval-ms:2000}")
+    public void refreshIfChanged() {
+        try {
+            long version = maintenanceStateRepository.findCurrentVersion().orElse(0L);
+            Snapshot current = snapshot;
+            if (current == null || current.version() != version) {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            // Base indisponible : on conserve le dernier état connu
+            log.warn("Maintenance state poll failed: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    // La version est lue avant l'état : au pire l'état est plus récent que la version et sera relu au prochain poll
+    private synchronized Snapshot reload() {
+        long version = maintenanceStateRepository.findCurrentVersion().orElse(0L);
+        Maintenance active = maintenanceRepository.findActiveMaintenance().orElse(null);
+        MaintenanceStatusDto status = active == null
+                ? MaintenanceStatusDto.builder().enabled(false).build()
+                : MaintenanceStatusDto.builder()
+                        .enabled(true)
+                        .message(active.getMessage())
+                        .startedAt(active.getStartedAt())
+                        .updatedAt(active.getUpdatedAt())
+                        .build();
+        Snapshot loaded = new Snapshot(version, status.isEnabled(), status.getMessage(),
+                status.getStartedAt(), status.getUpdatedAt(), serializeBlockedBody(status));
+
+        Snapshot previous = snapshot;
+        snapshot = loaded;
+        if (previous != null && previous.enabled() != loaded.enabled()) {
+            log.info("Maintenance mode {} (version {})", loaded.enabled() ? "enabled" : "disabled", version);
+        }
+        return loaded;
+    }
+
+    private void bumpVersion() {
+        if (maintenanceStateRepository.incrementVersion() == 0) {
+            maintenanceStateRepository.save(new MaintenanceState(MaintenanceState.SINGLETON_ID, 1));
+        }
+        // Cette instance bascule dès le commit, sans attendre le prochain poll
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        }
+    }
+
+    private byte[] serializeBlockedBody(MaintenanceStatusDto status) {
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("error", "Service Temporarily Unavailable");
+        errorResponse.put("message", "The service is currently under maintenance");
+        errorResponse.put("maintenance", status);
+        // Date de prise en compte de l'état par cette instance
+        errorResponse.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        errorResponse.put("retryAfter", RETRY_AFTER_SECONDS);
+        try {
+            return objectMapper.writeValueAsString(errorResponse).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize maintenance response", e);
+        }
+    }
+}
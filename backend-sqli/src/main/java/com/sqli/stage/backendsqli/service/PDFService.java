@@ -2,175 +2,249 @@ package com.sqli.stage.backendsqli.service;
 
 import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectResponse;
 import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Enums.TypeProjet;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.w3c.dom.Document;
 import org.xhtmlrenderer.pdf.ITextRenderer;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Rendu PDF des projets : gabarit Thymeleaf templates/public-project.html (analysé une fois puis
+ * conservé par le cache du moteur) et pool de renderers Flying Saucer réutilisés d'un document à l'autre.
+ * Le pool borne aussi le nombre de rendus simultanés.
+ */
 @Service
+@Slf4j
 public class PDFService {
 
+    static final String TEMPLATE = "public-project";
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMMM yyyy", Locale.FRENCH);
+    private static final int INITIAL_BUFFER_SIZE = 32 * 1024;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class TeamMember {
+        private final String role;
+        private final String nom;
+        private final String email;
+    }
+
+    // Renderer et parseur XML réutilisés ensemble ; aucun des deux n'est thread-safe
+    private static final class PooledRenderer {
+        private final ITextRenderer renderer = new ITextRenderer();
+        private final DocumentBuilder documentBuilder;
+
+        private PooledRenderer(DocumentBuilderFactory factory) {
+            try {
+                this.documentBuilder = factory.newDocumentBuilder();
+            } catch (ParserConfigurationException e) {
+                throw new IllegalStateException("Parseur XML indisponible pour le rendu PDF", e);
+            }
+        }
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final DocumentBuilderFactory documentBuilderFactory;
+    private final BlockingQueue<PooledRenderer> renderers;
+    private final int poolSize;
+    private final long acquireTimeoutMillis;
+    // Base des ressources liées par le gabarit (feuille de style)
+    private final String baseUrl;
+
+    public PDFService(ITemplateEngine templateEngine,
+                      @Value("${pdf.renderer.pool-size:0}") int poolSize,
+                      @Value("${pdf.renderer.acquire-timeout-ms:10000}") long acquireTimeoutMillis) {
+        this.templateEngine = templateEngine;
+        this.poolSize = poolSize > 0 ? poolSize : Math.min(4, Runtime.getRuntime().availableProcessors());
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        URL templates = PDFService.class.getResource("/templates/");
+        this.baseUrl = templates != null ? templates.toExternalForm() : null;
+        this.documentBuilderFactory = newDocumentBuilderFactory();
+        this.renderers = new ArrayBlockingQueue<>(this.poolSize);
+        for (int i = 0; i < this.poolSize; i++) {
+            renderers.add(new PooledRenderer(documentBuilderFactory));
+        }
+    }
+
+    /**
+     * Premier rendu sur chaque renderer du pool : gabarit, feuille de style et polices sont chargés
+     * avant la première requête.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        ProjectResponse sample = new ProjectResponse();
+        sample.setTitre("Préchauffage");
+        sample.setStatut(StatutProjet.EN_COURS);
+        sample.setType(TypeProjet.Delivery);
+        sample.setTotalTasks(1);
+        String html = renderHtml(sample);
+
+        List<PooledRenderer> borrowed = new ArrayList<>();
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                PooledRenderer renderer = renderers.poll();
+                if (renderer == null) {
+                    break;
+                }
+                borrowed.add(renderer);
+                render(renderer, html, OutputStream.nullOutputStream());
+            }
+        } catch (Exception e) {
+            log.warn("PDF renderer warm-up failed: {}", e.getMessage());
+        } finally {
+            renderers.addAll(borrowed);
+        }
+        log.info("PDF renderers warmed up ({} renderer(s), {} ms)", borrowed.size(), System.currentTimeMillis() - start);
+    }
 
     /**
      * Génère un PDF pour un projet public
      */
     public byte[] generateProjectPDF(ProjectResponse project) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        writeProjectPDF(project, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Écrit le PDF directement dans out, sans copie intermédiaire. Le flux n'est pas fermé.
+     */
+    public void writeProjectPDF(ProjectResponse project, OutputStream out) throws IOException {
+        String html = renderHtml(project);
+        PooledRenderer renderer = acquire();
+        boolean reusable = false;
         try {
-            // Générer le HTML
-            String htmlContent = generateProjectHTML(project);
-            
-            // Convertir HTML en PDF
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ITextRenderer renderer = new ITextRenderer();
-            renderer.setDocumentFromString(htmlContent);
-            renderer.layout();
-            renderer.createPDF(baos);
-            
-            return baos.toByteArray();
+            render(renderer, html, out);
+            reusable = true;
         } catch (Exception e) {
             throw new IOException("Erreur lors de la génération du PDF", e);
+        } finally {
+            // Un renderer dans un état inconnu après une erreur est remplacé
+            renderers.offer(reusable ? renderer : new PooledRenderer(documentBuilderFactory));
         }
     }
 
-    private String generateProjectHTML(ProjectResponse project) {
-        StringBuilder html = new StringBuilder();
-        
-        // En-tête HTML avec styles CSS
-        html.append("<!DOCTYPE html>");
-        html.append("<html>");
-        html.append("<head>");
-        html.append("<meta charset='UTF-8'>");
-        html.append("<title>Projet ").append(escapeHtml(project.getTitre())).append("</title>");
-        html.append("<style>");
-        html.append("body { font-family: Arial, sans-serif; margin: 20px; color: #333; }");
-        html.append(".header { text-align: center; border-bottom: 2px solid #221933; padding-bottom: 20px; margin-bottom: 30px; }");
-        html.append(".title { font-size: 28px; font-weight: bold; color: #221933; margin-bottom: 10px; }");
-        html.append(".subtitle { font-size: 16px; color: #666; }");
-        html.append(".section { margin-bottom: 25px; border: 1px solid #ddd; padding: 20px; border-radius: 8px; }");
-        html.append(".section-title { font-size: 20px; font-weight: bold; color: #221933; margin-bottom: 15px; }");
-        html.append(".info-table { width: 100%; border-collapse: collapse; margin-bottom: 15px; }");
-        html.append(".info-table th, .info-table td { border: 1px solid #ddd; padding: 12px; text-align: left; }");
-        html.append(".info-table th { background-color: #f8f9fa; font-weight: bold; }");
-        html.append(".progress-bar { width: 100%; height: 25px; background-color: #f0f0f0; border-radius: 12px; overflow: hidden; margin: 10px 0; }");
-        html.append(".progress-fill { height: 100%; background: linear-gradient(90deg, #4f46e5, #7c3aed); transition: width 0.3s ease; }");
-        html.append(".team-member { margin-bottom: 15px; padding: 15px; background-color: #f8f9fa; border-radius: 6px; border-left: 4px solid #4f46e5; }");
-        html.append(".role { font-size: 12px; text-transform: uppercase; color: #666; font-weight: bold; margin-bottom: 5px; }");
-        html.append(".name { font-size: 16px; font-weight: bold; color: #333; margin-bottom: 5px; }");
-        html.append(".email { font-size: 14px; color: #666; }");
-        html.append(".footer { text-align: center; margin-top: 40px; padding-top: 20px; border-top: 1px solid #ddd; color: #666; font-size: 12px; }");
-        html.append("</style>");
-        html.append("</head>");
-        html.append("<body>");
-
-        // En-tête
-        html.append("<div class='header'>");
-        html.append("<div class='title'>").append(escapeHtml(project.getTitre())).append("</div>");
-        html.append("<div class='subtitle'>Statut: ").append(getStatusLabel(project.getStatut())).append("</div>");
-        html.append("</div>");
-
-        // Informations du projet
-        html.append("<div class='section'>");
-        html.append("<div class='section-title'>Informations du projet</div>");
-        html.append("<table class='info-table'>");
-        html.append("<tr><th>Type de projet</th><td>").append(escapeHtml(project.getTypeLabel() != null ? project.getTypeLabel() : project.getType().toString())).append("</td></tr>");
-        if (project.getDateDebut() != null) {
-            html.append("<tr><th>Date de début</th><td>").append(formatDate(project.getDateDebut())).append("</td></tr>");
-        }
-        if (project.getDateFin() != null) {
-            html.append("<tr><th>Date de fin</th><td>").append(formatDate(project.getDateFin())).append("</td></tr>");
+    String renderHtml(ProjectResponse project) {
+        Context context = new Context(Locale.FRENCH);
+        context.setVariable("titre", project.getTitre());
+        context.setVariable("statut", getStatusLabel(project.getStatut()));
+        context.setVariable("type", getTypeLabel(project));
+        context.setVariable("dateDebut", project.getDateDebut() != null ? formatDate(project.getDateDebut()) : null);
+        context.setVariable("dateFin", project.getDateFin() != null ? formatDate(project.getDateFin()) : null);
+        context.setVariable("description", project.getDescription() != null && !project.getDescription().trim().isEmpty()
+                ? project.getDescription() : null);
+        BigDecimal progression = project.getProgression();
+        context.setVariable("progression", progression != null ? progression.intValue() : 0);
+        context.setVariable("team", teamOf(project));
+
+        int total = project.getTotalTasks();
+        context.setVariable("totalTasks", total);
+        context.setVariable("completedTasks", project.getCompletedTasks());
+        context.setVariable("inProgressTasks", project.getInProgressTasks());
+        context.setVariable("completedPercent", percent(project.getCompletedTasks(), total));
+        context.setVariable("inProgressPercent", percent(project.getInProgressTasks(), total));
+        context.setVariable("generatedOn", formatDate(LocalDate.now()));
+        return templateEngine.process(TEMPLATE, context);
+    }
+
+    private void render(PooledRenderer pooled, String html, OutputStream out) throws Exception {
+        // setDocumentFromString recrée les fabriques XML à chaque document : le parseur est conservé ici
+        Document document = pooled.documentBuilder.parse(new InputSource(new StringReader(html)));
+        pooled.documentBuilder.reset();
+        pooled.renderer.setDocument(document, baseUrl);
+        pooled.renderer.layout();
+        // iText ferme le flux en fin de document : l'appelant garde la main sur le sien
+        pooled.renderer.createPDF(new NonClosingOutputStream(out));
+    }
+
+    private PooledRenderer acquire() throws IOException {
+        try {
+            PooledRenderer renderer = renderers.poll(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (renderer == null) {
+                throw new IOException("Aucun moteur PDF disponible après " + acquireTimeoutMillis + " ms");
+            }
+            return renderer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Génération du PDF interrompue", e);
         }
-        html.append("</table>");
-        html.append("</div>");
-
-        // Description
-        if (project.getDescription() != null && !project.getDescription().trim().isEmpty()) {
-            html.append("<div class='section'>");
-            html.append("<div class='section-title'>Description du projet</div>");
-            html.append("<p>").append(escapeHtml(project.getDescription())).append("</p>");
-            html.append("</div>");
+    }
+
+    private static DocumentBuilderFactory newDocumentBuilderFactory() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setExpandEntityReferences(false);
+        try {
+            // Le document est produit par le gabarit : aucune ressource externe à charger
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Configuration du parseur XML impossible", e);
         }
+        return factory;
+    }
 
-        // Progression
-        html.append("<div class='section'>");
-        html.append("<div class='section-title'>Progression du projet</div>");
-        int progression = project.getProgression() != null ? project.getProgression().intValue() : 0;
-        html.append("<p><strong>Progression: ").append(progression).append("%</strong></p>");
-        html.append("<div class='progress-bar'>");
-        html.append("<div class='progress-fill' style='width: ").append(progression).append("%'></div>");
-        html.append("</div>");
-        html.append("</div>");
-
-        // Équipe
-        html.append("<div class='section'>");
-        html.append("<div class='section-title'>Équipe du projet</div>");
-        
+    private List<TeamMember> teamOf(ProjectResponse project) {
+        List<TeamMember> team = new ArrayList<>();
         if (project.getClient() != null) {
-            html.append("<div class='team-member'>");
-            html.append("<div class='role'>Client</div>");
-            html.append("<div class='name'>").append(escapeHtml(project.getClient().getNom())).append("</div>");
-            html.append("<div class='email'>").append(escapeHtml(project.getClient().getEmail())).append("</div>");
-            html.append("</div>");
+            team.add(new TeamMember("Client", project.getClient().getNom(), project.getClient().getEmail()));
         }
-
         if (project.getCreatedBy() != null) {
-            html.append("<div class='team-member'>");
-            html.append("<div class='role'>Chef de projet</div>");
-            html.append("<div class='name'>").append(escapeHtml(project.getCreatedBy().getNom())).append("</div>");
-            html.append("<div class='email'>").append(escapeHtml(project.getCreatedBy().getEmail())).append("</div>");
-            html.append("</div>");
+            team.add(new TeamMember("Chef de projet", project.getCreatedBy().getNom(), project.getCreatedBy().getEmail()));
         }
-
-        if (project.getDeveloppeurs() != null && !project.getDeveloppeurs().isEmpty()) {
+        if (project.getDeveloppeurs() != null) {
             for (var dev : project.getDeveloppeurs()) {
-                html.append("<div class='team-member'>");
-                html.append("<div class='role'>Développeur</div>");
-                html.append("<div class='name'>").append(escapeHtml(dev.getNom())).append("</div>");
-                html.append("<div class='email'>").append(escapeHtml(dev.getEmail())).append("</div>");
-                html.append("</div>");
+                team.add(new TeamMember("Développeur", dev.getNom(), dev.getEmail()));
             }
         }
-        html.append("</div>");
-
-        // Tâches
-        if (project.getTotalTasks() > 0) {
-            html.append("<div class='section'>");
-            html.append("<div class='section-title'>Résumé des tâches</div>");
-            html.append("<table class='info-table'>");
-            html.append("<tr><th>Métrique</th><th>Valeur</th><th>Pourcentage</th></tr>");
-            
-            int total = project.getTotalTasks();
-            int completed = project.getCompletedTasks();
-            int inProgress = project.getInProgressTasks();
-            
-            html.append("<tr><td>Total des tâches</td><td>").append(total).append("</td><td>100%</td></tr>");
-            html.append("<tr><td>Tâches terminées</td><td>").append(completed).append("</td><td>")
-                .append(total > 0 ? String.format("%.1f%%", (completed * 100.0 / total)) : "0%").append("</td></tr>");
-            html.append("<tr><td>Tâches en cours</td><td>").append(inProgress).append("</td><td>")
-                .append(total > 0 ? String.format("%.1f%%", (inProgress * 100.0 / total)) : "0%").append("</td></tr>");
-            
-            html.append("</table>");
-            html.append("</div>");
-        }
-
-        // Pied de page
-        html.append("<div class='footer'>");
-        html.append("Document généré le ").append(formatDate(LocalDate.now()));
-        html.append("</div>");
+        return team;
+    }
 
-        html.append("</body>");
-        html.append("</html>");
+    private String getTypeLabel(ProjectResponse project) {
+        if (project.getTypeLabel() != null) return project.getTypeLabel();
+        return project.getType() != null ? project.getType().toString() : "Non défini";
+    }
 
-        return html.toString();
+    private String percent(int value, int total) {
+        return total > 0 ? String.format("%.1f%%", (value * 100.0 / total)) : "0%";
     }
 
     private String getStatusLabel(StatutProjet status) {
         if (status == null) return "Non défini";
-        
+
         return switch (status) {
             case EN_COURS -> "En cours";
             case TERMINE -> "Terminé";
@@ -185,12 +259,20 @@ public class PDFService {
         return date.format(DATE_FORMATTER);
     }
 
-    private String escapeHtml(String text) {
-        if (text == null) return "";
-        return text.replace("&", "&amp;")
-                  .replace("<", "&lt;")
-                  .replace(">", "&gt;")
-                  .replace("\"", "&quot;")
-                  .replace("'", "&#39;");
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
     }
 }
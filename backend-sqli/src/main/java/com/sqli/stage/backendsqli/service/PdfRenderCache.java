@@ -0,0 +1,223 @@
+package com.sqli.stage.backendsqli.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache des PDF de projets déjà rendus, borné en octets (LRU) et indexé par projet + ETag du document.
+ * L'ETag est calculé en base (ProjetService.getProjectDocumentStamp) : une modification faite sur une autre
+ * instance change la clé. La version locale, incrémentée par invalidate() à chaque modification du projet
+ * ou de ses tâches, écarte en plus un rendu fait pendant la transaction qui modifie le projet.
+ */
+@Component
+@Slf4j
+public class PdfRenderCache {
+
+    public record RenderKey(int projectId, long generation, long version, String etag) {
+    }
+
+    public record RenderedPdf(byte[] content, String filename) {
+    }
+
+    @FunctionalInterface
+    public interface PdfRenderer {
+        RenderedPdf render() throws IOException;
+    }
+
+    private record Entry(RenderedPdf pdf, long expiresAt) {
+    }
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long ttlMillis;
+
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LinkedHashMap<RenderKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    // Un seul rendu à la fois par clé : les requêtes simultanées attendent le même résultat
+    private final Map<RenderKey, CompletableFuture<RenderedPdf>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PdfRenderCache(@Value("${pdf.render-cache.max-bytes:33554432}") long maxBytes,
+                          @Value("${pdf.render-cache.max-entry-bytes:4194304}") long maxEntryBytes,
+                          @Value("${pdf.render-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Clé du contenu actuel du projet. À lire, comme l'ETag, avant de charger les données du projet.
+     */
+    public RenderKey currentKey(int projectId, String etag) {
+        return new RenderKey(projectId, generation.get(), versions.getOrDefault(projectId, 0L), etag);
+    }
+
+    /**
+     * Renvoie le PDF en cache pour cette clé, ou l'obtient avec renderer puis le met en cache.
+     * Un rendu null (projet introuvable) n'est pas conservé.
+     */
+    public RenderedPdf getOrRender(RenderKey key, PdfRenderer renderer) throws IOException {
+        RenderedPdf cached = get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<RenderedPdf> mine = new CompletableFuture<>();
+        CompletableFuture<RenderedPdf> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            hits.incrementAndGet();
+            return await(running);
+        }
+        try {
+            // Un rendu a pu se terminer entre la lecture du cache et l'inscription
+            cached = get(key);
+            if (cached == null) {
+                misses.incrementAndGet();
+                cached = renderer.render();
+                if (cached != null) {
+                    put(key, cached);
+                }
+            }
+            mine.complete(cached);
+            return cached;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * À appeler quand le projet ou l'une de ses tâches change. La version est incrémentée immédiatement
+     * et de nouveau après le commit : un rendu fait pendant la transaction n'est pas servi ensuite.
+     */
+    public void invalidate(Integer projectId) {
+        if (projectId == null) {
+            return;
+        }
+        bump(projectId);
+        afterCommit(() -> bump(projectId));
+    }
+
+    /**
+     * Changement touchant potentiellement tous les documents (nom ou email d'un utilisateur).
+     */
+    public void invalidateAll() {
+        clear();
+        afterCommit(this::clear);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return totalBytes;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private synchronized RenderedPdf get(RenderKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            remove(key);
+            return null;
+        }
+        return entry.pdf();
+    }
+
+    private synchronized void put(RenderKey key, RenderedPdf pdf) {
+        long size = pdf.content().length;
+        // Contenu déjà périmé ou document trop gros pour le cache
+        if (size > maxEntryBytes || size > maxBytes || ttlMillis <= 0 || !key.equals(currentKey(key.projectId(), key.etag()))) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry(pdf, System.currentTimeMillis() + ttlMillis));
+        totalBytes += size;
+
+        var eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().pdf().content().length;
+            eldest.remove();
+        }
+    }
+
+    private synchronized void bump(int projectId) {
+        versions.merge(projectId, 1L, Long::sum);
+        var it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            var entry = it.next();
+            if (entry.getKey().projectId() == projectId) {
+                totalBytes -= entry.getValue().pdf().content().length;
+                it.remove();
+            }
+        }
+        log.debug("PDF render cache invalidated for project {}", projectId);
+    }
+
+    private synchronized void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    private void remove(RenderKey key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.pdf().content().length;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private static RenderedPdf await(CompletableFuture<RenderedPdf> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
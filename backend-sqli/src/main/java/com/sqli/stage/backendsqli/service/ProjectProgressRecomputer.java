@@ -0,0 +1,139 @@
+package com.sqli.stage.backendsqli.service;
+
+import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recalcul différé et regroupé de la progression des projets. Une mutation de tâche marque son projet
+ * (après le commit) ; toutes les project.progress.debounce-ms, chaque projet marqué est recalculé une seule fois,
+ * quel que soit le nombre de tâches modifiées entre-temps. Les passages ne se chevauchent jamais :
+ * un projet n'est recalculé que par un thread à la fois.
+ * En mode synchrone (tests), le recalcul est fait immédiatement dans la transaction de l'appelant.
+ */
+@Service
+@Slf4j
+public class ProjectProgressRecomputer {
+
+    private final ProjetService projetService;
+    private final boolean asyncEnabled;
+
+    private final Set<Integer> dirtyProjects = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong recomputed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private final TransactionTemplate transaction;
+
+    public ProjectProgressRecomputer(ProjetService projetService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${project.progress.async.enabled:true}") boolean asyncEnabled) {
+        this.projetService = projetService;
+        this.asyncEnabled = asyncEnabled;
+        // REQUIRES_NEW : le passage peut aussi être déclenché depuis un thread qui a une transaction
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (asyncEnabled && !dirtyProjects.isEmpty()) {
+            log.info("Recomputing progress of {} pending project(s) on shutdown", dirtyProjects.size());
+            drain();
+        }
+    }
+
+    public void markDirty(Integer projectId) {
+        if (projectId == null) {
+            return;
+        }
+        requested.incrementAndGet();
+        if (!asyncEnabled) {
+            projetService.updateProjectProgress(projectId);
+            recomputed.incrementAndGet();
+            return;
+        }
+        // Rien pour une transaction annulée ; après le commit, le recalcul voit les tâches modifiées
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyProjects.add(projectId);
+                }
+            });
+        } else {
+            dirtyProjects.add(projectId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${project.progress.debounce-ms:500}",
+            initialDelayString = "${project.progress.debounce-ms:500}")
+    public synchronized void drain() {
+        if (dirtyProjects.isEmpty()) {
+            return;
+        }
+        // Retiré avant le recalcul : une mutation commitée ensuite marque à nouveau le projet
+        List<Integer> batch = new ArrayList<>();
+        for (Iterator<Integer> it = dirtyProjects.iterator(); it.hasNext(); ) {
+            batch.add(it.next());
+            it.remove();
+        }
+        for (Integer projectId : batch) {
+            recompute(projectId);
+        }
+    }
+
+    public int getPendingCount() {
+        return dirtyProjects.size();
+    }
+
+    public long getRequestedCount() {
+        return requested.get();
+    }
+
+    public long getRecomputedCount() {
+        return recomputed.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    // Nombre moyen de demandes couvertes par un recalcul (1 = aucun regroupement)
+    public double getCoalescingRatio() {
+        long done = recomputed.get();
+        return done > 0 ? (double) requested.get() / done : 0;
+    }
+
+    private void recompute(Integer projectId) {
+        try {
+            transaction.executeWithoutResult(status -> projetService.updateProjectProgress(projectId));
+            recomputed.incrementAndGet();
+        } catch (ResourceNotFoundException e) {
+            // Projet supprimé depuis la demande
+            recomputed.incrementAndGet();
+        } catch (OptimisticLockingFailureException e) {
+            // Projet modifié en même temps (@Version) : recalculé au passage suivant
+            dirtyProjects.add(projectId);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.warn("Could not recompute progress of project {}: {}", projectId, e.getMessage());
+        }
+    }
+}
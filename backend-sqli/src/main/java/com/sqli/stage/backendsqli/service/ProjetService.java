@@ -1,13 +1,16 @@
 package com.sqli.stage.backendsqli.service;
 
 import com.sqli.stage.backendsqli.dto.ProjectDTO.*;
+import com.sqli.stage.backendsqli.dto.ResourceStamp;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProjetService {
     ProjectResponse createProject(ProjectRequest request);
-    ProjectResponse updateProject(int id, ProjectRequest request);
+    // expectedVersion : version validée par If-Match (null sans précondition), comparée à celle du projet chargé
+    ProjectResponse updateProject(int id, ProjectRequest request, Long expectedVersion);
     void deleteProject(int id);
     ProjectResponse getProjectById(int id);
     List<ProjectResponse> getAllProjects();
@@ -30,4 +33,10 @@ public interface ProjetService {
 
     List<ProjectResponse> getProjectsForCurrentUser(); // selon rôle
 
+    // Validateurs des requêtes conditionnelles (ETag, If-Match), lus sans charger les projets ; vide si inconnu
+    Optional<ResourceStamp> getProjectStamp(int id);
+    Optional<ResourceStamp> getProjectsStamp();
+    // ETag du PDF d'un projet, identique sur toutes les instances
+    Optional<ResourceStamp> getProjectDocumentStamp(int id);
+
 }
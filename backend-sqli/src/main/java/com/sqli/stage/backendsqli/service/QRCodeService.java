@@ -1,19 +1,60 @@
 package com.sqli.stage.backendsqli.service;
 
-import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
+import com.sqli.stage.backendsqli.utils.QRCodeGenerator;
+import com.sqli.stage.backendsqli.utils.QRCodeGenerator.Format;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * QR codes des projets et QR codes personnalisés.
+ * Les images produites sont conservées dans un cache LRU borné en octets, indexé par contenu encodé + taille + format :
+ * une image ne dépend que de sa clé, elle peut donc être servie comme immuable.
+ */
 @Service
 public class QRCodeService {
 
+    public static final int PROJECT_QR_SIZE = 400;
+    public static final int CUSTOM_QR_SIZE = 300;
+
+    public record QrKey(String content, int size, Format format) {
+    }
+
+    public record QrImage(byte[] content, Format format, String etag) {
+    }
+
+    // URL de la page publique du frontend, qui appelle ensuite l'API backend
+    private final String publicBaseUrl;
+    private final int minSize;
+    private final int maxSize;
+    private final int maxContentLength;
+    private final long maxBytes;
+
+    private final LinkedHashMap<QrKey, QrImage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public QRCodeService(@Value("${qrcode.public-base-url:http://localhost:4200}") String publicBaseUrl,
+                         @Value("${qrcode.min-size:64}") int minSize,
+                         @Value("${qrcode.max-size:1000}") int maxSize,
+                         @Value("${qrcode.max-content-length:1024}") int maxContentLength,
+                         @Value("${qrcode.cache.max-bytes:8388608}") long maxBytes) {
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maxContentLength = maxContentLength;
+        this.maxBytes = maxBytes;
+    }
+
     /**
      * Génère un QR code pour un projet donné
      * @param projectId L'ID du projet
@@ -21,22 +62,7 @@ public class QRCodeService {
      * @return Le QR code en format byte array
      */
     public byte[] generateProjectQRCode(Long projectId, String projectName) throws WriterException, IOException {
-        // URL qui sera encodée dans le QR code - utiliser l'URL ngrok du frontend
-        // Le frontend aura une page publique qui appelle l'API backend
-        String projectUrl = "https://aleen-balsaminaceous-temeka.ngrok-free.dev/project/" + projectId;
-        
-        // Créer le contenu du QR code - juste l'URL de la page publique
-        String qrContent = projectUrl;
-        
-        // Générer le QR code avec une taille plus grande pour une meilleure lisibilité
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(qrContent, BarcodeFormat.QR_CODE, 400, 400);
-        
-        // Convertir en image
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
-        
-        return outputStream.toByteArray();
+        return getProjectQRCode(projectId, PROJECT_QR_SIZE, Format.PNG).content();
     }
 
     /**
@@ -46,17 +72,91 @@ public class QRCodeService {
      * @return Le QR code en format byte array
      */
     public byte[] generateCustomQRCode(String url, String title) throws WriterException, IOException {
-        // Créer le contenu du QR code
-        String qrContent = String.format("%s\n%s", title, url);
-        
-        // Générer le QR code
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(qrContent, BarcodeFormat.QR_CODE, 300, 300);
-        
-        // Convertir en image
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
-        
-        return outputStream.toByteArray();
+        return getCustomQRCode(url, title, CUSTOM_QR_SIZE, Format.PNG).content();
+    }
+
+    /**
+     * QR code encodant l'URL de la page publique du projet
+     */
+    public QrImage getProjectQRCode(Long projectId, int size, Format format) throws WriterException, IOException {
+        return getOrCreate(new QrKey(publicBaseUrl + "/project/" + projectId, size, format));
+    }
+
+    /**
+     * QR code encodant le titre puis l'URL
+     */
+    public QrImage getCustomQRCode(String url, String title, int size, Format format) throws WriterException, IOException {
+        return getOrCreate(new QrKey(String.format("%s\n%s", title, url), size, format));
+    }
+
+    public QrImage getOrCreate(QrKey key) throws WriterException, IOException {
+        if (key.size() < minSize || key.size() > maxSize) {
+            throw new IllegalArgumentException("Taille de QR code invalide : entre " + minSize + " et " + maxSize + " pixels");
+        }
+        if (key.content().length() > maxContentLength) {
+            throw new IllegalArgumentException("Contenu du QR code trop long (" + maxContentLength + " caractères max)");
+        }
+
+        QrImage cached = get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        byte[] content = QRCodeGenerator.generate(key.content(), key.size(), key.format());
+        QrImage image = new QrImage(content, key.format(), etag(content));
+        put(key, image);
+        return image;
+    }
+
+    public String getPublicBaseUrl() {
+        return publicBaseUrl;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return totalBytes;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private synchronized QrImage get(QrKey key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(QrKey key, QrImage image) {
+        long size = image.content().length;
+        if (size > maxBytes) {
+            return;
+        }
+        QrImage previous = entries.put(key, image);
+        if (previous != null) {
+            totalBytes -= previous.content().length;
+        }
+        totalBytes += size;
+
+        var eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().content().length;
+            eldest.remove();
+        }
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"qr-" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
     }
 }
@@ -0,0 +1,331 @@
+package com.sqli.stage.backendsqli.service;
+
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectResponse;
+import com.sqli.stage.backendsqli.dto.RapportDTO.ReportExportRequest;
+import com.sqli.stage.backendsqli.dto.RapportDTO.ReportJobResponse;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutRapport;
+import com.sqli.stage.backendsqli.entity.Rapport;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.exception.AccessdeniedException;
+import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
+import com.sqli.stage.backendsqli.repository.RapportRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports groupés : les PDF d'un ensemble de projets sont rendus en parallèle et écrits au fil de l'eau
+ * dans une archive ZIP du répertoire de spool, suivie par une ligne Rapport (soumission → statut → téléchargement).
+ * Le nombre d'exports simultanés et en attente est borné ; les archives sont locales à l'instance qui les produit
+ * et supprimées après report.export.retention-hours.
+ */
+@Service
+@Slf4j
+public class ReportExportService {
+
+    private static final List<StatutRapport> UNFINISHED = List.of(StatutRapport.EN_ATTENTE, StatutRapport.EN_COURS);
+
+    private final RapportRepository rapportRepository;
+    private final ProjetService projetService;
+    private final PDFService pdfService;
+    private final CurrentUserHolder currentUserHolder;
+
+    private final Path spoolDir;
+    private final int maxProjects;
+    private final int renderParallelism;
+    private final long retentionHours;
+
+    private final ThreadPoolExecutor jobExecutor;
+    private final ExecutorService renderExecutor;
+    // Nombre de PDF écrits dans l'archive, pour les exports en cours sur cette instance
+    private final Map<Long, AtomicInteger> progress = new ConcurrentHashMap<>();
+
+    public ReportExportService(RapportRepository rapportRepository,
+                               ProjetService projetService,
+                               PDFService pdfService,
+                               CurrentUserHolder currentUserHolder,
+                               @Value("${report.export.spool-dir:${java.io.tmpdir}/sqli-reports}") String spoolDir,
+                               @Value("${report.export.workers:2}") int workers,
+                               @Value("${report.export.queue-capacity:10}") int queueCapacity,
+                               @Value("${report.export.render-parallelism:2}") int renderParallelism,
+                               @Value("${report.export.max-projects:500}") int maxProjects,
+                               @Value("${report.export.retention-hours:24}") long retentionHours) {
+        this.rapportRepository = rapportRepository;
+        this.projetService = projetService;
+        this.pdfService = pdfService;
+        this.currentUserHolder = currentUserHolder;
+        this.spoolDir = Paths.get(spoolDir);
+        this.maxProjects = maxProjects;
+        this.renderParallelism = Math.max(1, renderParallelism);
+        this.retentionHours = retentionHours;
+        this.jobExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("report-export-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.renderExecutor = Executors.newFixedThreadPool(this.renderParallelism,
+                new CustomizableThreadFactory("report-render-"));
+    }
+
+    /**
+     * Enregistre l'export et le met en file. Les projets sont résolus et lus ici, avec les droits
+     * de l'utilisateur : l'archive reflète leur état au moment de la demande.
+     *
+     * @throws RejectedExecutionException si la file d'export est pleine
+     */
+    public ReportJobResponse submit(ReportExportRequest request) {
+        User user = currentUserHolder.find()
+                .orElseThrow(() -> new AccessdeniedException("Utilisateur non authentifié"));
+
+        Set<Integer> ids = request.getProjectIds() != null ? new HashSet<>(request.getProjectIds()) : null;
+        List<ProjectResponse> projects = projetService.getAllProjects().stream()
+                .filter(p -> request.getType() == null || request.getType() == p.getType())
+                .filter(p -> ids == null || ids.contains(p.getId()))
+                .toList();
+        if (projects.isEmpty()) {
+            throw new IllegalArgumentException("Aucun projet à exporter pour ce périmètre");
+        }
+        if (projects.size() > maxProjects) {
+            throw new IllegalArgumentException("Export limité à " + maxProjects + " projets (" + projects.size() + " demandés)");
+        }
+
+        Rapport rapport = new Rapport();
+        rapport.setStatut(StatutRapport.EN_ATTENTE);
+        rapport.setContenu(describe(request, projects.size()));
+        rapport.setDemandePar(user.getUsername());
+        rapport.setDateDemande(LocalDateTime.now());
+        rapport.setNombreProjets(projects.size());
+        Rapport saved = rapportRepository.save(rapport);
+
+        progress.put(saved.getId(), new AtomicInteger());
+        try {
+            jobExecutor.execute(() -> run(saved.getId(), projects));
+        } catch (RejectedExecutionException e) {
+            progress.remove(saved.getId());
+            finish(saved.getId(), StatutRapport.ECHEC, null, null, "File d'export pleine");
+            throw e;
+        }
+        log.info("Report export {} queued by {} ({} project(s))", saved.getId(), user.getUsername(), projects.size());
+        return toResponse(saved);
+    }
+
+    public ReportJobResponse getJob(Long id) {
+        return toResponse(findOwned(id));
+    }
+
+    public List<ReportJobResponse> getMyJobs() {
+        return rapportRepository.findTop50ByDemandeParOrderByDateDemandeDesc(currentUserHolder.getUsername()).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    public int getQueuedJobCount() {
+        return jobExecutor.getQueue().size();
+    }
+
+    public int getActiveJobCount() {
+        return jobExecutor.getActiveCount();
+    }
+
+    /**
+     * Archive d'un export terminé, si l'utilisateur y a accès et qu'elle n'a pas été purgée.
+     */
+    public Path getArchive(Long id) {
+        Rapport rapport = findOwned(id);
+        if (rapport.getStatut() != StatutRapport.TERMINE || rapport.getFichier() == null) {
+            throw new IllegalStateException("L'export " + id + " n'est pas disponible (statut " + rapport.getStatut() + ")");
+        }
+        Path archive = spoolDir.resolve(rapport.getFichier());
+        if (!Files.isReadable(archive)) {
+            throw new ResourceNotFoundException("Archive de l'export " + id + " introuvable sur cette instance");
+        }
+        return archive;
+    }
+
+    void run(Long id, List<ProjectResponse> projects) {
+        String fileName = "rapports-" + id + ".zip";
+        Path part = spoolDir.resolve(fileName + ".part");
+        try {
+            update(id, rapport -> rapport.setStatut(StatutRapport.EN_COURS));
+            Files.createDirectories(spoolDir);
+            AtomicInteger done = progress.computeIfAbsent(id, key -> new AtomicInteger());
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024))) {
+                // Les PDF sont déjà compressés : compression minimale de l'archive
+                zip.setLevel(Deflater.BEST_SPEED);
+                writeArchive(projects, zip, done);
+            }
+            Path archive = spoolDir.resolve(fileName);
+            Files.move(part, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finish(id, StatutRapport.TERMINE, fileName, Files.size(archive), null);
+            log.info("Report export {} completed ({} project(s))", id, projects.size());
+        } catch (Exception e) {
+            log.warn("Report export {} failed: {}", id, e.getMessage());
+            deleteQuietly(part);
+            finish(id, StatutRapport.ECHEC, null, null, truncate(e.getMessage()));
+        } finally {
+            progress.remove(id);
+        }
+    }
+
+    // Rendus en parallèle, écrits dans l'ordre : au plus 2 × render-parallelism PDF en mémoire par export
+    private void writeArchive(List<ProjectResponse> projects, ZipOutputStream zip, AtomicInteger done)
+            throws IOException, InterruptedException, ExecutionException {
+        Deque<Future<byte[]>> window = new ArrayDeque<>();
+        Deque<ProjectResponse> pending = new ArrayDeque<>();
+        try {
+            for (ProjectResponse project : projects) {
+                if (window.size() >= renderParallelism * 2) {
+                    writeEntry(zip, pending.poll(), window.poll().get());
+                    done.incrementAndGet();
+                }
+                window.add(renderExecutor.submit(() -> pdfService.generateProjectPDF(project)));
+                pending.add(project);
+            }
+            while (!window.isEmpty()) {
+                writeEntry(zip, pending.poll(), window.poll().get());
+                done.incrementAndGet();
+            }
+        } finally {
+            window.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void writeEntry(ZipOutputStream zip, ProjectResponse project, byte[] pdf) throws IOException {
+        String title = project.getTitre() != null ? project.getTitre().replaceAll("[^a-zA-Z0-9]", "-") : "sans-titre";
+        zip.putNextEntry(new ZipEntry("projet-" + project.getId() + "-" + title + ".pdf"));
+        zip.write(pdf);
+        zip.closeEntry();
+    }
+
+    @Scheduled(fixedDelayString = "${report.export.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        try {
+            for (Rapport rapport : rapportRepository.findByStatutAndDateFinBefore(StatutRapport.TERMINE, cutoff)) {
+                if (rapport.getFichier() != null) {
+                    deleteQuietly(spoolDir.resolve(rapport.getFichier()));
+                }
+                rapport.setStatut(StatutRapport.EXPIRE);
+                rapport.setFichier(null);
+                rapportRepository.save(rapport);
+            }
+            int stale = rapportRepository.failStale(UNFINISHED, cutoff, StatutRapport.ECHEC,
+                    "Export interrompu", LocalDateTime.now());
+            if (stale > 0) {
+                log.warn("{} report export(s) never completed, marked as failed", stale);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Report export purge failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        renderExecutor.shutdownNow();
+    }
+
+    private Rapport findOwned(Long id) {
+        Rapport rapport = rapportRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Export introuvable avec ID : " + id));
+        User user = currentUserHolder.find()
+                .orElseThrow(() -> new AccessdeniedException("Utilisateur non authentifié"));
+        if (user.getRole() != Role.ADMIN && !user.getUsername().equals(rapport.getDemandePar())) {
+            throw new AccessdeniedException("Vous n'avez pas accès à cet export");
+        }
+        return rapport;
+    }
+
+    private void finish(Long id, StatutRapport statut, String fichier, Long taille, String erreur) {
+        update(id, rapport -> {
+            rapport.setStatut(statut);
+            rapport.setFichier(fichier);
+            rapport.setTailleOctets(taille);
+            rapport.setErreur(erreur);
+            rapport.setDateFin(LocalDateTime.now());
+            if (statut == StatutRapport.TERMINE) {
+                rapport.setDateGeneration(LocalDate.now());
+            }
+        });
+    }
+
+    private void update(Long id, Consumer<Rapport> change) {
+        rapportRepository.findById(id).ifPresent(rapport -> {
+            change.accept(rapport);
+            rapportRepository.save(rapport);
+        });
+    }
+
+    private ReportJobResponse toResponse(Rapport rapport) {
+        AtomicInteger done = progress.get(rapport.getId());
+        int total = rapport.getNombreProjets() != null ? rapport.getNombreProjets() : 0;
+        return ReportJobResponse.builder()
+                .id(rapport.getId())
+                .statut(rapport.getStatut())
+                .perimetre(rapport.getContenu())
+                .nombreProjets(total)
+                .projetsTraites(rapport.getStatut() == StatutRapport.TERMINE ? total : done != null ? done.get() : 0)
+                .tailleOctets(rapport.getTailleOctets())
+                .dateDemande(rapport.getDateDemande())
+                .dateFin(rapport.getDateFin())
+                .erreur(rapport.getErreur())
+                .downloadUrl(rapport.getStatut() == StatutRapport.TERMINE ? "/api/reports/exports/" + rapport.getId() + "/download" : null)
+                .build();
+    }
+
+    private static String describe(ReportExportRequest request, int count) {
+        StringBuilder scope = new StringBuilder(count + " projet(s)");
+        if (request.getType() != null) {
+            scope.append(" de type ").append(request.getType());
+        }
+        if (request.getProjectIds() != null) {
+            scope.append(" sélectionné(s)");
+        }
+        return scope.toString();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to delete report file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.sqli.stage.backendsqli.service;
+
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchHit;
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchResponse;
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchType;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recherche sur les tâches, projets et utilisateurs en une seule requête SQL (UNION ALL des trois tables).
+ * Sur PostgreSQL, interroge les colonnes search_vector de la migration V9 (tenues à jour par trigger,
+ * index GIN, français et anglais sans accents) et classe par ts_rank_cd. Sans ces colonnes (H2 en test),
+ * repli sur des LIKE insensibles à la casse : tous les mots doivent apparaître, un mot du titre compte double.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    public enum Mode {
+        AUTO,      // plein texte si la base est PostgreSQL avec la migration V9, LIKE sinon
+        FULL_TEXT,
+        LIKE
+    }
+
+    private static final int EXCERPT_LENGTH = 200;
+
+    // Colonnes affichées et texte comparé par LIKE pour chaque table (alias e)
+    private record Source(SearchType type, String table, String title, String detail, String likeTitle) {
+    }
+
+    private static final List<Source> SOURCES = List.of(
+            new Source(SearchType.TASK, "tasks", "e.name", "e.description", "coalesce(e.name, '')"),
+            new Source(SearchType.PROJECT, "projects", "e.name", "e.description", "coalesce(e.name, '')"),
+            new Source(SearchType.USER, "users", "coalesce(e.nom, e.username)", "e.job_title",
+                    "coalesce(e.nom, '') || ' ' || coalesce(e.username, '')"));
+
+    // Partie de la requête propre au mode : préfixe WITH, tables jointes, score et filtre par source, paramètres
+    private record Criteria(String with, String from, Function<Source, String> score,
+                            Function<Source, String> where, Map<String, Object> parameters) {
+    }
+
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+
+    @Value("${search.mode:AUTO}")
+    private Mode mode;
+
+    @Value("${search.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${search.max-query-length:200}")
+    private int maxQueryLength;
+
+    @Value("${search.like.max-terms:8}")
+    private int maxLikeTerms;
+
+    private boolean fullText;
+
+    @PostConstruct
+    void init() {
+        fullText = switch (mode) {
+            case FULL_TEXT -> true;
+            case LIKE -> false;
+            case AUTO -> detectFullText();
+        };
+        log.info("Search engine: {}", fullText ? "PostgreSQL full-text (tsvector)" : "LIKE fallback");
+    }
+
+    public boolean isFullText() {
+        return fullText;
+    }
+
+    /**
+     * @param types types recherchés ; null pour tous, vide pour aucun
+     */
+    @Transactional(readOnly = true)
+    public SearchResponse search(String query, Collection<SearchType> types, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Le numéro de page doit être positif");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("La taille de page doit être comprise entre 1 et " + maxPageSize);
+        }
+        String normalized = normalize(query);
+        List<Source> sources = sourcesFor(types);
+        Criteria criteria = sources.isEmpty() ? null : criteriaFor(normalized);
+
+        Map<SearchType, Long> totals = criteria != null ? count(sources, criteria) : Map.of();
+        long total = totals.values().stream().mapToLong(Long::longValue).sum();
+        List<SearchHit> hits = total > (long) page * size ? fetch(sources, criteria, page * size, size) : List.of();
+
+        return SearchResponse.builder()
+                .query(normalized)
+                .page(page)
+                .size(size)
+                .totalElements(total)
+                .totalsByType(totals)
+                .content(hits)
+                .fullText(fullText)
+                .build();
+    }
+
+    /**
+     * Identifiants des meilleurs résultats d'un seul type, du plus pertinent au moins pertinent.
+     */
+    @Transactional(readOnly = true)
+    public List<Integer> searchIds(SearchType type, String query, int limit) {
+        Criteria criteria = criteriaFor(normalize(query));
+        if (criteria == null) {
+            return List.of();
+        }
+        return fetch(sourcesFor(List.of(type)), criteria, 0, Math.min(limit, maxPageSize)).stream()
+                .map(SearchHit::getId)
+                .toList();
+    }
+
+    private Map<SearchType, Long> count(List<Source> sources, Criteria criteria) {
+        String union = sources.stream()
+                .map(source -> "SELECT '" + source.type().name() + "' AS entite FROM " + source.table() + " e"
+                        + criteria.from() + " WHERE " + criteria.where().apply(source))
+                .collect(Collectors.joining(" UNION ALL "));
+        Query query = entityManager.createNativeQuery(
+                criteria.with() + "SELECT hits.entite, COUNT(*) FROM (" + union + ") hits GROUP BY hits.entite");
+        bind(query, criteria);
+
+        Map<SearchType, Long> totals = new EnumMap<>(SearchType.class);
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            totals.put(SearchType.valueOf(columns[0].toString().trim()), ((Number) columns[1]).longValue());
+        }
+        return totals;
+    }
+
+    private List<SearchHit> fetch(List<Source> sources, Criteria criteria, int offset, int limit) {
+        String union = sources.stream()
+                .map(source -> "SELECT '" + source.type().name() + "' AS entite, e.id AS id, " + source.title()
+                        + " AS titre, " + source.detail() + " AS extrait, " + criteria.score().apply(source)
+                        + " AS score FROM " + source.table() + " e" + criteria.from()
+                        + " WHERE " + criteria.where().apply(source))
+                .collect(Collectors.joining(" UNION ALL "));
+        Query query = entityManager.createNativeQuery(criteria.with()
+                + "SELECT hits.entite, hits.id, hits.titre, hits.extrait, hits.score FROM (" + union + ") hits "
+                + "ORDER BY hits.score DESC, hits.entite, hits.id");
+        bind(query, criteria);
+        query.setFirstResult(offset);
+        query.setMaxResults(limit);
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            hits.add(new SearchHit(
+                    SearchType.valueOf(columns[0].toString().trim()),
+                    ((Number) columns[1]).intValue(),
+                    (String) columns[2],
+                    excerpt((String) columns[3]),
+                    columns[4] != null ? ((Number) columns[4]).doubleValue() : 0));
+        }
+        return hits;
+    }
+
+    // null si la recherche ne contient aucun mot exploitable
+    private Criteria criteriaFor(String query) {
+        if (query.isEmpty()) {
+            return null;
+        }
+        if (fullText) {
+            // Un document correspond si la requête correspond dans l'une des deux langues
+            return new Criteria(
+                    "WITH q AS (SELECT websearch_to_tsquery('fr_unaccent', :q) || websearch_to_tsquery('en_unaccent', :q) AS query) ",
+                    ", q",
+                    source -> "ts_rank_cd(e.search_vector, q.query, 32)",
+                    source -> "e.search_vector @@ q.query",
+                    Map.of("q", query));
+        }
+
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(maxLikeTerms)
+                .toList();
+        if (terms.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            parameters.put("t" + i, "%" + escapeLike(terms.get(i)) + "%");
+        }
+        return new Criteria("", "",
+                source -> parameters.keySet().stream()
+                        .map(name -> "CASE WHEN " + like(source.likeTitle(), name) + " THEN 2 ELSE 0 END + "
+                                + "CASE WHEN " + like("coalesce(" + source.detail() + ", '')", name) + " THEN 1 ELSE 0 END")
+                        .collect(Collectors.joining(" + ")),
+                source -> parameters.keySet().stream()
+                        .map(name -> "(" + like(source.likeTitle(), name) + " OR "
+                                + like("coalesce(" + source.detail() + ", '')", name) + ")")
+                        .collect(Collectors.joining(" AND ")),
+                parameters);
+    }
+
+    private static String like(String expression, String parameter) {
+        return "lower(" + expression + ") LIKE :" + parameter + " ESCAPE '\\'";
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static void bind(Query query, Criteria criteria) {
+        criteria.parameters().forEach(query::setParameter);
+    }
+
+    private String normalize(String query) {
+        String normalized = query != null ? query.strip() : "";
+        if (normalized.length() > maxQueryLength) {
+            throw new IllegalArgumentException("La recherche ne doit pas dépasser " + maxQueryLength + " caractères");
+        }
+        return normalized;
+    }
+
+    private static List<Source> sourcesFor(Collection<SearchType> types) {
+        if (types == null) {
+            return SOURCES;
+        }
+        return SOURCES.stream().filter(source -> types.contains(source.type())).toList();
+    }
+
+    private static String excerpt(String text) {
+        if (text == null || text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        return text.substring(0, EXCERPT_LENGTH).stripTrailing() + "…";
+    }
+
+    private boolean detectFullText() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (!"PostgreSQL".equalsIgnoreCase(metaData.getDatabaseProductName())) {
+                return false;
+            }
+            try (ResultSet columns = metaData.getColumns(null, null, "tasks", "search_vector")) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+            log.warn("PostgreSQL database without search_vector columns (migration V9 not applied): search uses LIKE");
+            return false;
+        } catch (SQLException e) {
+            log.warn("Could not detect full-text search support, search uses LIKE: {}", e.getMessage());
+            return false;
+        }
+    }
+}
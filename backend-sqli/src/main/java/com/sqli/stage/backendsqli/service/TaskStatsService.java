@@ -0,0 +1,51 @@
+package com.sqli.stage.backendsqli.service;
+
+import com.sqli.stage.backendsqli.dto.AnalyticDTO.StatsReconciliationReport;
+import com.sqli.stage.backendsqli.entity.DeveloperTaskStats;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
+import com.sqli.stage.backendsqli.entity.Task;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface TaskStatsService {
+
+    // État d'une tâche vu par les statistiques (capturé avant/après une mutation)
+    record TaskSnapshot(Integer projectId, Integer developpeurId, StatutTache statut,
+                        int plannedHours, int effectiveHours, int remainingHours) {
+
+        public static TaskSnapshot of(Task task) {
+            return new TaskSnapshot(
+                    task.getProject() != null ? task.getProject().getId() : null,
+                    task.getDeveloppeur() != null ? task.getDeveloppeur().getId() : null,
+                    task.getStatut() != null ? task.getStatut() : StatutTache.NON_COMMENCE,
+                    task.getPlannedHours() != null ? task.getPlannedHours() : 0,
+                    task.getEffectiveHours() != null ? task.getEffectiveHours() : 0,
+                    task.getRemainingHours() != null ? task.getRemainingHours() : 0);
+        }
+    }
+
+    /**
+     * Applique la différence entre deux états d'une tâche aux statistiques projet et développeur.
+     * before vaut null pour une création, after vaut null pour une suppression.
+     */
+    void recordChange(TaskSnapshot before, TaskSnapshot after);
+
+    /**
+     * Variante groupée : les différences de tout un lot sont cumulées puis appliquées une fois par ligne de statistiques.
+     */
+    void recordChanges(Collection<TaskSnapshot> before, Collection<TaskSnapshot> after);
+
+    void onProjectDeleted(int projectId, Collection<Integer> developerIds);
+
+    ProjectTaskStats getProjectStats(int projectId);
+
+    Map<Integer, ProjectTaskStats> getProjectStats(Collection<Integer> projectIds);
+
+    DeveloperTaskStats getDeveloperStats(int developerId);
+
+    Map<Integer, DeveloperTaskStats> getDeveloperStats(Collection<Integer> developerIds);
+
+    StatsReconciliationReport reconcile();
+}
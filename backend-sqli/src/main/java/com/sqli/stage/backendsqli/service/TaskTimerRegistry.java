@@ -0,0 +1,235 @@
+package com.sqli.stage.backendsqli.service;
+
+import com.sqli.stage.backendsqli.entity.TaskTimer;
+import com.sqli.stage.backendsqli.repository.AccountAnalyticLineRepository;
+import com.sqli.stage.backendsqli.repository.TaskTimerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timers de tâches en cours, un par développeur, tenus en mémoire.
+ * Démarrer un timer n'écrit rien en base : les timers démarrés ou arrêtés depuis le dernier passage sont
+ * sauvegardés toutes les task.timer.checkpoint-interval-ms (et à l'arrêt de l'application), puis rechargés
+ * au démarrage. Un timer démarré juste avant un arrêt brutal peut donc être perdu, jamais compté deux fois.
+ * Chaque sauvegarde porte l'instance propriétaire, qui la rafraîchit à chaque passage : une instance ne reprend
+ * que ses propres sauvegardes et celles restées sans nouvelles depuis task.timer.orphan-after-ms.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTimerRegistry {
+
+    public record RunningTimer(int userId, int taskId, LocalDateTime startedAt) {
+    }
+
+    private final TaskTimerRepository taskTimerRepository;
+    private final AccountAnalyticLineRepository analyticLineRepository;
+
+    // Timer oublié : le pointage est plafonné
+    @Value("${task.timer.max-hours:12}")
+    private int maxHours;
+
+    // Identifiant stable d'une instance à l'autre (nom d'hôte) ; aléatoire si non renseigné
+    @Value("${task.timer.node-id:}")
+    private String nodeId;
+
+    // Sauvegarde non rafraîchie depuis ce délai : son instance est considérée arrêtée
+    @Value("${task.timer.orphan-after-ms:120000}")
+    private long orphanAfterMs;
+
+    private final Map<Integer, RunningTimer> running = new ConcurrentHashMap<>();
+    // Développeurs dont le timer a changé depuis la dernière sauvegarde
+    private final Set<Integer> dirtyUsers = ConcurrentHashMap.newKeySet();
+    // Timers dont la sauvegarde existe en base : leur arrêt doit la supprimer pour être pointé
+    private final Set<RunningTimer> checkpointed = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private final AtomicLong recoveredCount = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+    }
+
+    public Optional<RunningTimer> find(int userId) {
+        return Optional.ofNullable(running.get(userId));
+    }
+
+    /**
+     * Démarre un timer pour le développeur. L'appelant a déjà arrêté (et pointé) son timer précédent.
+     */
+    public RunningTimer start(int userId, int taskId) {
+        // À la seconde : le début doit être identique en mémoire, dans la sauvegarde et dans le pointage
+        RunningTimer timer = new RunningTimer(userId, taskId, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        running.put(userId, timer);
+        dirtyUsers.add(userId);
+        return timer;
+    }
+
+    public long elapsedSeconds(RunningTimer timer, LocalDateTime end) {
+        long seconds = Math.max(0, Duration.between(timer.startedAt(), end).getSeconds());
+        return Math.min(seconds, maxHours * 3600L);
+    }
+
+    /**
+     * Retire le timer arrêté et sa sauvegarde, dans la transaction du pointage ; false s'il a déjà été arrêté
+     * par une autre requête, ou, une fois sauvegardé, si sa sauvegarde a été supprimée par une autre instance
+     * qui l'a repris et arrêté. Si la transaction est annulée, le timer reprend.
+     */
+    public boolean release(RunningTimer timer) {
+        if (!running.remove(timer.userId(), timer)) {
+            return false;
+        }
+        dirtyUsers.add(timer.userId());
+        boolean saved = checkpointed.remove(timer);
+        // Un timer jamais sauvegardé n'est connu d'aucune autre instance : pas de ligne à supprimer
+        if (taskTimerRepository.deleteRunning(timer.userId(), timer.startedAt()) != 1 && saved) {
+            log.warn("Task timer of user {} started at {} was already stopped by another instance",
+                    timer.userId(), timer.startedAt());
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED && running.putIfAbsent(timer.userId(), timer) == null) {
+                        if (saved) {
+                            checkpointed.add(timer);
+                        }
+                        dirtyUsers.add(timer.userId());
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    // Tâche supprimée : ses timers et leurs sauvegardes disparaissent sans pointage
+    public void discardTask(int taskId) {
+        taskTimerRepository.deleteByTaskId(taskId);
+        running.values().removeIf(timer -> {
+            if (timer.taskId() == taskId) {
+                checkpointed.remove(timer);
+                dirtyUsers.add(timer.userId());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    public long getCheckpointCount() {
+        return checkpointCount.get();
+    }
+
+    public long getRecoveredCount() {
+        return recoveredCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${task.timer.checkpoint-interval-ms:30000}",
+               initialDelayString = "${task.timer.checkpoint-interval-ms:30000}")
+    public synchronized void checkpoint() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            // Battement de cœur : les sauvegardes de cette instance ne sont pas reprises par les autres
+            if (!checkpointed.isEmpty()) {
+                taskTimerRepository.heartbeat(nodeId, now);
+            }
+            adopt(taskTimerRepository.findOrphaned(now.minusNanos(orphanAfterMs * 1_000_000)));
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh task timer checkpoints: {}", e.getMessage());
+        }
+        if (dirtyUsers.isEmpty()) {
+            return;
+        }
+        List<Integer> users = new ArrayList<>();
+        for (Iterator<Integer> it = dirtyUsers.iterator(); it.hasNext(); ) {
+            users.add(it.next());
+            it.remove();
+        }
+        for (Integer userId : users) {
+            try {
+                RunningTimer timer = running.get(userId);
+                if (timer == null) {
+                    taskTimerRepository.deleteByUserId(userId);
+                } else {
+                    taskTimerRepository.save(new TaskTimer(userId, timer.taskId(), timer.startedAt(), now, nodeId));
+                    checkpointed.add(timer);
+                }
+                checkpointCount.incrementAndGet();
+            } catch (RuntimeException e) {
+                // Retenté au prochain passage
+                dirtyUsers.add(userId);
+                log.warn("Could not checkpoint task timer of user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    // Au démarrage : sauvegardes de cette instance (même task.timer.node-id) et sauvegardes orphelines
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recover() {
+        adopt(taskTimerRepository.findRecoverable(nodeId,
+                LocalDateTime.now().minusNanos(orphanAfterMs * 1_000_000)));
+    }
+
+    private void adopt(List<TaskTimer> candidates) {
+        int recovered = 0;
+        for (TaskTimer saved : candidates) {
+            if (running.containsKey(saved.getUserId())) {
+                continue;
+            }
+            // Deux instances peuvent voir la même sauvegarde orpheline : une seule la prend
+            if (taskTimerRepository.claim(saved.getUserId(), saved.getStartedAt(), saved.getCheckpointedAt(),
+                    nodeId, LocalDateTime.now()) != 1) {
+                continue;
+            }
+            // Timer arrêté et pointé juste avant l'arrêt, mais dont la sauvegarde n'avait pas encore été supprimée
+            if (analyticLineRepository.existsByEmployeeIdAndTaskIdAndStartedAt(
+                    saved.getUserId(), saved.getTaskId(), saved.getStartedAt())) {
+                dirtyUsers.add(saved.getUserId());
+                continue;
+            }
+            RunningTimer timer = new RunningTimer(saved.getUserId(), saved.getTaskId(), saved.getStartedAt());
+            if (running.putIfAbsent(saved.getUserId(), timer) == null) {
+                checkpointed.add(timer);
+                recovered++;
+            }
+        }
+        recoveredCount.addAndGet(recovered);
+        if (recovered > 0) {
+            log.info("Recovered {} running task timer(s) from their checkpoints", recovered);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        checkpoint();
+    }
+}
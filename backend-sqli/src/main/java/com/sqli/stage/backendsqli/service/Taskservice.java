@@ -1,6 +1,8 @@
 package com.sqli.stage.backendsqli.service;
 
+import com.sqli.stage.backendsqli.dto.ResourceStamp;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskFilterRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskPatchRequest;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskRequest;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
 import com.sqli.stage.backendsqli.dto.TaskDTO.TaskProgressResponse;
@@ -10,10 +12,16 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface Taskservice {
     TaskResponse createTask(TaskRequest request);
-    TaskResponse updateTask(int id, TaskRequest request);
+    // expectedVersion : version validée par If-Match (null sans précondition), comparée à celle de la tâche chargée
+    TaskResponse updateTask(int id, TaskRequest request, Long expectedVersion);
+
+    // Opérations groupées, tout ou rien (POST / PATCH /api/tasks/bulk)
+    List<TaskResponse> createTasks(List<TaskRequest> requests);
+    List<TaskResponse> updateTasks(List<TaskPatchRequest> requests);
     void deleteTask(int id);
     TaskResponse getTaskById(int id);
     List<TaskResponse> searchTasksByKeyword(String keyword);
@@ -28,7 +36,7 @@ public interface Taskservice {
     List<TaskResponse> getPlanningForCurrentUser();
     Map<StatutTache, Long> getWorkloadForCurrentUser(); // déplacer dans un futur AnalyticsService
     public Page<TaskResponse> getAllTasksPaged(Pageable pageable);
-    List<TaskResponse> filterTasks(TaskFilterRequest filter);
+    Page<TaskResponse> filterTasks(TaskFilterRequest filter);
     public TaskResponse markTaskAsFinished(int taskId);
     public TaskResponse markTaskAsInProgress(int taskId);
 
@@ -46,4 +54,9 @@ public interface Taskservice {
     
     // Priority tasks for chef
     List<TaskResponse> getPriorityTasksForChef();
+
+    // Validateurs des requêtes conditionnelles (ETag, If-Match), lus sans charger les tâches ; vide si inconnu
+    Optional<ResourceStamp> getTaskStamp(int id);
+    Optional<ResourceStamp> getTasksStamp();
+    Optional<ResourceStamp> getProjectTasksStamp(int projectId);
 }
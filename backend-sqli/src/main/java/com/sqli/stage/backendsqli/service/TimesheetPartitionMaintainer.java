@@ -0,0 +1,56 @@
+package com.sqli.stage.backendsqli.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Partitions mensuelles de account_analytic_line sur PostgreSQL (migration V12) : celles des
+ * timesheet.partitions.months-ahead prochains mois sont créées à l'avance, au démarrage puis chaque mois.
+ * Rien à faire sur une autre base (table non partitionnée).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimesheetPartitionMaintainer {
+
+    private final DataSource dataSource;
+
+    @Value("${timesheet.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${timesheet.partitions.cron:0 0 4 1 * *}")
+    public void createUpcomingPartitions() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            LocalDate firstDay = LocalDate.now().withDayOfMonth(1);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT ensure_account_analytic_line_partitions(?, ?)")) {
+                statement.setObject(1, firstDay);
+                statement.setObject(2, firstDay.plusMonths(monthsAhead));
+                try (ResultSet result = statement.executeQuery()) {
+                    if (result.next() && result.getInt(1) > 0) {
+                        log.info("Created {} account_analytic_line partition(s)", result.getInt(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            // Migration V12 non appliquée : les pointages restent dans une table non partitionnée
+            log.warn("Could not create account_analytic_line partitions: {}", e.getMessage());
+        }
+    }
+}
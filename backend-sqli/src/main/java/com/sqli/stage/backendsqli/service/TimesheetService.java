@@ -0,0 +1,468 @@
+package com.sqli.stage.backendsqli.service;
+
+import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogRequest;
+import com.sqli.stage.backendsqli.dto.TimesheetDTO.TimeEntryRequest;
+import com.sqli.stage.backendsqli.dto.TimesheetDTO.TimeEntryResponse;
+import com.sqli.stage.backendsqli.dto.TimesheetDTO.TimesheetRollupResponse;
+import com.sqli.stage.backendsqli.entity.AccountAnalyticLine;
+import com.sqli.stage.backendsqli.entity.Enums.EntityName;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.SourcePointage;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetPeriod;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetScope;
+import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.TimesheetRollup;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.exception.AccessdeniedException;
+import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
+import com.sqli.stage.backendsqli.repository.AccountAnalyticLineRepository;
+import com.sqli.stage.backendsqli.repository.Projection.TimeEntrySnapshot;
+import com.sqli.stage.backendsqli.repository.Projection.TimeTotal;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.TimesheetRollupRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import com.sqli.stage.backendsqli.service.TaskStatsService.TaskSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pointages (account_analytic_line) et cumuls de temps par développeur, tâche et projet.
+ * Chaque création, modification ou suppression de pointage met à jour dans la même transaction le temps
+ * de la tâche (ajout atomique) et les lignes de cumul concernées (3 axes x jour, semaine, mois) :
+ * les rapports lisent timesheet_rollups, jamais les pointages bruts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimesheetService {
+
+    public record TrackedTime(AccountAnalyticLine line, Task task) {
+    }
+
+    private static final BigDecimal SECONDS_PER_HOUR = BigDecimal.valueOf(3600);
+    private static final long MAX_ENTRY_SECONDS = 24 * 3600L;
+    private static final long MAX_DAILY_RANGE_DAYS = 366;
+    private static final long MAX_RANGE_DAYS = 5 * 366;
+
+    // Une ligne de cumul ; verrouillées dans cet ordre (pas d'interblocage)
+    private record RollupKey(TimesheetScope scope, TimesheetPeriod granularity, Integer ownerId, LocalDate periodStart) {
+    }
+
+    private static final Comparator<RollupKey> LOCK_ORDER = Comparator.comparing(RollupKey::scope)
+            .thenComparing(RollupKey::granularity)
+            .thenComparing(RollupKey::ownerId)
+            .thenComparing(RollupKey::periodStart);
+
+    // Ce qu'un pointage apporte aux cumuls
+    private record EntryState(Integer employeeId, Integer taskId, Integer projectId, LocalDate date, long seconds) {
+
+        static EntryState of(AccountAnalyticLine line) {
+            return new EntryState(line.getEmployee().getId(), line.getTask().getId(), line.getProjectId(),
+                    line.getDate(), line.getDurationSeconds() != null ? line.getDurationSeconds() : 0);
+        }
+
+        static EntryState of(TimeEntrySnapshot snapshot) {
+            return new EntryState(snapshot.getEmployeeId(), snapshot.getTaskId(), snapshot.getProjectId(),
+                    snapshot.getDate(), snapshot.getSeconds() != null ? snapshot.getSeconds() : 0);
+        }
+
+        Map<TimesheetScope, Integer> owners() {
+            Map<TimesheetScope, Integer> owners = new EnumMap<>(TimesheetScope.class);
+            owners.put(TimesheetScope.EMPLOYEE, employeeId);
+            owners.put(TimesheetScope.TASK, taskId);
+            owners.put(TimesheetScope.PROJECT, projectId);
+            return owners;
+        }
+    }
+
+    private final AccountAnalyticLineRepository analyticLineRepository;
+    private final TimesheetRollupRepository rollupRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskStatsService taskStatsService;
+    private final PdfRenderCache pdfRenderCache;
+    private final CurrentUserHolder currentUserHolder;
+    private final HistoriqueService historiqueService;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    void init() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Enregistre un pointage (timer arrêté ou saisie) et l'ajoute au temps de la tâche et aux cumuls.
+     * @param start début exact, null pour une saisie à la journée
+     */
+    @Transactional
+    public TrackedTime record(Task task, User employee, LocalDate date, LocalDateTime start, long seconds,
+                              SourcePointage source) {
+        AccountAnalyticLine line = new AccountAnalyticLine();
+        line.setTask(task);
+        line.setEmployee(userRepository.getReferenceById(employee.getId()));
+        line.setProjectId(task.getProject() != null ? task.getProject().getId() : null);
+        line.setDate(date);
+        line.setStartedAt(start);
+        line.setEndedAt(start != null ? start.plusSeconds(seconds) : null);
+        setDuration(line, seconds);
+        line.setSource(source);
+        analyticLineRepository.save(line);
+
+        applyToRollups(List.of(), List.of(EntryState.of(line)));
+        return new TrackedTime(line, adjustTaskTime(task, seconds));
+    }
+
+    @Transactional
+    public TimeEntryResponse createEntry(TimeEntryRequest request) {
+        User current = getCurrentUser();
+        Task task = taskRepository.findById(request.getTaskId())
+                .orElseThrow(() -> new ResourceNotFoundException("Tâche introuvable"));
+        if (task.getDeveloppeur() == null || !task.getDeveloppeur().getId().equals(current.getId())) {
+            throw new AccessdeniedException("Seul le développeur assigné peut pointer sur cette tâche.");
+        }
+        long seconds = toSeconds(request);
+
+        TrackedTime tracked = record(task, current, request.getDate(), null, seconds, SourcePointage.MANUEL);
+        logAction(TypeOperation.CREATION, "Pointage de " + tracked.line().getHours() + " h le " + request.getDate(),
+                tracked.task(), current);
+        return toResponse(tracked.line(), tracked.task());
+    }
+
+    @Transactional
+    public TimeEntryResponse updateEntry(int id, TimeEntryRequest request) {
+        User current = getCurrentUser();
+        AccountAnalyticLine line = findOwnEntry(id, current);
+        if (request.getTaskId() != null && !request.getTaskId().equals(line.getTask().getId())) {
+            throw new IllegalArgumentException("La tâche d'un pointage ne peut pas être modifiée.");
+        }
+        long seconds = toSeconds(request);
+
+        EntryState before = EntryState.of(line);
+        line.setDate(request.getDate());
+        setDuration(line, seconds);
+        if (line.getStartedAt() != null) {
+            line.setEndedAt(line.getStartedAt().plusSeconds(seconds));
+        }
+        analyticLineRepository.save(line);
+
+        applyToRollups(List.of(before), List.of(EntryState.of(line)));
+        Task task = adjustTaskTime(line.getTask(), seconds - before.seconds());
+        logAction(TypeOperation.MODIFICATION, "Modification du pointage " + id + " (" + line.getHours() + " h le "
+                + line.getDate() + ")", task, current);
+        return toResponse(line, task);
+    }
+
+    @Transactional
+    public void deleteEntry(int id) {
+        User current = getCurrentUser();
+        AccountAnalyticLine line = findOwnEntry(id, current);
+        EntryState before = EntryState.of(line);
+        Task task = line.getTask();
+
+        analyticLineRepository.delete(line);
+        applyToRollups(List.of(before), List.of());
+        Task updated = adjustTaskTime(task, -before.seconds());
+        logAction(TypeOperation.SUPPRESSION, "Suppression du pointage " + id + " (" + line.getHours() + " h le "
+                + before.date() + ")", updated, current);
+    }
+
+    /**
+     * Pointages d'un développeur (le sien par défaut ; ceux des autres pour un admin ou un chef de projet).
+     */
+    @Transactional(readOnly = true)
+    public List<TimeEntryResponse> getEntries(Integer employeeId, LocalDate from, LocalDate to) {
+        User current = getCurrentUser();
+        Integer target = employeeId != null ? employeeId : current.getId();
+        if (!target.equals(current.getId()) && !canReadAll(current)) {
+            throw new AccessdeniedException("Non autorisé à consulter les pointages de ce développeur.");
+        }
+        checkRange(from, to, MAX_DAILY_RANGE_DAYS);
+        return analyticLineRepository.findByEmployeeInRange(target, from, to).stream()
+                .map(line -> toResponse(line, line.getTask()))
+                .toList();
+    }
+
+    /**
+     * Cumuls des périodes qui commencent entre from et to (la période contenant from incluse).
+     * @param ownerIds développeurs, tâches ou projets ; null pour tous (le développeur connecté pour un développeur)
+     */
+    @Transactional(readOnly = true)
+    public List<TimesheetRollupResponse> getRollups(TimesheetScope scope, TimesheetPeriod period,
+                                                    Collection<Integer> ownerIds, LocalDate from, LocalDate to) {
+        User current = getCurrentUser();
+        checkRange(from, to, period == TimesheetPeriod.DAY ? MAX_DAILY_RANGE_DAYS : MAX_RANGE_DAYS);
+        if (!canReadAll(current)) {
+            // Un développeur ne voit que son propre temps
+            if (scope != TimesheetScope.EMPLOYEE
+                    || (ownerIds != null && ownerIds.stream().anyMatch(id -> !id.equals(current.getId())))) {
+                throw new AccessdeniedException("Non autorisé à consulter ces cumuls de temps.");
+            }
+            ownerIds = List.of(current.getId());
+        }
+
+        LocalDate first = periodStart(period, from);
+        List<TimesheetRollup> rollups;
+        if (ownerIds == null) {
+            rollups = rollupRepository.findRangeForAllOwners(scope, period, first, to);
+        } else if (ownerIds.isEmpty()) {
+            rollups = List.of();
+        } else {
+            rollups = rollupRepository.findRange(scope, period, ownerIds, first, to);
+        }
+        return rollups.stream()
+                .map(rollup -> TimesheetRollupResponse.builder()
+                        .scope(rollup.getScope())
+                        .ownerId(rollup.getOwnerId())
+                        .period(rollup.getGranularity())
+                        .periodStart(rollup.getPeriodStart())
+                        .periodEnd(periodEnd(rollup.getGranularity(), rollup.getPeriodStart()))
+                        .seconds(rollup.getSeconds())
+                        .hours(toHours(rollup.getSeconds()))
+                        .entries(rollup.getEntries())
+                        .build())
+                .toList();
+    }
+
+    // Avant la suppression de tâches (leurs pointages partent en cascade) : leur temps est retiré des cumuls
+    @Transactional
+    public void onTasksDeleted(Collection<Integer> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        List<EntryState> entries = analyticLineRepository.findSnapshotsByTaskIdIn(taskIds).stream()
+                .map(EntryState::of)
+                .toList();
+        applyToRollups(entries, List.of());
+        rollupRepository.deleteByScopeAndOwnerIdIn(TimesheetScope.TASK, taskIds);
+    }
+
+    @Transactional
+    public void onProjectDeleted(int projectId, Collection<Integer> taskIds) {
+        onTasksDeleted(taskIds);
+        rollupRepository.deleteByScopeAndOwnerIdIn(TimesheetScope.PROJECT, List.of(projectId));
+    }
+
+    public static LocalDate periodStart(TimesheetPeriod period, LocalDate date) {
+        return switch (period) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public static LocalDate periodEnd(TimesheetPeriod period, LocalDate start) {
+        return switch (period) {
+            case DAY -> start;
+            case WEEK -> start.plusDays(6);
+            case MONTH -> start.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+
+    // Ajout atomique au temps de la tâche : pas de lecture-modification-écriture concurrente
+    private Task adjustTaskTime(Task task, long seconds) {
+        TaskSnapshot before = TaskSnapshot.of(task);
+        long trackedBefore = trackedSeconds(task);
+        // Jamais sous zéro (heures effectives ressaisies à la main depuis le pointage)
+        long delta = Math.max(seconds, -trackedBefore);
+
+        taskRepository.addTrackedSeconds(task.getId(), delta);
+        // Seule la tâche est relue après la mise à jour (qui verrouille la ligne jusqu'au commit) :
+        // les autres entités de la transaction restent attachées
+        Task updated = taskRepository.findById(task.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Tâche introuvable"));
+        entityManager.refresh(updated);
+        TaskSnapshot after = TaskSnapshot.of(updated);
+        if (trackedSeconds(updated) - delta != trackedBefore) {
+            // Temps ajouté entre-temps par une autre requête : l'état précédent est celui de la ligne, moins ce pointage
+            int effective = (int) ((trackedSeconds(updated) - delta + 1800) / 3600);
+            before = new TaskSnapshot(after.projectId(), after.developpeurId(), after.statut(), after.plannedHours(),
+                    effective, Math.max(0, after.plannedHours() - effective));
+        }
+        taskStatsService.recordChange(before, after);
+        pdfRenderCache.invalidate(after.projectId());
+        return updated;
+    }
+
+    private static long trackedSeconds(Task task) {
+        if (task.getEffectiveSeconds() != null) {
+            return task.getEffectiveSeconds();
+        }
+        return task.getEffectiveHours() != null ? task.getEffectiveHours() * 3600L : 0;
+    }
+
+    private void applyToRollups(Collection<EntryState> before, Collection<EntryState> after) {
+        Map<RollupKey, long[]> deltas = new TreeMap<>(LOCK_ORDER);
+        before.forEach(entry -> accumulate(deltas, entry, -1));
+        after.forEach(entry -> accumulate(deltas, entry, 1));
+
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                TimesheetRollup rollup = lock(key);
+                rollup.setSeconds(rollup.getSeconds() + delta[0]);
+                rollup.setEntries(rollup.getEntries() + delta[1]);
+                rollup.setUpdatedAt(now);
+            }
+        });
+    }
+
+    // Différence (secondes, nombre de pointages) par ligne de cumul
+    private static void accumulate(Map<RollupKey, long[]> deltas, EntryState entry, int sign) {
+        entry.owners().forEach((scope, ownerId) -> {
+            if (ownerId == null) {
+                return;
+            }
+            for (TimesheetPeriod period : TimesheetPeriod.values()) {
+                long[] delta = deltas.computeIfAbsent(
+                        new RollupKey(scope, period, ownerId, periodStart(period, entry.date())), key -> new long[2]);
+                delta[0] += sign * entry.seconds();
+                delta[1] += sign;
+            }
+        });
+    }
+
+    private TimesheetRollup lock(RollupKey key) {
+        return findForUpdate(key).orElseGet(() -> {
+            createMissing(key);
+            return findForUpdate(key).orElseThrow();
+        });
+    }
+
+    private java.util.Optional<TimesheetRollup> findForUpdate(RollupKey key) {
+        return rollupRepository.findForUpdate(key.scope(), key.granularity(), key.ownerId(), key.periodStart());
+    }
+
+    /**
+     * Première ligne d'un cumul : calculée dans une transaction séparée à partir des pointages déjà validés,
+     * la transaction appelante y appliquant ensuite sa propre différence.
+     */
+    private void createMissing(RollupKey key) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (findForUpdate(key).isPresent()) {
+                    return;
+                }
+                LocalDate end = periodEnd(key.granularity(), key.periodStart());
+                TimeTotal total = switch (key.scope()) {
+                    case EMPLOYEE -> analyticLineRepository.totalByEmployee(key.ownerId(), key.periodStart(), end);
+                    case TASK -> analyticLineRepository.totalByTask(key.ownerId(), key.periodStart(), end);
+                    case PROJECT -> analyticLineRepository.totalByProject(key.ownerId(), key.periodStart(), end);
+                };
+                TimesheetRollup rollup = new TimesheetRollup(key.scope(), key.granularity(), key.ownerId(), key.periodStart());
+                rollup.setSeconds(total.getSeconds() != null ? total.getSeconds() : 0);
+                rollup.setEntries(total.getEntries() != null ? total.getEntries() : 0);
+                rollup.setUpdatedAt(LocalDateTime.now());
+                rollupRepository.saveAndFlush(rollup);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Créée en parallèle par une autre transaction : la ligne existe, c'est suffisant
+            log.debug("Timesheet rollup row created concurrently: {}", key);
+        }
+    }
+
+    private AccountAnalyticLine findOwnEntry(int id, User current) {
+        AccountAnalyticLine line = analyticLineRepository.findWithTaskById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pointage introuvable"));
+        if (!line.getEmployee().getId().equals(current.getId()) && !Role.ADMIN.equals(current.getRole())) {
+            throw new AccessdeniedException("Non autorisé à modifier ce pointage.");
+        }
+        return line;
+    }
+
+    private static long toSeconds(TimeEntryRequest request) {
+        if (request.getDate() == null || request.getHours() == null) {
+            throw new IllegalArgumentException("La date et le nombre d'heures sont requis.");
+        }
+        if (request.getDate().isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Impossible de pointer sur une date future.");
+        }
+        long seconds = request.getHours().multiply(SECONDS_PER_HOUR).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        if (seconds <= 0 || seconds > MAX_ENTRY_SECONDS) {
+            throw new IllegalArgumentException("Le nombre d'heures doit être compris entre 0 et 24.");
+        }
+        return seconds;
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to, long maxDays) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Les dates de début et de fin sont requises.");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure ou égale à la date de début.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new IllegalArgumentException("La période demandée ne doit pas dépasser " + maxDays + " jours.");
+        }
+    }
+
+    private static void setDuration(AccountAnalyticLine line, long seconds) {
+        line.setDurationSeconds(seconds);
+        line.setHours(toHours(seconds));
+    }
+
+    private static BigDecimal toHours(long seconds) {
+        return BigDecimal.valueOf(seconds).divide(SECONDS_PER_HOUR, 2, RoundingMode.HALF_UP);
+    }
+
+    private static boolean canReadAll(User user) {
+        return Role.ADMIN.equals(user.getRole()) || Role.CHEF_DE_PROJET.equals(user.getRole());
+    }
+
+    private static TimeEntryResponse toResponse(AccountAnalyticLine line, Task task) {
+        return TimeEntryResponse.builder()
+                .id(line.getId())
+                .taskId(task.getId())
+                .taskTitre(task.getTitre())
+                .projectId(line.getProjectId())
+                .employeeId(line.getEmployee().getId())
+                .date(line.getDate())
+                .hours(line.getHours())
+                .durationSeconds(line.getDurationSeconds())
+                .startedAt(line.getStartedAt())
+                .endedAt(line.getEndedAt())
+                .source(line.getSource())
+                .build();
+    }
+
+    private void logAction(TypeOperation action, String description, Task task, User current) {
+        historiqueService.logAction(new LogRequest(
+                action,
+                description + " sur la tâche '" + task.getTitre() + "' (ID " + task.getId() + ") par " + current.getUsername(),
+                task.getId(),
+                EntityName.TASK
+        ));
+    }
+
+    private User getCurrentUser() {
+        return currentUserHolder.find()
+                .orElseThrow(() -> new AccessdeniedException("Utilisateur non authentifié"));
+    }
+}
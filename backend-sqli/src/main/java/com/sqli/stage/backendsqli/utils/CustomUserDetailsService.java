@@ -1,11 +1,11 @@
 package com.sqli.stage.backendsqli.utils;
 
-import com.sqli.stage.backendsqli.entity.User;
 import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.PrincipalCache;
+import com.sqli.stage.backendsqli.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 // ✅ Sert à charger l'utilisateur par son username (requis par Spring Security)
@@ -14,22 +14,17 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    // Récupère le User depuis la base et le convertit en UserDetails
+    // Récupère le User depuis le cache (ou la base) sous forme de UserDetails immuable
     @Override
-    public UserDetails loadUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur introuvable"));
+    public UserPrincipal loadUserByUsername(String username) {
+        return principalCache.get(username, this::loadFromDatabase);
+    }
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getMotDePasse()) // ⚠️ à encoder
-                .roles(user.getRole().name())
-                .build();
+    private UserPrincipal loadFromDatabase(String username) {
+        return userRepository.findByUsername(username)
+                .map(UserPrincipal::from)
+                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur introuvable"));
     }
 }
-
-
-
-
-
@@ -9,16 +9,35 @@ import com.google.zxing.client.j2se.MatrixToImageWriter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Hashtable;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
 
 public class QRCodeGenerator {
 
-    public static byte[] generateQRCodeImage(String text, int width, int height) throws WriterException, IOException {
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        Hashtable<EncodeHintType, Object> hints = new Hashtable<>();
-        hints.put(EncodeHintType.CHARACTER_SET, "UTF-8");
+    public enum Format {
+        PNG("image/png"),
+        SVG("image/svg+xml");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
 
-        BitMatrix bitMatrix = qrCodeWriter.encode(text, BarcodeFormat.QR_CODE, width, height, hints);
+        public String getMediaType() {
+            return mediaType;
+        }
+    }
+
+    private static final Map<EncodeHintType, Object> HINTS = new EnumMap<>(EncodeHintType.class);
+
+    static {
+        HINTS.put(EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name());
+    }
+
+    public static byte[] generateQRCodeImage(String text, int width, int height) throws WriterException, IOException {
+        BitMatrix bitMatrix = new QRCodeWriter().encode(text, BarcodeFormat.QR_CODE, width, height, HINTS);
 
         ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
         MatrixToImageWriter.writeToStream(bitMatrix, "PNG", pngOutputStream);
@@ -26,6 +45,43 @@ public class QRCodeGenerator {
         return pngOutputStream.toByteArray();
     }
 
+    /**
+     * QR code vectoriel : un module par unité du viewBox, mis à l'échelle par le navigateur.
+     * Aucune image n'est rastérisée ni compressée.
+     */
+    public static byte[] generateQRCodeSvg(String text, int size) throws WriterException {
+        // Taille 0 : matrice au module près, marge comprise
+        BitMatrix matrix = new QRCodeWriter().encode(text, BarcodeFormat.QR_CODE, 0, 0, HINTS);
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
 
+        StringBuilder svg = new StringBuilder(64 * height);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(size)
+                .append("\" height=\"").append(size)
+                .append("\" viewBox=\"0 0 ").append(width).append(' ').append(height)
+                .append("\" shape-rendering=\"crispEdges\">")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+        // Une commande par suite de modules noirs sur une ligne
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                svg.append('M').append(start).append(' ').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+        svg.append("\"/></svg>");
+        return svg.toString().getBytes(StandardCharsets.UTF_8);
+    }
 
+    public static byte[] generate(String text, int size, Format format) throws WriterException, IOException {
+        return format == Format.SVG ? generateQRCodeSvg(text, size) : generateQRCodeImage(text, size, size);
+    }
 }
@@ -0,0 +1,3 @@
+-- Identifiants des tâches par séquence (pas = allocationSize) pour les créations groupées par lots
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+SELECT setval('tasks_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 1, false);
@@ -0,0 +1,28 @@
+-- Timers de tâches persistants : points de sauvegarde des timers en cours et pointages précis
+CREATE TABLE IF NOT EXISTS task_timers (
+    user_id INTEGER PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    task_id INTEGER NOT NULL REFERENCES tasks(id) ON DELETE CASCADE,
+    started_at TIMESTAMP NOT NULL,
+    checkpointed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_timers_task ON task_timers(task_id);
+
+CREATE TABLE IF NOT EXISTS account_analytic_line (
+    id SERIAL PRIMARY KEY,
+    task_id INTEGER REFERENCES tasks(id),
+    employee_id INTEGER REFERENCES users(id),
+    hours NUMERIC(38, 2),
+    date DATE
+);
+
+ALTER TABLE account_analytic_line ADD COLUMN IF NOT EXISTS started_at TIMESTAMP;
+ALTER TABLE account_analytic_line ADD COLUMN IF NOT EXISTS ended_at TIMESTAMP;
+ALTER TABLE account_analytic_line ADD COLUMN IF NOT EXISTS duration_seconds BIGINT;
+ALTER TABLE account_analytic_line ADD COLUMN IF NOT EXISTS source VARCHAR(20);
+
+CREATE INDEX IF NOT EXISTS idx_analytic_line_task ON account_analytic_line(task_id);
+CREATE INDEX IF NOT EXISTS idx_analytic_line_employee_date ON account_analytic_line(employee_id, date);
+
+-- Temps pointé exact ; NULL tant que seules des heures entières ont été saisies (effective_hours * 3600)
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS effective_seconds BIGINT;
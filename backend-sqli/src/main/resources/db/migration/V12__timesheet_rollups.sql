@@ -0,0 +1,109 @@
+-- Pointages partitionnés par mois sur la date, et cumuls de temps par développeur, tâche et projet
+
+-- Partitions mensuelles manquantes de from_date à to_date ; appelée aussi chaque mois par l'application
+CREATE OR REPLACE FUNCTION ensure_account_analytic_line_partitions(from_date DATE, to_date DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_date)::date;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_date LOOP
+        partition_name := 'account_analytic_line_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            BEGIN
+                EXECUTE format('CREATE TABLE %I PARTITION OF account_analytic_line FOR VALUES FROM (%L) TO (%L)',
+                               partition_name, month_start, (month_start + INTERVAL '1 month')::date);
+                created := created + 1;
+            EXCEPTION WHEN duplicate_table THEN
+                -- Créée en parallèle
+                NULL;
+            END;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    first_date DATE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'account_analytic_line' AND relkind = 'p') THEN
+        RETURN;
+    END IF;
+
+    CREATE SEQUENCE IF NOT EXISTS account_analytic_line_seq;
+    PERFORM setval('account_analytic_line_seq', COALESCE((SELECT MAX(id) FROM account_analytic_line), 0) + 1, false);
+
+    CREATE TABLE account_analytic_line_partitioned (
+        id INTEGER NOT NULL DEFAULT nextval('account_analytic_line_seq'),
+        task_id INTEGER REFERENCES tasks(id),
+        employee_id INTEGER REFERENCES users(id),
+        project_id INTEGER,
+        hours NUMERIC(38, 2),
+        date DATE NOT NULL,
+        started_at TIMESTAMP,
+        ended_at TIMESTAMP,
+        duration_seconds BIGINT,
+        source VARCHAR(20),
+        PRIMARY KEY (id, date)
+    ) PARTITION BY RANGE (date);
+
+    -- Dates hors des partitions créées (saisies très anciennes)
+    CREATE TABLE account_analytic_line_default PARTITION OF account_analytic_line_partitioned DEFAULT;
+
+    -- La fonction vise le nom définitif : la nouvelle table prend le nom de l'ancienne avant la copie
+    ALTER TABLE account_analytic_line RENAME TO account_analytic_line_old;
+    ALTER TABLE account_analytic_line_partitioned RENAME TO account_analytic_line;
+
+    SELECT MIN(COALESCE(date, ended_at::date, CURRENT_DATE)) INTO first_date FROM account_analytic_line_old;
+    PERFORM ensure_account_analytic_line_partitions(COALESCE(first_date, CURRENT_DATE),
+                                                    (CURRENT_DATE + INTERVAL '3 months')::date);
+
+    INSERT INTO account_analytic_line (id, task_id, employee_id, project_id, hours, date, started_at, ended_at,
+                                       duration_seconds, source)
+    SELECT l.id, l.task_id, l.employee_id, t.project_id, l.hours, COALESCE(l.date, l.ended_at::date, CURRENT_DATE),
+           l.started_at, l.ended_at, COALESCE(l.duration_seconds, ROUND(COALESCE(l.hours, 0) * 3600)::BIGINT), l.source
+    FROM account_analytic_line_old l
+    LEFT JOIN tasks t ON t.id = l.task_id;
+
+    DROP TABLE account_analytic_line_old;
+    ALTER SEQUENCE account_analytic_line_seq OWNED BY account_analytic_line.id;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_analytic_line_employee_date ON account_analytic_line(employee_id, date);
+CREATE INDEX IF NOT EXISTS idx_analytic_line_task ON account_analytic_line(task_id);
+CREATE INDEX IF NOT EXISTS idx_analytic_line_project_date ON account_analytic_line(project_id, date);
+
+CREATE TABLE IF NOT EXISTS timesheet_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    scope VARCHAR(10) NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    owner_id INTEGER NOT NULL,
+    period_start DATE NOT NULL,
+    seconds BIGINT NOT NULL DEFAULT 0,
+    entries BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_timesheet_rollups_key UNIQUE (scope, granularity, owner_id, period_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_timesheet_rollups_period ON timesheet_rollups(scope, granularity, period_start);
+
+-- Cumuls initiaux : 3 axes x jour, semaine (ISO, du lundi), mois
+INSERT INTO timesheet_rollups (scope, granularity, owner_id, period_start, seconds, entries, updated_at)
+SELECT axis.scope, period.granularity, axis.owner_id,
+       CASE period.granularity
+           WHEN 'DAY' THEN l.date
+           WHEN 'WEEK' THEN date_trunc('week', l.date)::date
+           ELSE date_trunc('month', l.date)::date
+       END,
+       SUM(COALESCE(l.duration_seconds, 0)), COUNT(*), NOW()
+FROM account_analytic_line l
+CROSS JOIN LATERAL (VALUES ('EMPLOYEE', l.employee_id), ('TASK', l.task_id), ('PROJECT', l.project_id))
+    AS axis(scope, owner_id)
+CROSS JOIN (VALUES ('DAY'), ('WEEK'), ('MONTH')) AS period(granularity)
+WHERE axis.owner_id IS NOT NULL
+GROUP BY axis.scope, period.granularity, axis.owner_id, 4
+ON CONFLICT (scope, granularity, owner_id, period_start) DO NOTHING;
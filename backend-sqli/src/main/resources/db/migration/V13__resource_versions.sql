@@ -0,0 +1,11 @@
+-- Versions (verrouillage optimiste, If-Match) et dates de modification (ETag, Last-Modified) des tâches et projets
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+UPDATE tasks SET updated_at = NOW() WHERE updated_at IS NULL;
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+UPDATE projects SET updated_at = NOW() WHERE updated_at IS NULL;
+
+-- Version d'une liste de tâches d'un projet (nombre, somme des versions, dernière modification) lue sur l'index seul
+CREATE INDEX IF NOT EXISTS idx_tasks_project_version ON tasks(project_id) INCLUDE (id, version, updated_at);
@@ -0,0 +1,4 @@
+-- Numéro d'ordre attribué par la base : synchronisation entre instances indépendante de leurs horloges
+ALTER TABLE revoked_tokens ADD COLUMN IF NOT EXISTS seq BIGINT GENERATED BY DEFAULT AS IDENTITY;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_revoked_tokens_seq ON revoked_tokens(seq);
+DROP INDEX IF EXISTS idx_revoked_tokens_revoked_at;
@@ -0,0 +1,6 @@
+-- Hibernate (optimiseur pooled, allocationSize = 50) réserve les ids [valeur - 49, valeur] à chaque appel :
+-- V4 démarrait la séquence à MAX(id) + 1, d'où des collisions avec les lignes existantes.
+-- La séquence repart 50 au-dessus du plus grand id attribué (ligne ou bloc déjà réservé), sans jamais reculer.
+SELECT setval('history_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) FROM history), (SELECT last_value FROM history_seq)) + 50,
+              false);
@@ -0,0 +1,4 @@
+-- Même correction que V15 pour tasks_seq (allocationSize = 50) : V10 démarrait la séquence à MAX(id) + 1
+SELECT setval('tasks_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks), (SELECT last_value FROM tasks_seq)) + 50,
+              false);
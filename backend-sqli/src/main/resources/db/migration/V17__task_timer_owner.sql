@@ -0,0 +1,3 @@
+-- Instance qui tient le timer en mémoire ; checkpointed_at sert de battement de cœur (NULL : ligne antérieure)
+ALTER TABLE task_timers ADD COLUMN IF NOT EXISTS owner_node VARCHAR(100);
+CREATE INDEX IF NOT EXISTS idx_task_timers_owner ON task_timers(owner_node);
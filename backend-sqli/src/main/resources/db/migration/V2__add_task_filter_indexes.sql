@@ -0,0 +1,5 @@
+-- Index utilisés par le filtrage des tâches (/api/tasks/filter)
+CREATE INDEX IF NOT EXISTS idx_tasks_project_statut ON tasks(project_id, statut);
+CREATE INDEX IF NOT EXISTS idx_tasks_developpeur_statut ON tasks(developpeur_id, statut);
+CREATE INDEX IF NOT EXISTS idx_tasks_date_debut ON tasks(date_debut);
+CREATE INDEX IF NOT EXISTS idx_tasks_date_fin ON tasks(date_fin);
@@ -0,0 +1,5 @@
+-- Index de l'historique (table append-only) : pagination par curseur et filtres
+CREATE INDEX IF NOT EXISTS idx_history_timestamp_id ON history(timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_history_entity ON history(entity_name, entity_id);
+CREATE INDEX IF NOT EXISTS idx_history_user_timestamp ON history(user_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_history_action_timestamp ON history(action, timestamp);
@@ -0,0 +1,3 @@
+-- Identifiants de l'historique par séquence (pas = allocationSize) pour les insertions par lots
+CREATE SEQUENCE IF NOT EXISTS history_seq INCREMENT BY 50;
+SELECT setval('history_seq', COALESCE((SELECT MAX(id) FROM history), 0) + 1, false);
@@ -0,0 +1,53 @@
+-- Statistiques de tâches maintenues de façon incrémentale (par projet et par développeur)
+CREATE TABLE IF NOT EXISTS project_task_stats (
+    project_id INTEGER PRIMARY KEY,
+    non_commence BIGINT NOT NULL DEFAULT 0,
+    en_cours BIGINT NOT NULL DEFAULT 0,
+    bloque BIGINT NOT NULL DEFAULT 0,
+    termine BIGINT NOT NULL DEFAULT 0,
+    planned_hours BIGINT NOT NULL DEFAULT 0,
+    effective_hours BIGINT NOT NULL DEFAULT 0,
+    remaining_hours BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS developer_task_stats (
+    developpeur_id INTEGER PRIMARY KEY,
+    non_commence BIGINT NOT NULL DEFAULT 0,
+    en_cours BIGINT NOT NULL DEFAULT 0,
+    bloque BIGINT NOT NULL DEFAULT 0,
+    termine BIGINT NOT NULL DEFAULT 0,
+    planned_hours BIGINT NOT NULL DEFAULT 0,
+    effective_hours BIGINT NOT NULL DEFAULT 0,
+    remaining_hours BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP
+);
+
+-- Remplissage initial depuis la table tasks (les statuts NULL comptent comme NON_COMMENCE)
+INSERT INTO project_task_stats (project_id, non_commence, en_cours, bloque, termine,
+                                planned_hours, effective_hours, remaining_hours, updated_at)
+SELECT project_id,
+       COUNT(*) FILTER (WHERE statut = 'NON_COMMENCE' OR statut IS NULL),
+       COUNT(*) FILTER (WHERE statut = 'EN_COURS'),
+       COUNT(*) FILTER (WHERE statut = 'BLOQUE'),
+       COUNT(*) FILTER (WHERE statut = 'TERMINE'),
+       COALESCE(SUM(planned_hours), 0), COALESCE(SUM(effective_hours), 0), COALESCE(SUM(remaining_hours), 0),
+       NOW()
+FROM tasks
+WHERE project_id IS NOT NULL
+GROUP BY project_id
+ON CONFLICT (project_id) DO NOTHING;
+
+INSERT INTO developer_task_stats (developpeur_id, non_commence, en_cours, bloque, termine,
+                                  planned_hours, effective_hours, remaining_hours, updated_at)
+SELECT developpeur_id,
+       COUNT(*) FILTER (WHERE statut = 'NON_COMMENCE' OR statut IS NULL),
+       COUNT(*) FILTER (WHERE statut = 'EN_COURS'),
+       COUNT(*) FILTER (WHERE statut = 'BLOQUE'),
+       COUNT(*) FILTER (WHERE statut = 'TERMINE'),
+       COALESCE(SUM(planned_hours), 0), COALESCE(SUM(effective_hours), 0), COALESCE(SUM(remaining_hours), 0),
+       NOW()
+FROM tasks
+WHERE developpeur_id IS NOT NULL
+GROUP BY developpeur_id
+ON CONFLICT (developpeur_id) DO NOTHING;
@@ -0,0 +1,10 @@
+-- Tokens révoqués (déconnexion) partagés entre les instances, purgés à leur expiration
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_key VARCHAR(32) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    user_id INTEGER
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
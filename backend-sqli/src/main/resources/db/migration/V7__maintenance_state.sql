@@ -0,0 +1,9 @@
+-- Version de l'état de maintenance : incrémentée à chaque bascule, interrogée périodiquement par chaque instance
+CREATE TABLE IF NOT EXISTS maintenance_state (
+    id INTEGER PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO maintenance_state (id, version)
+VALUES (1, 0)
+ON CONFLICT DO NOTHING;
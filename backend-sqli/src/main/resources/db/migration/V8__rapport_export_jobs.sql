@@ -0,0 +1,18 @@
+-- Exports groupés de rapports : suivi des travaux d'export dans la table rapport
+CREATE TABLE IF NOT EXISTS rapport (
+    id BIGSERIAL PRIMARY KEY,
+    date_generation DATE,
+    contenu VARCHAR(255),
+    project_id INTEGER REFERENCES projects(id)
+);
+
+ALTER TABLE rapport ADD COLUMN IF NOT EXISTS statut VARCHAR(20);
+ALTER TABLE rapport ADD COLUMN IF NOT EXISTS demande_par VARCHAR(100);
+ALTER TABLE rapport ADD COLUMN IF NOT EXISTS date_demande TIMESTAMP;
+ALTER TABLE rapport ADD COLUMN IF NOT EXISTS date_fin TIMESTAMP;
+ALTER TABLE rapport ADD COLUMN IF NOT EXISTS nombre_projets INTEGER;
+ALTER TABLE rapport ADD COLUMN IF NOT EXISTS fichier VARCHAR(255);
+ALTER TABLE rapport ADD COLUMN IF NOT EXISTS taille_octets BIGINT;
+ALTER TABLE rapport ADD COLUMN IF NOT EXISTS erreur VARCHAR(500);
+
+CREATE INDEX IF NOT EXISTS idx_rapport_demande_par ON rapport(demande_par, date_demande);
@@ -0,0 +1,80 @@
+-- Recherche plein texte (/api/search) : colonnes tsvector maintenues par trigger et index GIN
+-- Configurations français / anglais insensibles aux accents (unaccent avant la racinisation)
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'fr_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION fr_unaccent (COPY = french);
+        ALTER TEXT SEARCH CONFIGURATION fr_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, french_stem;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'en_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION en_unaccent (COPY = english);
+        ALTER TEXT SEARCH CONFIGURATION en_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, english_stem;
+    END IF;
+END
+$$;
+
+-- Titre en poids A, texte secondaire en poids B, indexés dans les deux langues
+CREATE OR REPLACE FUNCTION search_document(titre TEXT, detail TEXT) RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('fr_unaccent', coalesce(titre, '')), 'A')
+        || setweight(to_tsvector('en_unaccent', coalesce(titre, '')), 'A')
+        || setweight(to_tsvector('fr_unaccent', coalesce(detail, '')), 'B')
+        || setweight(to_tsvector('en_unaccent', coalesce(detail, '')), 'B');
+$$ LANGUAGE sql STABLE;
+
+-- Tâches : nom et description
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION tasks_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := search_document(NEW.name, NEW.description);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_tasks_search_vector ON tasks;
+CREATE TRIGGER trg_tasks_search_vector
+    BEFORE INSERT OR UPDATE OF name, description ON tasks
+    FOR EACH ROW EXECUTE FUNCTION tasks_search_vector_update();
+
+UPDATE tasks SET search_vector = search_document(name, description);
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+-- Projets : nom et description
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION projects_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := search_document(NEW.name, NEW.description);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_projects_search_vector ON projects;
+CREATE TRIGGER trg_projects_search_vector
+    BEFORE INSERT OR UPDATE OF name, description ON projects
+    FOR EACH ROW EXECUTE FUNCTION projects_search_vector_update();
+
+UPDATE projects SET search_vector = search_document(name, description);
+CREATE INDEX IF NOT EXISTS idx_projects_search_vector ON projects USING GIN (search_vector);
+
+-- Utilisateurs : nom et identifiant, puis intitulé de poste
+ALTER TABLE users ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION users_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := search_document(concat_ws(' ', NEW.nom, NEW.username), NEW.job_title);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_search_vector ON users;
+CREATE TRIGGER trg_users_search_vector
+    BEFORE INSERT OR UPDATE OF nom, username, job_title ON users
+    FOR EACH ROW EXECUTE FUNCTION users_search_vector_update();
+
+UPDATE users SET search_vector = search_document(concat_ws(' ', nom, username), job_title);
+CREATE INDEX IF NOT EXISTS idx_users_search_vector ON users USING GIN (search_vector);
@@ -0,0 +1,94 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.metrics.ApplicationMetrics;
+import com.sqli.stage.backendsqli.metrics.HibernateStatisticsConfig;
+import com.sqli.stage.backendsqli.security.JwtUtil;
+import com.sqli.stage.backendsqli.security.PrincipalCache;
+import com.sqli.stage.backendsqli.security.TokenRevocationStore;
+import com.sqli.stage.backendsqli.service.AuditLogWriter;
+import com.sqli.stage.backendsqli.service.DashboardEventHub;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.ProjectProgressRecomputer;
+import com.sqli.stage.backendsqli.service.QRCodeService;
+import com.sqli.stage.backendsqli.service.ReportExportService;
+import com.sqli.stage.backendsqli.service.TaskTimerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests ApplicationMetrics - jauges et compteurs des files et caches")
+class ApplicationMetricsTest {
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+    @Mock
+    private ReportExportService reportExportService;
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private JwtUtil jwtUtil;
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+    @Mock
+    private PdfRenderCache pdfRenderCache;
+    @Mock
+    private QRCodeService qrCodeService;
+    @Mock
+    private ProjectProgressRecomputer progressRecomputer;
+    @Mock
+    private TaskTimerRegistry timerRegistry;
+    @Mock
+    private DashboardEventHub eventHub;
+
+    @InjectMocks
+    private ApplicationMetrics metrics;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("✅ Valeurs lues à la collecte, pas à l'enregistrement")
+    void readsValuesAtCollection() {
+        metrics.bindTo(registry);
+
+        when(auditLogWriter.getQueueSize()).thenReturn(7);
+        when(auditLogWriter.getRejectedCount()).thenReturn(2L);
+        when(principalCache.getHitCount()).thenReturn(40L);
+
+        assertEquals(7, registry.get("app.audit.queue.size").gauge().value());
+        assertEquals(2, registry.get("app.audit.entries").tag("outcome", "rejected").functionCounter().count());
+        assertEquals(40, registry.get("app.cache.requests")
+                .tags("cache", "principal", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("✅ Chaque compteur d'historique a sa série, distinguée par outcome")
+    void registersAuditOutcomes() {
+        metrics.bindTo(registry);
+
+        assertEquals(4, registry.get("app.audit.entries").functionCounters().size());
+        for (String outcome : new String[]{"written", "spilled", "rejected", "dropped"}) {
+            assertNotNull(registry.find("app.audit.entries").tag("outcome", outcome).functionCounter());
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Statistiques Hibernate activées pour l'export Micrometer")
+    void enablesHibernateStatistics() {
+        Map<String, Object> properties = new HashMap<>();
+
+        new HibernateStatisticsConfig().hibernateStatisticsCustomizer().customize(properties);
+
+        assertEquals(true, properties.get("hibernate.generate_statistics"));
+    }
+}
@@ -0,0 +1,332 @@
+package com.sqli.stage.backendsqli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqli.stage.backendsqli.entity.Enums.EntityName;
+import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
+import com.sqli.stage.backendsqli.entity.Historique;
+import com.sqli.stage.backendsqli.repository.HistoriqueRepository;
+import com.sqli.stage.backendsqli.service.AuditLogWriter;
+import com.sqli.stage.backendsqli.service.AuditLogWriter.OverflowPolicy;
+import com.sqli.stage.backendsqli.service.AuditLogWriter.PendingLog;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Écriture différée de l'historique : base simulée (lots enregistrés, panne, écriture bloquée)
+ * et fichier de débordement réel dans un répertoire temporaire.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Tests AuditLogWriter - écriture par lots, débordement et rejeu")
+class AuditLogWriterTest {
+
+    private static final String WORKER = "audit-writer";
+
+    @Mock
+    private HistoriqueRepository historiqueRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path spillDir;
+
+    // Lots écrits avec succès, et thread qui les a écrits
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> writerThreads = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean databaseDown = new AtomicBoolean();
+    // Lignes refusées par la base (contrainte d'intégrité), comme un utilisateur supprimé entre-temps
+    private final Set<String> invalid = Collections.synchronizedSet(new HashSet<>());
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    // Fermé : le thread d'écriture reste bloqué dans saveAll (base lente)
+    private final CountDownLatch workerGate = new CountDownLatch(1);
+    private final AtomicBoolean gateClosed = new AtomicBoolean();
+    private final CountDownLatch workerBlocked = new CountDownLatch(1);
+
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(historiqueRepository.saveAll(any())).thenAnswer(invocation -> {
+            if (gateClosed.get() && Thread.currentThread().getName().equals(WORKER)) {
+                workerBlocked.countDown();
+                workerGate.await(10, TimeUnit.SECONDS);
+            }
+            if (databaseDown.get()) {
+                throw new DataAccessResourceFailureException("Base indisponible");
+            }
+            List<String> descriptions = new ArrayList<>();
+            invocation.<Iterable<Historique>>getArgument(0).forEach(historique -> descriptions.add(historique.getDescription()));
+            if (descriptions.stream().anyMatch(invalid::contains)) {
+                throw new DataIntegrityViolationException("Utilisateur inexistant");
+            }
+            batches.add(descriptions);
+            writerThreads.add(Thread.currentThread().getName());
+            return List.of();
+        });
+        writer = new AuditLogWriter(historiqueRepository, entityManager, transactionManager, objectMapper);
+        ReflectionTestUtils.setField(writer, "asyncEnabled", true);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+        ReflectionTestUtils.setField(writer, "flushSize", 5);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", OverflowPolicy.BLOCK);
+        ReflectionTestUtils.setField(writer, "offerTimeoutMs", 20L);
+        ReflectionTestUtils.setField(writer, "spillFile", spillDir.resolve("audit-spill.jsonl").toString());
+        ReflectionTestUtils.setField(writer, "rejectedFile", spillDir.resolve("audit-rejected.jsonl").toString());
+        ReflectionTestUtils.setField(writer, "spillRetryIntervalMs", 0L);
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutMs", 100L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workerGate.countDown();
+        ReflectionTestUtils.invokeMethod(writer, "shutdown");
+    }
+
+    @Test
+    @DisplayName("✅ Lignes regroupées en lots d'au plus audit.flush.size, écrites par le thread dédié")
+    void flushesInBatches() {
+        start();
+        logs(0, 12).forEach(writer::submit);
+
+        waitUntil(() -> writer.getWrittenCount() == 12);
+        assertEquals(descriptions(0, 12), written());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 5));
+        assertTrue(batches.size() < 12, "les lignes doivent être regroupées");
+        assertTrue(writerThreads.stream().allMatch(WORKER::equals));
+        assertEquals(0, writer.getSpilledCount());
+    }
+
+    @Test
+    @DisplayName("✅ BLOCK : file pleine, attente de audit.offer-timeout-ms puis débordement sur disque")
+    void blockPolicyWaitsThenSpills() throws Exception {
+        fillQueueBehindBlockedWorker(OverflowPolicy.BLOCK);
+
+        long startedAt = System.nanoTime();
+        writer.submit(log(2));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertTrue(waitedMs >= 20, "attente de " + waitedMs + " ms");
+        assertEquals(1, writer.getSpilledCount());
+        assertEquals(1, spillLines().size());
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ SPILL : file pleine, débordement immédiat sur disque")
+    void spillPolicySpillsImmediately() throws Exception {
+        fillQueueBehindBlockedWorker(OverflowPolicy.SPILL);
+
+        writer.submit(log(2));
+        writer.submit(log(3));
+
+        assertEquals(2, writer.getSpilledCount());
+        assertEquals(2, spillLines().size());
+        assertEquals(1, writer.getQueueSize());
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ CALLER_RUNS : file pleine, écriture synchrone dans le thread appelant")
+    void callerRunsPolicyWritesInCallerThread() throws Exception {
+        fillQueueBehindBlockedWorker(OverflowPolicy.CALLER_RUNS);
+
+        writer.submit(log(2));
+
+        assertEquals(List.of(List.of("log 2")), batches);
+        assertEquals(List.of(Thread.currentThread().getName()), writerThreads);
+        assertEquals(0, writer.getSpilledCount());
+        assertFalse(Files.exists(spillFile()));
+    }
+
+    @Test
+    @DisplayName("✅ Base indisponible puis rétablie : fichier rejoué sans perte ni doublon")
+    void spillsWhileDatabaseDownThenReplaysOnce() throws Exception {
+        databaseDown.set(true);
+        // Pas de rejeu tant que la base est en panne
+        ReflectionTestUtils.setField(writer, "spillRetryIntervalMs", 60_000L);
+        start();
+        logs(0, 7).forEach(writer::submit);
+
+        waitUntil(() -> writer.getSpilledCount() == 7);
+        assertEquals(7, spillLines().size());
+        assertEquals(0, writer.getWrittenCount());
+
+        databaseDown.set(false);
+        ReflectionTestUtils.setField(writer, "spillRetryIntervalMs", 0L);
+        // Fichier de rejeu et son offset supprimés une fois toutes les lignes écrites
+        waitUntil(() -> writer.getWrittenCount() == 7 && !Files.exists(spillFile())
+                && !Files.exists(spillDir.resolve("audit-spill.jsonl.replaying"))
+                && !Files.exists(spillDir.resolve("audit-spill.jsonl.replaying.offset")));
+
+        assertEquals(descriptions(0, 7), written());
+        // Rejeu terminé : plus rien à écrire
+        Thread.sleep(300);
+        assertEquals(7, writer.getWrittenCount());
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("✅ Ligne refusée par la base : conservée dans le fichier des rejets, le reste du lot écrit")
+    void keepsRejectedRowInRejectedFile() throws Exception {
+        invalid.add("log 2");
+        start();
+        logs(0, 5).forEach(writer::submit);
+
+        waitUntil(() -> writer.getWrittenCount() == 4 && writer.getRejectedCount() == 1);
+        assertEquals(List.of("log 0", "log 1", "log 3", "log 4"), written());
+        List<String> rejectedLines = Files.readAllLines(spillDir.resolve("audit-rejected.jsonl"));
+        assertEquals(List.of("log 2"), rejectedLines.stream()
+                .map(line -> read(line).description()).toList());
+        // Pas de rejeu automatique : la ligne échouerait à nouveau
+        assertFalse(Files.exists(spillFile()));
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("✅ Rejeu interrompu par un arrêt : reprise après le dernier lot validé, sans doublon")
+    void resumesInterruptedReplayFromOffset() throws Exception {
+        // État laissé par un arrêt brutal : 3 lignes sur 7 déjà écrites par le rejeu précédent
+        List<String> lines = new ArrayList<>();
+        for (PendingLog entry : logs(0, 7)) {
+            lines.add(objectMapper.writeValueAsString(entry));
+        }
+        Path replaying = spillDir.resolve("audit-spill.jsonl.replaying");
+        Files.write(replaying, lines);
+        Files.writeString(spillDir.resolve("audit-spill.jsonl.replaying.offset"), "3");
+
+        start();
+
+        waitUntil(() -> writer.getWrittenCount() == 4 && !Files.exists(replaying)
+                && !Files.exists(spillDir.resolve("audit-spill.jsonl.replaying.offset")));
+        assertEquals(descriptions(3, 7), written());
+        Thread.sleep(300);
+        assertEquals(4, writer.getWrittenCount());
+    }
+
+    @Test
+    @DisplayName("✅ Arrêt du contexte (@PreDestroy) : lignes encore en file écrites avant l'arrêt")
+    void flushesQueueOnShutdown() throws Exception {
+        gateClosed.set(true);
+        start();
+        writer.submit(log(0));
+        assertTrue(workerBlocked.await(5, TimeUnit.SECONDS));
+        logs(1, 4).forEach(writer::submit);
+        assertEquals(3, writer.getQueueSize());
+
+        // Le thread d'écriture ne rend pas la main dans audit.shutdown-timeout-ms : l'arrêt vide la file lui-même
+        ReflectionTestUtils.invokeMethod(writer, "shutdown");
+
+        assertEquals(0, writer.getQueueSize());
+        assertEquals(List.of(List.of("log 1", "log 2", "log 3")), batches);
+        assertEquals(List.of(Thread.currentThread().getName()), writerThreads);
+
+        // Le lot en cours du thread d'écriture n'est pas perdu non plus
+        workerGate.countDown();
+        waitUntil(() -> writer.getWrittenCount() == 4);
+        assertEquals(descriptions(0, 4), written());
+    }
+
+    // Une ligne bloquée dans le thread d'écriture, une autre qui remplit la file (capacité 1)
+    private void fillQueueBehindBlockedWorker(OverflowPolicy policy) throws InterruptedException {
+        ReflectionTestUtils.setField(writer, "overflowPolicy", policy);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 1);
+        gateClosed.set(true);
+        start();
+        writer.submit(log(0));
+        assertTrue(workerBlocked.await(5, TimeUnit.SECONDS));
+        writer.submit(log(1));
+        assertEquals(1, writer.getQueueSize());
+    }
+
+    private void start() {
+        ReflectionTestUtils.invokeMethod(writer, "start");
+    }
+
+    private List<String> written() {
+        synchronized (batches) {
+            return batches.stream().flatMap(List::stream).sorted().toList();
+        }
+    }
+
+    private List<String> spillLines() throws IOException {
+        return Files.readAllLines(spillFile()).stream().filter(line -> !line.isBlank()).toList();
+    }
+
+    private PendingLog read(String line) {
+        try {
+            return objectMapper.readValue(line, PendingLog.class);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path spillFile() {
+        return spillDir.resolve("audit-spill.jsonl");
+    }
+
+    private static List<PendingLog> logs(int from, int to) {
+        return IntStream.range(from, to).mapToObj(AuditLogWriterTest::log).toList();
+    }
+
+    private static List<String> descriptions(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "log " + i).sorted().toList();
+    }
+
+    private static PendingLog log(int i) {
+        return new PendingLog(TypeOperation.MODIFICATION, "log " + i, i, EntityName.TASK, null,
+                LocalDateTime.of(2025, 3, 10, 9, 0).plusSeconds(i));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition non atteinte en 5 s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -386,7 +388,7 @@ class ChefProjetControllerTest {
 
         TaskResponse response = createTaskResponse(1, "Tâche Mise à Jour", "Description mise à jour", StatutTache.EN_COURS, Priorite.MOYENNE);
 
-        when(taskService.updateTask(eq(1), any(TaskRequest.class))).thenReturn(response);
+        when(taskService.updateTask(eq(1), any(TaskRequest.class), isNull())).thenReturn(response);
 
         // Act & Assert
         taskMockMvc.perform(put("/api/tasks/1")
@@ -395,7 +397,7 @@ class ChefProjetControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.statut").value("EN_COURS"));
 
-        verify(taskService).updateTask(eq(1), any(TaskRequest.class));
+        verify(taskService).updateTask(eq(1), any(TaskRequest.class), isNull());
     }
 
     @Test
@@ -422,6 +424,34 @@ class ChefProjetControllerTest {
         verify(taskService).getTasksByProject(1);
     }
 
+    @Test
+    @DisplayName("✅ Filtrer les tâches avec pagination")
+    @WithMockUser(roles = "CHEF_DE_PROJET")
+    void filterTasks_Paged_Success() throws Exception {
+        // Arrange
+        TaskFilterRequest filter = new TaskFilterRequest();
+        filter.setProjectId(1);
+        filter.setStatut(StatutTache.EN_COURS);
+        filter.setSize(1);
+
+        List<TaskResponse> tasks = List.of(
+                createTaskResponse(2, "Tâche 2", "Description 2", StatutTache.EN_COURS, Priorite.MOYENNE)
+        );
+        when(taskService.filterTasks(any(TaskFilterRequest.class)))
+                .thenReturn(new PageImpl<>(tasks, PageRequest.of(0, 1), 3));
+
+        // Act & Assert
+        taskMockMvc.perform(post("/api/tasks/filter")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(filter)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].titre").value("Tâche 2"))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(3));
+
+        verify(taskService).filterTasks(any(TaskFilterRequest.class));
+    }
+
     // ========================================
     // TESTS SÉCURITÉ ET AUTORISATION
     // ========================================
@@ -0,0 +1,287 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.controller.ProjetController;
+import com.sqli.stage.backendsqli.controller.TaskController;
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.exception.GlobalExceptionHandler;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.ImplementationService.ProjetServiceImpl;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskserviceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.handler.WebRequestHandlerInterceptorAdapter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Versions des tâches et projets : ETag et Last-Modified des lectures (304 si inchangé),
+ * If-Match des modifications (412 si la ressource a changé) et conflits d'écriture (409).
+ */
+@ServiceJpaTest
+@DisplayName("Tests des requêtes conditionnelles - ETag, If-None-Match et If-Match")
+class ConditionalRequestTest {
+
+    @Autowired
+    private TaskserviceImpl taskService;
+
+    @Autowired
+    private ProjetServiceImpl projetService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PdfRenderCache pdfRenderCache;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private User chef;
+    private User developer;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        // Session ouverte pendant la requête, comme spring.jpa.open-in-view en production
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TaskController(taskService), new ProjetController(projetService, projetRepository))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(new WebRequestHandlerInterceptorAdapter(openInView))
+                .build();
+        chef = fixtures.user(Role.CHEF_DE_PROJET);
+        developer = fixtures.user(Role.DEVELOPPEUR);
+        project = fixtures.project("Projet versions", chef);
+        fixtures.actAs(chef);
+    }
+
+    @Test
+    @DisplayName("✅ Tâche inchangée : 304 sans corps avec If-None-Match, 200 et nouvel ETag après modification")
+    void answersNotModifiedUntilTaskChanges() throws Exception {
+        TaskResponse task = createTask("Lecture");
+        String etag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\""), etag);
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        fixtures.actAs(developer);
+        TaskResponse blocked = taskService.markTaskAsBlocked(task.getId());
+        assertEquals(task.getVersion() + 1, blocked.getVersion());
+        String updated = mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, updated);
+    }
+
+    @Test
+    @DisplayName("✅ Liste des tâches d'un projet : ETag modifié par un ajout, une modification ou une suppression")
+    void collectionEtagFollowsTasks() throws Exception {
+        TaskResponse first = createTask("Liste 1");
+        String initial = projectTasksEtag();
+        mockMvc.perform(get("/api/tasks/project/{projectId}", project.getId()).header(HttpHeaders.IF_NONE_MATCH, initial))
+                .andExpect(status().isNotModified());
+
+        TaskResponse second = createTask("Liste 2");
+        String added = projectTasksEtag();
+        fixtures.actAs(developer);
+        taskService.markTaskAsFinished(first.getId());
+        String modified = projectTasksEtag();
+        // Temps pointé : mise à jour JPQL groupée, qui incrémente aussi la version
+        taskService.updateTaskHours(second.getId(), 1);
+        String tracked = projectTasksEtag();
+        fixtures.actAs(chef);
+        taskService.deleteTask(second.getId());
+        String removed = projectTasksEtag();
+
+        assertEquals(5, List.of(initial, added, modified, tracked, removed).stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("❌ If-Match périmé : 412 et tâche inchangée ; ETag courant : modification acceptée")
+    void rejectsStaleIfMatch() throws Exception {
+        TaskResponse task = createTask("Écriture");
+        String etag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // Modifiée par le développeur entre la lecture du chef et son envoi
+        fixtures.actAs(developer);
+        taskService.markTaskAsBlocked(task.getId());
+        fixtures.actAs(chef);
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateBody("Écriture renommée")))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Écriture", taskRepository.findById(task.getId()).orElseThrow().getTitre());
+
+        String current = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String next = mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                        .header(HttpHeaders.IF_MATCH, current)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateBody("Écriture renommée")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("Écriture renommée", taskRepository.findById(task.getId()).orElseThrow().getTitre());
+        assertNotNull(next);
+        assertNotEquals(current, next);
+    }
+
+    @Test
+    @DisplayName("❌ Modifiée entre la vérification de If-Match et le chargement : version comparée par le service, 409")
+    void servicesCompareValidatedVersion() throws Exception {
+        TaskResponse task = createTask("Intervalle");
+        Long validated = taskService.getTaskStamp(task.getId()).orElseThrow().version();
+        assertEquals(task.getVersion(), validated);
+        Long projectVersion = projetService.getProjectStamp(project.getId()).orElseThrow().version();
+        // Modifications validées par d'autres requêtes après la précondition
+        fixtures.actAs(developer);
+        taskService.markTaskAsBlocked(task.getId());
+        Project renamed = projetRepository.findById(project.getId()).orElseThrow();
+        renamed.setDescription("Modifié entre-temps");
+        projetRepository.save(renamed);
+        fixtures.actAs(chef);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> taskService.updateTask(task.getId(),
+                ServiceTestFixtures.taskRequest(project, developer, "Intervalle renommée").build(), validated));
+        assertEquals("Intervalle", taskRepository.findById(task.getId()).orElseThrow().getTitre());
+        ProjectRequest projectRequest = new ProjectRequest();
+        projectRequest.setTitre("Projet renommé");
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> projetService.updateProject(project.getId(), projectRequest, projectVersion));
+        assertEquals(project.getTitre(), projetRepository.findById(project.getId()).orElseThrow().getTitre());
+
+        // Version courante : modification acceptée
+        Long current = taskService.getTaskStamp(task.getId()).orElseThrow().version();
+        assertEquals("Intervalle renommée", taskService.updateTask(task.getId(),
+                ServiceTestFixtures.taskRequest(project, developer, "Intervalle renommée").build(), current).getTitre());
+    }
+
+    @Test
+    @DisplayName("❌ Écritures concurrentes : la seconde échoue (@Version), 409 pour un lot avec une version périmée")
+    void detectsConcurrentWrites() throws Exception {
+        TaskResponse task = createTask("Concurrence");
+        Task first = taskRepository.findById(task.getId()).orElseThrow();
+        Task second = taskRepository.findById(task.getId()).orElseThrow();
+        first.setDescription("Première écriture");
+        taskRepository.save(first);
+        second.setDescription("Seconde écriture");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskRepository.save(second));
+        assertEquals("Première écriture", taskRepository.findById(task.getId()).orElseThrow().getDescription());
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\":[{\"id\":" + task.getId() + ",\"statut\":\"TERMINE\",\"version\":"
+                                + task.getVersion() + "}]}"))
+                .andExpect(status().isConflict());
+        assertEquals(StatutTache.EN_COURS, taskRepository.findById(task.getId()).orElseThrow().getStatut());
+    }
+
+    @Test
+    @DisplayName("✅ Projet : ETag modifié quand ses compteurs de tâches changent")
+    void projectEtagFollowsTaskCounters() throws Exception {
+        String etag = mockMvc.perform(get("/api/projects/{id}", project.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/projects/{id}", project.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        createTask("Compteurs");
+
+        mockMvc.perform(get("/api/projects/{id}", project.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG)));
+    }
+
+    @Test
+    @DisplayName("✅ PDF d'un projet : ETag lu en base, modifié par les tâches, l'équipe et les coordonnées imprimées")
+    void documentEtagFollowsDatabase() {
+        String etag = documentEtag();
+        // Pas d'état propre à l'instance : une invalidation locale ne change pas l'ETag
+        pdfRenderCache.invalidate(project.getId());
+        assertEquals(etag, documentEtag());
+
+        createTask("Document");
+        String afterTask = documentEtag();
+        assertNotEquals(etag, afterTask);
+
+        chef.setNom("Nouveau nom");
+        userRepository.save(chef);
+        String afterRename = documentEtag();
+        assertNotEquals(afterTask, afterRename);
+
+        Project team = projetRepository.findById(project.getId()).orElseThrow();
+        team.setDeveloppeurs(new ArrayList<>(List.of(developer)));
+        projetRepository.save(team);
+        assertNotEquals(afterRename, documentEtag());
+
+        assertTrue(projetService.getProjectDocumentStamp(-1).isEmpty());
+    }
+
+    private String documentEtag() {
+        return projetService.getProjectDocumentStamp(project.getId()).orElseThrow().etag();
+    }
+
+    private String projectTasksEtag() throws Exception {
+        return mockMvc.perform(get("/api/tasks/project/{projectId}", project.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String updateBody(String titre) {
+        return "{\"titre\":\"" + titre + "\",\"dateDebut\":\"" + LocalDate.now() + "\",\"dateFin\":\""
+                + LocalDate.now().plusDays(5) + "\",\"statut\":\"EN_COURS\",\"priorite\":\"MOYENNE\",\"plannedHours\":8,"
+                + "\"projectId\":" + project.getId() + ",\"developpeurId\":" + developer.getId() + "}";
+    }
+
+    private TaskResponse createTask(String titre) {
+        return taskService.createTasks(List.of(ServiceTestFixtures.taskRequest(project, developer, titre).build())).get(0);
+    }
+}
@@ -0,0 +1,211 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.controller.EventController;
+import com.sqli.stage.backendsqli.dto.EventDTO.DashboardEvent;
+import com.sqli.stage.backendsqli.entity.Enums.DashboardEventType;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.Projection.ProjectAudience;
+import com.sqli.stage.backendsqli.security.UserPrincipal;
+import com.sqli.stage.backendsqli.service.DashboardEventHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Tests DashboardEventHub - flux SSE des tableaux de bord")
+class DashboardEventHubTest {
+
+    private static final int PROJECT_ID = 7;
+    private static final int CHEF_ID = 1;
+    private static final int DEVELOPER_ID = 2;
+    private static final int OTHER_ID = 3;
+
+    @Mock
+    private ProjetRepository projetRepository;
+
+    private DashboardEventHub hub;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ProjectAudience audience = mock(ProjectAudience.class);
+        when(audience.getChefId()).thenReturn(CHEF_ID);
+        when(projetRepository.findAudienceById(PROJECT_ID)).thenReturn(Optional.of(audience));
+        useHub(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("✅ Événement envoyé au développeur et au chef du projet, pas aux autres")
+    void routesEventToConcernedUsers() throws Exception {
+        MvcResult developer = open(DEVELOPER_ID, null);
+        MvcResult chef = open(CHEF_ID, null);
+        MvcResult other = open(OTHER_ID, null);
+
+        hub.onEvent(event(DashboardEventType.TASK_ASSIGNED, 10));
+
+        // Un événement est écrit en plusieurs fois : on attend ses données
+        String received = awaitContent(developer, "\"taskId\":10");
+        assertTrue(received.contains("event:TASK_ASSIGNED"), received);
+        awaitContent(chef, "\"taskId\":10");
+        // Le heartbeat suivant passe par la même file : l'événement serait déjà arrivé
+        hub.heartbeat();
+        awaitContent(other, ":heartbeat");
+        assertFalse(other.getResponse().getContentAsString().contains("TASK_ASSIGNED"));
+        assertEquals(3, hub.getOpenStreamCount());
+    }
+
+    @Test
+    @DisplayName("✅ Reconnexion avec Last-Event-ID : seuls les événements manqués sont rejoués")
+    void replaysMissedEventsOnReconnect() throws Exception {
+        MvcResult first = open(DEVELOPER_ID, null);
+        hub.onEvent(event(DashboardEventType.TASK_CREATED, 10));
+        String lastEventId = lastId(awaitContent(first, "\"taskId\":10"));
+        first.getRequest().getAsyncContext().complete();
+
+        hub.onEvent(event(DashboardEventType.TASK_STATUS_CHANGED, 11));
+        hub.onEvent(event(DashboardEventType.TASK_STATUS_CHANGED, 12));
+
+        MvcResult reconnected = open(DEVELOPER_ID, lastEventId);
+        String replayed = awaitContent(reconnected, "\"taskId\":12");
+        assertTrue(replayed.contains("\"taskId\":11"), replayed);
+        assertFalse(replayed.contains("\"taskId\":10"), replayed);
+    }
+
+    @Test
+    @DisplayName("✅ Last-Event-ID inconnu (redémarrage, tampon dépassé) : demande de rechargement")
+    void asksForResyncWhenEventsAreLost() throws Exception {
+        MvcResult stream = open(DEVELOPER_ID, "42");
+
+        awaitContent(stream, "event:" + DashboardEventHub.RESYNC_EVENT);
+        assertEquals(1, hub.getResyncCount());
+    }
+
+    @Test
+    @DisplayName("✅ Événements manqués plus nombreux que la file du flux : demande de rechargement au lieu du rejeu")
+    void asksForResyncWhenBacklogExceedsBuffer() throws Exception {
+        useHub(4);
+        MvcResult first = open(DEVELOPER_ID, null);
+        hub.onEvent(event(DashboardEventType.TASK_CREATED, 10));
+        String lastEventId = lastId(awaitContent(first, "\"taskId\":10"));
+        first.getRequest().getAsyncContext().complete();
+
+        MvcResult other = open(OTHER_ID, null);
+        for (int taskId = 11; taskId <= 14; taskId++) {
+            hub.onEvent(event(DashboardEventType.TASK_STATUS_CHANGED, taskId));
+        }
+        // Destiné au seul OTHER_ID : une fois reçu, les événements précédents sont dans le tampon
+        hub.onEvent(DashboardEvent.builder().type(DashboardEventType.TASK_ASSIGNED).taskId(99)
+                .developpeurId(OTHER_ID).occurredAt(LocalDateTime.now()).build());
+        awaitContent(other, "\"taskId\":99");
+
+        MvcResult reconnected = open(DEVELOPER_ID, lastEventId);
+        String content = awaitContent(reconnected, "event:" + DashboardEventHub.RESYNC_EVENT);
+        assertFalse(content.contains("\"taskId\":11"), content);
+        assertEquals(1, hub.getResyncCount());
+    }
+
+    @Test
+    @DisplayName("❌ Nombre maximal de flux atteint : 503 avec Retry-After")
+    void rejectsStreamsAboveCap() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            open(DEVELOPER_ID, null);
+        }
+
+        authenticate(OTHER_ID);
+        mockMvc.perform(get("/api/events/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(result -> assertEquals("30", result.getResponse().getHeader("Retry-After")));
+        assertEquals(1, hub.getRejectedCount());
+    }
+
+    private void useHub(int bufferSize) {
+        hub = new DashboardEventHub(projetRepository, bufferSize, 1000, 3, 60_000, 3000, 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventController(hub))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    private MvcResult open(int userId, String lastEventId) throws Exception {
+        authenticate(userId);
+        var request = get("/api/events/stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static void authenticate(int userId) {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("user-" + userId);
+        user.setRole(Role.DEVELOPPEUR);
+        UserPrincipal principal = UserPrincipal.from(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static DashboardEvent event(DashboardEventType type, int taskId) {
+        return DashboardEvent.builder()
+                .type(type)
+                .projectId(PROJECT_ID)
+                .taskId(taskId)
+                .developpeurId(DEVELOPER_ID)
+                .statut(StatutTache.EN_COURS)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    // Les envois sont asynchrones
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+
+    private static String lastId(String content) {
+        Matcher matcher = Pattern.compile("id:(\\d+)").matcher(content);
+        String id = null;
+        while (matcher.find()) {
+            id = matcher.group(1);
+        }
+        assertNotNull(id, content);
+        return id;
+    }
+}
@@ -112,7 +112,7 @@ class DeveloperControllerTest {
 
         TaskResponse response = createTaskResponse(1, "Tâche Mise à Jour", "Description mise à jour", StatutTache.EN_COURS, Priorite.MOYENNE);
 
-        when(taskService.updateTask(eq(1), any(TaskRequest.class))).thenReturn(response);
+        when(taskService.updateTask(eq(1), any(TaskRequest.class), isNull())).thenReturn(response);
 
         // Act & Assert
         taskMockMvc.perform(put("/api/tasks/1")
@@ -121,7 +121,7 @@ class DeveloperControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.statut").value("EN_COURS"));
 
-        verify(taskService).updateTask(eq(1), any(TaskRequest.class));
+        verify(taskService).updateTask(eq(1), any(TaskRequest.class), isNull());
     }
 
     @Test
@@ -142,7 +142,7 @@ class DeveloperControllerTest {
 
         TaskResponse response = createTaskResponse(1, "Tâche Terminée", "Description terminée", StatutTache.TERMINE, Priorite.MOYENNE);
 
-        when(taskService.updateTask(eq(1), any(TaskRequest.class))).thenReturn(response);
+        when(taskService.updateTask(eq(1), any(TaskRequest.class), isNull())).thenReturn(response);
 
         // Act & Assert
         taskMockMvc.perform(put("/api/tasks/1")
@@ -151,7 +151,7 @@ class DeveloperControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.statut").value("TERMINE"));
 
-        verify(taskService).updateTask(eq(1), any(TaskRequest.class));
+        verify(taskService).updateTask(eq(1), any(TaskRequest.class), isNull());
     }
 
     @Test
@@ -350,7 +350,7 @@ class DeveloperControllerTest {
 
         TaskResponse inProgressTask = createTaskResponse(1, "Tâche Workflow", "Description workflow", StatutTache.EN_COURS, Priorite.MOYENNE);
 
-        when(taskService.updateTask(eq(1), any(TaskRequest.class))).thenReturn(inProgressTask);
+        when(taskService.updateTask(eq(1), any(TaskRequest.class), isNull())).thenReturn(inProgressTask);
 
         // Act & Assert - Étape 2: Mettre en cours
         taskMockMvc.perform(put("/api/tasks/1")
@@ -373,7 +373,7 @@ class DeveloperControllerTest {
 
         TaskResponse completedTask = createTaskResponse(1, "Tâche Workflow", "Description workflow", StatutTache.TERMINE, Priorite.MOYENNE);
 
-        when(taskService.updateTask(eq(1), any(TaskRequest.class))).thenReturn(completedTask);
+        when(taskService.updateTask(eq(1), any(TaskRequest.class), isNull())).thenReturn(completedTask);
 
         // Act & Assert - Étape 3: Terminer
         taskMockMvc.perform(put("/api/tasks/1")
@@ -384,7 +384,7 @@ class DeveloperControllerTest {
 
         // Vérifications
         verify(taskService, times(1)).getTaskById(1);
-        verify(taskService, times(2)).updateTask(eq(1), any(TaskRequest.class));
+        verify(taskService, times(2)).updateTask(eq(1), any(TaskRequest.class), isNull());
     }
 
     @Test
@@ -0,0 +1,150 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.HistoriqueDTO.LogFilterRequest;
+import com.sqli.stage.backendsqli.entity.Enums.EntityName;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.TypeOperation;
+import com.sqli.stage.backendsqli.entity.Historique;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.HistoriqueRepository;
+import com.sqli.stage.backendsqli.repository.Specification.HistoriqueSpecifications;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("Tests HistoriqueRepository - filtres et pagination par curseur")
+class HistoriqueRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    @Autowired
+    private HistoriqueRepository historiqueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(ServiceTestFixtures.newUser(Role.DEVELOPPEUR));
+        bob = userRepository.save(ServiceTestFixtures.newUser(Role.CHEF_DE_PROJET));
+        log(alice, TypeOperation.CREATION, EntityName.TASK, 1, T0);
+        log(alice, TypeOperation.MODIFICATION, EntityName.TASK, 1, T0.plusHours(1));
+        log(alice, TypeOperation.MODIFICATION, EntityName.PROJECT, 7, T0.plusHours(2));
+        log(bob, TypeOperation.CREATION, EntityName.PROJECT, 7, T0.plusHours(1));
+        log(bob, TypeOperation.SUPPRESSION, EntityName.TASK, 2, T0.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("✅ Filtres : action, entité (avec ou sans id), utilisateur, période et combinaison")
+    void appliesFilters() {
+        assertEquals(3, find(f -> f.setUserId(alice.getId())).size());
+        assertEquals(List.of(EntityName.PROJECT, EntityName.TASK),
+                find(f -> f.setUserId(alice.getId()), f -> f.setAction(TypeOperation.MODIFICATION)).stream()
+                        .map(Historique::getEntityName).toList());
+        assertEquals(List.of(TypeOperation.CREATION),
+                find(f -> f.setUserId(bob.getId()), f -> f.setEntityName(EntityName.PROJECT)).stream()
+                        .map(Historique::getAction).toList());
+        assertEquals(1, find(f -> f.setUserId(alice.getId()), f -> f.setEntityName(EntityName.TASK), f -> f.setEntityId(1),
+                f -> f.setAction(TypeOperation.CREATION)).size());
+        assertTrue(find(f -> f.setUserId(alice.getId()), f -> f.setEntityName(EntityName.TASK), f -> f.setEntityId(2)).isEmpty());
+        // Bornes de période incluses
+        assertEquals(List.of(T0.plusHours(2), T0.plusHours(1)),
+                find(f -> f.setUserId(alice.getId()), f -> f.setStart(T0.plusHours(1)), f -> f.setEnd(T0.plusHours(2))).stream()
+                        .map(Historique::getDateHeure).toList());
+    }
+
+    @Test
+    @DisplayName("✅ Curseur : pages successives dans l'ordre (date, id) décroissant, sans perte ni doublon sur dates égales")
+    void seeksPastCursorWithTies() {
+        // Plusieurs entrées au même instant : l'id départage
+        for (int i = 0; i < 4; i++) {
+            log(alice, TypeOperation.CHANGE_STATUS, EntityName.TASK, 10 + i, T0.plusHours(1));
+        }
+        List<Historique> all = find(f -> f.setUserId(alice.getId()));
+        assertEquals(7, all.size());
+
+        List<Integer> seen = new ArrayList<>();
+        Historique last = null;
+        for (int page = 0; page < 5; page++) {
+            Historique cursor = last;
+            List<Historique> rows = find(f -> f.setUserId(alice.getId()),
+                    f -> f.setCursorTimestamp(cursor != null ? cursor.getDateHeure() : null),
+                    f -> f.setCursorId(cursor != null ? cursor.getId() : null),
+                    f -> f.setSize(2));
+            if (rows.isEmpty()) {
+                break;
+            }
+            rows.forEach(row -> seen.add(row.getId()));
+            last = rows.get(rows.size() - 1);
+        }
+        assertEquals(all.stream().map(Historique::getId).toList(), seen);
+    }
+
+    @Test
+    @DisplayName("✅ Séquence réinitialisée comme V15 : insertions après des lignes existantes sans collision d'id")
+    void insertsAfterPreExistingRowsOnceSequenceIsReseeded() {
+        // Lignes antérieures à la séquence (ids attribués par l'ancienne colonne IDENTITY)
+        for (int id = 1000; id < 1100; id++) {
+            entityManager.getEntityManager().createNativeQuery(
+                    "INSERT INTO history (id, action, timestamp, entity_id, entity_name) VALUES (?, 'CREATION', ?, 1, 'TASK')")
+                    .setParameter(1, id).setParameter(2, T0).executeUpdate();
+        }
+        reseedLikeMigration();
+
+        // Plus d'un bloc de 50 : l'optimiseur relit la séquence au moins une fois
+        for (int i = 0; i < 120; i++) {
+            log(alice, TypeOperation.MODIFICATION, EntityName.TASK, 1, T0.plusDays(2));
+        }
+        historiqueRepository.flush();
+
+        assertEquals(225, historiqueRepository.count());
+    }
+
+    // Équivalent H2 de V15 : la séquence repart 50 au-dessus du plus grand id existant
+    private void reseedLikeMigration() {
+        Number max = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM history").getSingleResult();
+        entityManager.getEntityManager()
+                .createNativeQuery("ALTER SEQUENCE history_seq RESTART WITH " + (max.longValue() + 50))
+                .executeUpdate();
+    }
+
+    @SafeVarargs
+    private List<Historique> find(Consumer<LogFilterRequest>... criteria) {
+        LogFilterRequest filter = new LogFilterRequest();
+        for (Consumer<LogFilterRequest> criterion : criteria) {
+            criterion.accept(filter);
+        }
+        return historiqueRepository.findBy(HistoriqueSpecifications.fromFilter(filter),
+                query -> query.sortBy(HistoriqueSpecifications.SEEK_ORDER).limit(filter.getSize()).all());
+    }
+
+    private void log(User user, TypeOperation action, EntityName entityName, int entityId, LocalDateTime dateHeure) {
+        Historique historique = new Historique();
+        historique.setUser(user);
+        historique.setAction(action);
+        historique.setEntityName(entityName);
+        historique.setEntityId(entityId);
+        historique.setDateHeure(dateHeure);
+        historique.setDescription(action + " " + entityName + " " + entityId);
+        historiqueRepository.save(historique);
+    }
+}
@@ -0,0 +1,71 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.security.JwtClaims;
+import com.sqli.stage.backendsqli.security.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests JwtUtil - vérification et cache des tokens")
+class JwtUtilTest {
+
+    private static final String SECRET = "4302c0d7354bfd9011b1cecc8a958336e895c384ff0acdbb4f19e3742410577e";
+
+    @Test
+    @DisplayName("✅ Token valide : claims extraits et mis en cache")
+    void parsesAndCachesVerifiedToken() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 16);
+        String token = jwtUtil.generateToken("dev.dev-Sqli1234", "DEVELOPPEUR", 42);
+
+        JwtClaims first = jwtUtil.parseVerified(token).orElseThrow();
+        JwtClaims second = jwtUtil.parseVerified(token).orElseThrow();
+
+        assertEquals("dev.dev-Sqli1234", first.username());
+        assertEquals("DEVELOPPEUR", first.role());
+        assertEquals(42, first.id());
+        assertNotNull(first.expiresAt());
+        assertSame(first, second);
+        assertEquals(42, jwtUtil.extractId(token));
+        assertTrue(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("❌ Token expiré : refusé")
+    void rejectsExpiredToken() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, -1_000, 16);
+        String token = jwtUtil.generateToken("dev", "DEVELOPPEUR", 1);
+
+        assertEquals(Optional.empty(), jwtUtil.parseVerified(token));
+        assertFalse(jwtUtil.validateToken(token));
+        assertThrows(JwtException.class, () -> jwtUtil.extractUsername(token));
+    }
+
+    @Test
+    @DisplayName("❌ Token signé avec un autre secret : refusé")
+    void rejectsTokenSignedWithAnotherKey() {
+        JwtUtil other = new JwtUtil(SECRET.replace('4', '5'), 60_000, 16);
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 16);
+        String token = other.generateToken("admin", "ADMIN", 1);
+
+        assertTrue(jwtUtil.parseVerified(token).isEmpty());
+        assertTrue(jwtUtil.parseVerified("pas-un-jwt").isEmpty());
+        assertTrue(jwtUtil.parseVerified(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ Cache désactivé : chaque appel vérifie la signature")
+    void worksWithoutCache() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 0);
+        String token = jwtUtil.generateToken("client", "CLIENT", 3);
+
+        JwtClaims first = jwtUtil.parseVerified(token).orElseThrow();
+        JwtClaims second = jwtUtil.parseVerified(token).orElseThrow();
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+}
@@ -0,0 +1,89 @@
+package com.sqli.stage.backendsqli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqli.stage.backendsqli.dto.MaintenanceToggleDto;
+import com.sqli.stage.backendsqli.repository.MaintenanceRepository;
+import com.sqli.stage.backendsqli.repository.MaintenanceStateRepository;
+import com.sqli.stage.backendsqli.service.MaintenanceService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({MaintenanceService.class, JacksonAutoConfiguration.class})
+@DisplayName("Tests MaintenanceService - état en mémoire et propagation")
+class MaintenanceServiceTest {
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    @Autowired
+    private MaintenanceRepository maintenanceRepository;
+
+    @Autowired
+    private MaintenanceStateRepository maintenanceStateRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("✅ Bascule locale immédiate, propagée à une autre instance au prochain poll")
+    void propagatesToggleToOtherNode() throws Exception {
+        MaintenanceService otherNode = new MaintenanceService(maintenanceRepository, maintenanceStateRepository, objectMapper);
+        assertFalse(maintenanceService.isMaintenanceEnabled());
+        assertFalse(otherNode.isMaintenanceEnabled());
+
+        maintenanceService.toggleMaintenance(toggle(true, "Mise à jour"), "admin");
+
+        assertTrue(maintenanceService.isMaintenanceEnabled());
+        assertFalse(otherNode.isMaintenanceEnabled());
+        otherNode.refreshIfChanged();
+        assertTrue(otherNode.isMaintenanceEnabled());
+
+        JsonNode body = objectMapper.readTree(otherNode.getBlockedResponseBody());
+        assertEquals("Mise à jour", body.get("maintenance").get("message").asText());
+        assertEquals(MaintenanceService.RETRY_AFTER_SECONDS, body.get("retryAfter").asInt());
+
+        maintenanceService.toggleMaintenance(toggle(false, ""), "admin");
+        otherNode.refreshIfChanged();
+        assertFalse(maintenanceService.isMaintenanceEnabled());
+        assertFalse(otherNode.isMaintenanceEnabled());
+        assertFalse(otherNode.getMaintenanceStatus().isEnabled());
+    }
+
+    @Test
+    @DisplayName("✅ Lecture de l'état sans requête SQL")
+    void readsStateWithoutQuery() {
+        maintenanceService.isMaintenanceEnabled();
+        SqlStatementCounter counter = new SqlStatementCounter(entityManagerFactory);
+
+        long statements = counter.count(() -> {
+            for (int i = 0; i < 100; i++) {
+                maintenanceService.isMaintenanceEnabled();
+                maintenanceService.getBlockedResponseBody();
+            }
+        });
+
+        assertEquals(0, statements);
+    }
+
+    private MaintenanceToggleDto toggle(boolean enabled, String message) {
+        MaintenanceToggleDto toggleDto = new MaintenanceToggleDto();
+        toggleDto.setEnabled(enabled);
+        toggleDto.setMessage(message);
+        return toggleDto;
+    }
+}
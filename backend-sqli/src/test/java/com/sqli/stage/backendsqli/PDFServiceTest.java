@@ -0,0 +1,108 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.ProjectDTO.DeveloperResponse;
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectResponse;
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Enums.TypeProjet;
+import com.sqli.stage.backendsqli.service.PDFService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests PDFService - gabarit Thymeleaf et pool de renderers")
+class PDFServiceTest {
+
+    private PDFService pdfService;
+
+    @BeforeEach
+    void setUp() {
+        // Même moteur (expressions SpEL) que la configuration Spring Boot
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        // Un seul renderer : chaque rendu réutilise le même
+        pdfService = new PDFService(templateEngine, 1, 5000);
+    }
+
+    @Test
+    @DisplayName("✅ Rendus successifs avec le même renderer")
+    void reusesPooledRenderer() throws IOException {
+        pdfService.warmUp();
+
+        byte[] first = pdfService.generateProjectPDF(project("Portail client"));
+        byte[] second = pdfService.generateProjectPDF(project("Application mobile"));
+
+        assertPdf(first);
+        assertPdf(second);
+    }
+
+    @Test
+    @DisplayName("✅ Écriture directe dans le flux fourni, sans le fermer")
+    void streamsWithoutClosing() throws IOException {
+        boolean[] closed = {false};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        pdfService.writeProjectPDF(project("Portail client"), out);
+
+        assertPdf(out.toByteArray());
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    @DisplayName("✅ Contenu échappé et document XHTML valide pour le moteur PDF")
+    void escapesProjectContent() throws IOException {
+        ProjectResponse project = project("<b>R&D</b>");
+        project.setDescription("   ");
+
+        byte[] pdf = pdfService.generateProjectPDF(project);
+
+        assertPdf(pdf);
+    }
+
+    private static void assertPdf(byte[] pdf) {
+        assertTrue(pdf.length > 500, "taille : " + pdf.length);
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.ISO_8859_1));
+    }
+
+    private static ProjectResponse project(String titre) {
+        ProjectResponse project = new ProjectResponse();
+        project.setId(1);
+        project.setTitre(titre);
+        project.setDescription("Refonte du portail");
+        project.setType(TypeProjet.Delivery);
+        project.setStatut(StatutProjet.EN_COURS);
+        project.setDateDebut(LocalDate.of(2025, 1, 6));
+        project.setDateFin(LocalDate.of(2025, 6, 30));
+        project.setProgression(BigDecimal.valueOf(42.5));
+        project.setClient(new ProjectResponse.ClientInfo(2, "client", "Client SA", "client@sqli.com"));
+        DeveloperResponse dev = new DeveloperResponse();
+        dev.setNom("Dev Un");
+        dev.setEmail("dev1@sqli.com");
+        project.setDeveloppeurs(List.of(dev));
+        project.setTotalTasks(4);
+        project.setCompletedTasks(1);
+        project.setInProgressTasks(2);
+        return project;
+    }
+}
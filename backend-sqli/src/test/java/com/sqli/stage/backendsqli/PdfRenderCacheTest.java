@@ -0,0 +1,163 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.PdfRenderCache.RenderKey;
+import com.sqli.stage.backendsqli.service.PdfRenderCache.RenderedPdf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests PdfRenderCache - cache des PDF de projets")
+class PdfRenderCacheTest {
+
+    private static final String ETAG = "\"project-pdf.1.0.0\"";
+
+    @Test
+    @DisplayName("✅ Un PDF inchangé n'est rendu qu'une fois")
+    void rendersOncePerVersion() throws IOException {
+        PdfRenderCache cache = new PdfRenderCache(1024, 1024, 600);
+        AtomicInteger renders = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            RenderKey key = cache.currentKey(1, ETAG);
+            RenderedPdf pdf = cache.getOrRender(key, () -> {
+                renders.incrementAndGet();
+                return pdf(10);
+            });
+            assertEquals("projet.pdf", pdf.filename());
+        }
+
+        assertEquals(1, renders.get());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("✅ Une modification du projet change la clé et force un nouveau rendu")
+    void invalidateChangesVersion() throws IOException {
+        PdfRenderCache cache = new PdfRenderCache(1024, 1024, 600);
+        RenderKey before = cache.currentKey(1, ETAG);
+        cache.getOrRender(before, () -> pdf(10));
+        cache.getOrRender(cache.currentKey(2, ETAG), () -> pdf(10));
+
+        cache.invalidate(1);
+
+        RenderKey after = cache.currentKey(1, ETAG);
+        assertNotEquals(before, after);
+        assertEquals(1, cache.size());
+        AtomicInteger renders = new AtomicInteger();
+        cache.getOrRender(after, () -> {
+            renders.incrementAndGet();
+            return pdf(10);
+        });
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    @DisplayName("✅ ETag différent (modification faite sur une autre instance) : nouveau rendu")
+    void etagChangeForcesRender() throws IOException {
+        PdfRenderCache cache = new PdfRenderCache(1024, 1024, 600);
+        cache.getOrRender(cache.currentKey(1, ETAG), () -> pdf(10));
+
+        AtomicInteger renders = new AtomicInteger();
+        cache.getOrRender(cache.currentKey(1, "\"project-pdf.1.1.0\""), () -> {
+            renders.incrementAndGet();
+            return pdf(10);
+        });
+
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    @DisplayName("✅ Rendu commencé avant une modification : non conservé")
+    void staleRenderIsNotCached() throws IOException {
+        PdfRenderCache cache = new PdfRenderCache(1024, 1024, 600);
+        RenderKey key = cache.currentKey(1, ETAG);
+
+        cache.getOrRender(key, () -> {
+            cache.invalidate(1);
+            return pdf(10);
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("✅ Taille totale bornée : éviction du moins récemment utilisé")
+    void boundedByBytes() throws IOException {
+        PdfRenderCache cache = new PdfRenderCache(100, 60, 600);
+        cache.getOrRender(cache.currentKey(1, ETAG), () -> pdf(40));
+        cache.getOrRender(cache.currentKey(2, ETAG), () -> pdf(40));
+        cache.getOrRender(cache.currentKey(1, ETAG), () -> pdf(40));
+        cache.getOrRender(cache.currentKey(3, ETAG), () -> pdf(40));
+        cache.getOrRender(cache.currentKey(4, ETAG), () -> pdf(80));
+
+        assertEquals(2, cache.size());
+        assertEquals(80, cache.getBytes());
+        AtomicInteger renders = new AtomicInteger();
+        cache.getOrRender(cache.currentKey(1, ETAG), () -> {
+            renders.incrementAndGet();
+            return pdf(40);
+        });
+        assertEquals(0, renders.get());
+    }
+
+    @Test
+    @DisplayName("✅ Requêtes simultanées : un seul rendu")
+    void concurrentMissesShareOneRender() throws Exception {
+        PdfRenderCache cache = new PdfRenderCache(1024, 1024, 600);
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            RenderKey key = cache.currentKey(1, ETAG);
+            Future<RenderedPdf> first = executor.submit(() -> cache.getOrRender(key, () -> {
+                renders.incrementAndGet();
+                started.countDown();
+                await(release);
+                return pdf(10);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<RenderedPdf> second = executor.submit(() -> cache.getOrRender(key, () -> {
+                renders.incrementAndGet();
+                return pdf(10);
+            }));
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, renders.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Projet introuvable : rien n'est mis en cache")
+    void nullRenderIsNotCached() throws IOException {
+        PdfRenderCache cache = new PdfRenderCache(1024, 1024, 600);
+
+        assertNull(cache.getOrRender(cache.currentKey(9, ETAG), () -> null));
+        assertEquals(0, cache.size());
+    }
+
+    private static RenderedPdf pdf(int size) {
+        return new RenderedPdf(new byte[size], "projet.pdf");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
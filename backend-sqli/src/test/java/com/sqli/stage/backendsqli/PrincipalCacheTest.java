@@ -0,0 +1,110 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.security.PrincipalCache;
+import com.sqli.stage.backendsqli.security.UserPrincipal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests PrincipalCache - cache des utilisateurs authentifiés")
+class PrincipalCacheTest {
+
+    @Test
+    @DisplayName("✅ Un utilisateur en cache n'est chargé qu'une fois")
+    void cachesLoadedPrincipal() {
+        PrincipalCache cache = new PrincipalCache(10, 300);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            UserPrincipal principal = cache.get("dev.dev-Sqli1234", username -> {
+                loads.incrementAndGet();
+                return principal(1, username, Role.DEVELOPPEUR);
+            });
+            assertEquals("ROLE_DEVELOPPEUR", principal.getAuthorities().iterator().next().getAuthority());
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(4, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("✅ Invalidation par id, même après changement de username")
+    void invalidatesById() {
+        PrincipalCache cache = new PrincipalCache(10, 300);
+        cache.get("old", username -> principal(7, username, Role.DEVELOPPEUR));
+
+        cache.invalidate(7);
+
+        UserPrincipal reloaded = cache.get("old", username -> principal(7, username, Role.CHEF_DE_PROJET));
+        assertEquals("CHEF_DE_PROJET", reloaded.getRole());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("✅ Un chargement commencé avant l'invalidation n'est pas mis en cache")
+    void skipsLoadRacingWithInvalidation() {
+        PrincipalCache cache = new PrincipalCache(10, 300);
+
+        cache.get("dev", username -> {
+            cache.invalidate(3);
+            return principal(3, username, Role.DEVELOPPEUR);
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("✅ Taille bornée : l'entrée la moins récemment utilisée est évincée")
+    void evictsLeastRecentlyUsed() {
+        PrincipalCache cache = new PrincipalCache(2, 300);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", username -> principal(1, username, Role.CLIENT));
+        cache.get("b", username -> principal(2, username, Role.CLIENT));
+        cache.get("a", username -> principal(1, username, Role.CLIENT));
+        cache.get("c", username -> principal(3, username, Role.CLIENT));
+
+        assertEquals(2, cache.size());
+        cache.get("a", username -> {
+            loads.incrementAndGet();
+            return principal(1, username, Role.CLIENT);
+        });
+        cache.get("b", username -> {
+            loads.incrementAndGet();
+            return principal(2, username, Role.CLIENT);
+        });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("✅ Durée de vie nulle : aucun utilisateur mis en cache")
+    void zeroTtlDisablesCache() {
+        PrincipalCache cache = new PrincipalCache(10, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("dev", username -> {
+            loads.incrementAndGet();
+            return principal(1, username, Role.DEVELOPPEUR);
+        });
+        cache.get("dev", username -> {
+            loads.incrementAndGet();
+            return principal(1, username, Role.DEVELOPPEUR);
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    private UserPrincipal principal(int id, String username, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setMotDePasse("{noop}secret");
+        user.setRole(role);
+        return UserPrincipal.from(user);
+    }
+}
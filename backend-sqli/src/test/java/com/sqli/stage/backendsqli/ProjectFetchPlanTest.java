@@ -0,0 +1,163 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectDetailsResponse;
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectResponse;
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectSummary;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.service.ImplementationService.ProjetServiceImpl;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garde-fou N+1 : le nombre de requêtes SQL des lectures de projets ne doit pas dépendre
+ * du nombre de projets, de tâches ou de développeurs chargés.
+ */
+@ServiceJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=50"
+})
+@DisplayName("Tests plans de chargement des projets - nombre de requêtes SQL")
+class ProjectFetchPlanTest {
+
+    @Autowired
+    private ProjetServiceImpl projetService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SqlStatementCounter counter;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate write;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SqlStatementCounter(entityManagerFactory);
+        // Les lectures s'exécutent dans une session ouverte, comme avec open-in-view
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        write = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("✅ Projets d'un chef : nombre de requêtes constant quel que soit le nombre de projets")
+    void projectsByChefUseConstantStatementCount() {
+        String smallChef = seedChefWithProjects(2, 2, 3);
+        String largeChef = seedChefWithProjects(12, 3, 5);
+
+        // Tâches insérées sans passer par le service : lignes de statistiques créées par la réconciliation
+        taskStatsService.reconcile();
+        inSession(() -> projetService.getProjectsByChef(smallChef));
+        inSession(() -> projetService.getProjectsByChef(largeChef));
+
+        SqlStatementCounter.Counted<List<ProjectResponse>> small =
+                counter.count(() -> inSession(() -> projetService.getProjectsByChef(smallChef)));
+        SqlStatementCounter.Counted<List<ProjectResponse>> large =
+                counter.count(() -> inSession(() -> projetService.getProjectsByChef(largeChef)));
+
+        assertEquals(2, small.result().size());
+        assertEquals(12, large.result().size());
+        assertEquals(3, large.result().get(0).getDeveloppeurs().size());
+        assertEquals(small.statements(), large.statements());
+        assertTrue(large.statements() <= 2, "requêtes : " + large.statements());
+    }
+
+    @Test
+    @DisplayName("✅ Détail d'un projet : tâches et développeurs chargés sans N+1")
+    void detailedProjectUsesConstantStatementCount() {
+        String smallChef = seedChefWithProjects(1, 1, 1);
+        String largeChef = seedChefWithProjects(1, 4, 20);
+        int smallId = projetRepository.findByCreatedByUsername(smallChef).get(0).getId();
+        int largeId = projetRepository.findByCreatedByUsername(largeChef).get(0).getId();
+
+        SqlStatementCounter.Counted<ProjectDetailsResponse> small =
+                counter.count(() -> inSession(() -> projetService.getDetailedProject(smallId)));
+        SqlStatementCounter.Counted<ProjectDetailsResponse> large =
+                counter.count(() -> inSession(() -> projetService.getDetailedProject(largeId)));
+
+        assertEquals(1, small.result().getTasks().size());
+        assertEquals(20, large.result().getTasks().size());
+        assertEquals(small.statements(), large.statements());
+        assertEquals(1, large.statements());
+    }
+
+    @Test
+    @DisplayName("✅ Tableau de bord chef : projection sans chargement des collections")
+    void chefSummariesUseSingleStatement() {
+        String chef = seedChefWithProjects(8, 2, 4);
+
+        SqlStatementCounter.Counted<List<ProjectSummary>> summaries =
+                counter.count(() -> inSession(() -> projetRepository.findSummariesByCreatedByUsername(chef)));
+        SqlStatementCounter.Counted<Long> teamMembers =
+                counter.count(() -> inSession(() -> projetRepository.countDistinctDeveloppeursByCreatedByUsername(chef)));
+
+        assertEquals(8, summaries.result().size());
+        assertEquals(1, summaries.statements());
+        assertEquals(2L, teamMembers.result());
+        assertEquals(1, teamMembers.statements());
+    }
+
+    private <T> T inSession(Supplier<T> action) {
+        return readOnly.execute(status -> action.get());
+    }
+
+    // Un chef avec ses projets ; chaque projet partage la même équipe et contient des tâches réparties sur l'équipe
+    private String seedChefWithProjects(int projects, int developers, int tasksPerProject) {
+        return write.execute(status -> {
+            User chef = userRepository.save(ServiceTestFixtures.newUser(Role.CHEF_DE_PROJET));
+            User client = userRepository.save(ServiceTestFixtures.newUser(Role.CLIENT));
+            List<User> team = new ArrayList<>();
+            for (int i = 0; i < developers; i++) {
+                team.add(userRepository.save(ServiceTestFixtures.newUser(Role.DEVELOPPEUR)));
+            }
+            for (int i = 0; i < projects; i++) {
+                Project project = new Project();
+                project.setTitre("Projet " + i);
+                project.setStatut(StatutProjet.EN_COURS);
+                project.setDateDebut(LocalDate.now());
+                project.setDateFin(LocalDate.now().plusMonths(1));
+                project.setCreatedBy(chef);
+                project.setClient(client);
+                project.setDeveloppeurs(new ArrayList<>(team));
+                project = projetRepository.save(project);
+                for (int t = 0; t < tasksPerProject; t++) {
+                    taskRepository.save(ServiceTestFixtures.task(project, team.get(t % team.size())));
+                }
+            }
+            return chef.getUsername();
+        });
+    }
+}
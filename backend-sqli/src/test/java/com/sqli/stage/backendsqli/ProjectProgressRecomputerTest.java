@@ -0,0 +1,119 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.exception.ResourceNotFoundException;
+import com.sqli.stage.backendsqli.service.ProjectProgressRecomputer;
+import com.sqli.stage.backendsqli.service.ProjetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Tests ProjectProgressRecomputer - recalcul regroupé de la progression des projets")
+class ProjectProgressRecomputerTest {
+
+    @Mock
+    private ProjetService projetService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Plusieurs mutations du même projet : un seul recalcul par passage")
+    void coalescesRequestsPerProject() {
+        ProjectProgressRecomputer recomputer = new ProjectProgressRecomputer(projetService, transactionManager, true);
+
+        for (int i = 0; i < 5; i++) {
+            recomputer.markDirty(1);
+        }
+        recomputer.markDirty(2);
+        recomputer.markDirty(null);
+
+        assertEquals(2, recomputer.getPendingCount());
+        verify(projetService, never()).updateProjectProgress(anyInt());
+
+        recomputer.drain();
+        recomputer.drain();
+
+        verify(projetService, times(1)).updateProjectProgress(1);
+        verify(projetService, times(1)).updateProjectProgress(2);
+        assertEquals(0, recomputer.getPendingCount());
+        assertEquals(6, recomputer.getRequestedCount());
+        assertEquals(2, recomputer.getRecomputedCount());
+        assertEquals(3.0, recomputer.getCoalescingRatio());
+    }
+
+    @Test
+    @DisplayName("✅ Dans une transaction : projet marqué seulement après le commit")
+    void marksProjectAfterCommitOnly() {
+        ProjectProgressRecomputer recomputer = new ProjectProgressRecomputer(projetService, transactionManager, true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        recomputer.markDirty(1);
+        assertEquals(0, recomputer.getPendingCount());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertEquals(1, recomputer.getPendingCount());
+
+        // Transaction annulée : rien à recalculer
+        TransactionSynchronizationManager.initSynchronization();
+        recomputer.markDirty(2);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        recomputer.drain();
+        verify(projetService).updateProjectProgress(1);
+        verify(projetService, never()).updateProjectProgress(2);
+    }
+
+    @Test
+    @DisplayName("✅ Mode synchrone : recalcul immédiat")
+    void recomputesImmediatelyWhenSynchronous() {
+        ProjectProgressRecomputer recomputer = new ProjectProgressRecomputer(projetService, transactionManager, false);
+
+        recomputer.markDirty(1);
+        recomputer.markDirty(1);
+
+        verify(projetService, times(2)).updateProjectProgress(1);
+        assertEquals(0, recomputer.getPendingCount());
+        assertEquals(1.0, recomputer.getCoalescingRatio());
+    }
+
+    @Test
+    @DisplayName("❌ Échec d'un recalcul : compté sans bloquer les autres projets")
+    void failureDoesNotBlockOtherProjects() {
+        ProjectProgressRecomputer recomputer = new ProjectProgressRecomputer(projetService, transactionManager, true);
+        doThrow(new IllegalStateException("Base indisponible")).when(projetService).updateProjectProgress(1);
+        doThrow(new ResourceNotFoundException("Projet introuvable")).when(projetService).updateProjectProgress(2);
+
+        recomputer.markDirty(1);
+        recomputer.markDirty(2);
+        recomputer.markDirty(3);
+        recomputer.drain();
+
+        verify(projetService).updateProjectProgress(3);
+        assertEquals(1, recomputer.getFailedCount());
+        assertEquals(2, recomputer.getRecomputedCount());
+        assertEquals(0, recomputer.getPendingCount());
+    }
+}
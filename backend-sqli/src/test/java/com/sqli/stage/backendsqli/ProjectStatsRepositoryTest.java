@@ -0,0 +1,136 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.ProjectStatsRepository;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.Projection.DashboardCounts;
+import com.sqli.stage.backendsqli.repository.Projection.ProjectStatusCount;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Tests ProjectStatsRepository - indicateurs calculés par la base")
+class ProjectStatsRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Autowired
+    private ProjectStatsRepository projectStatsRepository;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User chef;
+
+    @BeforeEach
+    void setUp() {
+        chef = new User();
+        chef.setUsername("chef.stats");
+        chef.setEmail("chef.stats@sqli.com");
+        chef.setRole(Role.CHEF_DE_PROJET);
+        chef = userRepository.save(chef);
+    }
+
+    @Test
+    @DisplayName("✅ Tableau de bord : tous les indicateurs en une requête")
+    void dashboardCountsInSingleStatement() {
+        Project late = project(StatutProjet.EN_COURS, TODAY.minusDays(3));
+        project(StatutProjet.EN_COURS, TODAY.plusDays(10));
+        project(StatutProjet.TERMINE, TODAY.minusDays(30));
+        project(StatutProjet.BLOQUE, TODAY.minusDays(1));
+        project(null, TODAY.minusDays(1));
+        project(StatutProjet.EN_ATTENTE, null);
+        task(late, TODAY);
+        task(late, TODAY);
+        task(late, TODAY.minusDays(2));
+        entityManager.flush();
+
+        SqlStatementCounter.Counted<DashboardCounts> counted = new SqlStatementCounter(entityManagerFactory)
+                .count(() -> projectStatsRepository.loadDashboardCounts(TODAY, StatutProjet.EN_COURS, StatutProjet.TERMINE));
+        DashboardCounts counts = counted.result();
+
+        assertEquals(1, counted.statements());
+        assertEquals(6, counts.getTotalProjects());
+        assertEquals(2, counts.getActiveProjects());
+        assertEquals(1, counts.getCompletedProjects());
+        assertEquals(3, counts.getLateProjects());
+        assertEquals(3, counts.getTotalTasks());
+        assertEquals(2, counts.getTodayTasks());
+        assertEquals(counts.getLateProjects(), projectStatsRepository.countLateProjects(TODAY, StatutProjet.TERMINE));
+    }
+
+    @Test
+    @DisplayName("✅ Tableau de bord vide : indicateurs à zéro")
+    void dashboardCountsWithoutProjects() {
+        DashboardCounts counts = projectStatsRepository.loadDashboardCounts(TODAY, StatutProjet.EN_COURS, StatutProjet.TERMINE);
+
+        assertEquals(0, counts.getTotalProjects());
+        assertEquals(0, counts.getActiveProjects());
+        assertEquals(0, counts.getLateProjects());
+        assertEquals(0, counts.getTotalTasks());
+    }
+
+    @Test
+    @DisplayName("✅ Répartition des projets par statut")
+    void countGroupByStatut() {
+        project(StatutProjet.EN_COURS, TODAY);
+        project(StatutProjet.EN_COURS, TODAY);
+        project(StatutProjet.TERMINE, TODAY);
+
+        Map<StatutProjet, Long> byStatut = projectStatsRepository.countGroupByStatut().stream()
+                .collect(Collectors.toMap(ProjectStatusCount::getStatut, ProjectStatusCount::getTotal));
+
+        assertEquals(Map.of(StatutProjet.EN_COURS, 2L, StatutProjet.TERMINE, 1L), byStatut);
+    }
+
+    private Project project(StatutProjet statut, LocalDate dateFin) {
+        Project project = new Project();
+        project.setTitre("Projet " + statut);
+        project.setStatut(statut);
+        project.setDateDebut(TODAY.minusMonths(2));
+        project.setDateFin(dateFin);
+        project.setCreatedBy(chef);
+        return projetRepository.save(project);
+    }
+
+    private void task(Project project, LocalDate dateDebut) {
+        Task task = new Task();
+        task.setTitre("Tâche " + dateDebut);
+        task.setDateDebut(dateDebut);
+        task.setDateFin(dateDebut.plusDays(2));
+        task.setStatut(StatutTache.NON_COMMENCE);
+        task.setProject(project);
+        task.setDeveloppeur(chef);
+        taskRepository.save(task);
+    }
+}
@@ -0,0 +1,54 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.controller.QRCodeController;
+import com.sqli.stage.backendsqli.service.QRCodeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Tests QRCodeController - cache HTTP des QR codes")
+class QRCodeControllerTest {
+
+    @Test
+    @DisplayName("✅ QR code de projet : revalidé avec l'ETag, nouvelle image quand l'URL publique change")
+    void projectQRCodeIsRevalidated() throws Exception {
+        MockMvc before = mockMvc("https://tracker.sqli.com/");
+        String etag = before.perform(get("/api/qrcode/project/{projectId}", 7))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        before.perform(get("/api/qrcode/project/{projectId}", 7).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // qrcode.public-base-url modifiée (nouveau déploiement) : l'image en cache chez le client n'est plus servie
+        mockMvc("https://projets.sqli.com/")
+                .perform(get("/api/qrcode/project/{projectId}", 7).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG)));
+    }
+
+    @Test
+    @DisplayName("✅ QR code personnalisé : image déterminée par l'URL, conservée sans revalidation")
+    void customQRCodeIsImmutable() throws Exception {
+        mockMvc("https://tracker.sqli.com/")
+                .perform(get("/api/qrcode/custom").param("url", "https://sqli.com").param("title", "SQLI"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    private static MockMvc mockMvc(String publicBaseUrl) {
+        QRCodeController controller = new QRCodeController();
+        ReflectionTestUtils.setField(controller, "qrCodeService",
+                new QRCodeService(publicBaseUrl, 64, 1000, 1024, 1024 * 1024));
+        ReflectionTestUtils.setField(controller, "maxAgeSeconds", 31536000L);
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+}
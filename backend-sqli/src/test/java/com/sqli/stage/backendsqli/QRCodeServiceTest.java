@@ -0,0 +1,84 @@
+package com.sqli.stage.backendsqli;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import com.sqli.stage.backendsqli.service.QRCodeService;
+import com.sqli.stage.backendsqli.service.QRCodeService.QrImage;
+import com.sqli.stage.backendsqli.utils.QRCodeGenerator.Format;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests QRCodeService - cache des QR codes")
+class QRCodeServiceTest {
+
+    private final QRCodeService service = new QRCodeService("https://tracker.sqli.com/", 64, 1000, 1024, 1024 * 1024);
+
+    @Test
+    @DisplayName("✅ QR code de projet : URL publique configurée, image en cache")
+    void cachesProjectQRCode() throws Exception {
+        QrImage first = service.getProjectQRCode(7L, 400, Format.PNG);
+        QrImage second = service.getProjectQRCode(7L, 400, Format.PNG);
+
+        assertSame(first, second);
+        assertEquals(1, service.getMissCount());
+        assertEquals(1, service.getHitCount());
+        assertEquals(first.content().length, service.getBytes());
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(first.content()));
+        assertEquals(400, image.getWidth());
+        String decoded = new QRCodeReader().decode(new BinaryBitmap(new HybridBinarizer(
+                new BufferedImageLuminanceSource(image)))).getText();
+        assertEquals("https://tracker.sqli.com/project/7", decoded);
+    }
+
+    @Test
+    @DisplayName("✅ Format SVG : document vectoriel, ETag distinct du PNG")
+    void rendersSvg() throws Exception {
+        QrImage svg = service.getProjectQRCode(7L, 400, Format.SVG);
+        QrImage png = service.getProjectQRCode(7L, 400, Format.PNG);
+
+        String document = new String(svg.content(), StandardCharsets.UTF_8);
+        assertTrue(document.startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"400\" height=\"400\""));
+        assertTrue(document.contains("<path fill=\"#000\" d=\"M"));
+        assertNotEquals(svg.etag(), png.etag());
+        assertEquals(2, service.size());
+    }
+
+    @Test
+    @DisplayName("✅ Cache borné en octets : les images les plus anciennes sont évincées")
+    void evictsLeastRecentlyUsed() throws Exception {
+        long oneImage = service.getProjectQRCode(1L, 200, Format.SVG).content().length;
+        QRCodeService small = new QRCodeService("https://tracker.sqli.com", 64, 1000, 1024, oneImage * 2 + oneImage / 2);
+
+        small.getProjectQRCode(1L, 200, Format.SVG);
+        small.getProjectQRCode(2L, 200, Format.SVG);
+        small.getProjectQRCode(1L, 200, Format.SVG);
+        small.getProjectQRCode(3L, 200, Format.SVG);
+
+        assertEquals(2, small.size());
+        assertTrue(small.getBytes() <= oneImage * 2 + oneImage / 2);
+        small.getProjectQRCode(1L, 200, Format.SVG);
+        assertEquals(2, small.getHitCount());
+        // Projet 2, le moins récemment utilisé, a été évincé
+        small.getProjectQRCode(2L, 200, Format.SVG);
+        assertEquals(4, small.getMissCount());
+    }
+
+    @Test
+    @DisplayName("❌ Taille ou contenu hors limites : demande refusée")
+    void rejectsOutOfBoundsRequests() {
+        assertThrows(IllegalArgumentException.class, () -> service.getProjectQRCode(1L, 5000, Format.PNG));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getCustomQRCode("https://x".repeat(200), "Titre", 300, Format.PNG));
+        assertEquals(0, service.size());
+    }
+}
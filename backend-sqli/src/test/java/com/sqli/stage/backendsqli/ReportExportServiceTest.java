@@ -0,0 +1,220 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.ProjectDTO.ProjectResponse;
+import com.sqli.stage.backendsqli.dto.RapportDTO.ReportExportRequest;
+import com.sqli.stage.backendsqli.dto.RapportDTO.ReportJobResponse;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutRapport;
+import com.sqli.stage.backendsqli.entity.Enums.TypeProjet;
+import com.sqli.stage.backendsqli.entity.Rapport;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.exception.AccessdeniedException;
+import com.sqli.stage.backendsqli.repository.RapportRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import com.sqli.stage.backendsqli.service.PDFService;
+import com.sqli.stage.backendsqli.service.ProjetService;
+import com.sqli.stage.backendsqli.service.ReportExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Tests ReportExportService - exports groupés en archive ZIP")
+class ReportExportServiceTest {
+
+    @Mock
+    private RapportRepository rapportRepository;
+
+    @Mock
+    private ProjetService projetService;
+
+    @Mock
+    private PDFService pdfService;
+
+    @Mock
+    private CurrentUserHolder currentUserHolder;
+
+    @TempDir
+    Path spoolDir;
+
+    private final Map<Long, Rapport> rapports = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private ReportExportService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(rapportRepository.save(any(Rapport.class))).thenAnswer(invocation -> {
+            Rapport rapport = invocation.getArgument(0);
+            if (rapport.getId() == null) {
+                rapport.setId(ids.incrementAndGet());
+            }
+            rapports.put(rapport.getId(), rapport);
+            return rapport;
+        });
+        when(rapportRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(rapports.get(invocation.<Long>getArgument(0))));
+
+        User chef = new User();
+        chef.setId(1);
+        chef.setUsername("chef");
+        chef.setRole(Role.CHEF_DE_PROJET);
+        when(currentUserHolder.find()).thenReturn(Optional.of(chef));
+        when(currentUserHolder.getUsername()).thenReturn("chef");
+
+        when(projetService.getAllProjects()).thenReturn(List.of(
+                project(1, "Portail", TypeProjet.TMA),
+                project(2, "Mobile", TypeProjet.Delivery),
+                project(3, "Support", TypeProjet.TMA)));
+        when(pdfService.generateProjectPDF(any())).thenAnswer(invocation ->
+                ("%PDF-" + invocation.<ProjectResponse>getArgument(0).getTitre()).getBytes());
+
+        service = service(2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("✅ Export des projets TMA : archive avec un PDF par projet")
+    void exportsFilteredProjectsToZip() throws Exception {
+        ReportJobResponse submitted = service.submit(new ReportExportRequest(TypeProjet.TMA, null));
+
+        ReportJobResponse job = awaitEnd(submitted.getId());
+
+        assertEquals(StatutRapport.TERMINE, job.getStatut());
+        assertEquals(2, job.getNombreProjets());
+        assertEquals(2, job.getProjetsTraites());
+        assertEquals("/api/reports/exports/" + job.getId() + "/download", job.getDownloadUrl());
+        Path archive = service.getArchive(job.getId());
+        assertEquals(Files.size(archive), job.getTailleOctets());
+        assertEquals(List.of("projet-1-Portail.pdf", "projet-3-Support.pdf"), entries(archive));
+        assertFalse(Files.exists(spoolDir.resolve(archive.getFileName() + ".part")));
+    }
+
+    @Test
+    @DisplayName("❌ Échec d'un rendu : export en échec, aucun fichier laissé")
+    void failedRenderMarksJobFailed() throws Exception {
+        doThrow(new IOException("Erreur lors de la génération du PDF")).when(pdfService).generateProjectPDF(any());
+
+        ReportJobResponse job = awaitEnd(service.submit(new ReportExportRequest()).getId());
+
+        assertEquals(StatutRapport.ECHEC, job.getStatut());
+        assertNotNull(job.getErreur());
+        assertNull(job.getDownloadUrl());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+        assertThrows(IllegalStateException.class, () -> service.getArchive(job.getId()));
+    }
+
+    @Test
+    @DisplayName("❌ File d'export pleine : demande refusée")
+    void rejectsWhenQueueIsFull() throws Exception {
+        service.shutdown();
+        service = service(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "%PDF".getBytes();
+        }).when(pdfService).generateProjectPDF(any());
+
+        List<Long> accepted = new ArrayList<>();
+        assertThrows(RejectedExecutionException.class, () -> {
+            for (int i = 0; i < 3; i++) {
+                accepted.add(service.submit(new ReportExportRequest()).getId());
+            }
+        });
+        release.countDown();
+
+        assertEquals(2, accepted.size());
+        assertEquals(StatutRapport.ECHEC, rapports.get(3L).getStatut());
+        for (Long id : accepted) {
+            assertEquals(StatutRapport.TERMINE, awaitEnd(id).getStatut());
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Export d'un autre utilisateur : accès refusé")
+    void deniesOtherUsersJobs() throws Exception {
+        Long id = awaitEnd(service.submit(new ReportExportRequest()).getId()).getId();
+        User other = new User();
+        other.setUsername("autre.chef");
+        other.setRole(Role.CHEF_DE_PROJET);
+        when(currentUserHolder.find()).thenReturn(Optional.of(other));
+
+        assertThrows(AccessdeniedException.class, () -> service.getJob(id));
+        assertThrows(AccessdeniedException.class, () -> service.getArchive(id));
+    }
+
+    @Test
+    @DisplayName("❌ Périmètre vide : demande invalide")
+    void rejectsEmptyScope() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.submit(new ReportExportRequest(TypeProjet.Interne, null)));
+        assertTrue(rapports.isEmpty());
+    }
+
+    private ReportExportService service(int workers, int queueCapacity) {
+        return new ReportExportService(rapportRepository, projetService, pdfService, currentUserHolder,
+                spoolDir.toString(), workers, queueCapacity, 2, 100, 24);
+    }
+
+    private ReportJobResponse awaitEnd(Long id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ReportJobResponse job = service.getJob(id);
+            if (job.getStatut() != StatutRapport.EN_ATTENTE && job.getStatut() != StatutRapport.EN_COURS) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Export " + id + " non terminé");
+        return null;
+    }
+
+    private static List<String> entries(Path archive) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                assertTrue(new String(zip.readAllBytes()).startsWith("%PDF"));
+            }
+        }
+        return names;
+    }
+
+    private static ProjectResponse project(int id, String titre, TypeProjet type) {
+        ProjectResponse project = new ProjectResponse();
+        project.setId(id);
+        project.setTitre(titre);
+        project.setType(type);
+        return project;
+    }
+}
@@ -0,0 +1,149 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchHit;
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchResponse;
+import com.sqli.stage.backendsqli.dto.SearchDTO.SearchType;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recherche de repli par LIKE (H2 n'a pas les colonnes search_vector de PostgreSQL).
+ */
+@DataJpaTest
+@Import(SearchService.class)
+@DisplayName("Tests SearchService - recherche sur les tâches, projets et utilisateurs")
+class SearchServiceTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Mot propre à chaque test : les autres classes de test partagent la même base H2
+    private String marker;
+    private User developer;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        marker = "m" + UUID.randomUUID().toString().substring(0, 8);
+        developer = userRepository.saveAndFlush(user("Développeur " + marker));
+        project = new Project();
+        project.setTitre("Refonte du portail");
+        project.setDescription("Portail client " + marker + " et espace documentaire");
+        project.setStatut(StatutProjet.EN_COURS);
+        project = projetRepository.saveAndFlush(project);
+    }
+
+    @Test
+    @DisplayName("✅ Résultats des trois types classés par pertinence, titre avant description")
+    void ranksResultsAcrossTypes() {
+        Task task = taskRepository.saveAndFlush(task("Migration " + marker, "Reprise des données"));
+
+        SearchResponse response = searchService.search(marker.toUpperCase(), null, 0, 10);
+
+        assertFalse(response.isFullText());
+        assertEquals(3, response.getTotalElements());
+        assertEquals(Map.of(SearchType.TASK, 1L, SearchType.PROJECT, 1L, SearchType.USER, 1L), response.getTotalsByType());
+        List<SearchHit> hits = response.getContent();
+        assertEquals(SearchType.TASK, hits.get(0).getType());
+        assertEquals(task.getId(), hits.get(0).getId());
+        assertEquals(SearchType.USER, hits.get(1).getType());
+        assertEquals(developer.getId(), hits.get(1).getId());
+        assertEquals(SearchType.PROJECT, hits.get(2).getType());
+        assertEquals("Refonte du portail", hits.get(2).getTitre());
+        assertTrue(hits.get(2).getScore() < hits.get(0).getScore());
+    }
+
+    @Test
+    @DisplayName("✅ Tous les mots sont requis et les résultats sont paginés")
+    void requiresAllTermsAndPaginates() {
+        for (int i = 0; i < 3; i++) {
+            taskRepository.save(task("Correctif " + marker + " " + i, "Anomalie de facturation"));
+        }
+        taskRepository.saveAndFlush(task("Évolution " + marker, "Nouvel écran"));
+
+        SearchResponse first = searchService.search(marker + " facturation", Set.of(SearchType.TASK), 0, 2);
+        SearchResponse second = searchService.search(marker + " facturation", Set.of(SearchType.TASK), 1, 2);
+
+        assertEquals(3, first.getTotalElements());
+        assertEquals(2, first.getContent().size());
+        assertEquals(1, second.getContent().size());
+        assertTrue(first.getContent().stream().noneMatch(hit -> hit.getId().equals(second.getContent().get(0).getId())));
+        assertEquals(4, searchService.searchIds(SearchType.TASK, marker, 10).size());
+    }
+
+    @Test
+    @DisplayName("✅ Filtre par type, recherche vide et sans type : aucun résultat")
+    void filtersByType() {
+        taskRepository.saveAndFlush(task("Tâche " + marker, null));
+
+        SearchResponse projects = searchService.search(marker, Set.of(SearchType.PROJECT), 0, 10);
+        assertEquals(1, projects.getTotalElements());
+        assertEquals(project.getId(), projects.getContent().get(0).getId());
+
+        assertEquals(0, searchService.search(marker, Set.of(), 0, 10).getTotalElements());
+        assertEquals(0, searchService.search("  ", null, 0, 10).getTotalElements());
+        assertTrue(searchService.search("%_", null, 0, 10).getContent().isEmpty());
+    }
+
+    @Test
+    @DisplayName("❌ Taille de page ou recherche hors limites")
+    void rejectsInvalidRequests() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(marker, null, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(marker, null, 0, 101));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(marker, null, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("x".repeat(201), null, 0, 10));
+    }
+
+    private User user(String nom) {
+        String username = "search-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(username);
+        user.setNom(nom);
+        user.setEmail(username + "@sqli.com");
+        user.setRole(Role.DEVELOPPEUR);
+        return user;
+    }
+
+    private Task task(String titre, String description) {
+        Task task = new Task();
+        task.setTitre(titre);
+        task.setDescription(description);
+        task.setDateDebut(LocalDate.now());
+        task.setDateFin(LocalDate.now().plusDays(5));
+        task.setStatut(StatutTache.NON_COMMENCE);
+        task.setProject(project);
+        task.setDeveloppeur(developer);
+        return task;
+    }
+}
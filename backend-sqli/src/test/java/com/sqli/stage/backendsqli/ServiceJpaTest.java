@@ -0,0 +1,37 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import com.sqli.stage.backendsqli.service.HistoriqueService;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Test des services métier sur une base H2 : services de ServiceTestConfiguration, utilisateur courant et
+ * historique simulés (récupérables par @Autowired), recalcul de progression synchrone.
+ * Chaque appel de service valide sa propre transaction, comme en production.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "project.progress.async.enabled=false")
+@Import(ServiceTestConfiguration.class)
+@MockitoBean(types = {CurrentUserHolder.class, HistoriqueService.class})
+public @interface ServiceJpaTest {
+
+    // Propriétés supplémentaires du test (Hibernate, lots JDBC...)
+    @AliasFor(annotation = DataJpaTest.class, attribute = "properties")
+    String[] properties() default {};
+}
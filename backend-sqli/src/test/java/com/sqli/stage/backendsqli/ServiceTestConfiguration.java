@@ -0,0 +1,23 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.monitoring.SqlMonitoringConfig;
+import com.sqli.stage.backendsqli.service.ImplementationService.ProjetServiceImpl;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskStatsServiceImpl;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskserviceImpl;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.ProjectProgressRecomputer;
+import com.sqli.stage.backendsqli.service.SearchService;
+import com.sqli.stage.backendsqli.service.TaskTimerRegistry;
+import com.sqli.stage.backendsqli.service.TimesheetService;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Services métier chargés par @ServiceJpaTest : une nouvelle dépendance des services s'ajoute ici seulement.
+ */
+@TestConfiguration
+@Import({TaskserviceImpl.class, ProjetServiceImpl.class, TaskStatsServiceImpl.class, PdfRenderCache.class,
+        SearchService.class, ProjectProgressRecomputer.class, TaskTimerRegistry.class, TimesheetService.class,
+        SqlMonitoringConfig.class, ServiceTestFixtures.class})
+public class ServiceTestConfiguration {
+}
@@ -0,0 +1,99 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskRequest;
+import com.sqli.stage.backendsqli.entity.Enums.Priorite;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutProjet;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import com.sqli.stage.backendsqli.security.CurrentUserHolder;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Jeux de données des tests de services : utilisateurs et projets enregistrés avec des noms uniques
+ * (la base H2 est partagée entre les tests), requêtes de tâches valides et utilisateur courant.
+ */
+@TestComponent
+public class ServiceTestFixtures {
+
+    private final UserRepository userRepository;
+    private final ProjetRepository projetRepository;
+    private final CurrentUserHolder currentUserHolder;
+
+    public ServiceTestFixtures(UserRepository userRepository, ProjetRepository projetRepository,
+                               CurrentUserHolder currentUserHolder) {
+        this.userRepository = userRepository;
+        this.projetRepository = projetRepository;
+        this.currentUserHolder = currentUserHolder;
+    }
+
+    public User user(Role role) {
+        return userRepository.save(newUser(role));
+    }
+
+    public Project project(String titre, User chef) {
+        Project project = new Project();
+        project.setTitre(titre + " " + suffix());
+        project.setStatut(StatutProjet.EN_COURS);
+        project.setCreatedBy(chef);
+        project.setDeveloppeurs(new ArrayList<>());
+        return projetRepository.save(project);
+    }
+
+    // Requête de création valide, à compléter ou modifier avant build()
+    public static TaskRequest.TaskRequestBuilder taskRequest(Project project, User developer, String titre) {
+        return TaskRequest.builder()
+                .titre(titre)
+                .dateDebut(LocalDate.now())
+                .dateFin(LocalDate.now().plusDays(5))
+                .statut(StatutTache.EN_COURS)
+                .priorite(Priorite.MOYENNE)
+                .plannedHours(8)
+                .projectId(project.getId())
+                .developpeurId(developer.getId());
+    }
+
+    // Tâche à enregistrer directement, sans passer par le service (compteurs non mis à jour)
+    public static Task task(Project project, User developer) {
+        Task task = new Task();
+        task.setTitre("Tâche " + suffix());
+        task.setDateDebut(LocalDate.now());
+        task.setDateFin(LocalDate.now().plusDays(5));
+        task.setStatut(StatutTache.NON_COMMENCE);
+        task.setProject(project);
+        task.setDeveloppeur(developer);
+        task.setPlannedHours(8);
+        task.setEffectiveHours(0);
+        task.setRemainingHours(8);
+        return task;
+    }
+
+    public static User newUser(Role role) {
+        String name = role.name().toLowerCase() + "-" + suffix();
+        User user = new User();
+        user.setUsername(name);
+        user.setNom(name);
+        user.setEmail(name + "@sqli.com");
+        user.setRole(role);
+        return user;
+    }
+
+    public void actAs(User user) {
+        when(currentUserHolder.find()).thenReturn(Optional.of(user));
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+}
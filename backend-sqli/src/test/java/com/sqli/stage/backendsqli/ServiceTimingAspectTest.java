@@ -0,0 +1,56 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.metrics.ServiceTimingAspect;
+import com.sqli.stage.backendsqli.service.PdfRenderCache;
+import com.sqli.stage.backendsqli.service.PdfRenderCache.RenderKey;
+import com.sqli.stage.backendsqli.service.PdfRenderCache.RenderedPdf;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests ServiceTimingAspect - durée des méthodes de service")
+class ServiceTimingAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("✅ Appels mesurés par classe, méthode et exception levée")
+    void timesServiceCalls() throws IOException {
+        PdfRenderCache cache = proxy(new PdfRenderCache(1024, 1024, 600));
+        RenderKey key = cache.currentKey(1, "\"v1\"");
+
+        cache.getOrRender(key, () -> new RenderedPdf(new byte[10], "projet.pdf"));
+        assertThrows(IOException.class, () -> cache.getOrRender(cache.currentKey(2, "\"v1\""), () -> {
+            throw new IOException("rendu impossible");
+        }));
+
+        assertEquals(1, registry.get("app.service")
+                .tags("class", "PdfRenderCache", "method", "getOrRender", "exception", "none").timer().count());
+        assertEquals(1, registry.get("app.service")
+                .tags("class", "PdfRenderCache", "method", "getOrRender", "exception", "IOException").timer().count());
+        assertEquals(2, registry.get("app.service").tags("method", "currentKey").timer().count());
+    }
+
+    @Test
+    @DisplayName("✅ Accesseurs sans argument lus par les jauges non mesurés")
+    void skipsGaugeAccessors() {
+        PdfRenderCache cache = proxy(new PdfRenderCache(1024, 1024, 600));
+
+        cache.size();
+        cache.getHitCount();
+
+        assertNull(registry.find("app.service").timer());
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceTimingAspect(registry));
+        return factory.getProxy();
+    }
+}
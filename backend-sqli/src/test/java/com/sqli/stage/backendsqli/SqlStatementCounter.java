@@ -0,0 +1,39 @@
+package com.sqli.stage.backendsqli;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate pendant l'exécution d'un bloc.
+ * Nécessite spring.jpa.properties.hibernate.generate_statistics=true.
+ */
+public class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("hibernate.generate_statistics doit être activé");
+        }
+    }
+
+    public <T> Counted<T> count(Supplier<T> action) {
+        statistics.clear();
+        T result = action.get();
+        return new Counted<>(result, statistics.getPrepareStatementCount());
+    }
+
+    public long count(Runnable action) {
+        return count(() -> {
+            action.run();
+            return null;
+        }).statements();
+    }
+
+    public record Counted<T>(T result, long statements) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.monitoring.SqlBudgetFilter;
+import com.sqli.stage.backendsqli.monitoring.SqlMonitoringConfig;
+import com.sqli.stage.backendsqli.monitoring.SqlStatementTracker;
+import com.sqli.stage.backendsqli.monitoring.SqlStatementTracker.RepeatedStatement;
+import com.sqli.stage.backendsqli.monitoring.SqlUsageAlertEvent;
+import com.sqli.stage.backendsqli.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SqlMonitoringConfig.class)
+@DisplayName("Tests SqlStatementTracker - comptage des requêtes SQL et détection N+1")
+class SqlStatementTrackerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Integer> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(createdIds);
+        assertNull(SqlStatementTracker.current());
+    }
+
+    @Test
+    @DisplayName("✅ Requêtes d'un bloc comptées, avec le temps JDBC, dans les scopes imbriqués")
+    void countsStatementsInScope() {
+        createUsers(2);
+
+        try (SqlStatementTracker.Scope outer = SqlStatementTracker.start()) {
+            userRepository.findAll();
+            try (SqlStatementTracker.Scope inner = SqlStatementTracker.start()) {
+                userRepository.count();
+                assertEquals(1, inner.getStatementCount());
+            }
+            assertSame(outer, SqlStatementTracker.current());
+            assertEquals(2, outer.getStatementCount());
+            assertTrue(outer.getJdbcTimeNanos() > 0);
+            assertTrue(outer.getRepeatedStatements().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Même requête répétée : N+1 signalé avec l'appelant")
+    void detectsRepeatedStatements() {
+        List<Integer> ids = createUsers(6);
+
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.start()) {
+            for (Integer id : ids) {
+                userRepository.findById(id);
+            }
+
+            assertEquals(6, scope.getStatementCount());
+            List<RepeatedStatement> repeated = scope.getRepeatedStatements();
+            assertEquals(1, repeated.size());
+            assertEquals(6, repeated.get(0).count());
+            assertTrue(repeated.get(0).shape().contains("where"), repeated.get(0).shape());
+            assertTrue(repeated.get(0).callSite().startsWith("SqlStatementTrackerTest.detectsRepeatedStatements("),
+                    repeated.get(0).callSite());
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Budget de l'endpoint dépassé : en-têtes de réponse et alerte publiée")
+    void reportsBudgetOverrun() throws Exception {
+        createUsers(1);
+        List<Object> events = new ArrayList<>();
+        SqlBudgetFilter filter = new SqlBudgetFilter(events::add, 30, "/api/admin/**=2", 5, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            userRepository.findAll();
+            userRepository.count();
+            userRepository.findByUsername("inconnu");
+        });
+
+        assertEquals("3", response.getHeader(SqlBudgetFilter.COUNT_HEADER));
+        assertNotNull(response.getHeader(SqlBudgetFilter.TIME_HEADER));
+        assertEquals(1, events.size());
+        SqlUsageAlertEvent event = (SqlUsageAlertEvent) events.get(0);
+        assertTrue(event.isOverBudget());
+        assertEquals(2, event.budget());
+        assertEquals("/api/admin/users", event.endpoint());
+        // pas de handler dans ce filtre isolé : aucune route, l'URI brute n'est pas une étiquette de métrique
+        assertNull(event.route());
+    }
+
+    @Test
+    @DisplayName("✅ Requête dans le budget : aucune alerte")
+    void staysWithinBudget() throws Exception {
+        List<Object> events = new ArrayList<>();
+        SqlBudgetFilter filter = new SqlBudgetFilter(events::add, 30, "/api/admin/**=2", 5, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects"), response,
+                (req, res) -> {
+                    userRepository.count();
+                    res.getWriter().write("[]");
+                });
+
+        assertEquals("1", response.getHeader(SqlBudgetFilter.COUNT_HEADER));
+        assertTrue(events.isEmpty());
+    }
+
+    private List<Integer> createUsers(int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String username = "sql-" + UUID.randomUUID().toString().substring(0, 8);
+            User user = new User();
+            user.setUsername(username);
+            user.setNom("Utilisateur " + i);
+            user.setEmail(username + "@sqli.com");
+            user.setMotDePasse("secret");
+            user.setRole(Role.DEVELOPPEUR);
+            ids.add(userRepository.save(user).getId());
+        }
+        createdIds.addAll(ids);
+        return ids;
+    }
+}
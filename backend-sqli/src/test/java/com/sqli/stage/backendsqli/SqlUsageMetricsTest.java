@@ -0,0 +1,54 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.metrics.SqlUsageMetrics;
+import com.sqli.stage.backendsqli.monitoring.SqlStatementTracker.RepeatedStatement;
+import com.sqli.stage.backendsqli.monitoring.SqlUsageAlertEvent;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests SqlUsageMetrics - compteurs des alertes SQL")
+class SqlUsageMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlUsageMetrics metrics = new SqlUsageMetrics(registry);
+
+    @Test
+    @DisplayName("✅ Dépassement de budget et N+1 comptés par méthode et motif de route")
+    void countsAlertsByRoute() {
+        List<RepeatedStatement> repeated = List.of(
+                new RepeatedStatement("select * from tasks where project_id=?", 12, "ProjetService.getAll:42"),
+                new RepeatedStatement("select * from users where id=?", 12, "ProjetService.getAll:43"));
+
+        metrics.onSqlUsageAlert(new SqlUsageAlertEvent("GET", "/api/projects/{id}", "/api/projects/{id}",
+                30, 10, 1_000_000, repeated));
+        metrics.onSqlUsageAlert(new SqlUsageAlertEvent("GET", "/api/projects/{id}", "/api/projects/{id}",
+                30, 10, 1_000_000, List.of()));
+
+        assertEquals(2, registry.get("app.sql.budget.exceeded")
+                .tags("method", "GET", "uri", "/api/projects/{id}").counter().count());
+        assertEquals(2, registry.get("app.sql.n_plus_one")
+                .tags("method", "GET", "uri", "/api/projects/{id}").counter().count());
+    }
+
+    @Test
+    @DisplayName("✅ Étiquettes bornées : ni URI brute ni appelant dans les séries")
+    void keepsTagsBounded() {
+        for (int id = 1; id <= 5; id++) {
+            metrics.onSqlUsageAlert(new SqlUsageAlertEvent("GET", "/api/unmapped/" + id, null, 30, 10, 1_000_000,
+                    List.of(new RepeatedStatement("select 1", 3, "Caller.line" + id))));
+        }
+
+        assertEquals(1, registry.find("app.sql.budget.exceeded").counters().size());
+        assertEquals(1, registry.find("app.sql.n_plus_one").counters().size());
+        assertEquals(5, registry.get("app.sql.n_plus_one").tags("uri", "UNKNOWN").counter().count());
+        for (Meter meter : registry.getMeters()) {
+            assertNull(meter.getId().getTag("call_site"));
+        }
+    }
+}
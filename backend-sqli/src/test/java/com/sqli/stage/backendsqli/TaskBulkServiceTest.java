@@ -0,0 +1,184 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskPatchRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.monitoring.SqlStatementTracker;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.service.HistoriqueService;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskserviceImpl;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Création et modification groupées de tâches : validation du lot en requêtes ensemblistes,
+ * écritures par lots JDBC, tout ou rien.
+ */
+@ServiceJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"
+})
+@DisplayName("Tests TaskserviceImpl - création et modification de tâches par lot")
+class TaskBulkServiceTest {
+
+    @Autowired
+    private TaskserviceImpl taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private HistoriqueService historiqueService;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User chef;
+    private List<User> team;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        chef = fixtures.user(Role.CHEF_DE_PROJET);
+        team = List.of(fixtures.user(Role.DEVELOPPEUR), fixtures.user(Role.DEVELOPPEUR));
+        project = fixtures.project("Projet lot", chef);
+        fixtures.actAs(chef);
+    }
+
+    @Test
+    @DisplayName("✅ Création par lot : même nombre de requêtes SQL pour 3 ou 25 tâches")
+    void createsBatchWithConstantStatementCount() {
+        // Premier lot : lignes de statistiques et bloc de séquence initialisés
+        taskService.createTasks(requests("Init", 2));
+
+        SqlStatementTracker.Scope small;
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.start()) {
+            taskService.createTasks(requests("Petit", 3));
+            small = scope;
+        }
+        SqlStatementTracker.Scope large;
+        List<TaskResponse> created;
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.start()) {
+            created = taskService.createTasks(requests("Grand", 25));
+            large = scope;
+        }
+
+        assertEquals(25, created.size());
+        assertTrue(created.stream().allMatch(task -> task.getId() != null));
+        // Une requête de séquence de plus au plus si le lot franchit un bloc d'identifiants
+        assertTrue(large.getStatementCount() <= small.getStatementCount() + 1,
+                small.getStatementCount() + " / " + large.getStatementCount());
+        assertTrue(large.getRepeatedStatements().isEmpty(), large.getRepeatedStatements().toString());
+
+        assertEquals(30L, taskRepository.countByProjectId(project.getId()));
+        assertEquals(30L, taskStatsService.getProjectStats(project.getId()).getTotal());
+        assertEquals(2, projetRepository.findWithTeamById(project.getId()).orElseThrow().getDeveloppeurs().size());
+        verify(historiqueService, times(60)).logAction(any(), any());
+    }
+
+    @Test
+    @DisplayName("❌ Titre déjà pris : tout le lot est refusé avec le numéro de la tâche")
+    void rejectsWholeBatchOnDuplicateTitle() {
+        taskService.createTasks(List.of(request("Existante")));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> taskService.createTasks(List.of(request("Nouvelle"), request("  EXISTANTE "))));
+        assertTrue(error.getMessage().startsWith("Tâche n°2 : "), error.getMessage());
+
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+                () -> taskService.createTasks(List.of(request("Doublon"), request("doublon"))));
+        assertTrue(duplicate.getMessage().startsWith("Tâche n°2 : "), duplicate.getMessage());
+
+        assertEquals(1L, taskRepository.countByProjectId(project.getId()));
+    }
+
+    @Test
+    @DisplayName("✅ Modification par lot : statuts, heures et progression du projet recalculée une fois")
+    void updatesBatchAndProjectProgress() {
+        List<TaskResponse> created = taskService.createTasks(requests("Maj", 4));
+
+        List<TaskPatchRequest> patches = new ArrayList<>();
+        for (TaskResponse task : created) {
+            patches.add(TaskPatchRequest.builder().id(task.getId()).statut(StatutTache.TERMINE).effectiveHours(8).build());
+        }
+        patches.set(0, TaskPatchRequest.builder().id(created.get(0).getId()).titre("Maj renommée")
+                .developpeurId(team.get(1).getId()).build());
+        List<TaskResponse> updated = taskService.updateTasks(patches);
+
+        assertEquals("Maj renommée", updated.get(0).getTitre());
+        assertEquals(team.get(1).getUsername(), updated.get(0).getDeveloppeurUsername());
+        assertEquals(StatutTache.TERMINE, updated.get(1).getStatut());
+        assertEquals(0, updated.get(1).getRemainingHours());
+        assertEquals(3L, taskStatsService.getProjectStats(project.getId()).getTermine());
+        assertEquals(0, new BigDecimal("75.00").compareTo(projetRepository.findById(project.getId()).orElseThrow().getProgression()));
+
+        // Deux tâches du lot renommées avec le même titre : rien n'est modifié
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTasks(List.of(
+                TaskPatchRequest.builder().id(created.get(1).getId()).titre("Même titre").build(),
+                TaskPatchRequest.builder().id(created.get(2).getId()).titre("même titre").build())));
+        assertEquals(0, taskRepository.findAllById(List.of(created.get(1).getId(), created.get(2).getId())).stream()
+                .filter(task -> task.getTitre().equalsIgnoreCase("Même titre")).count());
+    }
+
+    @Test
+    @DisplayName("✅ Séquence réinitialisée comme V16 : création par lot après des tâches existantes sans collision d'id")
+    void createsBatchAfterPreExistingRowsOnceSequenceIsReseeded() {
+        // Tâches antérieures à la séquence (ids attribués par l'ancienne colonne IDENTITY)
+        for (int id = 100_000; id < 100_100; id++) {
+            jdbcTemplate.update("INSERT INTO tasks (id, name, date_debut, date_fin, statut, project_id, developpeur_id, version)"
+                            + " VALUES (?, ?, ?, ?, 'NON_COMMENCE', ?, ?, 0)",
+                    id, "Ancienne " + id, LocalDate.now(), LocalDate.now().plusDays(1), project.getId(), team.get(0).getId());
+        }
+        // Équivalent H2 de V16 : la séquence repart 50 au-dessus du plus grand id existant
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tasks", Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (max + 50));
+
+        // Plus d'un bloc de 50 : l'optimiseur relit la séquence au moins une fois
+        List<TaskResponse> created = taskService.createTasks(requests("Après reprise", 120));
+
+        assertEquals(120, created.size());
+        assertEquals(220L, taskRepository.countByProjectId(project.getId()));
+    }
+
+    private List<TaskRequest> requests(String prefix, int count) {
+        List<TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TaskRequest request = request(prefix + " " + i);
+            request.setDeveloppeurId(team.get(i % team.size()).getId());
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private TaskRequest request(String titre) {
+        return ServiceTestFixtures.taskRequest(project, team.get(0), titre).statut(StatutTache.NON_COMMENCE).build();
+    }
+}
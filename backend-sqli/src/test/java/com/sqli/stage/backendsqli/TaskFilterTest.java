@@ -0,0 +1,139 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskFilterRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskserviceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Filtres de tâches traduits en SQL (TaskSpecifications) : chaque critère seul, critères combinés et pagination.
+ */
+@ServiceJpaTest
+@DisplayName("Tests TaskserviceImpl - filtres et pagination des tâches")
+class TaskFilterTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TaskserviceImpl taskService;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    private User chef;
+    private User alice;
+    private User bob;
+    private Project project;
+    private Project other;
+
+    @BeforeEach
+    void setUp() {
+        chef = fixtures.user(Role.CHEF_DE_PROJET);
+        alice = fixtures.user(Role.DEVELOPPEUR);
+        bob = fixtures.user(Role.DEVELOPPEUR);
+        project = fixtures.project("Projet filtres", chef);
+        other = fixtures.project("Projet voisin", chef);
+        fixtures.actAs(chef);
+        taskService.createTasks(List.of(
+                request(project, alice, "Alpha maquette", StatutTache.EN_COURS, TODAY, TODAY.plusDays(5)).build(),
+                request(project, alice, "Beta API", StatutTache.NON_COMMENCE, TODAY, TODAY.plusDays(3))
+                        .description("Recette de la MAQUETTE").build(),
+                request(project, bob, "Gamma tests", StatutTache.EN_COURS, TODAY.plusDays(10), TODAY.plusDays(20)).build(),
+                request(other, alice, "Alpha voisin", StatutTache.EN_COURS, TODAY, TODAY.plusDays(5)).build()));
+    }
+
+    @Test
+    @DisplayName("✅ Chaque critère seul : projet, développeur, statut, mot-clé et bornes de dates")
+    void appliesEachFilter() {
+        assertEquals(List.of("Alpha maquette", "Beta API", "Gamma tests"), titles(filter()));
+        assertEquals(List.of("Alpha maquette", "Alpha voisin", "Beta API"),
+                titles(filter(f -> f.setDeveloppeurId(alice.getId()), f -> f.setProjectId(null))));
+        assertEquals(List.of("Beta API"), titles(filter(f -> f.setStatut(StatutTache.NON_COMMENCE))));
+        // Mot-clé insensible à la casse, dans le titre ou la description
+        assertEquals(List.of("Alpha maquette", "Beta API"), titles(filter(f -> f.setKeyword("  Maquette "))));
+        assertEquals(List.of("Gamma tests"), titles(filter(f -> f.setDateDebutMin(TODAY.plusDays(1)))));
+        assertEquals(List.of("Alpha maquette", "Beta API"), titles(filter(f -> f.setDateDebutMax(TODAY))));
+        assertEquals(List.of("Alpha maquette", "Gamma tests"), titles(filter(f -> f.setDateFinMin(TODAY.plusDays(5)))));
+        assertEquals(List.of("Beta API"), titles(filter(f -> f.setDateFinMax(TODAY.plusDays(4)))));
+    }
+
+    @Test
+    @DisplayName("✅ Critères combinés : intersection, critères vides ignorés")
+    void combinesFilters() {
+        assertEquals(List.of("Alpha maquette"), titles(filter(
+                f -> f.setDeveloppeurId(alice.getId()),
+                f -> f.setStatut(StatutTache.EN_COURS),
+                f -> f.setKeyword("alpha"))));
+        assertEquals(List.of("Alpha maquette", "Beta API"), titles(filter(
+                f -> f.setDateDebutMin(TODAY),
+                f -> f.setDateDebutMax(TODAY),
+                f -> f.setDateFinMax(TODAY.plusDays(5)),
+                f -> f.setKeyword("   "))));
+        assertTrue(filter(f -> f.setDeveloppeurId(bob.getId()), f -> f.setStatut(StatutTache.NON_COMMENCE)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ Pagination : pages complètes puis partielle, page au-delà de la fin vide, sans doublon")
+    void paginatesAcrossBoundaries() {
+        Project paged = fixtures.project("Projet pages", chef);
+        taskService.createTasks(IntStream.range(0, 5)
+                .mapToObj(i -> request(paged, bob, "Page " + i, StatutTache.EN_COURS, TODAY, TODAY.plusDays(5)).build())
+                .toList());
+
+        List<String> seen = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            int index = page;
+            Page<TaskResponse> result = filter(f -> f.setProjectId(paged.getId()), f -> f.setPage(index), f -> f.setSize(2));
+            assertEquals(5, result.getTotalElements());
+            assertEquals(3, result.getTotalPages());
+            assertEquals(page < 2 ? 2 : 1, result.getNumberOfElements());
+            seen.addAll(titles(result));
+        }
+        assertEquals(List.of("Page 0", "Page 1", "Page 2", "Page 3", "Page 4"), seen);
+
+        Page<TaskResponse> beyond = filter(f -> f.setProjectId(paged.getId()), f -> f.setPage(3), f -> f.setSize(2));
+        assertTrue(beyond.getContent().isEmpty());
+        assertEquals(5, beyond.getTotalElements());
+
+        // Tri décroissant et taille bornée à au moins 1
+        Page<TaskResponse> last = filter(f -> f.setProjectId(paged.getId()), f -> f.setSize(0), f -> f.setSortDirection("DESC"));
+        assertEquals(List.of("Page 4"), titles(last));
+    }
+
+    @SafeVarargs
+    private Page<TaskResponse> filter(Consumer<TaskFilterRequest>... criteria) {
+        TaskFilterRequest filter = new TaskFilterRequest();
+        filter.setProjectId(project.getId());
+        filter.setSortBy("titre");
+        for (Consumer<TaskFilterRequest> criterion : criteria) {
+            criterion.accept(filter);
+        }
+        return taskService.filterTasks(filter);
+    }
+
+    private static List<String> titles(Page<TaskResponse> page) {
+        return page.getContent().stream().map(TaskResponse::getTitre).toList();
+    }
+
+    private static TaskRequest.TaskRequestBuilder request(Project project, User developer, String titre, StatutTache statut,
+                                                          LocalDate dateDebut, LocalDate dateFin) {
+        return ServiceTestFixtures.taskRequest(project, developer, titre).statut(statut).dateDebut(dateDebut).dateFin(dateFin);
+    }
+}
@@ -0,0 +1,180 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.AnalyticDTO.StatsReconciliationReport;
+import com.sqli.stage.backendsqli.dto.ResourceStamp;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskPatchRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
+import com.sqli.stage.backendsqli.entity.DeveloperTaskStats;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.ProjectTaskStats;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.TaskStatsCounters;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.DeveloperTaskStatsRepository;
+import com.sqli.stage.backendsqli.repository.ProjectTaskStatsRepository;
+import com.sqli.stage.backendsqli.repository.Projection.TaskStatusAggregate;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.service.ImplementationService.ProjetServiceImpl;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskserviceImpl;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statistiques de tâches maintenues par différence : comparées à un recomptage de la table tasks
+ * après des mutations variées, réconciliation des écarts et lectures sans écriture.
+ */
+@ServiceJpaTest
+@DisplayName("Tests TaskStatsServiceImpl - différences, recomptage et réconciliation")
+class TaskStatsServiceTest {
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskserviceImpl taskService;
+
+    @Autowired
+    private ProjetServiceImpl projetService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectTaskStatsRepository projectStatsRepository;
+
+    @Autowired
+    private DeveloperTaskStatsRepository developerStatsRepository;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    private User chef;
+    private User alice;
+    private User bob;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        chef = fixtures.user(Role.CHEF_DE_PROJET);
+        alice = fixtures.user(Role.DEVELOPPEUR);
+        bob = fixtures.user(Role.DEVELOPPEUR);
+        project = fixtures.project("Projet stats", chef);
+        fixtures.actAs(chef);
+    }
+
+    @Test
+    @DisplayName("✅ Création, modification, lot, réassignation et suppression : compteurs égaux au recomptage")
+    void deltasMatchRecount() {
+        List<TaskResponse> tasks = taskService.createTasks(List.of(
+                ServiceTestFixtures.taskRequest(project, alice, "Stats 0").build(),
+                ServiceTestFixtures.taskRequest(project, alice, "Stats 1").build(),
+                ServiceTestFixtures.taskRequest(project, bob, "Stats 2").statut(StatutTache.NON_COMMENCE).plannedHours(5).build(),
+                ServiceTestFixtures.taskRequest(project, bob, "Stats 3").statut(StatutTache.NON_COMMENCE).plannedHours(5).build()));
+        // Lignes créées par la première mutation
+        assertTrue(projectStatsRepository.existsById(project.getId()));
+        assertTrue(developerStatsRepository.existsById(alice.getId()));
+
+        // Réassignation, changement de statut et d'heures
+        taskService.updateTask(tasks.get(0).getId(), ServiceTestFixtures.taskRequest(project, bob, "Stats 0")
+                .statut(StatutTache.TERMINE).plannedHours(10).effectiveHours(10).build(), null);
+        taskService.updateTasks(List.of(
+                TaskPatchRequest.builder().id(tasks.get(1).getId()).statut(StatutTache.BLOQUE).effectiveHours(3).build(),
+                TaskPatchRequest.builder().id(tasks.get(3).getId()).statut(StatutTache.EN_COURS).build()));
+        taskService.deleteTask(tasks.get(2).getId());
+
+        assertCountersMatchRecount();
+        ProjectTaskStats stats = taskStatsService.getProjectStats(project.getId());
+        assertEquals(3, stats.getTotal());
+        assertEquals(1, stats.getTermine());
+        assertEquals(1, stats.getBloque());
+        assertEquals(1, stats.getEnCours());
+        assertEquals(0, taskStatsService.getDeveloperStats(alice.getId()).getEnCours());
+    }
+
+    @Test
+    @DisplayName("✅ Réconciliation : écart détecté, corrigé et signalé ; lignes manquantes créées sans écart")
+    void reconcileCorrectsDrift() {
+        taskService.createTasks(List.of(
+                ServiceTestFixtures.taskRequest(project, alice, "Dérive 0").build(),
+                ServiceTestFixtures.taskRequest(project, alice, "Dérive 1").statut(StatutTache.TERMINE).build()));
+        ProjectTaskStats corrupted = projectStatsRepository.findById(project.getId()).orElseThrow();
+        corrupted.setEnCours(corrupted.getEnCours() + 3);
+        corrupted.setPlannedHours(corrupted.getPlannedHours() - 4);
+        projectStatsRepository.save(corrupted);
+        // Projet dont les tâches ont été insérées sans passer par le service : pas de ligne
+        Project unseen = fixtures.project("Projet sans stats", chef);
+        taskRepository.save(ServiceTestFixtures.task(unseen, bob));
+
+        StatsReconciliationReport report = taskStatsService.reconcile();
+
+        assertTrue(report.getDriftedProjectIds().contains(project.getId()));
+        assertFalse(report.getDriftedProjectIds().contains(unseen.getId()));
+        assertFalse(report.getDriftedDeveloperIds().contains(alice.getId()));
+        assertTrue(projectStatsRepository.existsById(unseen.getId()));
+        assertCountersMatchRecount();
+        assertTrue(recountProject(unseen.getId()).sameCountersAs(projectStatsRepository.findById(unseen.getId()).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("✅ Lecture d'un projet sans ligne : compteurs recalculés sans écriture, ETag stable")
+    void readsDoNotCreateRows() {
+        Task task = ServiceTestFixtures.task(project, alice);
+        task.setStatut(StatutTache.EN_COURS);
+        taskRepository.save(task);
+        taskRepository.save(ServiceTestFixtures.task(project, alice));
+
+        ProjectTaskStats stats = taskStatsService.getProjectStats(project.getId());
+        DeveloperTaskStats developerStats = taskStatsService.getDeveloperStats(alice.getId());
+        ResourceStamp first = projetService.getProjectStamp(project.getId()).orElseThrow();
+
+        assertTrue(recountProject(project.getId()).sameCountersAs(stats));
+        assertEquals(2, developerStats.getTotal());
+        assertFalse(projectStatsRepository.existsById(project.getId()));
+        assertFalse(developerStatsRepository.existsById(alice.getId()));
+        assertEquals(first, projetService.getProjectStamp(project.getId()).orElseThrow());
+
+        // La réconciliation crée la ligne : les compteurs ne changent pas, l'ETag si
+        taskStatsService.reconcile();
+        assertTrue(projectStatsRepository.existsById(project.getId()));
+        assertTrue(recountProject(project.getId()).sameCountersAs(taskStatsService.getProjectStats(project.getId())));
+        assertNotEquals(first.etag(), projetService.getProjectStamp(project.getId()).orElseThrow().etag());
+    }
+
+    private void assertCountersMatchRecount() {
+        assertTrue(recountProject(project.getId()).sameCountersAs(taskStatsService.getProjectStats(project.getId())));
+        for (User developer : List.of(alice, bob)) {
+            DeveloperTaskStats expected = recount(new DeveloperTaskStats(developer.getId()),
+                    taskRepository.aggregateByDeveloppeurIdIn(List.of(developer.getId())));
+            assertTrue(expected.sameCountersAs(taskStatsService.getDeveloperStats(developer.getId())),
+                    "statistiques de " + developer.getUsername());
+        }
+    }
+
+    private ProjectTaskStats recountProject(int projectId) {
+        return recount(new ProjectTaskStats(projectId), taskRepository.aggregateByProjectIdIn(List.of(projectId)));
+    }
+
+    private static <T extends TaskStatsCounters> T recount(T stats, List<TaskStatusAggregate> rows) {
+        for (TaskStatusAggregate row : rows) {
+            switch (row.getStatut()) {
+                case NON_COMMENCE -> stats.setNonCommence(row.getTotal());
+                case EN_COURS -> stats.setEnCours(row.getTotal());
+                case BLOQUE -> stats.setBloque(row.getTotal());
+                case TERMINE -> stats.setTermine(row.getTotal());
+            }
+            stats.setPlannedHours(stats.getPlannedHours() + row.getPlannedHours());
+            stats.setEffectiveHours(stats.getEffectiveHours() + row.getEffectiveHours());
+            stats.setRemainingHours(stats.getRemainingHours() + row.getRemainingHours());
+        }
+        return stats;
+    }
+}
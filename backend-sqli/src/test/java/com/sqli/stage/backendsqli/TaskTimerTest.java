@@ -0,0 +1,223 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskRequest;
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
+import com.sqli.stage.backendsqli.entity.AccountAnalyticLine;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.SourcePointage;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.TaskTimer;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.exception.AccessdeniedException;
+import com.sqli.stage.backendsqli.repository.AccountAnalyticLineRepository;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.TaskTimerRepository;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskserviceImpl;
+import com.sqli.stage.backendsqli.service.TaskStatsService;
+import com.sqli.stage.backendsqli.service.TaskTimerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Timers de tâches : registre en mémoire, sauvegardes périodiques, reprise après redémarrage
+ * et pointages précis ajoutés atomiquement au temps de la tâche.
+ */
+@ServiceJpaTest
+@DisplayName("Tests TaskserviceImpl - timers de tâches et pointages")
+class TaskTimerTest {
+
+    @Autowired
+    private TaskserviceImpl taskService;
+
+    @Autowired
+    private TaskTimerRegistry timerRegistry;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTimerRepository taskTimerRepository;
+
+    @Autowired
+    private AccountAnalyticLineRepository analyticLineRepository;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    private User chef;
+    private User developer;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        chef = fixtures.user(Role.CHEF_DE_PROJET);
+        developer = fixtures.user(Role.DEVELOPPEUR);
+        project = fixtures.project("Projet timer", chef);
+    }
+
+    @Test
+    @DisplayName("✅ Démarrage puis arrêt : pointage enregistré, un seul timer par développeur")
+    void startAndStopRecordsTimeEntry() {
+        List<TaskResponse> tasks = createTasks("Démarrage", 2);
+        fixtures.actAs(developer);
+
+        Map<String, Object> started = taskService.startTaskTimer(tasks.get(0).getId());
+        assertEquals(true, started.get("isRunning"));
+        assertEquals(true, taskService.getTaskTimerStatus(tasks.get(0).getId()).get("isRunning"));
+
+        // Démarrer un autre timer arrête et pointe le premier
+        taskService.startTaskTimer(tasks.get(1).getId());
+        assertEquals(false, taskService.getTaskTimerStatus(tasks.get(0).getId()).get("isRunning"));
+        assertEquals(1, analyticLineRepository.findByTaskIdOrderByStartedAt(tasks.get(0).getId()).size());
+
+        Map<String, Object> stopped = taskService.stopTaskTimer(tasks.get(1).getId());
+        assertEquals("stopped", stopped.get("status"));
+        List<AccountAnalyticLine> lines = analyticLineRepository.findByTaskIdOrderByStartedAt(tasks.get(1).getId());
+        assertEquals(1, lines.size());
+        assertEquals(SourcePointage.TIMER, lines.get(0).getSource());
+        assertEquals(lines.get(0).getDurationSeconds(), ((Number) stopped.get("elapsedTime")).longValue());
+        assertTrue(timerRegistry.find(developer.getId()).isEmpty());
+
+        assertThrows(IllegalStateException.class, () -> taskService.stopTaskTimer(tasks.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("✅ Timer d'une instance arrêtée repris au redémarrage : durée exacte pointée")
+    void recoversTimerFromCheckpoint() {
+        TaskResponse task = createTasks("Reprise", 1).get(0);
+        LocalDateTime startedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusMinutes(90);
+        // Dernière sauvegarde il y a 5 minutes : instance considérée arrêtée
+        taskTimerRepository.save(new TaskTimer(developer.getId(), task.getId(), startedAt, startedAt.plusMinutes(85),
+                "instance-arretee"));
+
+        timerRegistry.recover();
+        fixtures.actAs(developer);
+        assertEquals(true, taskService.getTaskTimerStatus(task.getId()).get("isRunning"));
+
+        Map<String, Object> stopped = taskService.stopTaskTimer(task.getId());
+
+        long seconds = ((Number) stopped.get("elapsedTime")).longValue();
+        assertTrue(seconds >= 5400 && seconds < 5460, String.valueOf(seconds));
+        assertEquals(0, new BigDecimal("1.50").compareTo((BigDecimal) stopped.get("hours")));
+        assertFalse(taskTimerRepository.existsById(developer.getId()));
+
+        var updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(seconds, updated.getEffectiveSeconds());
+        assertEquals(2, updated.getEffectiveHours());
+        assertEquals(6, updated.getRemainingHours());
+        assertEquals(2L, taskStatsService.getProjectStats(project.getId()).getEffectiveHours());
+    }
+
+    @Test
+    @DisplayName("✅ Sauvegarde périodique : timers démarrés écrits, timers arrêtés supprimés")
+    void checkpointsRunningTimers() {
+        TaskResponse task = createTasks("Sauvegarde", 1).get(0);
+        fixtures.actAs(developer);
+
+        taskService.startTaskTimer(task.getId());
+        assertFalse(taskTimerRepository.existsById(developer.getId()));
+        timerRegistry.checkpoint();
+        assertEquals(task.getId(), taskTimerRepository.findById(developer.getId()).orElseThrow().getTaskId());
+
+        taskService.stopTaskTimer(task.getId());
+        assertFalse(taskTimerRepository.existsById(developer.getId()));
+        timerRegistry.checkpoint();
+        assertFalse(taskTimerRepository.existsById(developer.getId()));
+
+        // Sauvegarde d'un timer déjà pointé : non reprise
+        AccountAnalyticLine line = analyticLineRepository.findByTaskIdOrderByStartedAt(task.getId()).get(0);
+        taskTimerRepository.save(new TaskTimer(developer.getId(), task.getId(), line.getStartedAt(), line.getEndedAt(), null));
+        timerRegistry.recover();
+        assertTrue(timerRegistry.find(developer.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("❌ Sauvegarde d'une autre instance active : timer laissé à son propriétaire")
+    void leavesTimersOfLiveInstances() {
+        TaskResponse task = createTasks("Autre instance", 1).get(0);
+        LocalDateTime startedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusMinutes(10);
+        taskTimerRepository.save(new TaskTimer(developer.getId(), task.getId(), startedAt, LocalDateTime.now(),
+                "autre-instance"));
+
+        timerRegistry.recover();
+        timerRegistry.checkpoint();
+
+        assertTrue(timerRegistry.find(developer.getId()).isEmpty());
+        assertEquals("autre-instance", taskTimerRepository.findById(developer.getId()).orElseThrow().getOwnerNode());
+        taskTimerRepository.deleteByUserId(developer.getId());
+    }
+
+    @Test
+    @DisplayName("❌ Timer sauvegardé déjà arrêté par une autre instance : pas de second pointage")
+    void refusesStopWhenCheckpointWasReleasedElsewhere() {
+        TaskResponse task = createTasks("Double arrêt", 1).get(0);
+        fixtures.actAs(developer);
+        taskService.startTaskTimer(task.getId());
+        timerRegistry.checkpoint();
+
+        // Une autre instance a repris la sauvegarde, pointé le temps et supprimé la ligne
+        taskTimerRepository.deleteByUserId(developer.getId());
+
+        assertThrows(IllegalStateException.class, () -> taskService.stopTaskTimer(task.getId()));
+        assertTrue(analyticLineRepository.findByTaskIdOrderByStartedAt(task.getId()).isEmpty());
+        assertTrue(timerRegistry.find(developer.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ Saisie manuelle : heures fractionnaires cumulées sans arrondi")
+    void addsManualHoursPrecisely() {
+        TaskResponse task = createTasks("Saisie", 1).get(0);
+        fixtures.actAs(developer);
+
+        taskService.updateTaskHours(task.getId(), 0.25);
+        TaskResponse response = taskService.updateTaskHours(task.getId(), 0.25);
+
+        var updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(1800L, updated.getEffectiveSeconds());
+        assertEquals(1, response.getEffectiveHours());
+        assertEquals(7, response.getRemainingHours());
+        List<AccountAnalyticLine> lines = analyticLineRepository.findByTaskIdOrderByStartedAt(task.getId());
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.getSource() == SourcePointage.MANUEL
+                && line.getDurationSeconds() == 900 && new BigDecimal("0.25").compareTo(line.getHours()) == 0));
+    }
+
+    @Test
+    @DisplayName("❌ Timer d'une tâche non assignée ou durée manuelle invalide : refusé")
+    void rejectsInvalidRequests() {
+        TaskResponse task = createTasks("Refus", 1).get(0);
+        User other = fixtures.user(Role.DEVELOPPEUR);
+        fixtures.actAs(other);
+
+        assertThrows(AccessdeniedException.class, () -> taskService.startTaskTimer(task.getId()));
+        assertTrue(timerRegistry.find(other.getId()).isEmpty());
+
+        fixtures.actAs(developer);
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTaskHours(task.getId(), 0));
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTaskHours(task.getId(), 25));
+        assertTrue(analyticLineRepository.findByTaskIdOrderByStartedAt(task.getId()).isEmpty());
+    }
+
+    private List<TaskResponse> createTasks(String prefix, int count) {
+        fixtures.actAs(chef);
+        List<TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(ServiceTestFixtures.taskRequest(project, developer, prefix + " " + i).build());
+        }
+        return taskService.createTasks(requests);
+    }
+}
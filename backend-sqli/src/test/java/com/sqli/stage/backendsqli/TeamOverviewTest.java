@@ -0,0 +1,106 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.StatutTache;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.repository.ProjetRepository;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.service.ImplementationService.AnalyticsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aperçu d'équipe du chef : les tâches d'un développeur ne sont comptées que dans les projets
+ * du chef dont il est membre de l'équipe.
+ */
+@ServiceJpaTest
+@Import(AnalyticsServiceImpl.class)
+@DisplayName("Tests AnalyticsServiceImpl - aperçu détaillé de l'équipe")
+class TeamOverviewTest {
+
+    @Autowired
+    private AnalyticsServiceImpl analyticsService;
+
+    @Autowired
+    private ProjetRepository projetRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    private User chef;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        chef = fixtures.user(Role.CHEF_DE_PROJET);
+        alice = fixtures.user(Role.DEVELOPPEUR);
+        bob = fixtures.user(Role.DEVELOPPEUR);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(chef.getUsername(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("✅ Tâches comptées uniquement dans les projets du chef où le développeur est dans l'équipe")
+    void countsTasksOfTeamProjectsOnly() {
+        Project aliceProject = project("Projet Alice", chef, alice);
+        Project bobProject = project("Projet Bob", chef, bob);
+        Project otherChefProject = project("Projet autre chef", fixtures.user(Role.CHEF_DE_PROJET), alice);
+        task(aliceProject, alice, StatutTache.TERMINE);
+        task(aliceProject, alice, StatutTache.EN_COURS);
+        // Tâche encore assignée à Alice dans un projet du chef dont elle ne fait pas partie
+        task(bobProject, alice, StatutTache.BLOQUE);
+        task(bobProject, bob, StatutTache.NON_COMMENCE);
+        task(otherChefProject, alice, StatutTache.EN_COURS);
+
+        Map<String, Map<String, Object>> overview = analyticsService.getDetailedTeamOverview().stream()
+                .collect(Collectors.toMap(member -> (String) member.get("username"), member -> member));
+
+        assertEquals(2, overview.size());
+        Map<String, Object> aliceOverview = overview.get(alice.getUsername());
+        assertEquals(1, aliceOverview.get("assignedProjects"));
+        assertEquals(2, aliceOverview.get("totalTasks"));
+        assertEquals(1, aliceOverview.get("completedTasks"));
+        assertEquals(1, aliceOverview.get("inProgressTasks"));
+        assertEquals(0, aliceOverview.get("blockedTasks"));
+
+        Map<String, Object> bobOverview = overview.get(bob.getUsername());
+        assertEquals(1, bobOverview.get("totalTasks"));
+        assertEquals(1, bobOverview.get("nonCommenceTasks"));
+    }
+
+    private Project project(String titre, User projectChef, User developer) {
+        Project project = fixtures.project(titre, projectChef);
+        project.setDeveloppeurs(new ArrayList<>(List.of(developer)));
+        return projetRepository.save(project);
+    }
+
+    private void task(Project project, User developer, StatutTache statut) {
+        Task task = ServiceTestFixtures.task(project, developer);
+        task.setStatut(statut);
+        taskRepository.save(task);
+    }
+}
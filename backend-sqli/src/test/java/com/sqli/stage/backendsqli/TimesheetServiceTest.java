@@ -0,0 +1,203 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.dto.TaskDTO.TaskResponse;
+import com.sqli.stage.backendsqli.dto.TimesheetDTO.TimeEntryRequest;
+import com.sqli.stage.backendsqli.dto.TimesheetDTO.TimeEntryResponse;
+import com.sqli.stage.backendsqli.dto.TimesheetDTO.TimesheetRollupResponse;
+import com.sqli.stage.backendsqli.entity.Enums.Role;
+import com.sqli.stage.backendsqli.entity.Enums.SourcePointage;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetPeriod;
+import com.sqli.stage.backendsqli.entity.Enums.TimesheetScope;
+import com.sqli.stage.backendsqli.entity.Project;
+import com.sqli.stage.backendsqli.entity.Task;
+import com.sqli.stage.backendsqli.entity.TimesheetRollup;
+import com.sqli.stage.backendsqli.entity.User;
+import com.sqli.stage.backendsqli.exception.AccessdeniedException;
+import com.sqli.stage.backendsqli.repository.TaskRepository;
+import com.sqli.stage.backendsqli.repository.TimesheetRollupRepository;
+import com.sqli.stage.backendsqli.service.ImplementationService.TaskserviceImpl;
+import com.sqli.stage.backendsqli.service.TimesheetService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pointages et cumuls de temps : chaque création, modification ou suppression met à jour
+ * les cumuls jour, semaine et mois par développeur, tâche et projet.
+ */
+@ServiceJpaTest
+@DisplayName("Tests TimesheetService - pointages et cumuls de temps")
+class TimesheetServiceTest {
+
+    // Lundi de la semaine précédente : jamais dans le futur
+    private static final LocalDate MONDAY = LocalDate.now().minusWeeks(1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private TaskserviceImpl taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TimesheetRollupRepository rollupRepository;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User chef;
+    private User developer;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        chef = fixtures.user(Role.CHEF_DE_PROJET);
+        developer = fixtures.user(Role.DEVELOPPEUR);
+        project = fixtures.project("Projet pointage", chef);
+    }
+
+    @Test
+    @DisplayName("✅ Création, modification et suppression : cumuls jour, semaine et mois à jour")
+    void maintainsRollupsIncrementally() {
+        TaskResponse task = createTask("Cumuls");
+        fixtures.actAs(developer);
+
+        TimeEntryResponse monday = timesheetService.createEntry(entry(task.getId(), MONDAY, "1.5"));
+        TimeEntryResponse tuesday = timesheetService.createEntry(entry(task.getId(), MONDAY.plusDays(1), "2"));
+        assertEquals(project.getId(), monday.getProjectId());
+        assertEquals(5400L, monday.getDurationSeconds());
+
+        assertEquals(List.of(5400L, 7200L), seconds(TimesheetScope.TASK, TimesheetPeriod.DAY, task.getId()));
+        assertEquals(List.of(12600L), seconds(TimesheetScope.PROJECT, TimesheetPeriod.WEEK, project.getId()));
+        TimesheetRollupResponse week = timesheetService.getRollups(TimesheetScope.EMPLOYEE, TimesheetPeriod.WEEK,
+                null, MONDAY, MONDAY.plusDays(6)).get(0);
+        assertEquals(MONDAY, week.getPeriodStart());
+        assertEquals(MONDAY.plusDays(6), week.getPeriodEnd());
+        assertEquals(2, week.getEntries());
+        assertEquals(0, new BigDecimal("3.50").compareTo(week.getHours()));
+
+        // Déplacé au mercredi avec une durée différente
+        timesheetService.updateEntry(monday.getId(), entry(task.getId(), MONDAY.plusDays(2), "0.5"));
+        assertEquals(List.of(7200L, 1800L), seconds(TimesheetScope.TASK, TimesheetPeriod.DAY, task.getId()));
+        assertEquals(9000L, taskRepository.findById(task.getId()).orElseThrow().getEffectiveSeconds());
+
+        timesheetService.deleteEntry(tuesday.getId());
+        assertEquals(List.of(1800L), seconds(TimesheetScope.EMPLOYEE, TimesheetPeriod.DAY, developer.getId()));
+        assertEquals(List.of(1800L), seconds(TimesheetScope.PROJECT, TimesheetPeriod.MONTH, project.getId()));
+        assertEquals(1800L, taskRepository.findById(task.getId()).orElseThrow().getEffectiveSeconds());
+    }
+
+    @Test
+    @DisplayName("✅ Pointage dans une transaction : tâche relue à jour, autres entités toujours attachées")
+    void refreshesOnlyTrackedTask() {
+        TaskResponse created = createTask("Contexte");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Task task = taskRepository.findById(created.getId()).orElseThrow();
+            Project loaded = task.getProject();
+            User employee = entityManager.find(User.class, developer.getId());
+            Long version = task.getVersion();
+
+            timesheetService.record(task, employee, MONDAY, null, 5400, SourcePointage.MANUEL);
+
+            assertEquals(5400L, task.getEffectiveSeconds());
+            assertEquals(2, task.getEffectiveHours());
+            assertEquals(version + 1, task.getVersion());
+            assertTrue(entityManager.contains(task));
+            assertTrue(entityManager.contains(loaded));
+            assertTrue(entityManager.contains(employee));
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Pointages d'une période : uniquement ceux du développeur, dans l'ordre des dates")
+    void listsEntriesInRange() {
+        TaskResponse task = createTask("Liste");
+        fixtures.actAs(developer);
+        timesheetService.createEntry(entry(task.getId(), MONDAY.plusDays(3), "1"));
+        timesheetService.createEntry(entry(task.getId(), MONDAY, "2"));
+        timesheetService.createEntry(entry(task.getId(), MONDAY.minusWeeks(2), "3"));
+
+        List<TimeEntryResponse> entries = timesheetService.getEntries(null, MONDAY, MONDAY.plusDays(6));
+
+        assertEquals(List.of(MONDAY, MONDAY.plusDays(3)), entries.stream().map(TimeEntryResponse::getDate).toList());
+        assertTrue(entries.stream().allMatch(entry -> entry.getEmployeeId().equals(developer.getId())));
+    }
+
+    @Test
+    @DisplayName("❌ Développeur : pointages et cumuls des autres refusés")
+    void rejectsOtherEmployeesData() {
+        TaskResponse task = createTask("Accès");
+        User other = fixtures.user(Role.DEVELOPPEUR);
+        fixtures.actAs(other);
+
+        assertThrows(AccessdeniedException.class,
+                () -> timesheetService.createEntry(entry(task.getId(), MONDAY, "1")));
+        assertThrows(AccessdeniedException.class,
+                () -> timesheetService.getEntries(developer.getId(), MONDAY, MONDAY.plusDays(6)));
+        assertThrows(AccessdeniedException.class, () -> timesheetService.getRollups(TimesheetScope.PROJECT,
+                TimesheetPeriod.WEEK, List.of(project.getId()), MONDAY, MONDAY.plusDays(6)));
+
+        fixtures.actAs(developer);
+        TimeEntryResponse created = timesheetService.createEntry(entry(task.getId(), MONDAY, "1"));
+        fixtures.actAs(other);
+        assertThrows(AccessdeniedException.class, () -> timesheetService.deleteEntry(created.getId()));
+
+        // Le chef de projet consulte les cumuls de son équipe
+        fixtures.actAs(chef);
+        assertEquals(1, timesheetService.getRollups(TimesheetScope.EMPLOYEE, TimesheetPeriod.MONTH,
+                List.of(developer.getId()), MONDAY, MONDAY).size());
+    }
+
+    @Test
+    @DisplayName("❌ Durée ou date invalide : pointage refusé, cumuls inchangés")
+    void rejectsInvalidEntries() {
+        TaskResponse task = createTask("Invalide");
+        fixtures.actAs(developer);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> timesheetService.createEntry(entry(task.getId(), MONDAY, "24.5")));
+        assertThrows(IllegalArgumentException.class,
+                () -> timesheetService.createEntry(entry(task.getId(), LocalDate.now().plusDays(1), "1")));
+        assertThrows(IllegalArgumentException.class,
+                () -> timesheetService.getEntries(null, MONDAY, MONDAY.minusDays(1)));
+
+        assertTrue(seconds(TimesheetScope.TASK, TimesheetPeriod.DAY, task.getId()).isEmpty());
+    }
+
+    private List<Long> seconds(TimesheetScope scope, TimesheetPeriod period, int ownerId) {
+        return rollupRepository.findRange(scope, period, List.of(ownerId), MONDAY.minusMonths(1), MONDAY.plusDays(6))
+                .stream()
+                .map(TimesheetRollup::getSeconds)
+                .toList();
+    }
+
+    private TaskResponse createTask(String titre) {
+        fixtures.actAs(chef);
+        return taskService.createTasks(List.of(ServiceTestFixtures.taskRequest(project, developer, titre).build())).get(0);
+    }
+
+    private static TimeEntryRequest entry(int taskId, LocalDate date, String hours) {
+        return TimeEntryRequest.builder().taskId(taskId).date(date).hours(new BigDecimal(hours)).build();
+    }
+}
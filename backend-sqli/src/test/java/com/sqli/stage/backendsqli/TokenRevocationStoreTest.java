@@ -0,0 +1,203 @@
+package com.sqli.stage.backendsqli;
+
+import com.sqli.stage.backendsqli.entity.RevokedToken;
+import com.sqli.stage.backendsqli.repository.RevokedTokenRepository;
+import com.sqli.stage.backendsqli.security.JwtClaims;
+import com.sqli.stage.backendsqli.security.JwtUtil;
+import com.sqli.stage.backendsqli.security.TokenRevocationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests TokenRevocationStore - révocation des tokens")
+class TokenRevocationStoreTest {
+
+    private static final String SECRET = "4302c0d7354bfd9011b1cecc8a958336e895c384ff0acdbb4f19e3742410577e";
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 60_000, 16);
+    }
+
+    @Test
+    @DisplayName("✅ Token révoqué à la déconnexion, les autres restent valides")
+    void revokesOnlyLoggedOutToken() {
+        TokenRevocationStore store = new TokenRevocationStore(jwtUtil, revokedTokenRepository, 100, false);
+        String token = jwtUtil.generateToken("dev", "DEVELOPPEUR", 1);
+        String otherToken = jwtUtil.generateToken("dev", "DEVELOPPEUR", 1);
+
+        store.revoke(token);
+
+        assertTrue(store.isRevoked(jwtUtil.parseVerified(token).orElseThrow()));
+        assertFalse(store.isRevoked(jwtUtil.parseVerified(otherToken).orElseThrow()));
+        assertEquals(1, store.size());
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("✅ Les révocations expirées sont purgées")
+    void purgesExpiredRevocations() {
+        TokenRevocationStore store = new TokenRevocationStore(jwtUtil, revokedTokenRepository, 100, false);
+        JwtClaims expiringSoon = claims("jti-1", Instant.now().plusMillis(50));
+        store.revoke(expiringSoon);
+        assertTrue(store.isRevoked(expiringSoon));
+
+        await(100);
+        store.purgeExpired();
+
+        assertFalse(store.isRevoked(expiringSoon));
+        assertEquals(0, store.size());
+        assertEquals(1, store.getExpiredCount());
+    }
+
+    @Test
+    @DisplayName("❌ Capacité atteinte sans persistance : nouvelle révocation refusée, aucune révocation active évincée")
+    void refusesRevocationWhenFullWithoutPersistence() {
+        TokenRevocationStore store = new TokenRevocationStore(jwtUtil, revokedTokenRepository, 2, false);
+        JwtClaims soon = claims("jti-soon", Instant.now().plusSeconds(60));
+        JwtClaims later = claims("jti-later", Instant.now().plusSeconds(3600));
+        JwtClaims latest = claims("jti-latest", Instant.now().plusSeconds(7200));
+
+        store.revoke(soon);
+        store.revoke(later);
+
+        assertThrows(IllegalStateException.class, () -> store.revoke(latest));
+        assertEquals(2, store.size());
+        assertTrue(store.isRevoked(soon));
+        assertTrue(store.isRevoked(later));
+        assertFalse(store.isRevoked(latest));
+        assertEquals(1, store.getOverflowCount());
+    }
+
+    @Test
+    @DisplayName("✅ Capacité atteinte : une révocation expirée fait de la place")
+    void expiredRevocationMakesRoom() {
+        TokenRevocationStore store = new TokenRevocationStore(jwtUtil, revokedTokenRepository, 1, false);
+        JwtClaims expiringSoon = claims("jti-1", Instant.now().plusMillis(50));
+        JwtClaims next = claims("jti-2", Instant.now().plusSeconds(60));
+        store.revoke(expiringSoon);
+
+        await(100);
+        store.revoke(next);
+
+        assertTrue(store.isRevoked(next));
+        assertEquals(1, store.size());
+        assertEquals(0, store.getOverflowCount());
+    }
+
+    @Test
+    @DisplayName("✅ Capacité atteinte avec persistance : révocation gardée en base et relue en base si absente en mémoire")
+    void checksDatabaseAfterOverflow() {
+        TokenRevocationStore store = new TokenRevocationStore(jwtUtil, revokedTokenRepository, 1, true);
+        JwtClaims inMemory = claims("jti-memory", Instant.now().plusSeconds(3600));
+        JwtClaims overflowed = claims("jti-overflow", Instant.now().plusSeconds(3600));
+        JwtClaims valid = claims("jti-valid", Instant.now().plusSeconds(3600));
+        store.revoke(inMemory);
+        store.revoke(overflowed);
+
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository, times(2)).save(saved.capture());
+        String overflowedKey = saved.getAllValues().get(1).getTokenKey();
+        when(revokedTokenRepository.existsByTokenKeyAndExpiresAtAfter(anyString(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> overflowedKey.equals(invocation.getArgument(0)));
+
+        assertEquals(1, store.size());
+        assertEquals(1, store.getOverflowCount());
+        assertTrue(store.isRevoked(inMemory));
+        assertTrue(store.isRevoked(overflowed));
+        assertFalse(store.isRevoked(valid));
+        // Révocation en mémoire : pas de lecture en base
+        verify(revokedTokenRepository, times(2)).existsByTokenKeyAndExpiresAtAfter(anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("✅ Persistance : révocation écrite en base et relue par une autre instance")
+    void sharesRevocationsThroughDatabase() {
+        TokenRevocationStore node1 = new TokenRevocationStore(jwtUtil, revokedTokenRepository, 100, true);
+        TokenRevocationStore node2 = new TokenRevocationStore(jwtUtil, revokedTokenRepository, 100, true);
+        JwtClaims claims = jwtUtil.parseVerified(jwtUtil.generateToken("chef", "CHEF_DE_PROJET", 5)).orElseThrow();
+
+        node1.revoke(claims);
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertEquals(32, saved.getValue().getTokenKey().length());
+        assertEquals(5, saved.getValue().getUserId());
+
+        saved.getValue().setSeq(1L);
+        when(revokedTokenRepository.findBySeqGreaterThanOrderBySeqAsc(0L)).thenReturn(List.of(saved.getValue()));
+        node2.loadFromDatabase();
+
+        assertTrue(node2.isRevoked(claims));
+    }
+
+    @Test
+    @DisplayName("✅ Synchronisation par numéro d'ordre : ligne validée en retard relue malgré l'horloge de l'instance qui l'a écrite")
+    void resumesSyncAtFirstMissingSequence() {
+        List<RevokedToken> table = new ArrayList<>();
+        when(revokedTokenRepository.findBySeqGreaterThanOrderBySeqAsc(anyLong())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return table.stream().filter(row -> row.getSeq() > after)
+                    .sorted(Comparator.comparing(RevokedToken::getSeq)).toList();
+        });
+        TokenRevocationStore node = new TokenRevocationStore(jwtUtil, revokedTokenRepository, 100, true);
+        node.loadFromDatabase();
+
+        JwtClaims first = claims("jti-1", Instant.now().plusSeconds(3600));
+        JwtClaims late = claims("jti-3", Instant.now().plusSeconds(3600));
+        JwtClaims last = claims("jti-4", Instant.now().plusSeconds(3600));
+        table.add(row(first, 1, LocalDateTime.now()));
+        table.add(row(last, 4, LocalDateTime.now()));
+        node.synchronize();
+        assertTrue(node.isRevoked(first));
+        assertTrue(node.isRevoked(last));
+
+        // Numéro 3 validé après le 4, par une instance dont l'horloge retarde d'une heure
+        table.add(row(late, 3, LocalDateTime.now().minusHours(1)));
+        node.synchronize();
+        assertTrue(node.isRevoked(late));
+
+        // Le numéro 2 (jamais validé) retient la lecture pendant le délai de grâce
+        node.synchronize();
+        ArgumentCaptor<Long> after = ArgumentCaptor.forClass(Long.class);
+        verify(revokedTokenRepository, atLeastOnce()).findBySeqGreaterThanOrderBySeqAsc(after.capture());
+        assertEquals(List.of(0L, 0L, 1L, 1L), after.getAllValues());
+    }
+
+    private RevokedToken row(JwtClaims claims, long seq, LocalDateTime revokedAt) {
+        String key = JwtUtil.digest("jti:" + claims.tokenId());
+        return new RevokedToken(key, LocalDateTime.ofInstant(claims.expiresAt(), ZoneId.systemDefault()), revokedAt, 1, seq);
+    }
+
+    private JwtClaims claims(String tokenId, Instant expiresAt) {
+        return new JwtClaims(tokenId, "dev", "DEVELOPPEUR", 1, Instant.now(), expiresAt, JwtUtil.digest(tokenId));
+    }
+
+    private void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
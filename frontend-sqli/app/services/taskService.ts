@@ -40,6 +40,33 @@ export type TaskCreatePayload = {
     developpeurId: number;
 };
 
+// Critères de POST /tasks/filter (TaskFilterRequest côté backend)
+export type TaskFilterPayload = {
+  projectId?: number;
+  developpeurId?: number;
+  statut?: Task['statut'];
+  dateDebutMin?: string;
+  dateDebutMax?: string;
+  dateFinMin?: string;
+  dateFinMax?: string;
+  keyword?: string;
+  page?: number;
+  size?: number;
+  sortBy?: 'titre' | 'statut' | 'priorite' | 'dateDebut' | 'dateFin';
+  sortDirection?: 'ASC' | 'DESC';
+};
+
+// Page Spring Data renvoyée par les endpoints paginés
+export type Page<T> = {
+  content: T[];
+  totalElements: number;
+  totalPages: number;
+  number: number;
+  size: number;
+  first: boolean;
+  last: boolean;
+};
+
 export const taskService = {
   getAll: async (): Promise<Task[]> => {
     const { data } = await apiClient.get('/tasks');
@@ -127,8 +154,8 @@ export const taskService = {
     return data;
   },
 
-  filter: async (filters: any): Promise<Task[]> => {
-    const { data } = await apiClient.post('/tasks/filter', filters);
+  filter: async (filters: TaskFilterPayload): Promise<Page<Task>> => {
+    const { data } = await apiClient.post<Page<Task>>('/tasks/filter', filters);
     return data;
   }
 };